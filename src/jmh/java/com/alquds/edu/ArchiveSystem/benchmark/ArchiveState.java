@@ -0,0 +1,48 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+/**
+ * Shared JMH state holding a booted application and a generated archive.
+ * The archive size is controlled with JMH parameters, e.g.
+ * {@code -p professors=500 -p filesPerFolder=50}.
+ */
+@State(Scope.Benchmark)
+public class ArchiveState {
+
+    @Param("2")
+    public int departments;
+
+    @Param("50")
+    public int professors;
+
+    @Param("3")
+    public int coursesPerProfessor;
+
+    @Param("20")
+    public int filesPerFolder;
+
+    @Param("4096")
+    public int fileSizeBytes;
+
+    SyntheticArchive archive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        archive = SyntheticArchive.start(departments, professors, coursesPerProfessor, filesPerFolder, fileSizeBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (archive != null) {
+            archive.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileExplorerNode;
+import com.alquds.edu.ArchiveSystem.service.file.FileExplorerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FileExplorerService#getChildren} at each level of the
+ * explorer hierarchy, as a deanship user (widest scope) and as a professor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileExplorerBenchmark {
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        FileExplorerService explorer;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ArchiveState state) {
+            explorer = state.archive.getBean(FileExplorerService.class);
+        }
+
+        String pick(List<String> paths) {
+            String path = paths.get(next % paths.size());
+            next++;
+            return path;
+        }
+    }
+
+    @Benchmark
+    public List<FileExplorerNode> semesterChildrenAsDeanship(ArchiveState state, Cursor cursor) {
+        return cursor.explorer.getChildren(state.archive.getSemesterPath(), state.archive.getDeanship());
+    }
+
+    @Benchmark
+    public List<FileExplorerNode> professorChildren(ArchiveState state, Cursor cursor) {
+        return cursor.explorer.getChildren(cursor.pick(state.archive.getProfessorPaths()),
+                state.archive.getDeanship());
+    }
+
+    @Benchmark
+    public List<FileExplorerNode> courseChildren(ArchiveState state, Cursor cursor) {
+        return cursor.explorer.getChildren(cursor.pick(state.archive.getCoursePaths()),
+                state.archive.getDeanship());
+    }
+
+    @Benchmark
+    public FileExplorerNode documentTypeNodeWithFiles(ArchiveState state, Cursor cursor) {
+        return cursor.explorer.getNode(cursor.pick(state.archive.getDocumentTypePaths()),
+                state.archive.getDeanship());
+    }
+
+    @Benchmark
+    public List<FileExplorerNode> semesterChildrenAsProfessor(ArchiveState state, Cursor cursor) {
+        return cursor.explorer.getChildren(state.archive.getSemesterPath(), state.archive.getSampleProfessor());
+    }
+}
@@ -0,0 +1,83 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.DirectoryListingDTO;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.DirectoryTreeDTO;
+import com.alquds.edu.ArchiveSystem.service.file.FilesystemScanService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the filesystem-backed listing endpoints. The "cold" variants
+ * invalidate the service's TTL caches first so every call walks the disk and
+ * queries the database; the "cached" variants measure the hit path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilesystemScanBenchmark {
+
+    private static final String SEMESTER_DIR = SyntheticArchive.YEAR_CODE + "/" + SyntheticArchive.SEMESTER_SEGMENT;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        FilesystemScanService scanService;
+        List<String> folders;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ArchiveState state) {
+            scanService = state.archive.getBean(FilesystemScanService.class);
+            folders = state.archive.getFileFolderPaths();
+        }
+
+        String nextFolder() {
+            String folder = folders.get(next % folders.size());
+            next++;
+            return folder;
+        }
+    }
+
+    @Benchmark
+    public DirectoryListingDTO listDirectoryCold(ArchiveState state, Cursor cursor) {
+        String folder = cursor.nextFolder();
+        cursor.scanService.invalidateCache(folder);
+        return cursor.scanService.listDirectory(folder, state.archive.getDeanship(), 1, 50, "name", "asc");
+    }
+
+    @Benchmark
+    public DirectoryListingDTO listDirectoryCached(ArchiveState state, Cursor cursor) {
+        return cursor.scanService.listDirectory(cursor.folders.get(0), state.archive.getDeanship(),
+                1, 50, "name", "asc");
+    }
+
+    @Benchmark
+    public DirectoryListingDTO listSemesterCold(ArchiveState state, Cursor cursor) {
+        cursor.scanService.invalidateCache(SEMESTER_DIR);
+        return cursor.scanService.listDirectory(SEMESTER_DIR, state.archive.getDeanship(), 1, 50, "name", "asc");
+    }
+
+    @Benchmark
+    public String computeDirectoryETagCold(Cursor cursor) {
+        String folder = cursor.nextFolder();
+        cursor.scanService.invalidateCache(folder);
+        return cursor.scanService.computeDirectoryETag(folder);
+    }
+
+    @Benchmark
+    public String computeDirectoryETagCached(Cursor cursor) {
+        return cursor.scanService.computeDirectoryETag(cursor.folders.get(0));
+    }
+
+    @Benchmark
+    public DirectoryTreeDTO semesterTree(ArchiveState state, Cursor cursor) {
+        return cursor.scanService.getDirectoryTree(SEMESTER_DIR, state.archive.getDeanship(), 3);
+    }
+}
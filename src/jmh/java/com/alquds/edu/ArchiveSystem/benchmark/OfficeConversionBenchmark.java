@@ -0,0 +1,120 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import com.alquds.edu.ArchiveSystem.config.OfficeConversionProperties;
+import com.alquds.edu.ArchiveSystem.service.file.OfficeConversionExecutor;
+import com.alquds.edu.ArchiveSystem.service.file.OfficeDocumentConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link OfficeDocumentConverter#convertToHtml} for generated DOCX,
+ * XLSX and PPTX documents. {@code size} is the number of paragraphs, rows
+ * or slides in each document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OfficeConversionBenchmark {
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    private static final String PPTX = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+
+    @Param({"20", "500"})
+    public int size;
+
+    private final OfficeConversionExecutor conversionExecutor =
+            new OfficeConversionExecutor(new OfficeConversionProperties(), new SimpleMeterRegistry());
+    private final OfficeDocumentConverter converter = new OfficeDocumentConverter(conversionExecutor);
+    private Path workDir;
+    private String docxPath;
+    private String xlsxPath;
+    private String pptxPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("office-bench-");
+
+        Path docx = workDir.resolve("sample.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(docx)) {
+            for (int i = 0; i < size; i++) {
+                document.createParagraph().createRun()
+                        .setText("Paragraph " + i + " of the synthetic lecture notes used for conversion benchmarks.");
+            }
+            document.write(out);
+        }
+        docxPath = docx.toString();
+
+        Path xlsx = workDir.resolve("sample.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(xlsx)) {
+            Sheet sheet = workbook.createSheet("Grades");
+            for (int r = 0; r < size; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("Student " + r);
+                row.createCell(1).setCellValue(r % 100);
+                row.createCell(2).setCellValue(r % 2 == 0);
+                row.createCell(3).setCellValue("Comment for row " + r);
+            }
+            workbook.write(out);
+        }
+        xlsxPath = xlsx.toString();
+
+        Path pptx = workDir.resolve("sample.pptx");
+        try (XMLSlideShow slideShow = new XMLSlideShow(); OutputStream out = Files.newOutputStream(pptx)) {
+            for (int i = 0; i < size; i++) {
+                XSLFTextBox box = slideShow.createSlide().createTextBox();
+                box.setText("Slide " + i + ": synthetic presentation content");
+            }
+            slideShow.write(out);
+        }
+        pptxPath = pptx.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        conversionExecutor.shutdown();
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] docxToHtml() throws IOException {
+        return converter.convertToHtml(docxPath, DOCX);
+    }
+
+    @Benchmark
+    public byte[] xlsxToHtml() throws IOException {
+        return converter.convertToHtml(xlsxPath, XLSX);
+    }
+
+    @Benchmark
+    public byte[] pptxToHtml() throws IOException {
+        return converter.convertToHtml(pptxPath, PPTX);
+    }
+}
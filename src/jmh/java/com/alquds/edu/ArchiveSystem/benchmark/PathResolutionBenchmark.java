@@ -0,0 +1,55 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import com.alquds.edu.ArchiveSystem.util.PathParser;
+import com.alquds.edu.ArchiveSystem.util.SafePathResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request path handling done before any I/O:
+ * {@link SafePathResolver} validation/normalisation and {@link PathParser}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PathResolutionBenchmark {
+
+    private static final String TYPICAL_PATH = "2024-2025/first/Bench Professor0001/B0001C0 - Benchmark Course 0/Syllabus/file-7.pdf";
+    private static final String UNNORMALISED_PATH = "/2024-2025//first\\Bench Professor0001/B0001C0 - Benchmark Course 0/Syllabus/";
+    private static final String EXPLORER_PATH = "/2024-2025/first/Bench Professor0001/B0001C0/syllabus";
+
+    private SafePathResolver resolver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path root = Files.createTempDirectory("path-bench-");
+        root.toFile().deleteOnExit();
+        resolver = new SafePathResolver(root.toString());
+    }
+
+    @Benchmark
+    public Path resolve() {
+        return resolver.resolve(TYPICAL_PATH);
+    }
+
+    @Benchmark
+    public String normalizePath() {
+        return resolver.normalizePath(UNNORMALISED_PATH);
+    }
+
+    @Benchmark
+    public PathParser.PathComponents parseExplorerPath() {
+        return PathParser.parse(EXPLORER_PATH);
+    }
+}
@@ -0,0 +1,94 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import com.alquds.edu.ArchiveSystem.dto.report.DocumentStatusInfo;
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionRow;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionStatistics;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+import com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus;
+import com.alquds.edu.ArchiveSystem.service.report.PdfReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures PDF rendering of the professor submission report for a
+ * department of {@code rows} course assignments. No Spring context is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PdfReportBenchmark {
+
+    @Param({"50", "500"})
+    public int rows;
+
+    private PdfReportService pdfReportService;
+    private ProfessorSubmissionReport report;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pdfReportService = new PdfReportService();
+
+        LocalDateTime deadline = LocalDateTime.of(2024, 11, 1, 23, 59);
+        SubmissionStatus[] statuses = SubmissionStatus.values();
+        List<ProfessorSubmissionRow> reportRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<DocumentTypeEnum, DocumentStatusInfo> documentStatuses = new EnumMap<>(DocumentTypeEnum.class);
+            for (DocumentTypeEnum type : DocumentTypeEnum.values()) {
+                SubmissionStatus status = statuses[(i + type.ordinal()) % statuses.length];
+                documentStatuses.put(type, DocumentStatusInfo.builder()
+                        .status(status)
+                        .deadline(deadline)
+                        .submittedAt(status == SubmissionStatus.UPLOADED ? deadline.minusDays(i % 7) : null)
+                        .isLateSubmission(false)
+                        .build());
+            }
+            reportRows.add(ProfessorSubmissionRow.builder()
+                    .professorId((long) (i / 3))
+                    .professorName("Bench Professor" + (i / 3))
+                    .professorEmail("bench.prof" + (i / 3) + "@alquds.edu")
+                    .courseAssignmentId((long) i)
+                    .courseCode("BC" + i)
+                    .courseName("Benchmark Course " + i)
+                    .documentStatuses(documentStatuses)
+                    .build());
+        }
+
+        report = ProfessorSubmissionReport.builder()
+                .semesterId(1L)
+                .semesterName("2024-2025 First")
+                .departmentId(1L)
+                .departmentName("Bench Department")
+                .generatedAt(LocalDateTime.now())
+                .generatedBy("Bench Dean")
+                .rows(reportRows)
+                .statistics(SubmissionStatistics.builder()
+                        .totalProfessors(rows / 3)
+                        .totalCourses(rows)
+                        .totalRequiredDocuments(rows * DocumentTypeEnum.values().length)
+                        .submittedDocuments(rows)
+                        .missingDocuments(rows)
+                        .overdueDocuments(rows)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] professorSubmissionReport() {
+        return pdfReportService.generateProfessorSubmissionReportPdf(report);
+    }
+}
@@ -0,0 +1,276 @@
+package com.alquds.edu.ArchiveSystem.benchmark;
+
+import com.alquds.edu.ArchiveSystem.ArchiveSystemApplication;
+import com.alquds.edu.ArchiveSystem.entity.academic.AcademicYear;
+import com.alquds.edu.ArchiveSystem.entity.academic.Course;
+import com.alquds.edu.ArchiveSystem.entity.academic.CourseAssignment;
+import com.alquds.edu.ArchiveSystem.entity.academic.Department;
+import com.alquds.edu.ArchiveSystem.entity.academic.Semester;
+import com.alquds.edu.ArchiveSystem.entity.academic.SemesterType;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.academic.AcademicYearRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.DepartmentRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.SemesterRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.file.FolderService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application against the in-memory H2 test profile and a temporary
+ * uploads root, then fills both with a synthetic archive of the requested size.
+ *
+ * Layout (one academic year, first semester):
+ * - {@code departments} departments, professors assigned round-robin
+ * - {@code coursesPerProfessor} course assignments per professor, each with the
+ *   standard folder structure created through {@link FolderService}
+ * - {@code filesPerFolder} files in every Syllabus folder, both as
+ *   {@link UploadedFile} rows and as physical files of {@code fileSizeBytes}
+ */
+final class SyntheticArchive implements AutoCloseable {
+
+    static final String YEAR_CODE = "2024-2025";
+    static final String SEMESTER_SEGMENT = "first";
+
+    private final ConfigurableApplicationContext context;
+    private final Path uploadsRoot;
+
+    private User deanship;
+    private User sampleProfessor;
+
+    /** Explorer paths, e.g. {@code /2024-2025/first/Bench Professor0001}. */
+    private final List<String> professorPaths = new ArrayList<>();
+    /** Explorer paths of course nodes, one per assignment. */
+    private final List<String> coursePaths = new ArrayList<>();
+    /** Explorer paths of the Syllabus document type node, one per assignment. */
+    private final List<String> documentTypePaths = new ArrayList<>();
+    /** Folder paths relative to the uploads root, one Syllabus folder per assignment. */
+    private final List<String> fileFolderPaths = new ArrayList<>();
+
+    private SyntheticArchive(ConfigurableApplicationContext context, Path uploadsRoot) {
+        this.context = context;
+        this.uploadsRoot = uploadsRoot;
+    }
+
+    static SyntheticArchive start(int departments, int professors, int coursesPerProfessor,
+                                  int filesPerFolder, int fileSizeBytes) throws IOException {
+        Path uploadsRoot = Files.createTempDirectory("archive-bench-");
+        String root = uploadsRoot.toAbsolutePath().toString() + "/";
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ArchiveSystemApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--app.upload.base-path=" + root,
+                        "--file.upload.directory=" + root,
+                        "--file.upload-dir=" + root,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.alquds.edu=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+
+        SyntheticArchive archive = new SyntheticArchive(context, uploadsRoot);
+        try {
+            archive.populate(departments, professors, coursesPerProfessor, filesPerFolder, fileSizeBytes);
+        } catch (RuntimeException | IOException e) {
+            archive.close();
+            throw e;
+        }
+        return archive;
+    }
+
+    private void populate(int departments, int professors, int coursesPerProfessor,
+                          int filesPerFolder, int fileSizeBytes) throws IOException {
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+        DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        AcademicYearRepository academicYearRepository = context.getBean(AcademicYearRepository.class);
+        SemesterRepository semesterRepository = context.getBean(SemesterRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        CourseAssignmentRepository assignmentRepository = context.getBean(CourseAssignmentRepository.class);
+        FolderRepository folderRepository = context.getBean(FolderRepository.class);
+        UploadedFileRepository uploadedFileRepository = context.getBean(UploadedFileRepository.class);
+        FolderService folderService = context.getBean(FolderService.class);
+
+        byte[] content = new byte[fileSizeBytes];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + (i % 26));
+        }
+
+        tx.executeWithoutResult(status -> {
+            List<Department> savedDepartments = new ArrayList<>();
+            for (int d = 0; d < departments; d++) {
+                Department department = new Department();
+                department.setName("Bench Department " + d);
+                department.setShortcut("bench" + d);
+                department.setDescription("Synthetic benchmark department");
+                savedDepartments.add(departmentRepository.save(department));
+            }
+
+            AcademicYear year = new AcademicYear();
+            year.setYearCode(YEAR_CODE);
+            year.setStartYear(2024);
+            year.setEndYear(2025);
+            year.setIsActive(true);
+            year = academicYearRepository.save(year);
+
+            Semester semester = new Semester();
+            semester.setAcademicYear(year);
+            semester.setType(SemesterType.FIRST);
+            semester.setStartDate(LocalDate.of(2024, 9, 1));
+            semester.setEndDate(LocalDate.of(2024, 12, 31));
+            semester.setIsActive(true);
+            semester = semesterRepository.save(semester);
+
+            deanship = userRepository.save(newUser("bench.dean@alquds.edu", "Bench", "Dean",
+                    Role.ROLE_DEANSHIP, null, null));
+
+            for (int p = 0; p < professors; p++) {
+                String suffix = String.format("%04d", p);
+                User professor = userRepository.save(newUser("bench.prof" + suffix + "@alquds.edu",
+                        "Bench", "Professor" + suffix, Role.ROLE_PROFESSOR,
+                        savedDepartments.get(p % savedDepartments.size()), "BP" + suffix));
+                if (sampleProfessor == null) {
+                    sampleProfessor = professor;
+                }
+
+                Folder professorFolder = folderService.createProfessorFolder(
+                        professor.getId(), year.getId(), semester.getId());
+                professorPaths.add("/" + professorFolder.getPath());
+
+                for (int c = 0; c < coursesPerProfessor; c++) {
+                    Course course = new Course();
+                    course.setCourseCode("B" + suffix + "C" + c);
+                    course.setCourseName("Benchmark Course " + c);
+                    course.setDepartment(professor.getDepartment());
+                    course.setLevel("Undergraduate");
+                    course = courseRepository.save(course);
+
+                    CourseAssignment assignment = new CourseAssignment();
+                    assignment.setSemester(semester);
+                    assignment.setCourse(course);
+                    assignment.setProfessor(professor);
+                    assignmentRepository.save(assignment);
+
+                    folderService.createCourseFolderStructure(
+                            professor.getId(), course.getId(), year.getId(), semester.getId());
+
+                    String coursePath = "/" + professorFolder.getPath() + "/" + course.getCourseCode();
+                    coursePaths.add(coursePath);
+                    documentTypePaths.add(coursePath + "/syllabus");
+
+                    Folder syllabus = folderRepository.findCourseFolder(professor.getId(), course.getId(),
+                                    year.getId(), semester.getId(), FolderType.COURSE)
+                            .flatMap(courseFolder -> folderRepository.findByPath(courseFolder.getPath() + "/Syllabus"))
+                            .orElseThrow(() -> new IllegalStateException("Syllabus folder was not created"));
+                    fileFolderPaths.add(syllabus.getPath());
+
+                    List<UploadedFile> files = new ArrayList<>(filesPerFolder);
+                    for (int f = 0; f < filesPerFolder; f++) {
+                        String storedName = "file-" + f + ".pdf";
+                        String fileUrl = syllabus.getPath() + "/" + storedName;
+                        writePhysicalFile(fileUrl, content);
+                        files.add(UploadedFile.builder()
+                                .folder(syllabus)
+                                .originalFilename("Document " + f + ".pdf")
+                                .storedFilename(storedName)
+                                .fileUrl(fileUrl)
+                                .fileSize((long) content.length)
+                                .fileType("application/pdf")
+                                .uploader(professor)
+                                .fileOrder(f)
+                                .build());
+                    }
+                    uploadedFileRepository.saveAll(files);
+                }
+            }
+        });
+    }
+
+    private static User newUser(String email, String firstName, String lastName, Role role,
+                                Department department, String professorId) {
+        User user = new User();
+        user.setEmail(email);
+        // Never used to authenticate; benchmarks call services directly
+        user.setPassword("{noop}benchmark");
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setRole(role);
+        user.setDepartment(department);
+        user.setProfessorId(professorId);
+        user.setIsActive(true);
+        return user;
+    }
+
+    private void writePhysicalFile(String relativePath, byte[] content) {
+        try {
+            Files.write(uploadsRoot.resolve(relativePath), content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Path getUploadsRoot() {
+        return uploadsRoot;
+    }
+
+    User getDeanship() {
+        return deanship;
+    }
+
+    User getSampleProfessor() {
+        return sampleProfessor;
+    }
+
+    List<String> getProfessorPaths() {
+        return professorPaths;
+    }
+
+    List<String> getCoursePaths() {
+        return coursePaths;
+    }
+
+    List<String> getDocumentTypePaths() {
+        return documentTypePaths;
+    }
+
+    List<String> getFileFolderPaths() {
+        return fileFolderPaths;
+    }
+
+    String getSemesterPath() {
+        return "/" + YEAR_CODE + "/" + SEMESTER_SEGMENT;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        try (Stream<Path> paths = Files.walk(uploadsRoot)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.alquds.edu.ArchiveSystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Minimal HTTP client for one simulated user. Every call is timed and
+ * recorded under a stable endpoint label so results aggregate per endpoint
+ * rather than per concrete URL. Transport errors (timeouts, refused or reset
+ * connections) are recorded as failed calls instead of being thrown, so an
+ * overloaded server shows up in the error rate rather than ending the user.
+ */
+final class ArchiveClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private String token;
+
+    ArchiveClient(HttpClient http, String baseUrl, LatencyRecorder recorder) {
+        this.http = http;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Log in through AuthController and keep the JWT for later calls.
+     */
+    JsonNode login(String email, String password) throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(Map.of("email", email, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        JsonNode data = sendForJson("POST /api/auth/login", request);
+        if (data == null || !data.hasNonNull("token")) {
+            throw new IllegalStateException("Login failed for " + email);
+        }
+        token = data.get("token").asText();
+        return data;
+    }
+
+    /**
+     * GET a JSON endpoint and return the ApiResponse "data" element, or null on failure.
+     */
+    JsonNode getJson(String label, String pathAndQuery) throws InterruptedException {
+        return sendForJson(label, authorized(pathAndQuery).GET().build());
+    }
+
+    /**
+     * GET a binary endpoint and discard the body; returns whether the call succeeded.
+     */
+    boolean getBytes(String label, String pathAndQuery) throws InterruptedException {
+        HttpRequest request = authorized(pathAndQuery).GET().build();
+        long started = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            success = false;
+        }
+        recorder.record(label, System.nanoTime() - started, success);
+        return success;
+    }
+
+    /**
+     * Multipart upload of one file through FileUploadController.
+     */
+    JsonNode upload(String label, long folderId, String filename, byte[] content)
+            throws IOException, InterruptedException {
+        String boundary = "----loadtest" + UUID.randomUUID().toString().replace("-", "");
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 512);
+        writePart(body, boundary, "Content-Disposition: form-data; name=\"folderId\"\r\n\r\n" + folderId);
+        writePart(body, boundary, "Content-Disposition: form-data; name=\"notes\"\r\n\r\nload test upload");
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"files[]\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = authorized("/api/professor/files/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return sendForJson(label, request);
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder authorized(String pathAndQuery) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode sendForJson(String label, HttpRequest request) throws InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            recorder.record(label, System.nanoTime() - started, false);
+            return null;
+        }
+        long elapsed = System.nanoTime() - started;
+
+        boolean success = response.statusCode() / 100 == 2;
+        JsonNode data = null;
+        if (success) {
+            try {
+                JsonNode root = MAPPER.readTree(response.body());
+                success = root.path("success").asBoolean(false);
+                data = root.get("data");
+            } catch (IOException e) {
+                success = false;
+            }
+        }
+        recorder.record(label, elapsed, success);
+        return success ? data : null;
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String part) throws IOException {
+        body.write(("--" + boundary + "\r\n" + part + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.alquds.edu.ArchiveSystem.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies and renders p50/p95/p99 and throughput.
+ * Every sample is kept so percentiles are exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, EndpointSamples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointSamples()).add(nanos, success);
+    }
+
+    List<EndpointReport> report(double elapsedSeconds) {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey(), elapsedSeconds))
+                .sorted(Comparator.comparing(EndpointReport::endpoint))
+                .toList();
+    }
+
+    void print(PrintStream out, double elapsedSeconds) {
+        out.println();
+        out.printf(Locale.ROOT, "%-45s %8s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (EndpointReport row : report(elapsedSeconds)) {
+            out.printf(Locale.ROOT, "%-45s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                    row.p50Millis(), row.p95Millis(), row.p99Millis(), row.maxMillis());
+        }
+        out.println();
+    }
+
+    void writeCsv(Path file, double elapsedSeconds) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms\n");
+            for (EndpointReport row : report(elapsedSeconds)) {
+                writer.write(String.format(Locale.ROOT, "\"%s\",%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                        row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                        row.p50Millis(), row.p95Millis(), row.p99Millis(), row.maxMillis()));
+            }
+        }
+    }
+
+    record EndpointReport(String endpoint, int requests, int errors, double throughput,
+                          double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class EndpointSamples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long value, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointReport toReport(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new EndpointReport(endpoint, count, errors,
+                    elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    count > 0 ? sorted[count - 1] / 1_000_000.0 : 0);
+        }
+
+        /**
+         * Nearest-rank percentile in milliseconds.
+         */
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.alquds.edu.ArchiveSystem.loadtest;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * When {@code loadtest.baseUrl} is not set the runner boots the application
+ * in-process on H2 and fills it with {@link com.alquds.edu.ArchiveSystem.config.LargeArchiveGenerator};
+ * generator sizes can then be set with {@code -Dapp.generator.*} properties.
+ */
+final class LoadTestConfig {
+
+    /** Target server, e.g. http://localhost:8080. Empty means embedded H2 mode. */
+    final String baseUrl;
+
+    /** Generator prefix and password of the accounts to log in with. */
+    final String prefix;
+    final String password;
+
+    /** Number of generated professor / HOD accounts available on the target. */
+    final int generatedProfessors;
+    final int generatedDepartments;
+
+    /** Concurrent simulated users. */
+    final int professorUsers;
+    final int hodUsers;
+
+    final int durationSeconds;
+    final int rampUpSeconds;
+    final long thinkTimeMillis;
+
+    /** A professor uploads one file every {@code uploadEvery} iterations (0 disables uploads). */
+    final int uploadEvery;
+    final int uploadSizeBytes;
+
+    /** Academic year code and semester type to browse. */
+    final String academicYear;
+    final String semester;
+
+    /** Optional CSV output path for the report. */
+    final String reportFile;
+
+    private LoadTestConfig() {
+        baseUrl = System.getProperty("loadtest.baseUrl", "");
+        prefix = System.getProperty("loadtest.prefix", System.getProperty("app.generator.prefix", "gen"));
+        password = System.getProperty("loadtest.password", System.getProperty("app.generator.password", "password123"));
+        generatedProfessors = Integer.getInteger("loadtest.generatedProfessors",
+                Integer.getInteger("app.generator.professors", 100));
+        generatedDepartments = Integer.getInteger("loadtest.generatedDepartments",
+                Integer.getInteger("app.generator.departments", 5));
+        professorUsers = Integer.getInteger("loadtest.professorUsers", 20);
+        hodUsers = Integer.getInteger("loadtest.hodUsers", 5);
+        durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+        rampUpSeconds = Integer.getInteger("loadtest.rampUpSeconds", 10);
+        thinkTimeMillis = Long.getLong("loadtest.thinkTimeMillis", 200L);
+        uploadEvery = Integer.getInteger("loadtest.uploadEvery", 5);
+        uploadSizeBytes = Integer.getInteger("loadtest.uploadSizeBytes", 64 * 1024);
+        academicYear = System.getProperty("loadtest.academicYear",
+                System.getProperty("app.generator.academic-year", "2024-2025"));
+        semester = System.getProperty("loadtest.semester", "FIRST");
+        reportFile = System.getProperty("loadtest.reportFile", "");
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    boolean isEmbedded() {
+        return baseUrl.isEmpty();
+    }
+
+    String professorEmail(int index) {
+        return prefix + ".prof" + String.format("%05d", index % generatedProfessors) + "@alquds.edu";
+    }
+
+    String hodEmail(int index) {
+        return prefix + ".hod" + (index % generatedDepartments) + "@alquds.edu";
+    }
+}
@@ -0,0 +1,169 @@
+package com.alquds.edu.ArchiveSystem.loadtest;
+
+import com.alquds.edu.ArchiveSystem.ArchiveSystemApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the HTTP load test.
+ *
+ * Starts {@code loadtest.professorUsers} professors and {@code loadtest.hodUsers}
+ * HODs against the target server, ramps them up over {@code loadtest.rampUpSeconds},
+ * lets them run for {@code loadtest.durationSeconds} and prints request count,
+ * errors, throughput and p50/p95/p99 latency per endpoint.
+ *
+ * Without {@code loadtest.baseUrl} the application is started in-process on H2
+ * with the "generate" profile, so the archive is created by LargeArchiveGenerator.
+ * Its uploads, archive tree snapshot and log file go to a temporary directory
+ * that is deleted when the run ends.
+ * An external server must run with {@code app.rate-limit.enabled=false} and data
+ * created by the same generator prefix.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext embedded = null;
+        Path workDir = null;
+        String baseUrl = config.baseUrl;
+
+        try {
+            if (config.isEmbedded()) {
+                System.out.println("No loadtest.baseUrl set, starting the application on H2 with generated data...");
+                workDir = Files.createTempDirectory("archive-loadtest-");
+                embedded = startEmbedded(workDir);
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) embedded).getWebServer().getPort();
+            }
+            run(config, baseUrl);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+            if (workDir != null) {
+                FileSystemUtils.deleteRecursively(workDir);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(Path workDir) throws Exception {
+        String root = Files.createDirectories(workDir.resolve("uploads")).toAbsolutePath() + "/";
+        return new SpringApplicationBuilder(ArchiveSystemApplication.class)
+                .profiles("test", "generate")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--app.upload.base-path=" + root,
+                        "--file.upload.directory=" + root,
+                        "--file.upload-dir=" + root,
+                        "--app.rate-limit.enabled=false",
+                        "--archive.tree.snapshot.file=" + workDir.resolve("archive-tree.snapshot").toAbsolutePath(),
+                        "--logging.file.name=" + workDir.resolve("archive-system.log").toAbsolutePath(),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.alquds.edu=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+    }
+
+    private static void run(LoadTestConfig config, String baseUrl) throws Exception {
+        int users = config.professorUsers + config.hodUsers;
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, users / 4));
+        try {
+            HttpClient http = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(httpExecutor)
+                    .build();
+            drive(config, baseUrl, http, users);
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private static void drive(LoadTestConfig config, String baseUrl, HttpClient http, int users) throws Exception {
+
+        long[] semester = resolveSemester(config, http, baseUrl);
+        System.out.printf("Target %s, academicYearId=%d, semesterId=%d, %d professors + %d HODs, %ds ramp-up, %ds run%n",
+                baseUrl, semester[0], semester[1], config.professorUsers, config.hodUsers,
+                config.rampUpSeconds, config.durationSeconds);
+
+        byte[] uploadContent = new byte[config.uploadSizeBytes];
+        new Random(7).nextBytes(uploadContent);
+        byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, uploadContent, 0, Math.min(header.length, uploadContent.length));
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(config.rampUpSeconds + config.durationSeconds);
+        long rampStepNanos = users > 0 ? TimeUnit.SECONDS.toNanos(config.rampUpSeconds) / users : 0;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, users));
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            boolean professor = i < config.professorUsers;
+            String email = professor ? config.professorEmail(i) : config.hodEmail(i - config.professorUsers);
+            virtualUsers.add(new VirtualUser(new ArchiveClient(http, baseUrl, recorder), config, email, professor,
+                    semester[0], semester[1], deadline, uploadContent, i));
+        }
+        for (VirtualUser user : virtualUsers) {
+            pool.execute(user);
+            TimeUnit.NANOSECONDS.sleep(rampStepNanos);
+        }
+        pool.shutdown();
+        pool.awaitTermination(config.rampUpSeconds + config.durationSeconds + 120L, TimeUnit.SECONDS);
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("Completed in %.1f s%n", elapsedSeconds);
+        recorder.print(System.out, elapsedSeconds);
+        if (!config.reportFile.isEmpty()) {
+            recorder.writeCsv(Paths.get(config.reportFile), elapsedSeconds);
+            System.out.println("Report written to " + config.reportFile);
+        }
+    }
+
+    /**
+     * Look up the academic year and semester ids through the professor API.
+     */
+    private static long[] resolveSemester(LoadTestConfig config, HttpClient http, String baseUrl) throws Exception {
+        ArchiveClient setup = new ArchiveClient(http, baseUrl, new LatencyRecorder());
+        setup.login(config.professorEmail(0), config.password);
+
+        JsonNode years = setup.getJson("setup", "/api/professor/academic-years");
+        Long academicYearId = null;
+        if (years != null) {
+            for (JsonNode year : years) {
+                if (config.academicYear.equals(year.path("yearCode").asText())) {
+                    academicYearId = year.get("id").asLong();
+                }
+            }
+        }
+        if (academicYearId == null) {
+            throw new IllegalStateException("Academic year not found: " + config.academicYear);
+        }
+
+        JsonNode semesters = setup.getJson("setup", "/api/professor/academic-years/" + academicYearId + "/semesters");
+        if (semesters != null) {
+            for (JsonNode semester : semesters) {
+                if (config.semester.equalsIgnoreCase(semester.path("type").asText())) {
+                    return new long[]{academicYearId, semester.get("id").asLong()};
+                }
+            }
+        }
+        throw new IllegalStateException("Semester " + config.semester + " not found in " + config.academicYear);
+    }
+}
@@ -0,0 +1,123 @@
+package com.alquds.edu.ArchiveSystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * One simulated professor or HOD. Logs in once, then repeatedly walks the
+ * file explorer from the semester root down to a document type folder,
+ * previews and downloads one of its files and, for professors, periodically
+ * uploads a new file into their own folder.
+ */
+final class VirtualUser implements Runnable {
+
+    private final ArchiveClient client;
+    private final LoadTestConfig config;
+    private final String email;
+    private final boolean professor;
+    private final long academicYearId;
+    private final long semesterId;
+    private final long deadlineNanos;
+    private final byte[] uploadContent;
+    private final Random random;
+
+    VirtualUser(ArchiveClient client, LoadTestConfig config, String email, boolean professor,
+                long academicYearId, long semesterId, long deadlineNanos, byte[] uploadContent, long seed) {
+        this.client = client;
+        this.config = config;
+        this.email = email;
+        this.professor = professor;
+        this.academicYearId = academicYearId;
+        this.semesterId = semesterId;
+        this.deadlineNanos = deadlineNanos;
+        this.uploadContent = uploadContent;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        try {
+            client.login(email, config.password);
+            int iteration = 0;
+            while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                iterate(++iteration);
+                if (config.thinkTimeMillis > 0) {
+                    Thread.sleep(config.thinkTimeMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Virtual user " + email + " stopped: " + e.getMessage());
+        }
+    }
+
+    private void iterate(int iteration) throws Exception {
+        JsonNode root = client.getJson("GET /api/file-explorer/root",
+                "/api/file-explorer/root?academicYearId=" + academicYearId + "&semesterId=" + semesterId);
+        JsonNode professorChild = pickChild(root,
+                child -> !professor || child.path("metadata").path("isOwnProfile").asBoolean(false));
+        if (professorChild == null) {
+            return;
+        }
+
+        JsonNode professorNode = getNode("GET /api/file-explorer/node [professor]", professorChild);
+        JsonNode courseChild = pickChild(professorNode, child -> true);
+        if (courseChild == null) {
+            return;
+        }
+
+        JsonNode courseNode = getNode("GET /api/file-explorer/node [course]", courseChild);
+        client.getJson("GET /api/file-explorer/breadcrumbs",
+                "/api/file-explorer/breadcrumbs?path=" + ArchiveClient.encode(courseChild.path("path").asText()));
+        JsonNode documentTypeChild = pickChild(courseNode,
+                child -> "DOCUMENT_TYPE".equals(child.path("type").asText()));
+        if (documentTypeChild == null) {
+            return;
+        }
+
+        JsonNode documentTypeNode = getNode("GET /api/file-explorer/node [document type]", documentTypeChild);
+        JsonNode files = documentTypeNode != null ? documentTypeNode.path("files") : null;
+        if (files != null && files.isArray() && files.size() > 0) {
+            JsonNode file = files.get(random.nextInt(files.size()));
+            if (file.hasNonNull("id")) {
+                long fileId = file.get("id").asLong();
+                client.getJson("GET /api/file-explorer/files/{id}/metadata",
+                        "/api/file-explorer/files/" + fileId + "/metadata");
+                client.getBytes("GET /api/file-explorer/files/{id}/preview",
+                        "/api/file-explorer/files/" + fileId + "/preview");
+                client.getBytes("GET /api/file-explorer/files/{id}/download",
+                        "/api/file-explorer/files/" + fileId + "/download");
+            }
+        }
+
+        boolean uploadDue = professor && config.uploadEvery > 0 && iteration % config.uploadEvery == 0;
+        JsonNode folderId = documentTypeChild.path("metadata").path("folderId");
+        if (uploadDue && documentTypeChild.path("canWrite").asBoolean(false) && folderId.canConvertToLong()) {
+            client.upload("POST /api/professor/files/upload", folderId.asLong(),
+                    "loadtest-" + UUID.randomUUID() + ".pdf", uploadContent);
+        }
+    }
+
+    private JsonNode getNode(String label, JsonNode child) throws Exception {
+        return client.getJson(label, "/api/file-explorer/node?path=" + ArchiveClient.encode(child.path("path").asText()));
+    }
+
+    private JsonNode pickChild(JsonNode node, Predicate<JsonNode> filter) {
+        if (node == null || !node.path("children").isArray()) {
+            return null;
+        }
+        List<JsonNode> candidates = new ArrayList<>();
+        for (JsonNode child : node.get("children")) {
+            if (filter.test(child)) {
+                candidates.add(child);
+            }
+        }
+        return candidates.isEmpty() ? null : candidates.get(random.nextInt(candidates.size()));
+    }
+}
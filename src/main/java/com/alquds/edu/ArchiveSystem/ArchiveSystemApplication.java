@@ -5,13 +5,15 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import com.alquds.edu.ArchiveSystem.config.AcademicProperties;
+import com.alquds.edu.ArchiveSystem.config.GeneratorProperties;
 import com.alquds.edu.ArchiveSystem.config.UploadProperties;
 
 @SpringBootApplication
 @EnableScheduling
 @EnableConfigurationProperties({
 	UploadProperties.class,
-	AcademicProperties.class
+	AcademicProperties.class,
+	GeneratorProperties.class
 })
 public class ArchiveSystemApplication {
 
@@ -2,14 +2,12 @@ package com.alquds.edu.ArchiveSystem.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.stereotype.Component;
 
 /**
  * Configuration properties for academic settings.
  * Binds properties with prefix "app.academic" from application.properties.
  */
 @Data
-@Component
 @ConfigurationProperties(prefix = "app.academic")
 public class AcademicProperties {
     
@@ -0,0 +1,226 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Concurrency limits (bulkheads) for heavy endpoints.
+ *
+ * Report exports, report data, Office previews and uploads each get a fixed
+ * number of slots. A request that finds its class full waits briefly in a short
+ * queue; when the queue is full too, or the wait runs out, it is answered with
+ * 503 and Retry-After. Cheap requests such as file browsing never touch a
+ * bulkhead, so they keep their request threads during report storms.
+ *
+ * Limits are per instance (see {@link BulkheadProperties}). Metrics per class
+ * (tag {@code endpoint}): {@code http.bulkhead.active}, {@code http.bulkhead.waiting}
+ * and {@code http.bulkhead.rejected}.
+ *
+ * Runs after Spring Security, so unauthenticated requests never take a slot.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class BulkheadFilter implements Filter {
+
+    /**
+     * Endpoint classes with their own limit.
+     */
+    enum EndpointClass {
+        REPORT_EXPORT("report-export"),
+        REPORT("report"),
+        OFFICE_PREVIEW("office-preview"),
+        UPLOAD("upload");
+
+        private final String tag;
+
+        EndpointClass(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final Pattern REPORT_EXPORT_PATH =
+            Pattern.compile("^/api/(admin|hod|deanship)/reports/(.+/(pdf|details)|export/.+)$");
+    private static final Pattern REPORT_PATH =
+            Pattern.compile("^/api/(admin|hod|deanship)/reports/(?!filter-options$).+$");
+    private static final Pattern OFFICE_PREVIEW_PATH =
+            Pattern.compile("^/api/file-explorer/files/\\d+/office-preview$");
+    private static final Pattern UPLOAD_PATH =
+            Pattern.compile("^/api/.+/(upload|uploads/[^/]+/commit)$");
+
+    private final BulkheadProperties properties;
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+
+    public BulkheadFilter(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        bulkheads.put(EndpointClass.REPORT_EXPORT, new Bulkhead(properties.getReportExport()));
+        bulkheads.put(EndpointClass.REPORT, new Bulkhead(properties.getReport()));
+        bulkheads.put(EndpointClass.OFFICE_PREVIEW, new Bulkhead(properties.getOfficePreview()));
+        bulkheads.put(EndpointClass.UPLOAD, new Bulkhead(properties.getUpload()));
+
+        bulkheads.forEach((endpointClass, bulkhead) -> {
+            Gauge.builder("http.bulkhead.active", bulkhead, Bulkhead::active)
+                    .description("Requests running in the endpoint class")
+                    .tag("endpoint", endpointClass.tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.bulkhead.waiting", bulkhead, Bulkhead::waiting)
+                    .description("Requests waiting for a free slot in the endpoint class")
+                    .tag("endpoint", endpointClass.tag)
+                    .register(meterRegistry);
+            bulkhead.rejected = Counter.builder("http.bulkhead.rejected")
+                    .description("Requests rejected because the endpoint class was saturated")
+                    .tag("endpoint", endpointClass.tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!properties.getEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        EndpointClass endpointClass = classify(httpRequest.getMethod(), httpRequest.getRequestURI());
+        if (endpointClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead bulkhead = bulkheads.get(endpointClass);
+        boolean acquired;
+        try {
+            acquired = bulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkhead.rejected.increment();
+            log.warn("Bulkhead {} saturated ({} active, {} waiting), rejecting {} {}", endpointClass.tag,
+                    bulkhead.active(), bulkhead.waiting(), httpRequest.getMethod(), httpRequest.getRequestURI());
+            sendBusyResponse((HttpServletResponse) response, properties.getRetryAfterSeconds());
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Find the endpoint class of a request.
+     *
+     * @return the class, or null if the request is not limited
+     */
+    static EndpointClass classify(String method, String path) {
+        if (path == null) {
+            return null;
+        }
+        if ("POST".equals(method)) {
+            return UPLOAD_PATH.matcher(path).matches() ? EndpointClass.UPLOAD : null;
+        }
+        if (!"GET".equals(method)) {
+            return null;
+        }
+        if (REPORT_EXPORT_PATH.matcher(path).matches()) {
+            return EndpointClass.REPORT_EXPORT;
+        }
+        if (REPORT_PATH.matcher(path).matches()) {
+            return EndpointClass.REPORT;
+        }
+        if (OFFICE_PREVIEW_PATH.matcher(path).matches()) {
+            return EndpointClass.OFFICE_PREVIEW;
+        }
+        return null;
+    }
+
+    /**
+     * Send service busy response.
+     */
+    private void sendBusyResponse(HttpServletResponse response, int retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+
+        String jsonResponse = String.format(
+            "{\"success\":false,\"error\":{\"code\":\"SERVICE_BUSY\",\"message\":\"%s\",\"retryAfterSeconds\":%d},\"timestamp\":%d}",
+            "The server is busy with similar requests. Please try again shortly.", retryAfterSeconds, System.currentTimeMillis()
+        );
+
+        response.getWriter().write(jsonResponse);
+    }
+
+    /**
+     * Slots and a bounded wait queue for one endpoint class.
+     */
+    static final class Bulkhead {
+        private final Semaphore slots;
+        private final int maxConcurrent;
+        private final int maxWaiting;
+        private final long maxWaitMs;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private Counter rejected;
+
+        Bulkhead(BulkheadProperties.Limit limit) {
+            this.maxConcurrent = Math.max(1, limit.getMaxConcurrent());
+            this.maxWaiting = Math.max(0, limit.getMaxWaiting());
+            this.maxWaitMs = Math.max(0L, limit.getMaxWaitMs());
+            this.slots = new Semaphore(maxConcurrent, true);
+        }
+
+        /**
+         * Take a slot, waiting up to {@code maxWaitMs} if there is room in the queue.
+         *
+         * @return true if a slot was taken and must be released
+         */
+        boolean acquire() throws InterruptedException {
+            if (slots.tryAcquire()) {
+                return true;
+            }
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                return false;
+            }
+            try {
+                return slots.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        void release() {
+            slots.release();
+        }
+
+        int active() {
+            return maxConcurrent - slots.availablePermits();
+        }
+
+        int waiting() {
+            return waiting.get();
+        }
+    }
+}
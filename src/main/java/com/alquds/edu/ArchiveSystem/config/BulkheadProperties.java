@@ -0,0 +1,74 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the concurrency limits of heavy endpoints.
+ * Binds properties with prefix "app.bulkhead" from application.properties.
+ *
+ * Each endpoint class gets its own limit, so a burst on one of them
+ * (e.g. report exports at the end of a semester) cannot occupy all request
+ * threads and starve the others.
+ *
+ * @see BulkheadFilter
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * Whether the limits are enforced.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * Seconds a rejected client is asked to wait before retrying.
+     */
+    private Integer retryAfterSeconds = 5;
+
+    /**
+     * PDF and CSV report exports.
+     */
+    private Limit reportExport = new Limit(2, 4, 2000L);
+
+    /**
+     * Report data (overview, department, system-wide, professor submissions).
+     */
+    private Limit report = new Limit(4, 8, 2000L);
+
+    /**
+     * Office document previews.
+     */
+    private Limit officePreview = new Limit(4, 8, 1000L);
+
+    /**
+     * File uploads and chunked upload commits.
+     */
+    private Limit upload = new Limit(6, 12, 3000L);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Requests of this class handled at the same time.
+         */
+        private Integer maxConcurrent;
+
+        /**
+         * Requests that may wait for a free slot. Further requests are rejected at once.
+         */
+        private Integer maxWaiting;
+
+        /**
+         * How long a waiting request may wait for a free slot, in milliseconds.
+         */
+        private Long maxWaitMs;
+    }
+}
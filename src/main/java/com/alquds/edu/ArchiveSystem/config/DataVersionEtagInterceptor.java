@@ -0,0 +1,151 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conditional GET for dashboard, report filter option and file explorer reads.
+ *
+ * The ETag is a hash of the caller, the request URL and the data versions the
+ * response depends on (see {@link DataVersionService}). When it matches
+ * If-None-Match the request ends here with 304 Not Modified, before the
+ * controller runs any query.
+ *
+ * Version scope per request:
+ * - a semesterId parameter, or an explorer node path below a semester: that semester
+ * - otherwise a departmentId parameter: that department
+ * - otherwise: the global version
+ * The shared version is always included. ETags also roll over every
+ * {@code app.data-version.etag-max-age-seconds}: overdue status depends on the
+ * clock, and some writes (users, departments, semesters) do not bump versions.
+ */
+@Component
+@Slf4j
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    static final String[] PATH_PATTERNS = {
+            "/api/*/dashboard/**",
+            "/api/*/reports/filter-options",
+            "/api/file-explorer/root",
+            "/api/file-explorer/node",
+            "/api/*/file-explorer/root",
+            "/api/*/file-explorer/node"
+    };
+
+    private static final Pattern EXPLORER_NODE_PATH = Pattern.compile("^/api/([a-z]+/)?file-explorer/node$");
+    private static final Pattern CUSTOM_FOLDER_SEGMENT = Pattern.compile("^custom-(\\d{1,18})$");
+
+    private final DataVersionService dataVersionService;
+    private final long maxAgeMillis;
+
+    public DataVersionEtagInterceptor(DataVersionService dataVersionService,
+            @Value("${app.data-version.etag-max-age-seconds:60}") long maxAgeSeconds) {
+        this.dataVersionService = dataVersionService;
+        this.maxAgeMillis = Math.max(1, maxAgeSeconds) * 1000L;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        String etag = computeEtag(request);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            log.debug("Data unchanged, returning 304 for {}", request.getRequestURI());
+            return false;
+        }
+        return true;
+    }
+
+    String computeEtag(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        StringBuilder key = new StringBuilder(128)
+                .append(principal()).append('|')
+                .append(path).append('?').append(request.getQueryString()).append('|')
+                .append(System.currentTimeMillis() / maxAgeMillis).append('|')
+                .append("c").append(dataVersionService.getSharedVersion()).append('|')
+                .append(scopeVersion(request, path));
+        return "W/\"" + dataVersionService.getInstanceId() + "-" + hash(key.toString()) + "\"";
+    }
+
+    private String scopeVersion(HttpServletRequest request, String path) {
+        Long semesterId = longParameter(request, "semesterId");
+        if (semesterId != null) {
+            return "s" + dataVersionService.getSemesterVersion(semesterId);
+        }
+
+        if (EXPLORER_NODE_PATH.matcher(path).matches() && request.getParameter("path") != null) {
+            String[] segments = request.getParameter("path").replaceAll("^/+|/+$", "").split("/");
+            if (segments.length >= 2) {
+                String version = "p" + dataVersionService.getSemesterVersion(segments[0], segments[1]);
+                if (segments.length >= 5) {
+                    Matcher customFolder = CUSTOM_FOLDER_SEGMENT.matcher(segments[4]);
+                    if (customFolder.matches()) {
+                        version += "f" + dataVersionService.getFolderVersion(Long.parseLong(customFolder.group(1)));
+                    }
+                }
+                return version;
+            }
+        }
+
+        Long departmentId = longParameter(request, "departmentId");
+        if (departmentId != null) {
+            return "d" + dataVersionService.getDepartmentVersion(departmentId);
+        }
+        return "g" + dataVersionService.getGlobalVersion();
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "anonymous";
+        }
+        StringBuilder principal = new StringBuilder(authentication.getName());
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            principal.append(',').append(authority.getAuthority());
+        }
+        return principal.toString();
+    }
+
+    private static Long longParameter(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
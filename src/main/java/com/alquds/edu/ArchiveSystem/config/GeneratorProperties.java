@@ -0,0 +1,106 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.SemesterType;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Configuration properties for the synthetic large-archive generator.
+ * Binds properties with prefix "app.generator"; only used when the
+ * "generate" profile is active (see LargeArchiveGenerator).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.generator")
+public class GeneratorProperties {
+
+    /**
+     * Lowercase alphanumeric prefix for generated identifiers (department shortcuts,
+     * emails, course codes). Generation is skipped if data with this prefix already exists.
+     */
+    private String prefix = "gen";
+
+    /**
+     * Number of departments (N).
+     */
+    private Integer departments = 5;
+
+    /**
+     * Number of professors (M), spread round-robin across departments.
+     */
+    private Integer professors = 100;
+
+    /**
+     * Number of course assignments per semester (K), spread round-robin across professors.
+     */
+    private Integer assignmentsPerSemester = 300;
+
+    /**
+     * Academic year code the generated semesters belong to.
+     */
+    private String academicYear = "2024-2025";
+
+    /**
+     * Semesters to generate within the academic year.
+     */
+    private List<SemesterType> semesters = List.of(SemesterType.FIRST, SemesterType.SECOND);
+
+    /**
+     * Required document types created for every course and semester.
+     */
+    private List<DocumentTypeEnum> documentTypes = List.of(
+            DocumentTypeEnum.SYLLABUS, DocumentTypeEnum.EXAM,
+            DocumentTypeEnum.ASSIGNMENT, DocumentTypeEnum.LECTURE_NOTES);
+
+    /**
+     * Fraction (0-1) of required documents that get a submission with files.
+     */
+    private Double submissionRatio = 0.8;
+
+    /**
+     * Fraction (0-1) of submissions flagged as late.
+     */
+    private Double lateRatio = 0.1;
+
+    /**
+     * Files uploaded per submission.
+     */
+    private Integer filesPerSubmission = 3;
+
+    /**
+     * Size in bytes of every generated physical file.
+     */
+    private Integer fileSizeBytes = 16384;
+
+    /**
+     * Whether to write physical files. When false only database rows are created.
+     */
+    private Boolean writeFiles = true;
+
+    /**
+     * Rows per JDBC batch.
+     */
+    private Integer batchSize = 1000;
+
+    /**
+     * Threads used to write physical files. 0 means one per available processor.
+     */
+    private Integer fileWriterThreads = 0;
+
+    /**
+     * Plain-text password for every generated user.
+     */
+    private String password = "password123";
+
+    /**
+     * Seed for the random choices (submission status, lateness), so runs are reproducible.
+     */
+    private Long seed = 42L;
+
+    /**
+     * Whether to shut the application down once generation has finished (CLI usage).
+     */
+    private Boolean exitOnCompletion = false;
+}
@@ -0,0 +1,554 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.AcademicYear;
+import com.alquds.edu.ArchiveSystem.entity.academic.Semester;
+import com.alquds.edu.ArchiveSystem.entity.academic.SemesterType;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+import com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus;
+import com.alquds.edu.ArchiveSystem.repository.academic.AcademicYearRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.SemesterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a production-size synthetic archive for load and scale testing.
+ *
+ * Creates N departments (one HOD each), M professors, K course assignments per
+ * semester, required document types, submissions, the professor/course/document
+ * folder tree, uploaded_files rows and the matching physical files under the
+ * uploads root. Rows are written with JDBC batch inserts and physical files are
+ * written in parallel on a fixed thread pool, one task per course assignment.
+ *
+ * Only runs with the "generate" profile, and only if no department with the
+ * configured prefix exists yet. Sizes are configured through app.generator.*
+ * (see GeneratorProperties). Example CLI usage:
+ *
+ * <pre>
+ * java -jar ArchiveSystem.jar --spring.profiles.active=dev,generate \
+ *      --app.generator.professors=2000 --app.generator.assignments-per-semester=6000 \
+ *      --app.generator.exit-on-completion=true
+ * </pre>
+ */
+@Component
+@Profile("generate")
+@Order(4)
+@RequiredArgsConstructor
+@Slf4j
+public class LargeArchiveGenerator implements CommandLineRunner {
+
+    /**
+     * Subfolders FolderServiceImpl creates for every course folder.
+     */
+    private static final List<String> STANDARD_SUBFOLDERS = List.of("Syllabus", "Exams", "Course Notes", "Assignments");
+
+    /**
+     * Extension and MIME type pairs cycled through for generated files.
+     */
+    private static final String[][] FILE_KINDS = {
+            {"pdf", "application/pdf"},
+            {"docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"},
+            {"pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation"},
+            {"xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"},
+            {"png", "image/png"}
+    };
+
+    private static final String INSERT_DEPARTMENT =
+            "INSERT INTO departments (name, shortcut, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER =
+            "INSERT INTO users (email, password, first_name, last_name, role, department_id, professor_id, is_active, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COURSE =
+            "INSERT INTO courses (course_code, course_name, department_id, level, description, is_active, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ASSIGNMENT =
+            "INSERT INTO course_assignments (semester_id, course_id, professor_id, is_active, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REQUIRED_DOCUMENT =
+            "INSERT INTO required_document_types (course_id, semester_id, document_type, deadline, is_required, max_file_count, max_total_size_mb, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FOLDER =
+            "INSERT INTO folders (path, name, type, parent_id, owner_id, academic_year_id, semester_id, course_id, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBMISSION =
+            "INSERT INTO document_submissions (course_assignment_id, document_type, professor_id, submitted_at, is_late_submission, status, file_count, total_file_size, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_UPLOADED_FILE =
+            "INSERT INTO uploaded_files (folder_id, original_filename, stored_filename, file_url, file_size, file_type, uploader_id, document_submission_id, file_order, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final GeneratorProperties properties;
+    private final UploadProperties uploadProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final AcademicYearRepository academicYearRepository;
+    private final SemesterRepository semesterRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(String... args) {
+        generate();
+
+        if (Boolean.TRUE.equals(properties.getExitOnCompletion())) {
+            log.info("Generation finished, shutting down (app.generator.exit-on-completion=true)");
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Generate the archive described by {@link GeneratorProperties}.
+     */
+    public void generate() {
+        String prefix = properties.getPrefix();
+        if (prefix == null || !prefix.matches("^[a-z0-9]{1,15}$")) {
+            throw new IllegalArgumentException(
+                    "app.generator.prefix must be 1-15 lowercase letters or digits: " + prefix);
+        }
+
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM departments WHERE shortcut = ?", Integer.class, prefix + "0");
+        if (existing != null && existing > 0) {
+            log.info("Generated archive with prefix '{}' already exists, skipping generation", prefix);
+            return;
+        }
+
+        log.info("Generating synthetic archive: departments={}, professors={}, assignmentsPerSemester={}, semesters={}, filesPerSubmission={}",
+                properties.getDepartments(), properties.getProfessors(), properties.getAssignmentsPerSemester(),
+                properties.getSemesters(), properties.getFilesPerSubmission());
+        long started = System.currentTimeMillis();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Path uploadsRoot = Paths.get(uploadProperties.getBasePath()).toAbsolutePath().normalize();
+        Random random = new Random(properties.getSeed());
+        byte[] content = new byte[Math.max(0, properties.getFileSizeBytes())];
+        random.nextBytes(content);
+
+        List<Long> departmentIds = insertDepartments(prefix, now);
+        List<ProfessorRow> professors = insertUsers(prefix, departmentIds, now);
+        List<CourseRow> courses = insertCourses(prefix, professors, now);
+        AcademicYear academicYear = findOrCreateAcademicYear();
+
+        int threads = properties.getFileWriterThreads() > 0
+                ? properties.getFileWriterThreads()
+                : Runtime.getRuntime().availableProcessors();
+        ExecutorService fileWriters = Executors.newFixedThreadPool(threads);
+        List<Future<?>> pendingWrites = new ArrayList<>();
+        Totals totals = new Totals();
+
+        try {
+            for (SemesterType semesterType : properties.getSemesters()) {
+                Semester semester = findOrCreateSemester(academicYear, semesterType);
+                generateSemester(prefix, academicYear, semester, professors, courses, now, random,
+                        uploadsRoot, content, fileWriters, pendingWrites, totals);
+            }
+            awaitWrites(pendingWrites);
+        } finally {
+            fileWriters.shutdownNow();
+        }
+
+        log.info("Synthetic archive generated in {} ms: {} departments, {} professors, {} courses, {} assignments, "
+                        + "{} folders, {} submissions, {} files ({} written to disk, {} bytes)",
+                System.currentTimeMillis() - started, departmentIds.size(), professors.size(), courses.size(),
+                totals.assignments, totals.folders, totals.submissions, totals.files,
+                totals.filesWritten.get(), totals.bytesWritten.get());
+    }
+
+    // ==================== Shared rows ====================
+
+    private List<Long> insertDepartments(String prefix, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>();
+        List<String> shortcuts = new ArrayList<>();
+        for (int d = 0; d < properties.getDepartments(); d++) {
+            String shortcut = prefix + d;
+            shortcuts.add(shortcut);
+            rows.add(new Object[]{
+                    capitalize(prefix) + " Department " + d, shortcut,
+                    "Synthetic department for load testing", now, now});
+        }
+        batchInsert(INSERT_DEPARTMENT, rows);
+
+        Map<String, Long> ids = queryIds("SELECT id, shortcut FROM departments WHERE shortcut LIKE ?", prefix + "%");
+        return shortcuts.stream().map(ids::get).toList();
+    }
+
+    private List<ProfessorRow> insertUsers(String prefix, List<Long> departmentIds, Timestamp now) {
+        String encodedPassword = passwordEncoder.encode(properties.getPassword());
+        String firstName = capitalize(prefix);
+        List<Object[]> rows = new ArrayList<>();
+
+        for (int d = 0; d < departmentIds.size(); d++) {
+            rows.add(new Object[]{
+                    prefix + ".hod" + d + "@alquds.edu", encodedPassword, firstName, "Hod" + d,
+                    Role.ROLE_HOD.name(), departmentIds.get(d), null, true, now, now});
+        }
+
+        List<String> professorEmails = new ArrayList<>();
+        for (int p = 0; p < properties.getProfessors(); p++) {
+            String number = String.format("%05d", p);
+            String email = prefix + ".prof" + number + "@alquds.edu";
+            professorEmails.add(email);
+            rows.add(new Object[]{
+                    email, encodedPassword, firstName, "Professor" + number,
+                    Role.ROLE_PROFESSOR.name(), departmentIds.get(p % departmentIds.size()),
+                    prefix.toUpperCase() + "P" + number, true, now, now});
+        }
+        batchInsert(INSERT_USER, rows);
+
+        Map<String, Long> ids = queryIds("SELECT id, email FROM users WHERE email LIKE ?", prefix + ".%");
+        List<ProfessorRow> professors = new ArrayList<>(professorEmails.size());
+        for (int p = 0; p < professorEmails.size(); p++) {
+            String number = String.format("%05d", p);
+            professors.add(new ProfessorRow(ids.get(professorEmails.get(p)),
+                    firstName + " Professor" + number, departmentIds.get(p % departmentIds.size())));
+        }
+        return professors;
+    }
+
+    private List<CourseRow> insertCourses(String prefix, List<ProfessorRow> professors, Timestamp now) {
+        String codePrefix = prefix.toUpperCase();
+        List<Object[]> rows = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (int c = 0; c < properties.getAssignmentsPerSemester(); c++) {
+            String code = codePrefix + String.format("%05d", c);
+            codes.add(code);
+            rows.add(new Object[]{
+                    code, "Generated Course " + c, professors.get(c % professors.size()).departmentId(),
+                    "Undergraduate", null, true, now, now});
+        }
+        batchInsert(INSERT_COURSE, rows);
+
+        Map<String, Long> ids = queryIds("SELECT id, course_code FROM courses WHERE course_code LIKE ?", codePrefix + "%");
+        List<CourseRow> courses = new ArrayList<>(codes.size());
+        for (int c = 0; c < codes.size(); c++) {
+            courses.add(new CourseRow(ids.get(codes.get(c)), codes.get(c), "Generated Course " + c));
+        }
+        return courses;
+    }
+
+    private AcademicYear findOrCreateAcademicYear() {
+        String yearCode = properties.getAcademicYear();
+        return academicYearRepository.findByYearCode(yearCode).orElseGet(() -> {
+            int startYear = Integer.parseInt(yearCode.substring(0, 4));
+            AcademicYear year = new AcademicYear();
+            year.setYearCode(yearCode);
+            year.setStartYear(startYear);
+            year.setEndYear(startYear + 1);
+            year.setIsActive(true);
+            return academicYearRepository.save(year);
+        });
+    }
+
+    private Semester findOrCreateSemester(AcademicYear academicYear, SemesterType type) {
+        return semesterRepository.findByAcademicYearIdAndType(academicYear.getId(), type).orElseGet(() -> {
+            int startYear = academicYear.getStartYear();
+            Semester semester = new Semester();
+            semester.setAcademicYear(academicYear);
+            semester.setType(type);
+            switch (type) {
+                case FIRST:
+                    semester.setStartDate(LocalDate.of(startYear, 9, 1));
+                    semester.setEndDate(LocalDate.of(startYear, 12, 31));
+                    break;
+                case SECOND:
+                    semester.setStartDate(LocalDate.of(startYear + 1, 1, 15));
+                    semester.setEndDate(LocalDate.of(startYear + 1, 5, 31));
+                    break;
+                default:
+                    semester.setStartDate(LocalDate.of(startYear + 1, 6, 15));
+                    semester.setEndDate(LocalDate.of(startYear + 1, 8, 31));
+                    break;
+            }
+            semester.setIsActive(true);
+            return semesterRepository.save(semester);
+        });
+    }
+
+    // ==================== Per-semester rows ====================
+
+    private void generateSemester(String prefix, AcademicYear academicYear, Semester semester,
+                                  List<ProfessorRow> professors, List<CourseRow> courses, Timestamp now,
+                                  Random random, Path uploadsRoot, byte[] content,
+                                  ExecutorService fileWriters, List<Future<?>> pendingWrites, Totals totals) {
+        long started = System.currentTimeMillis();
+        Long yearId = academicYear.getId();
+        Long semesterId = semester.getId();
+        String semesterPath = academicYear.getYearCode() + "/" + semester.getType().name().toLowerCase();
+        LocalDateTime deadline = semester.getEndDate().minusDays(14).atTime(23, 59);
+        List<DocumentTypeEnum> documentTypes = properties.getDocumentTypes();
+
+        // Course assignments: course c is taught by professor c % M
+        List<Object[]> assignmentRows = new ArrayList<>();
+        for (int c = 0; c < courses.size(); c++) {
+            assignmentRows.add(new Object[]{
+                    semesterId, courses.get(c).id(), professors.get(c % professors.size()).id(), true, now, now});
+        }
+        batchInsert(INSERT_ASSIGNMENT, assignmentRows);
+        Map<String, Long> assignmentIds = queryIds(
+                "SELECT ca.id, c.course_code FROM course_assignments ca JOIN courses c ON c.id = ca.course_id "
+                        + "WHERE ca.semester_id = ? AND c.course_code LIKE ?",
+                semesterId, prefix.toUpperCase() + "%");
+        totals.assignments += assignmentRows.size();
+
+        // Required document types per course
+        List<Object[]> requiredRows = new ArrayList<>();
+        for (CourseRow course : courses) {
+            for (DocumentTypeEnum type : documentTypes) {
+                requiredRows.add(new Object[]{
+                        course.id(), semesterId, type.name(), Timestamp.valueOf(deadline), true,
+                        Math.max(5, properties.getFilesPerSubmission()), 50, now, now});
+            }
+        }
+        batchInsert(INSERT_REQUIRED_DOCUMENT, requiredRows);
+
+        // Professor root folders, for professors that teach in this semester
+        Set<Integer> teachingProfessors = new LinkedHashSet<>();
+        for (int c = 0; c < courses.size(); c++) {
+            teachingProfessors.add(c % professors.size());
+        }
+        List<Object[]> professorFolderRows = new ArrayList<>();
+        for (int p : teachingProfessors) {
+            ProfessorRow professor = professors.get(p);
+            professorFolderRows.add(new Object[]{
+                    semesterPath + "/" + professor.folderName(), professor.folderName(), FolderType.PROFESSOR_ROOT.name(),
+                    null, professor.id(), yearId, semesterId, null, now});
+        }
+        batchInsert(INSERT_FOLDER, professorFolderRows);
+        Map<String, Long> professorFolderIds = queryFolderIds(semesterId, FolderType.PROFESSOR_ROOT);
+
+        // Course folders
+        List<Object[]> courseFolderRows = new ArrayList<>();
+        for (int c = 0; c < courses.size(); c++) {
+            ProfessorRow professor = professors.get(c % professors.size());
+            CourseRow course = courses.get(c);
+            String professorPath = semesterPath + "/" + professor.folderName();
+            courseFolderRows.add(new Object[]{
+                    professorPath + "/" + course.folderName(), course.folderName(), FolderType.COURSE.name(),
+                    professorFolderIds.get(professorPath), professor.id(), yearId, semesterId, course.id(), now});
+        }
+        batchInsert(INSERT_FOLDER, courseFolderRows);
+        Map<String, Long> courseFolderIds = queryFolderIds(semesterId, FolderType.COURSE);
+
+        // Standard subfolders plus one per configured document type
+        Set<String> subfolderNames = new LinkedHashSet<>(STANDARD_SUBFOLDERS);
+        documentTypes.forEach(type -> subfolderNames.add(folderNameFor(type)));
+        List<Object[]> subfolderRows = new ArrayList<>();
+        for (int c = 0; c < courses.size(); c++) {
+            ProfessorRow professor = professors.get(c % professors.size());
+            CourseRow course = courses.get(c);
+            String coursePath = semesterPath + "/" + professor.folderName() + "/" + course.folderName();
+            for (String name : subfolderNames) {
+                subfolderRows.add(new Object[]{
+                        coursePath + "/" + name, name, FolderType.SUBFOLDER.name(),
+                        courseFolderIds.get(coursePath), professor.id(), yearId, semesterId, course.id(), now});
+            }
+        }
+        batchInsert(INSERT_FOLDER, subfolderRows);
+        Map<String, Long> subfolderIds = queryFolderIds(semesterId, FolderType.SUBFOLDER);
+        totals.folders += professorFolderRows.size() + courseFolderRows.size() + subfolderRows.size();
+
+        // Submissions, decided up front so files can be attached after the ids are known
+        List<PlannedSubmission> planned = new ArrayList<>();
+        List<Object[]> submissionRows = new ArrayList<>();
+        long totalFileSize = (long) properties.getFilesPerSubmission() * content.length;
+        for (int c = 0; c < courses.size(); c++) {
+            Long assignmentId = assignmentIds.get(courses.get(c).code());
+            ProfessorRow professor = professors.get(c % professors.size());
+            for (DocumentTypeEnum type : documentTypes) {
+                if (random.nextDouble() >= properties.getSubmissionRatio()) {
+                    continue;
+                }
+                boolean late = random.nextDouble() < properties.getLateRatio();
+                LocalDateTime submittedAt = late
+                        ? deadline.plusDays(1 + random.nextInt(7))
+                        : deadline.minusDays(1 + random.nextInt(30));
+                planned.add(new PlannedSubmission(c, assignmentId, type, submittedAt));
+                submissionRows.add(new Object[]{
+                        assignmentId, type.name(), professor.id(), Timestamp.valueOf(submittedAt), late,
+                        SubmissionStatus.UPLOADED.name(), properties.getFilesPerSubmission(), totalFileSize, now, now});
+            }
+        }
+        batchInsert(INSERT_SUBMISSION, submissionRows);
+        Map<String, Long> submissionIds = queryIds(
+                "SELECT ds.id, CONCAT(ds.course_assignment_id, ':', ds.document_type) FROM document_submissions ds "
+                        + "JOIN course_assignments ca ON ca.id = ds.course_assignment_id "
+                        + "JOIN courses c ON c.id = ca.course_id WHERE ca.semester_id = ? AND c.course_code LIKE ?",
+                semesterId, prefix.toUpperCase() + "%");
+        totals.submissions += submissionRows.size();
+
+        // Uploaded files, flushed per batch; physical files written per course assignment in parallel
+        List<Object[]> fileRows = new ArrayList<>(properties.getBatchSize());
+        Map<Integer, List<String>> filesByCourse = new HashMap<>();
+        for (PlannedSubmission submission : planned) {
+            ProfessorRow professor = professors.get(submission.courseIndex() % professors.size());
+            CourseRow course = courses.get(submission.courseIndex());
+            String folderName = folderNameFor(submission.type());
+            String folderPath = semesterPath + "/" + professor.folderName() + "/" + course.folderName() + "/" + folderName;
+            Long submissionId = submissionIds.get(submission.assignmentId() + ":" + submission.type().name());
+            Timestamp submittedAt = Timestamp.valueOf(submission.submittedAt());
+
+            for (int n = 0; n < properties.getFilesPerSubmission(); n++) {
+                String[] kind = FILE_KINDS[(n + submission.type().ordinal()) % FILE_KINDS.length];
+                String storedFilename = submission.type().name().toLowerCase() + "_" + (n + 1) + "." + kind[0];
+                String fileUrl = folderPath + "/" + storedFilename;
+                fileRows.add(new Object[]{
+                        subfolderIds.get(folderPath), folderName + " " + (n + 1) + "." + kind[0], storedFilename,
+                        fileUrl, (long) content.length, kind[1], professor.id(), submissionId, n,
+                        submittedAt, submittedAt});
+                filesByCourse.computeIfAbsent(submission.courseIndex(), key -> new ArrayList<>()).add(fileUrl);
+                if (fileRows.size() >= properties.getBatchSize()) {
+                    totals.files += fileRows.size();
+                    batchInsert(INSERT_UPLOADED_FILE, fileRows);
+                    fileRows.clear();
+                }
+            }
+        }
+        totals.files += fileRows.size();
+        batchInsert(INSERT_UPLOADED_FILE, fileRows);
+
+        if (Boolean.TRUE.equals(properties.getWriteFiles())) {
+            for (int c = 0; c < courses.size(); c++) {
+                String coursePath = semesterPath + "/" + professors.get(c % professors.size()).folderName()
+                        + "/" + courses.get(c).folderName();
+                List<String> directories = subfolderNames.stream().map(name -> coursePath + "/" + name).toList();
+                List<String> files = filesByCourse.getOrDefault(c, List.of());
+                pendingWrites.add(fileWriters.submit(
+                        () -> writeCourseTree(uploadsRoot, directories, files, content, totals)));
+            }
+        }
+
+        log.info("Generated semester {} in {} ms: {} assignments, {} submissions",
+                semesterPath, System.currentTimeMillis() - started, assignmentRows.size(), submissionRows.size());
+    }
+
+    // ==================== Physical files ====================
+
+    private void writeCourseTree(Path uploadsRoot, List<String> directories, List<String> files,
+                                 byte[] content, Totals totals) {
+        try {
+            for (String directory : directories) {
+                Files.createDirectories(uploadsRoot.resolve(directory));
+            }
+            for (String file : files) {
+                Files.write(uploadsRoot.resolve(file), content);
+                totals.filesWritten.incrementAndGet();
+                totals.bytesWritten.addAndGet(content.length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write generated files under " + uploadsRoot, e);
+        }
+    }
+
+    private void awaitWrites(List<Future<?>> pendingWrites) {
+        try {
+            for (Future<?> write : pendingWrites) {
+                write.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing generated files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to write generated files", e.getCause());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+
+    /**
+     * Run a query selecting (id, key) and return the ids keyed by the second column.
+     */
+    private Map<String, Long> queryIds(String sql, Object... args) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getLong(1)), args);
+        return ids;
+    }
+
+    private Map<String, Long> queryFolderIds(Long semesterId, FolderType type) {
+        return queryIds("SELECT id, path FROM folders WHERE semester_id = ? AND type = ?", semesterId, type.name());
+    }
+
+    /**
+     * Folder name for a document type; must match FileServiceImpl.formatDocumentTypeForFolder.
+     */
+    private String folderNameFor(DocumentTypeEnum type) {
+        switch (type) {
+            case SYLLABUS:
+                return "Syllabus";
+            case EXAM:
+                return "Exams";
+            case ASSIGNMENT:
+                return "Assignments";
+            case PROJECT_DOCS:
+                return "Project Documents";
+            case LECTURE_NOTES:
+                return "Course Notes";
+            case OTHER:
+                return "Other";
+            default:
+                return type.name();
+        }
+    }
+
+    private String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private record ProfessorRow(Long id, String folderName, Long departmentId) {
+    }
+
+    private record CourseRow(Long id, String code, String name) {
+        String folderName() {
+            return code + " - " + name;
+        }
+    }
+
+    private record PlannedSubmission(int courseIndex, Long assignmentId, DocumentTypeEnum type,
+                                     LocalDateTime submittedAt) {
+    }
+
+    private static class Totals {
+        int assignments;
+        int folders;
+        int submissions;
+        int files;
+        final AtomicLong filesWritten = new AtomicLong();
+        final AtomicLong bytesWritten = new AtomicLong();
+    }
+}
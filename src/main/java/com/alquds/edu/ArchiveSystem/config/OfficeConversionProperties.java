@@ -0,0 +1,75 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for Office to HTML conversion.
+ * Binds properties with prefix "office.conversion" from application.properties.
+ *
+ * Conversions parse untrusted uploads with Apache POI, so they run on a bounded
+ * pool with a wall-clock timeout, and inputs are capped per format before parsing
+ * and inside the ZIP container while parsing.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "office.conversion")
+public class OfficeConversionProperties {
+
+    /**
+     * Number of conversions that may run at the same time.
+     */
+    private Integer threads = 2;
+
+    /**
+     * Number of conversions that may wait for a free thread. Further requests are rejected.
+     */
+    private Integer queueCapacity = 8;
+
+    /**
+     * Wall-clock limit per conversion in seconds, including the time spent waiting in the queue.
+     */
+    private Integer timeoutSeconds = 30;
+
+    /**
+     * Maximum input size in bytes for Word documents (.doc, .docx).
+     */
+    private Long maxWordSize = 20L * 1024 * 1024;
+
+    /**
+     * Maximum input size in bytes for spreadsheets (.xls, .xlsx). Smaller than the
+     * others because cell data inflates far more than text in memory.
+     */
+    private Long maxSpreadsheetSize = 10L * 1024 * 1024;
+
+    /**
+     * Maximum input size in bytes for presentations (.ppt, .pptx).
+     */
+    private Long maxPresentationSize = 50L * 1024 * 1024;
+
+    /**
+     * Smallest compressed/uncompressed ratio accepted for an OOXML ZIP entry (zip bomb guard).
+     */
+    private Double minInflateRatio = 0.01;
+
+    /**
+     * Maximum uncompressed size in bytes of a single OOXML ZIP entry.
+     */
+    private Long maxEntrySize = 100L * 1024 * 1024;
+
+    /**
+     * Maximum number of characters POI extracts from a single OOXML part.
+     */
+    private Long maxTextSize = 10L * 1024 * 1024;
+
+    /**
+     * Maximum size in bytes of a single record POI allocates while reading a file.
+     */
+    private Integer maxRecordSize = 100 * 1024 * 1024;
+
+    /**
+     * Seconds a client is asked to wait before retrying when the queue is full.
+     */
+    private Integer retryAfterSeconds = 5;
+}
@@ -2,7 +2,6 @@ package com.alquds.edu.ArchiveSystem.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.stereotype.Component;
 
 import java.util.List;
 
@@ -11,7 +10,6 @@ import java.util.List;
  * Binds properties with prefix "app.upload" from application.properties.
  */
 @Data
-@Component
 @ConfigurationProperties(prefix = "app.upload")
 public class UploadProperties {
     
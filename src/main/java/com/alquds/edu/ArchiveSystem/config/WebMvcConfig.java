@@ -1,5 +1,6 @@
 package com.alquds.edu.ArchiveSystem.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
@@ -24,8 +25,11 @@ import jakarta.servlet.http.HttpServletResponse;
  * @since 2024-11-20
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final DataVersionEtagInterceptor dataVersionEtagInterceptor;
+
     /**
      * Configure view resolver to resolve view names to HTML files in static
      * directory.
@@ -87,6 +91,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
      * Add interceptor to set Cache-Control headers for HTML pages.
      * This prevents browsers from caching HTML pages which could cause
      * stale authentication redirects.
+     * Dashboard, filter option and explorer reads get data-version ETags.
      * 
      * @param registry InterceptorRegistry to add interceptors to
      */
@@ -95,6 +100,8 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addInterceptor(new NoCacheHtmlInterceptor())
                 .addPathPatterns("/**/*.html", "/", "/index.html")
                 .excludePathPatterns("/css/**", "/js/**", "/api/**");
+        registry.addInterceptor(dataVersionEtagInterceptor)
+                .addPathPatterns(DataVersionEtagInterceptor.PATH_PATTERNS);
     }
 
     /**
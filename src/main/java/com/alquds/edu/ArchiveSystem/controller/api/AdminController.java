@@ -16,16 +16,21 @@ import com.alquds.edu.ArchiveSystem.dto.dashboard.DashboardStatistics;
 import com.alquds.edu.ArchiveSystem.dto.dashboard.DepartmentChartData;
 import com.alquds.edu.ArchiveSystem.dto.dashboard.TimeGrouping;
 import com.alquds.edu.ArchiveSystem.dto.report.ReportFilterOptions;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportFormat;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportType;
 import com.alquds.edu.ArchiveSystem.dto.user.UserCreateRequest;
 import com.alquds.edu.ArchiveSystem.dto.user.UserResponse;
 import com.alquds.edu.ArchiveSystem.dto.user.UserUpdateRequest;
+import com.alquds.edu.ArchiveSystem.exception.core.ValidationException;
 import com.alquds.edu.ArchiveSystem.service.academic.CourseService;
 import com.alquds.edu.ArchiveSystem.service.dashboard.DashboardWidgetService;
 import com.alquds.edu.ArchiveSystem.service.academic.DepartmentService;
 import com.alquds.edu.ArchiveSystem.service.academic.SemesterReportService;
+import com.alquds.edu.ArchiveSystem.service.report.ReportExportService;
 import com.alquds.edu.ArchiveSystem.service.user.UserService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,13 +39,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for administrative operations.
@@ -61,6 +70,7 @@ public class AdminController {
     private final DashboardWidgetService dashboardWidgetService;
     private final UserRepository userRepository;
     private final SemesterReportService semesterReportService;
+    private final ReportExportService reportExportService;
 
 
     // ==================== User Management ====================
@@ -817,31 +827,22 @@ public class AdminController {
      * Export system-wide report as PDF.
      * GET /api/admin/reports/export/pdf
      * 
+     * The PDF is written straight to the response as it is laid out.
+     * 
      * @param semesterId Semester ID (required)
-     * @return PDF file download
      */
     @GetMapping("/reports/export/pdf")
-    public ResponseEntity<byte[]> exportReportToPdf(@RequestParam Long semesterId) {
+    public void exportReportToPdf(@RequestParam Long semesterId, HttpServletResponse response) throws IOException {
         log.info("Admin exporting report to PDF - semesterId: {}", semesterId);
         
-        try {
-            User currentUser = getCurrentUser();
-            
-            // Generate professor submission report for PDF export
-            com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport report = 
-                    semesterReportService.generateProfessorSubmissionReportWithRoleFilter(semesterId, null, currentUser);
-            
-            // Use the existing export service
-            byte[] pdfBytes = semesterReportService.exportReportToPdf(report);
-            
-            return ResponseEntity.ok()
-                    .header("Content-Type", "application/pdf")
-                    .header("Content-Disposition", "attachment; filename=\"system-report-" + semesterId + ".pdf\"")
-                    .body(pdfBytes);
-        } catch (Exception e) {
-            log.error("Error exporting report to PDF", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        User currentUser = getCurrentUser();
+        
+        // Generate professor submission report for PDF export
+        com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport report = 
+                semesterReportService.generateProfessorSubmissionReportWithRoleFilter(semesterId, null, currentUser);
+        
+        startDownload(response, ReportFormat.PDF, "system-report-" + semesterId);
+        reportExportService.writeProfessorSubmissionReport(report, ReportFormat.PDF, response.getOutputStream());
     }
 
     /**
@@ -849,66 +850,71 @@ public class AdminController {
      * GET /api/admin/reports/export/csv
      * 
      * @param semesterId Semester ID (required)
-     * @return CSV file download
      */
     @GetMapping("/reports/export/csv")
-    public ResponseEntity<String> exportReportToCsv(@RequestParam Long semesterId) {
+    public void exportReportToCsv(@RequestParam Long semesterId, HttpServletResponse response) throws IOException {
         log.info("Admin exporting report to CSV - semesterId: {}", semesterId);
-        
-        try {
-            User currentUser = getCurrentUser();
-            com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport report = 
-                    semesterReportService.generateSystemWideReportWithRoleFilter(semesterId, currentUser);
-            
-            // Generate CSV content
-            StringBuilder csv = new StringBuilder();
-            csv.append("Department,Professors,Courses,Required Documents,Submitted,Missing,Overdue,Completion Rate\n");
-            
-            if (report.getDepartmentSummaries() != null) {
-                for (com.alquds.edu.ArchiveSystem.dto.report.DepartmentReportSummary deptSummary : report.getDepartmentSummaries()) {
-                    com.alquds.edu.ArchiveSystem.dto.report.SubmissionStatistics stats = deptSummary.getStatistics();
-                    int totalRequired = stats.getTotalRequiredDocuments();
-                    int submitted = stats.getSubmittedDocuments();
-                    double completionRate = totalRequired > 0 ? (double) submitted / totalRequired * 100 : 0.0;
-                    
-                    csv.append(String.format("\"%s\",%d,%d,%d,%d,%d,%d,%.2f%%\n",
-                            deptSummary.getDepartmentName(),
-                            stats.getTotalProfessors(),
-                            stats.getTotalCourses(),
-                            totalRequired,
-                            submitted,
-                            stats.getMissingDocuments(),
-                            stats.getOverdueDocuments(),
-                            completionRate));
-                }
-            }
-            
-            // Add overall statistics
-            if (report.getOverallStatistics() != null) {
-                com.alquds.edu.ArchiveSystem.dto.report.SubmissionStatistics overall = report.getOverallStatistics();
-                int totalRequired = overall.getTotalRequiredDocuments();
-                int submitted = overall.getSubmittedDocuments();
-                double completionRate = totalRequired > 0 ? (double) submitted / totalRequired * 100 : 0.0;
-                
-                csv.append(String.format("\"TOTAL\",%d,%d,%d,%d,%d,%d,%.2f%%\n",
-                        overall.getTotalProfessors(),
-                        overall.getTotalCourses(),
-                        totalRequired,
-                        submitted,
-                        overall.getMissingDocuments(),
-                        overall.getOverdueDocuments(),
-                        completionRate));
-            }
-            
-            return ResponseEntity.ok()
-                    .header("Content-Type", "text/csv")
-                    .header("Content-Disposition", "attachment; filename=\"system-report-" + semesterId + ".csv\"")
-                    .body(csv.toString());
-        } catch (Exception e) {
-            log.error("Error exporting report to CSV", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error generating CSV: " + e.getMessage());
+        exportSystemWideReport(semesterId, ReportFormat.CSV, response);
+    }
+
+    /**
+     * Export system-wide report as Excel.
+     * GET /api/admin/reports/export/xlsx
+     * 
+     * @param semesterId Semester ID (required)
+     */
+    @GetMapping("/reports/export/xlsx")
+    public void exportReportToXlsx(@RequestParam Long semesterId, HttpServletResponse response) throws IOException {
+        log.info("Admin exporting report to XLSX - semesterId: {}", semesterId);
+        exportSystemWideReport(semesterId, ReportFormat.XLSX, response);
+    }
+
+    /**
+     * Export submission details: one row per course assignment and required document type.
+     * GET /api/admin/reports/export/details
+     * 
+     * Rows are streamed from the database to the response page by page, so this
+     * works for semesters with any number of rows.
+     * 
+     * @param semesterId Semester ID (required)
+     * @param departmentId Optional department filter; all departments if omitted
+     * @param format CSV (default) or XLSX
+     */
+    @GetMapping("/reports/export/details")
+    public void exportSubmissionDetails(
+            @RequestParam Long semesterId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(defaultValue = "CSV") ReportFormat format,
+            HttpServletResponse response) throws IOException {
+        log.info("Admin exporting submission details - semesterId: {}, departmentId: {}, format: {}",
+                semesterId, departmentId, format);
+        
+        if (!ReportType.SUBMISSION_DETAILS.supports(format)) {
+            throw new ValidationException("Submission details are available as CSV or XLSX",
+                    Map.of("format", format + " is not supported"));
         }
+        startDownload(response, format, "submission-details-" + semesterId
+                + (departmentId != null ? "-" + departmentId : ""));
+        reportExportService.writeSubmissionDetails(semesterId, departmentId, format, response.getOutputStream());
+    }
+    
+    private void exportSystemWideReport(Long semesterId, ReportFormat format, HttpServletResponse response)
+            throws IOException {
+        User currentUser = getCurrentUser();
+        com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport report = 
+                semesterReportService.generateSystemWideReportWithRoleFilter(semesterId, currentUser);
+        
+        startDownload(response, format, "system-report-" + semesterId);
+        reportExportService.writeSystemWideReport(report, format, response.getOutputStream());
+    }
+    
+    /**
+     * Set download headers; the body is then streamed without a Content-Length.
+     */
+    private static void startDownload(HttpServletResponse response, ReportFormat format, String baseName) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(baseName + "." + format.getExtension()).build().toString());
     }
     
     /**
@@ -29,6 +29,7 @@ import com.alquds.edu.ArchiveSystem.service.file.FileExplorerService;
 import com.alquds.edu.ArchiveSystem.service.file.FileService;
 import com.alquds.edu.ArchiveSystem.service.file.FilesystemScanService;
 import com.alquds.edu.ArchiveSystem.service.file.FolderFileUploadService;
+import com.alquds.edu.ArchiveSystem.service.file.FolderZipExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +42,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 /**
@@ -60,6 +62,7 @@ public class FileExplorerController {
     private final FileService fileService;
     private final FilesystemScanService filesystemScanService;
     private final FolderFileUploadService folderFileUploadService;
+    private final FolderZipExportService folderZipExportService;
     private final AuthService authService;
     private final UserRepository userRepository;
     private final AcademicYearRepository academicYearRepository;
@@ -74,8 +77,13 @@ public class FileExplorerController {
      * - HOD: professors in HOD's department only
      * - Professor: all professors in same department
      *
+     * Professors are returned one page at a time, sorted by name; pass the
+     * node's childrenCursor back as {@code cursor} for the next page.
+     *
      * @param academicYearId the academic year ID
      * @param semesterId     the semester ID
+     * @param cursor         childrenCursor of the previous page (optional)
+     * @param limit          professors per page (optional)
      * @param authentication the authenticated user
      * @return root node with filtered children and metadata
      */
@@ -84,13 +92,16 @@ public class FileExplorerController {
     public ResponseEntity<ApiResponse<FileExplorerNode>> getRoot(
             @RequestParam Long academicYearId,
             @RequestParam Long semesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int limit,
             Authentication authentication) {
 
-        log.info("Fetching file explorer root for academicYearId: {}, semesterId: {}",
-                academicYearId, semesterId);
+        log.info("Fetching file explorer root for academicYearId: {}, semesterId: {}, cursor: {}",
+                academicYearId, semesterId, cursor);
 
         User currentUser = authService.getCurrentUser();
-        FileExplorerNode rootNode = fileExplorerService.getRootNode(academicYearId, semesterId, currentUser);
+        FileExplorerNode rootNode = fileExplorerService.getRootNode(academicYearId, semesterId, currentUser,
+                cursor, limit);
 
         return ResponseEntity.ok(ApiResponse.success("Root node retrieved successfully", rootNode));
     }
@@ -679,6 +690,43 @@ public class FileExplorerController {
                 .body(resource);
     }
 
+    /**
+     * Download everything below an explorer node (semester, professor, course,
+     * document type or custom folder) as one ZIP archive.
+     * The archive is streamed to the client while it is written; files the user
+     * may not access are left out (their count is sent in X-Export-Skipped-Files).
+     *
+     * @param path           the node path
+     * @param authentication the authenticated user
+     * @return streamed ZIP archive
+     */
+    @GetMapping("/export")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportZip(
+            @RequestParam String path,
+            Authentication authentication) {
+
+        log.info("ZIP export request for path: {}", path);
+
+        User currentUser = authService.getCurrentUser();
+        FolderZipExportService.ZipExport export = folderZipExportService.prepareExport(path, currentUser);
+
+        String encodedFilename = java.net.URLEncoder.encode(export.filename(), java.nio.charset.StandardCharsets.UTF_8)
+                .replace("+", "%20");
+        String contentDisposition = String.format(
+                "attachment; filename=\"%s\"; filename*=UTF-8''%s",
+                export.filename(),
+                encodedFilename);
+
+        StreamingResponseBody body = out -> folderZipExportService.writeZip(export, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                .header("X-Export-Skipped-Files", String.valueOf(export.skippedFiles()))
+                .body(body);
+    }
+
     /**
      * Generate a safe folder name from professor's name.
      * Sanitizes the name to be filesystem-safe while remaining readable.
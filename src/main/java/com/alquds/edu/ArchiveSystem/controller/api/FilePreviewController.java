@@ -2,13 +2,18 @@ package com.alquds.edu.ArchiveSystem.controller.api;
 
 import com.alquds.edu.ArchiveSystem.entity.user.User;
 import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
+import com.alquds.edu.ArchiveSystem.exception.file.ConversionRejectedException;
 
 import com.alquds.edu.ArchiveSystem.dto.common.ApiResponse;
 import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileMetadataDTO;
 import com.alquds.edu.ArchiveSystem.service.auth.AuthService;
 import com.alquds.edu.ArchiveSystem.service.file.FilePreviewService;
+import com.alquds.edu.ArchiveSystem.service.file.ThumbnailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +21,8 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 /**
  * REST controller for file preview operations.
  * Provides endpoints for retrieving file metadata, content, and preview data.
@@ -28,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
 public class FilePreviewController {
     
     private final FilePreviewService filePreviewService;
+    private final ThumbnailService thumbnailService;
     private final AuthService authService;
     
     /**
@@ -229,6 +237,14 @@ public class FilePreviewController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(ApiResponse.error("You do not have permission to preview this file"));
                 
+        } catch (ConversionRejectedException e) {
+            log.warn("Office preview of fileId {} rejected: {}", fileId, e.getMessage());
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getHttpStatus());
+            if (e.getRetryAfterSeconds() > 0) {
+                response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            }
+            return response.body(ApiResponse.error(e.getMessage()));
+                
         } catch (IllegalArgumentException e) {
             log.error("Invalid file type: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -240,4 +256,77 @@ public class FilePreviewController {
                 .body(ApiResponse.error("Failed to convert Office document. The file may be corrupted or in an unsupported format."));
         }
     }
+    
+    /**
+     * Get a small PNG thumbnail for grid views.
+     * Returns 202 while the thumbnail is still being generated and 404 for files
+     * without one; the client shows the file type icon in both cases.
+     * 
+     * The ETag is the file's content version. Requests carrying the current version
+     * as {@code v} get a year-long immutable cache lifetime; without it the browser
+     * revalidates and usually gets a 304.
+     * 
+     * @param fileId the file ID
+     * @param version content version from a previous response's ETag (optional)
+     * @param ifNoneMatch ETag the browser already has
+     * @return PNG image
+     */
+    @GetMapping("/{fileId}/thumbnail")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getThumbnail(
+            @PathVariable Long fileId,
+            @RequestParam(name = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Getting thumbnail for fileId: {}", fileId);
+        
+        try {
+            User currentUser = authService.getCurrentUser();
+            if (!filePreviewService.canUserPreviewFile(fileId, currentUser)) {
+                throw new AccessDeniedException("You do not have permission to preview this file");
+            }
+            
+            ThumbnailService.Thumbnail thumbnail = thumbnailService.getThumbnail(fileId);
+            if (thumbnail.status() == ThumbnailService.Status.PENDING) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(ApiResponse.error("Thumbnail is being generated"));
+            }
+            if (thumbnail.status() == ThumbnailService.Status.UNAVAILABLE) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("No thumbnail available for this file"));
+            }
+            
+            String eTag = "\"" + fileId + "-" + thumbnail.version() + "\"";
+            CacheControl cacheControl = thumbnail.version().equals(version)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+            if (eTag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+            }
+            
+            return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(new FileSystemResource(thumbnail.file()));
+                
+        } catch (EntityNotFoundException e) {
+            log.error("File not found: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("File not found: " + e.getMessage()));
+                
+        } catch (AccessDeniedException e) {
+            log.error("Access denied: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("You do not have permission to preview this file"));
+                
+        } catch (Exception e) {
+            log.error("Error getting thumbnail: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("An error occurred while retrieving the thumbnail"));
+        }
+    }
 }
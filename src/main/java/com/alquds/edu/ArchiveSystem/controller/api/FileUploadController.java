@@ -7,12 +7,16 @@ import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
 import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
 import com.alquds.edu.ArchiveSystem.entity.file.Folder;
 import com.alquds.edu.ArchiveSystem.dto.common.ApiResponse;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.ChunkedUploadInitRequest;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.ChunkedUploadStatusDTO;
 import com.alquds.edu.ArchiveSystem.dto.fileexplorer.UploadedFileDTO;
 import com.alquds.edu.ArchiveSystem.exception.file.FileStorageException;
 import com.alquds.edu.ArchiveSystem.exception.file.FileValidationException;
 import com.alquds.edu.ArchiveSystem.exception.file.FolderNotFoundException;
 import com.alquds.edu.ArchiveSystem.exception.auth.UnauthorizedException;
+import com.alquds.edu.ArchiveSystem.service.file.ChunkedUploadService;
 import com.alquds.edu.ArchiveSystem.service.file.FolderFileUploadService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -23,6 +27,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -43,6 +48,7 @@ import java.util.List;
  * </p>
  * <ul>
  * <li>Uploading files to specific folders</li>
+ * <li>Chunked, resumable uploads of single large files</li>
  * <li>Validating file types and sizes</li>
  * <li>Managing file storage on the physical file system</li>
  * </ul>
@@ -66,6 +72,7 @@ import java.util.List;
 public class FileUploadController {
 
         private final FolderFileUploadService folderFileUploadService;
+        private final ChunkedUploadService chunkedUploadService;
         private final UserRepository userRepository;
         private final UploadedFileRepository uploadedFileRepository;
         private final FolderRepository folderRepository;
@@ -223,6 +230,105 @@ public class FileUploadController {
                 }
         }
 
+        /**
+         * Start a chunked (resumable) upload of one file.
+         * 
+         * <p>
+         * Validates the file name, size and target folder like {@code /upload} and
+         * returns the upload ID and the chunk size the client must use. The file
+         * is then sent with {@code PUT /uploads/{uploadId}/chunks/{index}} and
+         * finished with {@code POST /uploads/{uploadId}/commit}.
+         * </p>
+         * 
+         * @param request     File name, size, target folder and notes
+         * @param userDetails Current authenticated user
+         * @return ResponseEntity with the upload status
+         */
+        @PostMapping("/uploads")
+        public ResponseEntity<ApiResponse<ChunkedUploadStatusDTO>> initChunkedUpload(
+                        @Valid @RequestBody ChunkedUploadInitRequest request,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                log.info("Chunked upload init - User: {}, File: {} ({} bytes)",
+                                userDetails.getUsername(), request.getFilename(), request.getFileSize());
+
+                ChunkedUploadStatusDTO status = chunkedUploadService.initUpload(request, getCurrentUserId(userDetails));
+                return ResponseEntity.status(HttpStatus.CREATED)
+                                .body(ApiResponse.success("Upload started", status));
+        }
+
+        /**
+         * Get the state of a chunked upload, used to resume after a dropped connection.
+         * 
+         * @param uploadId    Upload ID
+         * @param userDetails Current authenticated user
+         * @return ResponseEntity with the upload status including received chunk indexes
+         */
+        @GetMapping("/uploads/{uploadId}")
+        public ResponseEntity<ApiResponse<ChunkedUploadStatusDTO>> getChunkedUploadStatus(
+                        @PathVariable String uploadId,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                ChunkedUploadStatusDTO status = chunkedUploadService.getStatus(uploadId, getCurrentUserId(userDetails));
+                return ResponseEntity.ok(ApiResponse.success("Upload status retrieved", status));
+        }
+
+        /**
+         * Upload one chunk. The request body is the raw chunk bytes
+         * (application/octet-stream); it is streamed to disk without multipart parsing.
+         * Chunks may be sent in any order and resent safely.
+         * 
+         * @param uploadId    Upload ID
+         * @param index       Zero-based chunk index
+         * @param body        Chunk bytes
+         * @param userDetails Current authenticated user
+         * @return ResponseEntity with the updated upload status
+         */
+        @PutMapping("/uploads/{uploadId}/chunks/{index}")
+        public ResponseEntity<ApiResponse<ChunkedUploadStatusDTO>> uploadChunk(
+                        @PathVariable String uploadId,
+                        @PathVariable int index,
+                        InputStream body,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                ChunkedUploadStatusDTO status = chunkedUploadService.writeChunk(
+                                uploadId, index, body, getCurrentUserId(userDetails));
+                return ResponseEntity.ok(ApiResponse.success("Chunk stored", status));
+        }
+
+        /**
+         * Finish a chunked upload: move the file into its folder and create the file record.
+         * 
+         * @param uploadId    Upload ID
+         * @param userDetails Current authenticated user
+         * @return ResponseEntity with the uploaded file DTO
+         */
+        @PostMapping("/uploads/{uploadId}/commit")
+        public ResponseEntity<ApiResponse<UploadedFileDTO>> commitChunkedUpload(
+                        @PathVariable String uploadId,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                UploadedFile uploadedFile = chunkedUploadService.commitUpload(uploadId, getCurrentUserId(userDetails));
+                log.info("Chunked upload {} committed as file ID: {}", uploadId, uploadedFile.getId());
+                return ResponseEntity.ok(ApiResponse.success("File uploaded successfully", convertToDTO(uploadedFile)));
+        }
+
+        /**
+         * Abort a chunked upload and discard the received chunks.
+         * 
+         * @param uploadId    Upload ID
+         * @param userDetails Current authenticated user
+         * @return ResponseEntity with success message
+         */
+        @DeleteMapping("/uploads/{uploadId}")
+        public ResponseEntity<ApiResponse<Void>> abortChunkedUpload(
+                        @PathVariable String uploadId,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                chunkedUploadService.abortUpload(uploadId, getCurrentUserId(userDetails));
+                return ResponseEntity.ok(ApiResponse.success("Upload cancelled"));
+        }
+
         /**
          * Get list of files in a specific folder.
          * 
@@ -361,6 +467,19 @@ public class FileUploadController {
                 return false;
         }
 
+        /**
+         * Resolve the database ID of the authenticated user.
+         * 
+         * @param userDetails Current authenticated user
+         * @return user ID
+         */
+        private Long getCurrentUserId(UserDetails userDetails) {
+                return userRepository.findByEmail(userDetails.getUsername())
+                                .map(User::getId)
+                                .orElseThrow(() -> new RuntimeException(
+                                                "User not found: " + userDetails.getUsername()));
+        }
+
         /**
          * Convert UploadedFile entity to UploadedFileDTO.
          * 
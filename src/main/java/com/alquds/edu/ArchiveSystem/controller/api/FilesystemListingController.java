@@ -112,6 +112,8 @@ public class FilesystemListingController {
      * 
      * @param path Relative path from uploads root
      * @param depth How many levels of children to load (default: 1, max: 3)
+     * @param continuation Continuation token of the node at {@code path}, to load the children
+     *                     left out of a previous response by the node limit
      * @param ifNoneMatch ETag from previous request
      * @return DirectoryTreeDTO with children up to specified depth
      */
@@ -120,9 +122,10 @@ public class FilesystemListingController {
     public ResponseEntity<ApiResponse<DirectoryTreeDTO>> getDirectoryTree(
             @RequestParam(defaultValue = "") String path,
             @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(required = false) String continuation,
             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        log.info("Directory tree request: path={}, depth={}", path, depth);
+        log.info("Directory tree request: path={}, depth={}, continuation={}", path, depth, continuation);
 
         try {
             User currentUser = authService.getCurrentUser();
@@ -130,8 +133,8 @@ public class FilesystemListingController {
             // Limit depth for performance
             depth = Math.min(3, Math.max(0, depth));
             
-            // Check ETag
-            if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+            // Check ETag (it covers the whole directory, not one continuation page)
+            if (continuation == null && ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
                 if (!filesystemScanService.hasDirectoryChanged(path, ifNoneMatch)) {
                     log.debug("Directory tree unchanged, returning 304 for path: {}", path);
                     return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
@@ -139,7 +142,7 @@ public class FilesystemListingController {
             }
             
             // Get tree
-            DirectoryTreeDTO tree = filesystemScanService.getDirectoryTree(path, currentUser, depth);
+            DirectoryTreeDTO tree = filesystemScanService.getDirectoryTree(path, currentUser, depth, continuation);
             
             if (tree == null) {
                 return ResponseEntity.notFound().build();
@@ -224,7 +227,8 @@ public class FilesystemListingController {
 
     /**
      * Get the current ETag for a directory.
-     * Useful for checking if a refresh is needed.
+     * Useful for checking if a refresh is needed: the ETag changes whenever
+     * anything below the directory changes.
      * 
      * @param path Relative path
      * @return Current ETag
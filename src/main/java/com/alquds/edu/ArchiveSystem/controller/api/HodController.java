@@ -3,6 +3,7 @@ package com.alquds.edu.ArchiveSystem.controller.api;
 import com.alquds.edu.ArchiveSystem.service.file.FileExplorerService;
 import com.alquds.edu.ArchiveSystem.service.user.UserService;
 import com.alquds.edu.ArchiveSystem.service.report.PdfReportService;
+import com.alquds.edu.ArchiveSystem.service.report.ReportExportService;
 import com.alquds.edu.ArchiveSystem.service.academic.SemesterReportService;
 import com.alquds.edu.ArchiveSystem.service.file.FileAccessService;
 import com.alquds.edu.ArchiveSystem.service.user.NotificationService;
@@ -20,10 +21,14 @@ import com.alquds.edu.ArchiveSystem.dto.report.DashboardOverview;
 import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
 import com.alquds.edu.ArchiveSystem.dto.report.ReportFilter;
 import com.alquds.edu.ArchiveSystem.dto.report.ReportFilterOptions;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportFormat;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportType;
 import com.alquds.edu.ArchiveSystem.dto.user.UserCreateRequest;
 import com.alquds.edu.ArchiveSystem.dto.user.UserResponse;
 import com.alquds.edu.ArchiveSystem.dto.user.UserUpdateRequest;
+import com.alquds.edu.ArchiveSystem.exception.core.ValidationException;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +37,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -41,7 +47,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/hod")
@@ -52,6 +60,7 @@ public class HodController {
     
     private final UserService userService;
     private final PdfReportService pdfReportService;
+    private final ReportExportService reportExportService;
     private final UserRepository userRepository;
     private final SemesterReportService semesterReportService;
     private final FileExplorerService fileExplorerService;
@@ -295,52 +304,71 @@ public class HodController {
     }
     
     /**
-     * Export professor submission report to PDF
+     * Export professor submission report to PDF, written straight to the response
      */
     @GetMapping("/reports/professor-submissions/pdf")
-    public ResponseEntity<byte[]> exportReportToPdf(@RequestParam Long semesterId) {
+    public void exportReportToPdf(@RequestParam Long semesterId, HttpServletResponse response) throws IOException {
         log.info("HOD exporting professor submission report to PDF for semester: {}", semesterId);
         
-        try {
-            User currentUser = getCurrentUser();
-            if (currentUser.getDepartment() == null) {
-                log.error("HOD must be assigned to a department");
-                return ResponseEntity.badRequest().body(null);
-            }
-            
-            Long departmentId = currentUser.getDepartment().getId();
-            
-            // Generate the report
-            ProfessorSubmissionReport report = semesterReportService.generateProfessorSubmissionReport(
-                    semesterId, departmentId);
-            
-            // Export to PDF
-            byte[] pdfBytes = semesterReportService.exportReportToPdf(report);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", 
-                    "professor-submission-report-" + semesterId + "-" + System.currentTimeMillis() + ".pdf");
-            headers.setContentLength(pdfBytes.length);
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfBytes);
-                    
-        } catch (Exception e) {
-            log.error("Error exporting professor submission report to PDF for semester: {}", semesterId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(null);
+        Long departmentId = getHodDepartmentId();
+        
+        // Generate the report
+        ProfessorSubmissionReport report = semesterReportService.generateProfessorSubmissionReport(
+                semesterId, departmentId);
+        
+        startDownload(response, ReportFormat.PDF,
+                "professor-submission-report-" + semesterId + "-" + System.currentTimeMillis());
+        reportExportService.writeProfessorSubmissionReport(report, ReportFormat.PDF, response.getOutputStream());
+    }
+    
+    /**
+     * Export submission details of the HOD's department: one row per course assignment
+     * and required document type, streamed from the database as CSV (default) or XLSX
+     */
+    @GetMapping("/reports/professor-submissions/details")
+    public void exportSubmissionDetails(
+            @RequestParam Long semesterId,
+            @RequestParam(defaultValue = "CSV") ReportFormat format,
+            HttpServletResponse response) throws IOException {
+        log.info("HOD exporting submission details for semester: {}, format: {}", semesterId, format);
+        
+        Long departmentId = getHodDepartmentId();
+        if (!ReportType.SUBMISSION_DETAILS.supports(format)) {
+            throw new ValidationException("Submission details are available as CSV or XLSX",
+                    Map.of("format", format + " is not supported"));
+        }
+        
+        startDownload(response, format, "submission-details-" + semesterId + "-" + departmentId);
+        reportExportService.writeSubmissionDetails(semesterId, departmentId, format, response.getOutputStream());
+    }
+    
+    private Long getHodDepartmentId() {
+        User currentUser = getCurrentUser();
+        if (currentUser.getDepartment() == null) {
+            throw new ValidationException("HOD must be assigned to a department",
+                    Map.of("department", "not assigned"));
         }
+        return currentUser.getDepartment().getId();
     }
     
     /**
-     * Get file explorer root for HOD (department-scoped)
+     * Set download headers; the body is then streamed without a Content-Length.
+     */
+    private static void startDownload(HttpServletResponse response, ReportFormat format, String baseName) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(baseName + "." + format.getExtension()).build().toString());
+    }
+    
+    /**
+     * Get file explorer root for HOD (department-scoped), one page of professors at a time
      */
     @GetMapping("/file-explorer/root")
     public ResponseEntity<ApiResponse<FileExplorerNode>> getFileExplorerRoot(
             @RequestParam Long academicYearId,
-            @RequestParam Long semesterId) {
+            @RequestParam Long semesterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int limit) {
         
         log.info("HOD requesting file explorer root for year: {}, semester: {}", academicYearId, semesterId);
         
@@ -351,7 +379,8 @@ public class HodController {
                         .body(ApiResponse.error("HOD must be assigned to a department"));
             }
             
-            FileExplorerNode rootNode = fileExplorerService.getRootNode(academicYearId, semesterId, currentUser);
+            FileExplorerNode rootNode = fileExplorerService.getRootNode(academicYearId, semesterId, currentUser,
+                    cursor, limit);
             
             return ResponseEntity.ok(ApiResponse.success("File explorer root retrieved successfully", rootNode));
             
@@ -369,20 +369,24 @@ public class ProfessorController {
          * 
          * @param academicYearId The ID of the academic year
          * @param semesterId     The ID of the semester
+         * @param cursor         childrenCursor of the previous page (optional)
+         * @param limit          professors per page (optional)
          * @return ResponseEntity containing ApiResponse with the root FileExplorerNode
          * @throws RuntimeException if academic year or semester not found
          */
         @GetMapping("/file-explorer/root")
         public ResponseEntity<ApiResponse<com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileExplorerNode>> getFileExplorerRoot(
                         @RequestParam Long academicYearId,
-                        @RequestParam Long semesterId) {
+                        @RequestParam Long semesterId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "0") int limit) {
 
                 log.info("Professor fetching file explorer root for academic year ID: {}, semester ID: {}",
                                 academicYearId, semesterId);
                 var currentUser = authService.getCurrentUser();
 
                 com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileExplorerNode rootNode = fileExplorerService
-                                .getRootNode(academicYearId, semesterId, currentUser);
+                                .getRootNode(academicYearId, semesterId, currentUser, cursor, limit);
 
                 return ResponseEntity.ok(ApiResponse.success("File explorer root retrieved successfully", rootNode));
         }
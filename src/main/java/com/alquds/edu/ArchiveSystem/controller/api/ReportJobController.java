@@ -0,0 +1,101 @@
+package com.alquds.edu.ArchiveSystem.controller.api;
+
+import com.alquds.edu.ArchiveSystem.dto.common.ApiResponse;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobDTO;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobRequest;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobStatus;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.service.auth.AuthService;
+import com.alquds.edu.ArchiveSystem.service.report.ReportJobService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Background report jobs for HOD, Deanship and Admin users.
+ *
+ * Flow: POST a job, poll its status until DONE (or FAILED), then download the
+ * result. Reports whose data has not changed since they were last built are
+ * returned as DONE right away.
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasAnyRole('ADMIN', 'DEANSHIP', 'HOD')")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+    private final AuthService authService;
+
+    /**
+     * Submit a report job.
+     * POST /api/reports/jobs
+     *
+     * @param request report type (PROFESSOR_SUBMISSIONS, SYSTEM_WIDE, SUBMISSION_DETAILS), format (PDF, CSV, XLSX, JSON),
+     *                semester and optional department
+     * @return the job; 202 while it runs, 200 if it was served from the report store
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobDTO>> submitJob(@Valid @RequestBody ReportJobRequest request) {
+        User currentUser = authService.getCurrentUser();
+        ReportJobDTO job = reportJobService.submit(request, currentUser);
+        log.info("User {} submitted report job {} ({} {} for semester {}), status {}", currentUser.getEmail(),
+                job.getJobId(), job.getType(), job.getFormat(), job.getSemesterId(), job.getStatus());
+
+        HttpStatus status = job.getStatus() == ReportJobStatus.DONE ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(ApiResponse.success("Report job submitted", job));
+    }
+
+    /**
+     * Get the status of a report job.
+     * GET /api/reports/jobs/{jobId}
+     *
+     * @param jobId the job ID
+     * @return the job status, with a download URL once DONE
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobDTO>> getJob(@PathVariable String jobId) {
+        User currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success("Report job status", reportJobService.getJob(jobId, currentUser)));
+    }
+
+    /**
+     * Download the result of a finished report job.
+     * GET /api/reports/jobs/{jobId}/download
+     *
+     * @param jobId the job ID
+     * @return the report file, or 409 if the job is not finished
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<?> download(@PathVariable String jobId) {
+        User currentUser = authService.getCurrentUser();
+        ReportJobService.ReportFile report;
+        try {
+            report = reportJobService.getResult(jobId, currentUser);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("The report is not ready yet"));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(report.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(report.filename()).build().toString())
+                .body(new FileSystemResource(report.file()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.alquds.edu.ArchiveSystem.controller.api;
+
+import com.alquds.edu.ArchiveSystem.dto.common.ApiResponse;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.service.auth.AuthService;
+import com.alquds.edu.ArchiveSystem.service.file.FullTextSearchService;
+import com.alquds.edu.ArchiveSystem.service.file.MetadataSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Search across the archive for all roles.
+ * Results are limited to the files the current user may access.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private final FullTextSearchService fullTextSearchService;
+    private final MetadataSearchService metadataSearchService;
+    private final AuthService authService;
+
+    /**
+     * Quick search over file names, folder names, course codes/names and professor names.
+     * Words are matched as prefixes and small typos are tolerated, e.g. {@code strcture cs2}.
+     *
+     * @param q     the search text
+     * @param limit maximum number of results (1-50)
+     * @return matching files, folders, courses and professors, best match first
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<MetadataSearchResultDTO>>> searchMetadata(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        User currentUser = authService.getCurrentUser();
+        List<MetadataSearchResultDTO> results = metadataSearchService.search(q, limit, currentUser);
+
+        return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " results", results));
+    }
+
+    /**
+     * Full-text search over file names and document content
+     * (PDF, Word, Excel, PowerPoint and text files).
+     *
+     * @param q     the search text, e.g. {@code recursion midterm} or {@code "dynamic programming"}
+     * @param limit maximum number of results (1-50)
+     * @return matching files, best match first
+     */
+    @GetMapping("/content")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<FileSearchResultDTO>>> searchContent(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        User currentUser = authService.getCurrentUser();
+        List<FileSearchResultDTO> results = fullTextSearchService.search(q, limit, currentUser);
+
+        return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " files", results));
+    }
+
+    /**
+     * Re-index every file in the background, e.g. after restoring uploads from a backup.
+     *
+     * @return number of files queued
+     */
+    @PostMapping("/content/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> reindexContent() {
+        int queued = fullTextSearchService.reindexAll();
+        log.info("Queued {} files for full-text re-indexing", queued);
+        return ResponseEntity.ok(ApiResponse.success("Re-indexing started", queued));
+    }
+}
@@ -0,0 +1,61 @@
+package com.alquds.edu.ArchiveSystem.dto.fileexplorer;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting a chunked (resumable) upload of a single file.
+ * Either folderId or folderPath must be provided, as for the multipart upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadInitRequest {
+
+    /**
+     * Original filename, validated against file.allowed-types
+     */
+    @NotBlank(message = "Filename is required")
+    @Size(max = 255, message = "Filename must not exceed 255 characters")
+    private String filename;
+
+    /**
+     * Total file size in bytes
+     */
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long fileSize;
+
+    /**
+     * MIME type reported by the browser (optional)
+     */
+    private String contentType;
+
+    /**
+     * Target folder ID (optional if folderPath provided)
+     */
+    private Long folderId;
+
+    /**
+     * Target folder path for auto-creation (optional if folderId provided)
+     */
+    private String folderPath;
+
+    /**
+     * Optional notes stored with the file
+     */
+    @Size(max = 1000, message = "Notes must not exceed 1000 characters")
+    private String notes;
+
+    /**
+     * Preferred chunk size in bytes; clamped to the server limits
+     */
+    private Integer chunkSize;
+}
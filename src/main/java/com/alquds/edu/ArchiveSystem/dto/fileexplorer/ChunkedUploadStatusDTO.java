@@ -0,0 +1,54 @@
+package com.alquds.edu.ArchiveSystem.dto.fileexplorer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object describing the state of a chunked upload.
+ * Clients resume an interrupted upload by sending only the chunks
+ * missing from receivedChunks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadStatusDTO {
+
+    /**
+     * Upload identifier used in the chunk and commit URLs
+     */
+    private String uploadId;
+
+    private String filename;
+
+    private Long fileSize;
+
+    /**
+     * Size of every chunk except the last one
+     */
+    private Integer chunkSize;
+
+    private Integer chunkCount;
+
+    /**
+     * Indexes of the chunks already stored on the server
+     */
+    private List<Integer> receivedChunks;
+
+    private Long receivedBytes;
+
+    /**
+     * Whether all chunks were received and the upload can be committed
+     */
+    private Boolean complete;
+
+    /**
+     * Time after which the unfinished upload is discarded
+     */
+    private LocalDateTime expiresAt;
+}
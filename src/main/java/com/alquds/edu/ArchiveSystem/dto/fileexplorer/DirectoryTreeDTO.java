@@ -90,6 +90,18 @@ public class DirectoryTreeDTO {
     @Builder.Default  
     private int folderCount = 0;
     
+    /**
+     * Total size in bytes of the files directly in this folder
+     */
+    @Builder.Default
+    private long totalSize = 0;
+    
+    /**
+     * Set when children were cut at the node limit.
+     * Pass it back as "continuation" with this node's path to load the remaining children.
+     */
+    private String continuationToken;
+    
     /**
      * Additional metadata depending on node type
      */
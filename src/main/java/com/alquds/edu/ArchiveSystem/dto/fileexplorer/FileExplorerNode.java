@@ -30,6 +30,13 @@ public class FileExplorerNode {
     @Builder.Default
     private List<UploadedFileDTO> files = new ArrayList<>();
     
+    /**
+     * Set on nodes whose children are paged: the total number of children and,
+     * while more remain, the cursor of the next page.
+     */
+    private Long childrenTotal;
+    private String childrenCursor;
+    
     private boolean canRead;
     private boolean canWrite;
     private boolean canDelete;
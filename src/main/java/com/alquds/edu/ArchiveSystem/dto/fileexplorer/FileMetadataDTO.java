@@ -72,4 +72,10 @@ public class FileMetadataDTO {
      * Values: "pdf", "office", "code", "text", "image", "unsupported"
      */
     private String previewType;
+    
+    /**
+     * Pages (PDF, Word), slides (PowerPoint) or sheets (Excel);
+     * null until the file's preview has been prepared
+     */
+    private Integer pageCount;
 }
@@ -0,0 +1,58 @@
+package com.alquds.edu.ArchiveSystem.dto.fileexplorer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for one file search hit.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileSearchResultDTO {
+
+    /**
+     * ID of the matching file (use with /api/file-explorer/files/{id})
+     */
+    private Long fileId;
+
+    /**
+     * Original filename as uploaded by the user
+     */
+    private String originalFilename;
+
+    /**
+     * MIME type of the file
+     */
+    private String fileType;
+
+    /**
+     * File size in bytes
+     */
+    private Long fileSize;
+
+    /**
+     * Path of the folder that contains the file
+     */
+    private String folderPath;
+
+    /**
+     * Name of the user who uploaded the file
+     */
+    private String uploaderName;
+
+    /**
+     * Timestamp when the file was uploaded
+     */
+    private LocalDateTime uploadedAt;
+
+    /**
+     * Relevance score; higher is better, only comparable within one result list
+     */
+    private Float score;
+}
@@ -0,0 +1,56 @@
+package com.alquds.edu.ArchiveSystem.dto.fileexplorer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for one metadata search hit (file, folder, course or professor).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetadataSearchResultDTO {
+
+    /**
+     * Kind of archive item a hit refers to
+     */
+    public enum ResultType {
+        FILE,
+        FOLDER,
+        COURSE,
+        PROFESSOR
+    }
+
+    /**
+     * Kind of item
+     */
+    private ResultType type;
+
+    /**
+     * ID of the file, folder, course or professor
+     */
+    private Long id;
+
+    /**
+     * Display text: filename, folder name, course code or professor name
+     */
+    private String label;
+
+    /**
+     * Secondary text: containing folder, folder path, course name or professor ID
+     */
+    private String detail;
+
+    /**
+     * Folder path to open in the explorer (files and folders only)
+     */
+    private String path;
+
+    /**
+     * Relevance score; higher is better, only comparable within one result list
+     */
+    private Double score;
+}
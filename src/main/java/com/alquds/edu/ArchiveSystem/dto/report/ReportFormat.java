@@ -0,0 +1,27 @@
+package com.alquds.edu.ArchiveSystem.dto.report;
+
+/**
+ * Output formats of report exports and report jobs.
+ */
+public enum ReportFormat {
+    PDF("application/pdf", "pdf"),
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    JSON("application/json", "json");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
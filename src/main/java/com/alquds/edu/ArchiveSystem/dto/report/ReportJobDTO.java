@@ -0,0 +1,39 @@
+package com.alquds.edu.ArchiveSystem.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of a report job, returned when it is submitted and while it is polled.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+
+    private String jobId;
+    private ReportType type;
+    private ReportFormat format;
+    private Long semesterId;
+    private Long departmentId;
+    private ReportJobStatus status;
+
+    /**
+     * True if the result was served from the report store without rebuilding it.
+     */
+    private boolean cached;
+
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+
+    /**
+     * Where to fetch the result once the job is DONE.
+     */
+    private String downloadUrl;
+}
@@ -0,0 +1,31 @@
+package com.alquds.edu.ArchiveSystem.dto.report;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to build a report in the background.
+ *
+ * HOD users always get their own department; Admin and Dean users may pass a
+ * department, which is required for {@link ReportType#PROFESSOR_SUBMISSIONS}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    @NotNull(message = "Report format is required")
+    private ReportFormat format;
+
+    @NotNull(message = "Semester ID is required")
+    private Long semesterId;
+
+    private Long departmentId;
+}
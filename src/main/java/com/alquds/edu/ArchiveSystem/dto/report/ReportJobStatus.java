@@ -0,0 +1,11 @@
+package com.alquds.edu.ArchiveSystem.dto.report;
+
+/**
+ * Lifecycle of a report job.
+ */
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,36 @@
+package com.alquds.edu.ArchiveSystem.dto.report;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Reports that can be exported or built by a report job, with the formats each supports.
+ */
+public enum ReportType {
+    /**
+     * Per professor and course submission status of one department
+     * ({@link ProfessorSubmissionReport}).
+     */
+    PROFESSOR_SUBMISSIONS(EnumSet.allOf(ReportFormat.class)),
+
+    /**
+     * Per department summary of a semester ({@link SystemWideReport}).
+     */
+    SYSTEM_WIDE(EnumSet.of(ReportFormat.CSV, ReportFormat.XLSX, ReportFormat.JSON)),
+
+    /**
+     * One row per course assignment and required document type
+     * ({@link SubmissionDetailRow}), streamed from the database page by page.
+     */
+    SUBMISSION_DETAILS(EnumSet.of(ReportFormat.CSV, ReportFormat.XLSX));
+
+    private final Set<ReportFormat> formats;
+
+    ReportType(Set<ReportFormat> formats) {
+        this.formats = formats;
+    }
+
+    public boolean supports(ReportFormat format) {
+        return formats.contains(format);
+    }
+}
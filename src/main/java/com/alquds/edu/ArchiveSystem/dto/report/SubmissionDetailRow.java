@@ -0,0 +1,34 @@
+package com.alquds.edu.ArchiveSystem.dto.report;
+
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+import com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row of the submission detail export:
+ * one required document type of one course assignment
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionDetailRow {
+
+    private Long courseAssignmentId;
+    private String professorName;
+    private String professorEmail;
+    private String departmentName;
+    private String courseCode;
+    private String courseName;
+    private DocumentTypeEnum documentType;
+    private LocalDateTime deadline;
+    private SubmissionStatus status;
+    private LocalDateTime submittedAt;
+    private Boolean lateSubmission;
+}
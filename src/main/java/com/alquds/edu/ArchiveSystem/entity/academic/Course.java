@@ -1,6 +1,7 @@
 package com.alquds.edu.ArchiveSystem.entity.academic;
 
 import com.alquds.edu.ArchiveSystem.entity.submission.RequiredDocumentType;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangeListener;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -20,6 +21,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "courses")
+@EntityListeners(EntityChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,53 @@
+package com.alquds.edu.ArchiveSystem.entity.event;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.Course;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns lifecycle callbacks of searchable entities into
+ * {@link EntityChangedEvent}s. Created by Hibernate through Spring's bean
+ * container, so the publisher is injected.
+ *
+ * Covers every write path that goes through the entity manager (uploads, replace,
+ * delete, cascades); bulk JPQL updates and deletes do not fire callbacks.
+ *
+ * @since 2.1
+ */
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EntityChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.SAVED);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.DELETED);
+    }
+
+    private void publish(Object entity, EntityChangedEvent.ChangeType type) {
+        if (entity instanceof UploadedFile file) {
+            eventPublisher.publishEvent(new EntityChangedEvent(UploadedFile.class, file.getId(), type, file.getFileUrl()));
+        } else if (entity instanceof Folder folder) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Folder.class, folder.getId(), type, folder.getPath()));
+        } else if (entity instanceof Course course) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Course.class, course.getId(), type));
+        } else if (entity instanceof User user) {
+            eventPublisher.publishEvent(new EntityChangedEvent(User.class, user.getId(), type));
+        }
+    }
+}
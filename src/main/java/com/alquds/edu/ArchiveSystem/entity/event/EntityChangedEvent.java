@@ -0,0 +1,35 @@
+package com.alquds.edu.ArchiveSystem.entity.event;
+
+/**
+ * Application event published whenever a searchable entity (UploadedFile, Folder,
+ * Course, User) is inserted, updated or deleted through JPA
+ * (see {@link EntityChangeListener}).
+ *
+ * Consumers that keep derived data (search indexes) should listen with
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * @param entityType class of the changed entity
+ * @param entityId   ID of the changed entity
+ * @param type       kind of change
+ * @param path       storage path relative to the uploads root (UploadedFile file URL,
+ *                   Folder path), or {@code null} for other entities
+ * @since 2.1
+ */
+public record EntityChangedEvent(Class<?> entityType, Long entityId, ChangeType type, String path) {
+
+    public EntityChangedEvent(Class<?> entityType, Long entityId, ChangeType type) {
+        this(entityType, entityId, type, null);
+    }
+
+    public enum ChangeType {
+        SAVED,
+        DELETED
+    }
+
+    /**
+     * @return {@code true} if the changed entity is of the given class
+     */
+    public boolean isAbout(Class<?> entityClass) {
+        return entityClass.equals(entityType);
+    }
+}
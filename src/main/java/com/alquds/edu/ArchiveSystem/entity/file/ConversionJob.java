@@ -0,0 +1,89 @@
+package com.alquds.edu.ArchiveSystem.entity.file;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a post-upload conversion job: pre-rendering the HTML preview,
+ * text extract and page count of one uploaded file.
+ * There is at most one job per file; a replaced file resets its job to PENDING
+ * for the new content version.
+ */
+@Entity
+@Table(name = "conversion_jobs", indexes = {
+        @Index(name = "idx_conversion_jobs_queue", columnList = "status, next_attempt_at, file_uploaded_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversion_jobs_file", columnNames = "file_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Uploaded file to convert. Kept as a plain ID so deleting a file is not
+     * blocked by its job.
+     */
+    @Column(name = "file_id", nullable = false)
+    private Long fileId;
+
+    /**
+     * Content version being converted ({@link UploadedFile#contentVersion()})
+     */
+    @Column(name = "content_version", nullable = false, length = 32)
+    private String contentVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ConversionJobStatus status;
+
+    /**
+     * Upload time of the file; the queue serves the most recent uploads first
+     */
+    @Column(name = "file_uploaded_at", nullable = false)
+    private LocalDateTime fileUploadedAt;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    /**
+     * Earliest time a worker may pick the job up (retry back-off)
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * Pages (PDF, Word), slides (PowerPoint) or sheets (Excel); null if unknown
+     */
+    @Column(name = "page_count")
+    private Integer pageCount;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
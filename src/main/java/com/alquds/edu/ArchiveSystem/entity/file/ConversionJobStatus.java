@@ -0,0 +1,28 @@
+package com.alquds.edu.ArchiveSystem.entity.file;
+
+/**
+ * Enum representing the state of a preview conversion job.
+ * Status workflow: PENDING -> RUNNING -> DONE, or back to PENDING for a retry;
+ * FAILED once all attempts are used up.
+ */
+public enum ConversionJobStatus {
+    /**
+     * Waiting for a worker (new, replaced or retried file).
+     */
+    PENDING,
+
+    /**
+     * Claimed by a worker.
+     */
+    RUNNING,
+
+    /**
+     * Renditions for the job's content version are in the cache.
+     */
+    DONE,
+
+    /**
+     * Conversion failed on every attempt; previews fall back to on-demand conversion.
+     */
+    FAILED
+}
@@ -4,6 +4,7 @@ import com.alquds.edu.ArchiveSystem.entity.academic.AcademicYear;
 import com.alquds.edu.ArchiveSystem.entity.user.User;
 import com.alquds.edu.ArchiveSystem.entity.academic.Course;
 import com.alquds.edu.ArchiveSystem.entity.academic.Semester;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangeListener;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -22,8 +23,10 @@ import java.time.LocalDateTime;
     @Index(name = "idx_folder_path", columnList = "path", unique = true),
     @Index(name = "idx_folder_parent", columnList = "parent_id"),
     @Index(name = "idx_folder_owner", columnList = "owner_id"),
-    @Index(name = "idx_folder_context", columnList = "academic_year_id, semester_id, owner_id")
+    @Index(name = "idx_folder_context", columnList = "academic_year_id, semester_id, owner_id"),
+    @Index(name = "idx_folder_updated", columnList = "updated_at")
 })
+@EntityListeners(EntityChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -96,11 +99,26 @@ public class Folder {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    /**
+     * Timestamp of the last change, used to catch up cached copies of the tree
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     /**
      * Set creation timestamp before persisting
      */
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+    
+    /**
+     * Set update timestamp before updating
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 }
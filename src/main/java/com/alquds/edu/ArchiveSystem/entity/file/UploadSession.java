@@ -0,0 +1,114 @@
+package com.alquds.edu.ArchiveSystem.entity.file;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+/**
+ * Entity representing an in-progress chunked (resumable) upload.
+ * Chunks are written to a staging file under {@code {file.upload-dir}/.staging/{id}.part};
+ * the session is deleted once the file is committed into its folder or aborted.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_uploader", columnList = "uploader_id"),
+        @Index(name = "idx_upload_sessions_expires", columnList = "expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    /**
+     * Random upload identifier (UUID) handed to the client
+     */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /**
+     * Target folder the file is committed into. Kept as a plain ID so deleting
+     * a folder or user is not blocked by an abandoned upload.
+     */
+    @Column(name = "folder_id", nullable = false)
+    private Long folderId;
+
+    /**
+     * User who started the upload; only this user may send chunks
+     */
+    @Column(name = "uploader_id", nullable = false)
+    private Long uploaderId;
+
+    @Column(name = "original_filename", nullable = false)
+    private String originalFilename;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    /**
+     * Total file size in bytes as announced by the client
+     */
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    /**
+     * Size of every chunk except the last one
+     */
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    /**
+     * Bitmap of received chunk indexes ({@link BitSet#toByteArray()})
+     */
+    @Column(name = "received_chunks", length = 1024)
+    private byte[] receivedChunks;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    @Column(length = 1000)
+    private String notes;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * @return received chunk indexes as a bit set
+     */
+    public BitSet receivedChunkSet() {
+        return receivedChunks != null ? BitSet.valueOf(receivedChunks) : new BitSet(chunkCount);
+    }
+
+    /**
+     * @return expected length of the chunk at the given index
+     */
+    public long expectedChunkLength(int index) {
+        if (index == chunkCount - 1) {
+            return totalSize - (long) index * chunkSize;
+        }
+        return chunkSize;
+    }
+
+    public boolean isComplete() {
+        return receivedChunkSet().cardinality() == chunkCount;
+    }
+}
@@ -2,6 +2,7 @@ package com.alquds.edu.ArchiveSystem.entity.file;
 
 import com.alquds.edu.ArchiveSystem.entity.user.User;
 import com.alquds.edu.ArchiveSystem.entity.submission.DocumentSubmission;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangeListener;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -15,6 +16,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * Entity representing an uploaded file in the file explorer system.
@@ -24,8 +26,11 @@ import java.time.LocalDateTime;
 @Table(name = "uploaded_files", indexes = {
         @Index(name = "idx_uploaded_files_folder", columnList = "folder_id"),
         @Index(name = "idx_uploaded_files_uploader", columnList = "uploader_id"),
-        @Index(name = "idx_uploaded_files_submission", columnList = "document_submission_id")
+        @Index(name = "idx_uploaded_files_submission", columnList = "document_submission_id"),
+        @Index(name = "idx_uploaded_files_sha256", columnList = "content_sha256"),
+        @Index(name = "idx_uploaded_files_updated", columnList = "updated_at")
 })
+@EntityListeners(EntityChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -78,6 +83,24 @@ public class UploadedFile implements Serializable {
     @Column(name = "file_type")
     private String fileType;
 
+    /**
+     * MIME type detected from the file content (independent of the browser-supplied fileType)
+     */
+    @Column(name = "detected_content_type", length = 100)
+    private String detectedContentType;
+
+    /**
+     * SHA-256 of the file content (64 lower-case hex digits), computed while the upload is written
+     */
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
+    /**
+     * xxHash32 of the file content (8 lower-case hex digits), a cheap checksum for quick comparisons
+     */
+    @Column(name = "content_xxhash", length = 16)
+    private String contentXxHash;
+
     /**
      * User who uploaded the file
      */
@@ -125,4 +148,21 @@ public class UploadedFile implements Serializable {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Short identifier of the stored content, used to key caches derived from it
+     * (thumbnails, preview renditions): the start of the SHA-256, or the last update
+     * time for files stored before content hashing.
+     *
+     * @return content version, changes when the file is replaced
+     */
+    public String contentVersion() {
+        if (contentSha256 != null && contentSha256.length() >= 16) {
+            return contentSha256.substring(0, 16);
+        }
+        if (updatedAt != null) {
+            return Long.toHexString(updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return "0";
+    }
 }
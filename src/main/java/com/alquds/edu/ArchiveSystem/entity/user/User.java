@@ -5,6 +5,7 @@ import com.alquds.edu.ArchiveSystem.entity.auth.Role;
 import com.alquds.edu.ArchiveSystem.entity.submission.DocumentSubmission;
 import com.alquds.edu.ArchiveSystem.entity.academic.Department;
 import com.alquds.edu.ArchiveSystem.entity.auth.RefreshToken;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangeListener;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -28,6 +29,7 @@ import java.util.List;
            @Index(name = "idx_users_department", columnList = "department_id"),
            @Index(name = "idx_users_role", columnList = "role")
        })
+@EntityListeners(EntityChangeListener.class)
 @JsonIgnoreProperties({"notifications", "password", "hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
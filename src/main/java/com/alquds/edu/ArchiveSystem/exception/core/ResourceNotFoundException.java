@@ -19,6 +19,7 @@ public class ResourceNotFoundException extends ArchiveSystemException {
     public static final String FILE_NOT_FOUND = "FILE_NOT_FOUND";
     public static final String DEPARTMENT_NOT_FOUND = "DEPARTMENT_NOT_FOUND";
     public static final String USER_NOT_FOUND = "USER_NOT_FOUND";
+    public static final String UPLOAD_SESSION_NOT_FOUND = "UPLOAD_SESSION_NOT_FOUND";
     
     public ResourceNotFoundException(String errorCode, String message) {
         super(errorCode, message, HttpStatus.NOT_FOUND);
@@ -137,4 +138,12 @@ public class ResourceNotFoundException extends ArchiveSystemException {
             List.of("Verify the email address", "Check if the user is registered")
         );
     }
+    
+    public static ResourceNotFoundException uploadSession(String uploadId) {
+        return new ResourceNotFoundException(
+            UPLOAD_SESSION_NOT_FOUND,
+            "Upload not found or expired: " + uploadId,
+            List.of("Start the upload again", "Check if the upload was already committed")
+        );
+    }
 }
@@ -0,0 +1,72 @@
+package com.alquds.edu.ArchiveSystem.exception.file;
+
+import com.alquds.edu.ArchiveSystem.exception.core.ArchiveSystemException;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an Office conversion is refused or abandoned because it
+ * exceeds the conversion limits: input too large for its format, conversion
+ * queue full, or wall-clock timeout reached.
+ */
+@Getter
+public class ConversionRejectedException extends ArchiveSystemException {
+
+    public static final String CONVERSION_TOO_LARGE = "CONVERSION_TOO_LARGE";
+    public static final String CONVERSION_BUSY = "CONVERSION_BUSY";
+    public static final String CONVERSION_TIMEOUT = "CONVERSION_TIMEOUT";
+
+    /**
+     * Seconds after which a retry may succeed, or 0 if retrying will not help.
+     */
+    private final int retryAfterSeconds;
+
+    private ConversionRejectedException(String errorCode, String message, HttpStatus httpStatus,
+                                        List<String> suggestions, int retryAfterSeconds) {
+        super(errorCode, message, httpStatus, suggestions);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    // Convenience factory methods
+
+    public static ConversionRejectedException tooLarge(String format, long size, long limit) {
+        return new ConversionRejectedException(
+            CONVERSION_TOO_LARGE,
+            String.format("The %s document is too large to preview (%d bytes, limit %d bytes)", format, size, limit),
+            HttpStatus.PAYLOAD_TOO_LARGE,
+            List.of("Download the file to view it"),
+            0
+        );
+    }
+
+    public static ConversionRejectedException busy(int retryAfterSeconds) {
+        return new ConversionRejectedException(
+            CONVERSION_BUSY,
+            "Too many document previews are being prepared right now",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            List.of("Try again in a few seconds"),
+            retryAfterSeconds
+        );
+    }
+
+    public static ConversionRejectedException timedOut(int timeoutSeconds) {
+        return new ConversionRejectedException(
+            CONVERSION_TIMEOUT,
+            "Preparing the document preview took longer than " + timeoutSeconds + " seconds",
+            HttpStatus.UNPROCESSABLE_ENTITY,
+            List.of("Download the file to view it"),
+            0
+        );
+    }
+
+    public boolean isBusy() {
+        return CONVERSION_BUSY.equals(getErrorCode());
+    }
+
+    public boolean isTooLarge() {
+        return CONVERSION_TOO_LARGE.equals(getErrorCode());
+    }
+}
@@ -1,7 +1,9 @@
 package com.alquds.edu.ArchiveSystem.repository.academic;
 
+import com.alquds.edu.ArchiveSystem.entity.academic.Course;
 import com.alquds.edu.ArchiveSystem.entity.academic.CourseAssignment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -104,4 +107,80 @@ public interface CourseAssignmentRepository extends JpaRepository<CourseAssignme
                         "LEFT JOIN FETCH c.department " +
                         "WHERE ca.isActive = true")
         List<CourseAssignment> findAllWithEagerLoading();
+        
+        /**
+         * Change stamp of a semester's course assignments for report caching: [count, max updatedAt]
+         */
+        @Query("SELECT COUNT(ca), MAX(ca.updatedAt) FROM CourseAssignment ca WHERE ca.semester.id = :semesterId")
+        List<Object[]> findChangeStampBySemesterId(@Param("semesterId") Long semesterId);
+
+        /**
+         * Per-professor totals for a semester in one query, for explorer professor nodes.
+         * Professors without active assignments are absent.
+         *
+         * @return rows of [professorId, active course assignment count, uploaded file count]
+         */
+        @Query("SELECT ca.professor.id, COUNT(DISTINCT ca.id), COALESCE(SUM(ds.fileCount), 0) " +
+                        "FROM CourseAssignment ca LEFT JOIN DocumentSubmission ds ON ds.courseAssignment = ca " +
+                        "WHERE ca.semester.id = :semesterId AND ca.isActive = true AND ca.professor.id IN :professorIds " +
+                        "GROUP BY ca.professor.id")
+        List<Object[]> countCoursesAndFilesByProfessor(@Param("semesterId") Long semesterId,
+                        @Param("professorIds") Collection<Long> professorIds);
+
+        /**
+         * IDs of a semester's active course assignments after {@code afterId}, in ID order,
+         * for keyset-paged exports. A null department means all departments.
+         */
+        @Query("SELECT ca.id FROM CourseAssignment ca JOIN ca.professor p LEFT JOIN p.department d " +
+                        "WHERE ca.semester.id = :semesterId AND ca.isActive = true AND ca.id > :afterId " +
+                        "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+                        "ORDER BY ca.id")
+        List<Long> findIdsForExport(@Param("semesterId") Long semesterId,
+                                    @Param("departmentId") Long departmentId,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+        /**
+         * Submission detail of the given course assignments: one row per required document type,
+         * using the semester's requirements or, if the course has none for the semester, its
+         * course-level ones. Rows: [assignmentId, firstName, lastName, email, departmentName,
+         * courseCode, courseName, documentType, deadline, status, submittedAt, isLateSubmission];
+         * the last three are null when nothing was submitted.
+         */
+        @Query("SELECT ca.id, p.firstName, p.lastName, p.email, d.name, c.courseCode, c.courseName, " +
+                        "r.documentType, r.deadline, s.status, s.submittedAt, s.isLateSubmission " +
+                        "FROM CourseAssignment ca JOIN ca.professor p LEFT JOIN p.department d JOIN ca.course c " +
+                        "JOIN RequiredDocumentType r ON r.course = c " +
+                        "LEFT JOIN r.semester rs " +
+                        "LEFT JOIN DocumentSubmission s ON s.courseAssignment = ca AND s.documentType = r.documentType " +
+                        "WHERE ca.id IN :ids " +
+                        "AND (rs.id = ca.semester.id OR (rs.id IS NULL AND NOT EXISTS (" +
+                        "SELECT r2.id FROM RequiredDocumentType r2 " +
+                        "WHERE r2.course = c AND r2.semester.id = ca.semester.id))) " +
+                        "ORDER BY ca.id, r.documentType")
+        List<Object[]> findSubmissionDetails(@Param("ids") List<Long> ids);
+
+        /**
+         * A semester's active course assignments with course, professor and semester loaded,
+         * limited to professors of one department. A null department means all departments.
+         */
+        @Query("SELECT ca FROM CourseAssignment ca " +
+                        "JOIN FETCH ca.course c " +
+                        "LEFT JOIN FETCH c.department " +
+                        "JOIN FETCH ca.professor p " +
+                        "LEFT JOIN FETCH p.department d " +
+                        "JOIN FETCH ca.semester " +
+                        "WHERE ca.semester.id = :semesterId AND ca.isActive = true " +
+                        "AND (:departmentId IS NULL OR d.id = :departmentId)")
+        List<CourseAssignment> findBySemesterIdAndDepartment(@Param("semesterId") Long semesterId,
+                        @Param("departmentId") Long departmentId);
+
+        /**
+         * Courses with active assignments, limited to professors of one department.
+         * A null department means all departments.
+         */
+        @Query("SELECT DISTINCT c FROM CourseAssignment ca JOIN ca.course c " +
+                        "JOIN ca.professor p LEFT JOIN p.department d " +
+                        "WHERE ca.isActive = true AND (:departmentId IS NULL OR d.id = :departmentId)")
+        List<Course> findAssignedCoursesByDepartment(@Param("departmentId") Long departmentId);
 }
@@ -4,6 +4,7 @@ import com.alquds.edu.ArchiveSystem.entity.academic.Course;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -33,4 +34,23 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
            "WHERE c.isActive = true " +
            "GROUP BY c.department.id, c.department.name")
     List<Object[]> countActiveCoursesByDepartment();
+    
+    /**
+     * Get the fields needed by the metadata search index:
+     * id, course code, course name and department ID
+     */
+    @Query("SELECT c.id, c.courseCode, c.courseName, d.id FROM Course c LEFT JOIN c.department d")
+    List<Object[]> findSearchMetadata();
+    
+    /**
+     * Same as {@link #findSearchMetadata()} for a single course
+     */
+    @Query("SELECT c.id, c.courseCode, c.courseName, d.id FROM Course c LEFT JOIN c.department d WHERE c.id = :id")
+    List<Object[]> findSearchMetadataById(@Param("id") Long id);
+    
+    /**
+     * Change stamp of all courses for report caching: [count, max updatedAt]
+     */
+    @Query("SELECT COUNT(c), MAX(c.updatedAt) FROM Course c")
+    List<Object[]> findChangeStamp();
 }
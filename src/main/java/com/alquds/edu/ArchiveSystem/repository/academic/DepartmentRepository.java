@@ -3,8 +3,10 @@ package com.alquds.edu.ArchiveSystem.repository.academic;
 import com.alquds.edu.ArchiveSystem.entity.academic.Department;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -41,4 +43,10 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      * @return true if another department with this shortcut exists
      */
     boolean existsByShortcutAndIdNot(String shortcut, Long id);
+    
+    /**
+     * Change stamp of all departments for report caching: [count, max updatedAt]
+     */
+    @Query("SELECT COUNT(d), MAX(d.updatedAt) FROM Department d")
+    List<Object[]> findChangeStamp();
 }
@@ -0,0 +1,92 @@
+package com.alquds.edu.ArchiveSystem.repository.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.ConversionJob;
+import com.alquds.edu.ArchiveSystem.entity.file.ConversionJobStatus;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ConversionJobRepository extends JpaRepository<ConversionJob, Long> {
+
+    Optional<ConversionJob> findByFileId(Long fileId);
+
+    /**
+     * Find a job and lock its row, so a worker recording its outcome and a
+     * reset for a replaced file do not overwrite each other.
+     *
+     * @param id the job ID
+     * @return optional locked job
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ConversionJob j WHERE j.id = :id")
+    Optional<ConversionJob> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Find jobs a worker may start now, most recent uploads first.
+     *
+     * @param status   the waiting status (PENDING)
+     * @param now      the current time
+     * @param pageable number of jobs to return
+     * @return runnable jobs
+     */
+    @Query("SELECT j FROM ConversionJob j WHERE j.status = :status AND j.nextAttemptAt <= :now " +
+           "ORDER BY j.fileUploadedAt DESC, j.id ASC")
+    List<ConversionJob> findRunnable(@Param("status") ConversionJobStatus status,
+                                     @Param("now") LocalDateTime now,
+                                     Pageable pageable);
+
+    /**
+     * Claim a job for a worker. Only one caller can move a job out of {@code from}.
+     *
+     * @return 1 if the job was claimed, 0 if another worker got it first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConversionJob j SET j.status = :to, j.startedAt = :now, j.attempts = j.attempts + 1 " +
+           "WHERE j.id = :id AND j.status = :from")
+    int claim(@Param("id") Long id,
+              @Param("from") ConversionJobStatus from,
+              @Param("to") ConversionJobStatus to,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Put jobs back in the queue that were left running by a stopped instance.
+     *
+     * @return number of jobs re-queued
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ConversionJob j SET j.status = :to WHERE j.status = :from AND j.startedAt < :startedBefore")
+    int requeueStale(@Param("from") ConversionJobStatus from,
+                     @Param("to") ConversionJobStatus to,
+                     @Param("startedBefore") LocalDateTime startedBefore);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ConversionJob j WHERE j.fileId = :fileId")
+    void deleteByFileId(@Param("fileId") Long fileId);
+
+    /**
+     * Find uploaded files that have no conversion job yet (uploads committed while
+     * the queue was not running, or stored before it existed).
+     *
+     * @return rows of [fileId, originalFilename, createdAt]
+     */
+    @Query("SELECT f.id, f.originalFilename, f.createdAt FROM UploadedFile f " +
+           "WHERE NOT EXISTS (SELECT j.id FROM ConversionJob j WHERE j.fileId = f.id)")
+    List<Object[]> findFilesWithoutJob();
+
+    long countByStatus(ConversionJobStatus status);
+}
@@ -3,11 +3,14 @@ package com.alquds.edu.ArchiveSystem.repository.file;
 import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
 import com.alquds.edu.ArchiveSystem.entity.file.Folder;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +36,15 @@ public interface FolderRepository extends JpaRepository<Folder, Long> {
      */
     boolean existsByPath(String path);
     
+    /**
+     * Find the IDs of the folders at the given paths, in one query.
+     *
+     * @param paths folder paths
+     * @return rows of [path, id] for the paths that have a folder
+     */
+    @Query("SELECT f.path, f.id FROM Folder f WHERE f.path IN :paths")
+    List<Object[]> findIdsByPathIn(@Param("paths") Collection<String> paths);
+    
     /**
      * Find all folders owned by a specific user in a given academic year and semester.
      *
@@ -127,4 +139,97 @@ public interface FolderRepository extends JpaRepository<Folder, Long> {
      * @return true if folder exists
      */
     boolean existsByNameAndParentId(String name, Long parentId);
+    
+    /**
+     * Get the fields needed by the metadata search index: id, name, path,
+     * owner ID and owner department ID.
+     *
+     * @return one row per folder
+     */
+    @Query("SELECT f.id, f.name, f.path, o.id, d.id FROM Folder f " +
+           "LEFT JOIN f.owner o LEFT JOIN o.department d")
+    List<Object[]> findSearchMetadata();
+
+    /**
+     * Same as {@link #findSearchMetadata()} for a single folder.
+     *
+     * @param id the folder ID
+     * @return the row, or an empty list if the folder does not exist
+     */
+    @Query("SELECT f.id, f.name, f.path, o.id, d.id FROM Folder f " +
+           "LEFT JOIN f.owner o LEFT JOIN o.department d WHERE f.id = :id")
+    List<Object[]> findSearchMetadataById(@Param("id") Long id);
+
+    /**
+     * Get the fields needed by the archive tree index, one page at a time in ID
+     * order: id, parent ID, path, name, type, owner ID, owner department ID,
+     * course ID and semester ID.
+     *
+     * @param afterId  last folder ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of rows
+     */
+    @Query("SELECT f.id, p.id, f.path, f.name, f.type, o.id, d.id, c.id, s.id FROM Folder f " +
+           "LEFT JOIN f.parent p LEFT JOIN f.owner o LEFT JOIN o.department d " +
+           "LEFT JOIN f.course c LEFT JOIN f.semester s WHERE f.id > :afterId ORDER BY f.id")
+    List<Object[]> findTreeRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Same as {@link #findTreeRowsAfter} for a single folder.
+     *
+     * @param id the folder ID
+     * @return the row, or an empty list if the folder does not exist
+     */
+    @Query("SELECT f.id, p.id, f.path, f.name, f.type, o.id, d.id, c.id, s.id FROM Folder f " +
+           "LEFT JOIN f.parent p LEFT JOIN f.owner o LEFT JOIN o.department d " +
+           "LEFT JOIN f.course c LEFT JOIN f.semester s WHERE f.id = :id")
+    List<Object[]> findTreeRowById(@Param("id") Long id);
+
+    /**
+     * Same as {@link #findTreeRowsAfter} for the given folders.
+     *
+     * @param ids the folder IDs
+     * @return one row per existing folder
+     */
+    @Query("SELECT f.id, p.id, f.path, f.name, f.type, o.id, d.id, c.id, s.id FROM Folder f " +
+           "LEFT JOIN f.parent p LEFT JOIN f.owner o LEFT JOIN o.department d " +
+           "LEFT JOIN f.course c LEFT JOIN f.semester s WHERE f.id IN :ids")
+    List<Object[]> findTreeRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Same as {@link #findTreeRowsAfter} for folders updated after a point in time.
+     *
+     * @param since    only folders with a later updatedAt are returned
+     * @param afterId  last folder ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of rows
+     */
+    @Query("SELECT f.id, p.id, f.path, f.name, f.type, o.id, d.id, c.id, s.id FROM Folder f " +
+           "LEFT JOIN f.parent p LEFT JOIN f.owner o LEFT JOIN o.department d " +
+           "LEFT JOIN f.course c LEFT JOIN f.semester s " +
+           "WHERE f.updatedAt > :since AND f.id > :afterId ORDER BY f.id")
+    List<Object[]> findTreeRowsUpdatedAfter(@Param("since") LocalDateTime since,
+                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Get folder IDs one page at a time in ascending order.
+     *
+     * @param afterId  last folder ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of IDs
+     */
+    @Query("SELECT f.id FROM Folder f WHERE f.id > :afterId ORDER BY f.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Get IDs of folders of the given types one page at a time in ascending order.
+     *
+     * @param types    folder types to include
+     * @param afterId  last folder ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of IDs
+     */
+    @Query("SELECT f.id FROM Folder f WHERE f.type IN :types AND f.id > :afterId ORDER BY f.id")
+    List<Long> findIdsByTypeInAfter(@Param("types") Collection<FolderType> types,
+                                    @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,37 @@
+package com.alquds.edu.ArchiveSystem.repository.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.UploadSession;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /**
+     * Find an upload session and lock its row so concurrent chunk requests
+     * update the received-chunk bitmap one at a time.
+     *
+     * @param id the upload session ID
+     * @return optional locked upload session
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * Find sessions that expired before the given time.
+     *
+     * @param now the current time
+     * @return expired upload sessions
+     */
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime now);
+}
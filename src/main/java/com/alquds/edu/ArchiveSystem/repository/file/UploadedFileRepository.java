@@ -2,11 +2,14 @@ package com.alquds.edu.ArchiveSystem.repository.file;
 
 import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -132,4 +135,102 @@ public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long
      * @return list of uploaded files with matching stored filename
      */
     List<UploadedFile> findAllByStoredFilename(String storedFilename);
+    
+    /**
+     * Count files whose content has the given SHA-256.
+     * Used as the reference count of a shared blob in the blob store.
+     * 
+     * @param contentSha256 the content hash
+     * @return number of files with this content
+     */
+    long countByContentSha256(String contentSha256);
+    
+    /**
+     * Get all content hashes that are still referenced by a file.
+     * 
+     * @return distinct non-null content hashes
+     */
+    @Query("SELECT DISTINCT f.contentSha256 FROM UploadedFile f WHERE f.contentSha256 IS NOT NULL")
+    List<String> findDistinctContentSha256();
+    
+    /**
+     * Get the IDs of all files, used to (re)build search indexes.
+     * 
+     * @return all file IDs
+     */
+    @Query("SELECT f.id FROM UploadedFile f")
+    List<Long> findAllIds();
+    
+    /**
+     * Get the fields needed by the metadata search index: id, original filename,
+     * folder path, uploader ID and uploader department ID.
+     * 
+     * @return one row per file
+     */
+    @Query("SELECT f.id, f.originalFilename, fo.path, u.id, d.id FROM UploadedFile f " +
+           "LEFT JOIN f.folder fo LEFT JOIN f.uploader u LEFT JOIN u.department d")
+    List<Object[]> findSearchMetadata();
+    
+    /**
+     * Same as {@link #findSearchMetadata()} for a single file.
+     * 
+     * @param id the file ID
+     * @return the row, or an empty list if the file does not exist
+     */
+    @Query("SELECT f.id, f.originalFilename, fo.path, u.id, d.id FROM UploadedFile f " +
+           "LEFT JOIN f.folder fo LEFT JOIN f.uploader u LEFT JOIN u.department d WHERE f.id = :id")
+    List<Object[]> findSearchMetadataById(@Param("id") Long id);
+    
+    /**
+     * Get the folder of each file in the folder tree, one page at a time in ID
+     * order, for the archive tree index: file ID and folder ID.
+     * 
+     * @param afterId  last file ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of rows
+     */
+    @Query("SELECT f.id, fo.id FROM UploadedFile f JOIN f.folder fo WHERE f.id > :afterId ORDER BY f.id")
+    List<Object[]> findFolderRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Same as {@link #findFolderRowsAfter} for a single file; the folder ID is
+     * {@code null} for a file outside the folder tree.
+     * 
+     * @param id the file ID
+     * @return the row, or an empty list if the file does not exist
+     */
+    @Query("SELECT f.id, fo.id FROM UploadedFile f LEFT JOIN f.folder fo WHERE f.id = :id")
+    List<Object[]> findFolderRowById(@Param("id") Long id);
+    
+    /**
+     * Same as {@link #findFolderRowsAfter} for the given files.
+     * 
+     * @param ids the file IDs
+     * @return one row per existing file in the folder tree
+     */
+    @Query("SELECT f.id, fo.id FROM UploadedFile f JOIN f.folder fo WHERE f.id IN :ids")
+    List<Object[]> findFolderRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Same as {@link #findFolderRowById} for files updated after a point in time.
+     * 
+     * @param since    only files with a later updatedAt are returned
+     * @param afterId  last file ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of rows
+     */
+    @Query("SELECT f.id, fo.id FROM UploadedFile f LEFT JOIN f.folder fo " +
+           "WHERE f.updatedAt > :since AND f.id > :afterId ORDER BY f.id")
+    List<Object[]> findFolderRowsUpdatedAfter(@Param("since") LocalDateTime since,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Get the IDs of files in the folder tree one page at a time in ascending order.
+     * 
+     * @param afterId  last file ID of the previous page (0 for the first page)
+     * @param pageable page size (the page number must be 0)
+     * @return up to one page of IDs
+     */
+    @Query("SELECT f.id FROM UploadedFile f WHERE f.folder IS NOT NULL AND f.id > :afterId ORDER BY f.id")
+    List<Long> findIdsInFoldersAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -135,4 +135,21 @@ public interface DocumentSubmissionRepository extends JpaRepository<DocumentSubm
      * Find all document submissions for a professor
      */
     List<DocumentSubmission> findByProfessorId(Long professorId);
+    
+    /**
+     * Change stamp of a semester's submissions for report caching: [count, max updatedAt]
+     */
+    @Query("SELECT COUNT(ds), MAX(ds.updatedAt) FROM DocumentSubmission ds WHERE ds.courseAssignment.semester.id = :semesterId")
+    List<Object[]> findChangeStampBySemesterId(@Param("semesterId") Long semesterId);
+    
+    /**
+     * Submissions of a semester's active course assignments, limited to professors of one
+     * department. A null department means all departments.
+     */
+    @Query("SELECT ds FROM DocumentSubmission ds JOIN ds.courseAssignment ca " +
+           "JOIN ca.professor p LEFT JOIN p.department d " +
+           "WHERE ca.semester.id = :semesterId AND ca.isActive = true " +
+           "AND (:departmentId IS NULL OR d.id = :departmentId)")
+    List<DocumentSubmission> findBySemesterIdAndDepartment(@Param("semesterId") Long semesterId,
+                                                           @Param("departmentId") Long departmentId);
 }
@@ -3,6 +3,8 @@ package com.alquds.edu.ArchiveSystem.repository.submission;
 import com.alquds.edu.ArchiveSystem.entity.submission.RequiredDocumentType;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,4 +29,12 @@ public interface RequiredDocumentTypeRepository extends JpaRepository<RequiredDo
      * @return List of required document types for all specified courses
      */
     List<RequiredDocumentType> findByCourseIdInAndSemesterId(List<Long> courseIds, Long semesterId);
+    
+    /**
+     * Change stamp of the requirements that apply to a semester (semester-specific and
+     * course-level ones) for report caching: [count, max updatedAt]
+     */
+    @Query("SELECT COUNT(r), MAX(r.updatedAt) FROM RequiredDocumentType r LEFT JOIN r.semester s " +
+           "WHERE s.id = :semesterId OR s IS NULL")
+    List<Object[]> findChangeStampBySemesterId(@Param("semesterId") Long semesterId);
 }
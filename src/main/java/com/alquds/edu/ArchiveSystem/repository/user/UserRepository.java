@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -120,4 +121,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = 'ROLE_PROFESSOR' AND u.isActive = true")
     long countActiveProfessors();
+    
+    /**
+     * Get the fields needed by the metadata search index for professors:
+     * id, first name, last name, professor ID and department ID
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName, u.professorId, d.id FROM User u " +
+           "LEFT JOIN u.department d WHERE u.role = 'ROLE_PROFESSOR'")
+    List<Object[]> findProfessorSearchMetadata();
+    
+    /**
+     * Same as {@link #findProfessorSearchMetadata()} for a single user;
+     * empty if the user does not exist or is not a professor
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName, u.professorId, d.id FROM User u " +
+           "LEFT JOIN u.department d WHERE u.role = 'ROLE_PROFESSOR' AND u.id = :id")
+    List<Object[]> findProfessorSearchMetadataById(@Param("id") Long id);
+    
+    /**
+     * Change stamp of all users for report caching: [count, max updatedAt]
+     */
+    @Query("SELECT COUNT(u), MAX(u.updatedAt) FROM User u")
+    List<Object[]> findChangeStamp();
+    
+    /**
+     * Department of each user updated after a point in time: [id, department ID]
+     */
+    @Query("SELECT u.id, d.id FROM User u LEFT JOIN u.department d WHERE u.updatedAt > :since")
+    List<Object[]> findDepartmentRowsUpdatedAfter(@Param("since") LocalDateTime since);
+    
+    /**
+     * Users of a department for access contexts: [id, role, first name, last name]
+     */
+    @Query("SELECT u.id, u.role, u.firstName, u.lastName FROM User u WHERE u.department.id = :departmentId")
+    List<Object[]> findAccessRowsByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    /**
+     * Find users by role with department eagerly loaded, limited to one department.
+     * A null department means all departments.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.department d " +
+           "WHERE u.role = :role AND (:departmentId IS NULL OR d.id = :departmentId)")
+    List<User> findByRoleAndDepartmentWithDepartment(@Param("role") Role role,
+                                                     @Param("departmentId") Long departmentId);
 }
@@ -5,6 +5,8 @@ import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
 import com.alquds.edu.ArchiveSystem.entity.user.User;
 import com.alquds.edu.ArchiveSystem.entity.auth.Role;
 import com.alquds.edu.ArchiveSystem.entity.submission.DocumentSubmission;
+import com.alquds.edu.ArchiveSystem.service.auth.AccessContext;
+import com.alquds.edu.ArchiveSystem.service.auth.AccessContextService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +26,7 @@ public class SecurityExpressionService {
     
     private final UserRepository userRepository;
     private final DocumentSubmissionRepository documentSubmissionRepository;
+    private final AccessContextService accessContextService;
     
     /**
      * Check if the current user owns the specified submission.
@@ -64,13 +67,7 @@ public class SecurityExpressionService {
             return false;
         }
         
-        User targetUser = userRepository.findById(userId).orElse(null);
-        if (targetUser == null || targetUser.getDepartment() == null) {
-            log.warn("Target user or department not found for user ID: {}", userId);
-            return false;
-        }
-        
-        boolean sameDept = currentUser.getDepartment().getId().equals(targetUser.getDepartment().getId());
+        boolean sameDept = accessContextService.forUser(currentUser).isDepartmentMember(userId);
         log.debug("User {} same department as user {}: {}", 
                 currentUser.getEmail(), userId, sameDept);
         return sameDept;
@@ -103,8 +100,8 @@ public class SecurityExpressionService {
             return false;
         }
         
-        return currentUser.getId().equals(userId) || 
-               currentUser.getRole() == Role.ROLE_DEANSHIP;
+        AccessContext access = accessContextService.forUser(currentUser);
+        return access.isSelf(userId) || access.role() == Role.ROLE_DEANSHIP;
     }
     
     /**
@@ -133,11 +130,13 @@ public class SecurityExpressionService {
             return false;
         }
         
-        return currentUser.getDepartment().getId().equals(departmentId);
+        return accessContextService.forUser(currentUser).canAccessDepartment(departmentId);
     }
     
     /**
      * Get the current authenticated user.
+     * The principal already is the user loaded for this request; the lookup by
+     * email is only needed for other authentication types.
      * 
      * @return the current user or null if not authenticated
      */
@@ -146,6 +145,9 @@ public class SecurityExpressionService {
         if (authentication == null || !authentication.isAuthenticated()) {
             return null;
         }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
         
         String email = authentication.getName();
         return userRepository.findByEmail(email).orElse(null);
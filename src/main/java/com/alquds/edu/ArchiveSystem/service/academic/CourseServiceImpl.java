@@ -1,5 +1,6 @@
 package com.alquds.edu.ArchiveSystem.service.academic;
 
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import com.alquds.edu.ArchiveSystem.service.core.DepartmentScopedFilterService;
 
 import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
@@ -49,6 +50,7 @@ public class CourseServiceImpl implements CourseService {
     private final UserRepository userRepository;
     private final DepartmentScopedFilterService departmentScopedFilterService;
     private final FolderService folderService;
+    private final DataVersionService dataVersionService;
 
     // ==================== Course Management ====================
 
@@ -75,6 +77,7 @@ public class CourseServiceImpl implements CourseService {
         course.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
 
         Course savedCourse = courseRepository.save(course);
+        dataVersionService.sharedDataChanged(department.getId());
         log.info("Course created successfully with id: {}", savedCourse.getId());
 
         return savedCourse;
@@ -96,7 +99,8 @@ public class CourseServiceImpl implements CourseService {
         }
 
         // Update department if changed
-        if (!course.getDepartment().getId().equals(dto.getDepartmentId())) {
+        Long previousDepartmentId = course.getDepartment().getId();
+        if (!previousDepartmentId.equals(dto.getDepartmentId())) {
             Department department = departmentRepository.findById(dto.getDepartmentId())
                     .orElseThrow(() -> new EntityNotFoundException(
                             "Department not found with id: " + dto.getDepartmentId()));
@@ -112,6 +116,10 @@ public class CourseServiceImpl implements CourseService {
         }
 
         Course updatedCourse = courseRepository.save(course);
+        dataVersionService.sharedDataChanged(updatedCourse.getDepartment().getId());
+        if (!previousDepartmentId.equals(updatedCourse.getDepartment().getId())) {
+            dataVersionService.sharedDataChanged(previousDepartmentId);
+        }
         log.info("Course updated successfully with id: {}", updatedCourse.getId());
 
         return updatedCourse;
@@ -172,6 +180,7 @@ public class CourseServiceImpl implements CourseService {
 
         course.setIsActive(false);
         courseRepository.save(course);
+        dataVersionService.sharedDataChanged(course.getDepartment() != null ? course.getDepartment().getId() : null);
 
         log.info("Course deactivated successfully with id: {}", id);
     }
@@ -216,6 +225,7 @@ public class CourseServiceImpl implements CourseService {
             assignment.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
 
             CourseAssignment savedAssignment = courseAssignmentRepository.save(assignment);
+            dataVersionService.courseAssignmentChanged(savedAssignment);
             log.info("Course assignment created successfully with id: {}", savedAssignment.getId());
 
             // Auto-create course folder structure
@@ -252,6 +262,7 @@ public class CourseServiceImpl implements CourseService {
         // This preserves historical data and related entities (submissions, folders)
         assignment.setIsActive(false);
         courseAssignmentRepository.save(assignment);
+        dataVersionService.courseAssignmentChanged(assignment);
 
         log.info("Course assignment soft deleted (set to inactive) successfully with id: {}", assignmentId);
     }
@@ -307,28 +318,12 @@ public class CourseServiceImpl implements CourseService {
             throw new EntityNotFoundException("Semester not found with id: " + semesterId);
         }
 
-        List<CourseAssignment> assignments = courseAssignmentRepository.findBySemesterId(semesterId);
-        // Eagerly fetch lazy-loaded relationships to avoid serialization issues
-        assignments.forEach(assignment -> {
-            if (assignment.getProfessor() != null) {
-                assignment.getProfessor().getName(); // Force load
-                if (assignment.getProfessor().getDepartment() != null) {
-                    assignment.getProfessor().getDepartment().getName(); // Force load
-                }
-            }
-            if (assignment.getCourse() != null) {
-                assignment.getCourse().getCourseCode(); // Force load
-                if (assignment.getCourse().getDepartment() != null) {
-                    assignment.getCourse().getDepartment().getName(); // Force load
-                }
-            }
-            if (assignment.getSemester() != null) {
-                assignment.getSemester().getType(); // Force load
-            }
-        });
-
-        // Apply department-scoped filtering
-        return departmentScopedFilterService.filterCourseAssignments(assignments, currentUser);
+        // Department-scoped in the query; course, professor and semester come fetched
+        if (!departmentScopedFilterService.hasDepartmentScope(currentUser)) {
+            return List.of();
+        }
+        return courseAssignmentRepository.findBySemesterIdAndDepartment(semesterId,
+                departmentScopedFilterService.getDepartmentIdForFiltering(currentUser));
     }
 
     @Override
@@ -422,6 +417,7 @@ public class CourseServiceImpl implements CourseService {
         }
 
         RequiredDocumentType savedDocumentType = requiredDocumentTypeRepository.save(requiredDocumentType);
+        requiredDocumentTypeChanged(savedDocumentType);
         log.info("Required document type created successfully with id: {}", savedDocumentType.getId());
 
         return savedDocumentType;
@@ -462,6 +458,7 @@ public class CourseServiceImpl implements CourseService {
         }
 
         RequiredDocumentType updatedDocumentType = requiredDocumentTypeRepository.save(requiredDocumentType);
+        requiredDocumentTypeChanged(updatedDocumentType);
         log.info("Required document type updated successfully with id: {}", updatedDocumentType.getId());
 
         return updatedDocumentType;
@@ -487,4 +484,15 @@ public class CourseServiceImpl implements CourseService {
             return requiredDocumentTypeRepository.findByCourseId(courseId);
         }
     }
+
+    /**
+     * Requirements set deadlines for every assignment of the course, so a change
+     * bumps the shared version rather than a single semester.
+     */
+    private void requiredDocumentTypeChanged(RequiredDocumentType requiredDocumentType) {
+        Course course = requiredDocumentType.getCourse();
+        dataVersionService.sharedDataChanged(course != null && course.getDepartment() != null
+                ? course.getDepartment().getId()
+                : null);
+    }
 }
@@ -40,7 +40,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -598,29 +597,13 @@ public class SemesterReportServiceImpl implements SemesterReportService {
             }
         }
         
-        // Get courses based on role - use eager loading to avoid lazy initialization
-        List<CourseAssignment> allAssignments = courseAssignmentRepository.findAllWithEagerLoading();
+        // Courses and professors are department-scoped in the queries
+        boolean hasScope = departmentScopedFilterService.hasDepartmentScope(freshUser);
+        Long scopeDepartmentId = departmentScopedFilterService.getDepartmentIdForFiltering(freshUser);
         
-        List<Course> accessibleCourses;
-        if (canFilterByDepartment) {
-            accessibleCourses = allAssignments.stream()
-                    .map(CourseAssignment::getCourse)
-                    .filter(Objects::nonNull)
-                    .distinct()
-                    .collect(Collectors.toList());
-        } else if (freshUser.getDepartment() != null) {
-            final Long deptId = freshUser.getDepartment().getId();
-            accessibleCourses = allAssignments.stream()
-                    .filter(ca -> ca.getProfessor() != null && 
-                                 ca.getProfessor().getDepartment() != null &&
-                                 ca.getProfessor().getDepartment().getId().equals(deptId))
-                    .map(CourseAssignment::getCourse)
-                    .filter(Objects::nonNull)
-                    .distinct()
-                    .collect(Collectors.toList());
-        } else {
-            accessibleCourses = List.of();
-        }
+        List<Course> accessibleCourses = hasScope
+                ? courseAssignmentRepository.findAssignedCoursesByDepartment(scopeDepartmentId)
+                : List.of();
         
         List<ReportFilterOptions.CourseOption> courseOptions = accessibleCourses.stream()
                 .map(course -> ReportFilterOptions.CourseOption.builder()
@@ -631,18 +614,9 @@ public class SemesterReportServiceImpl implements SemesterReportService {
                 .collect(Collectors.toList());
         
         // Get professors based on role - use eager loading to avoid lazy initialization
-        List<User> accessibleProfessors;
-        if (canFilterByDepartment) {
-            accessibleProfessors = userRepository.findByRoleWithDepartment(Role.ROLE_PROFESSOR);
-        } else if (freshUser.getDepartment() != null) {
-            final Long deptId = freshUser.getDepartment().getId();
-            accessibleProfessors = userRepository.findByRoleWithDepartment(Role.ROLE_PROFESSOR).stream()
-                    .filter(prof -> prof.getDepartment() != null &&
-                                   prof.getDepartment().getId().equals(deptId))
-                    .collect(Collectors.toList());
-        } else {
-            accessibleProfessors = List.of();
-        }
+        List<User> accessibleProfessors = hasScope
+                ? userRepository.findByRoleAndDepartmentWithDepartment(Role.ROLE_PROFESSOR, scopeDepartmentId)
+                : List.of();
         
         List<ReportFilterOptions.ProfessorOption> professorOptions = accessibleProfessors.stream()
                 .map(prof -> ReportFilterOptions.ProfessorOption.builder()
@@ -0,0 +1,90 @@
+package com.alquds.edu.ArchiveSystem.service.auth;
+
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+
+import java.util.Set;
+
+/**
+ * What a user may see, worked out once from their role and department so that
+ * per-entry checks are plain set lookups (see {@link AccessContextService}).
+ *
+ * Rules:
+ * - Admin/Deanship: every department and professor
+ * - HOD/Professor: their own department and the professors in it
+ * - Professor: additionally owns their own professor folder
+ *
+ * @param userId              the user ID
+ * @param role                the user's role
+ * @param departmentId        the user's department ID, or null
+ * @param professorFolderName name of the user's own professor folder (professors only), or null
+ * @param departmentIds       accessible department IDs (empty for admin-level users, who see all)
+ * @param departmentMemberIds IDs of all users in the user's department
+ * @param professorIds        IDs of the accessible professors (empty for admin-level users)
+ * @param professorFolderNames folder names of the accessible professors (empty for admin-level users)
+ * @since 2.1
+ */
+public record AccessContext(Long userId, Role role, Long departmentId, String professorFolderName,
+        Set<Long> departmentIds, Set<Long> departmentMemberIds, Set<Long> professorIds,
+        Set<String> professorFolderNames) {
+
+    private static final String ID_FOLDER_PREFIX = "prof_";
+
+    /**
+     * @return true for Admin and Deanship, who can access all departments
+     */
+    public boolean isAdminLevel() {
+        return role == Role.ROLE_ADMIN || role == Role.ROLE_DEANSHIP;
+    }
+
+    public boolean isProfessor() {
+        return role == Role.ROLE_PROFESSOR;
+    }
+
+    public boolean isSelf(Long otherUserId) {
+        return userId != null && userId.equals(otherUserId);
+    }
+
+    public boolean canAccessDepartment(Long otherDepartmentId) {
+        return otherDepartmentId != null && (isAdminLevel() || departmentIds.contains(otherDepartmentId));
+    }
+
+    public boolean canAccessProfessor(Long professorId) {
+        return professorId != null && (isAdminLevel() || professorIds.contains(professorId));
+    }
+
+    /**
+     * @param folderName professor folder name ("First Last" or "prof_{id}")
+     * @return true if the folder belongs to an accessible professor
+     */
+    public boolean canAccessProfessorFolder(String folderName) {
+        return isAdminLevel() || professorFolderNames.contains(folderName)
+                || canAccessProfessor(idFromFolderName(folderName));
+    }
+
+    /**
+     * @param folderName professor folder name ("First Last" or "prof_{id}")
+     * @return true if the user is the professor the folder belongs to
+     */
+    public boolean ownsProfessorFolder(String folderName) {
+        return isProfessor() && folderName != null
+                && (folderName.equals(professorFolderName) || isSelf(idFromFolderName(folderName)));
+    }
+
+    /**
+     * @return true if the other user is in the same department as this user
+     */
+    public boolean isDepartmentMember(Long otherUserId) {
+        return otherUserId != null && departmentMemberIds.contains(otherUserId);
+    }
+
+    private static Long idFromFolderName(String folderName) {
+        if (folderName == null || !folderName.startsWith(ID_FOLDER_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(folderName.substring(ID_FOLDER_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.alquds.edu.ArchiveSystem.service.auth;
+
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+/**
+ * Builds and caches an {@link AccessContext} per user.
+ *
+ * A context is built with one query the first time a user is seen and reused
+ * across requests. It is rebuilt when the user passed in has a different role
+ * or department than the cached one, and all contexts are dropped when any
+ * user is saved or deleted, since that can change who is in a department.
+ *
+ * @since 2.1
+ */
+public interface AccessContextService {
+
+    /**
+     * Get the access context of a user.
+     *
+     * @param user the user (must have an ID)
+     * @return the cached or newly built context
+     */
+    AccessContext forUser(User user);
+
+    /**
+     * Drop the cached context of a user, or of all users if the ID is null.
+     *
+     * @param userId the user ID, or null
+     */
+    void invalidate(Long userId);
+}
@@ -0,0 +1,119 @@
+package com.alquds.edu.ArchiveSystem.service.auth;
+
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of AccessContextService keeping contexts in memory by user ID.
+ *
+ * Every invalidation bumps a generation counter before clearing. A context
+ * whose build overlapped an invalidation may have read stale rows, so it is
+ * returned to the caller but not kept in the cache.
+ *
+ * @since 2.1
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessContextServiceImpl implements AccessContextService {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, AccessContext> contexts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Override
+    public AccessContext forUser(User user) {
+        Long departmentId = user.getDepartment() != null ? user.getDepartment().getId() : null;
+        AccessContext cached = contexts.get(user.getId());
+        if (cached != null && cached.role() == user.getRole()
+                && Objects.equals(cached.departmentId(), departmentId)) {
+            return cached;
+        }
+        long builtAt = generation.get();
+        AccessContext context = build(user, departmentId);
+        contexts.put(user.getId(), context);
+        // An invalidation after this check clears the entry itself
+        if (generation.get() != builtAt) {
+            contexts.remove(user.getId(), context);
+        }
+        return context;
+    }
+
+    @Override
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        if (userId == null) {
+            contexts.clear();
+        } else {
+            contexts.remove(userId);
+        }
+    }
+
+    /**
+     * A saved or deleted user can join or leave any department, so every context
+     * may be stale.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(User.class)) {
+            generation.incrementAndGet();
+            contexts.clear();
+        }
+    }
+
+    private AccessContext build(User user, Long departmentId) {
+        boolean adminLevel = user.getRole() == Role.ROLE_ADMIN || user.getRole() == Role.ROLE_DEANSHIP;
+        String ownFolderName = user.getRole() == Role.ROLE_PROFESSOR
+                ? sanitizeFolderName(user.getFirstName() + " " + user.getLastName())
+                : null;
+
+        Set<Long> memberIds = new HashSet<>();
+        Set<Long> professorIds = new HashSet<>();
+        Set<String> professorFolderNames = new HashSet<>();
+        if (departmentId != null) {
+            for (Object[] row : userRepository.findAccessRowsByDepartmentId(departmentId)) {
+                Long id = (Long) row[0];
+                memberIds.add(id);
+                if (!adminLevel && row[1] == Role.ROLE_PROFESSOR) {
+                    String fullName = (row[2] + " " + row[3]).trim();
+                    professorIds.add(id);
+                    professorFolderNames.add(fullName);
+                    professorFolderNames.add(sanitizeFolderName(fullName));
+                }
+            }
+        }
+        Set<Long> departmentIds = departmentId != null && !adminLevel ? Set.of(departmentId) : Set.of();
+
+        log.debug("Built access context for user {} ({}): {} accessible professors",
+                user.getId(), user.getRole(), professorIds.size());
+        return new AccessContext(user.getId(), user.getRole(), departmentId, ownFolderName,
+                departmentIds, Set.copyOf(memberIds), Set.copyOf(professorIds), Set.copyOf(professorFolderNames));
+    }
+
+    /**
+     * Same sanitizing as the professor folders created by FolderServiceImpl.
+     */
+    private static String sanitizeFolderName(String name) {
+        return name.trim()
+                .replaceAll("[\\\\/:*?\"<>|]", "_")
+                .replaceAll("\\s+", " ")
+                .replaceAll("_+", "_")
+                .trim();
+    }
+}
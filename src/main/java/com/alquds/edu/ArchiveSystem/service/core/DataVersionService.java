@@ -0,0 +1,70 @@
+package com.alquds.edu.ArchiveSystem.service.core;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.CourseAssignment;
+import com.alquds.edu.ArchiveSystem.entity.academic.Semester;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+/**
+ * Monotonic data-version counters for conditional GETs.
+ *
+ * Write services record what they changed; counters are kept per semester,
+ * per department and per folder, plus two unscoped ones:
+ * - global: bumped by every change, for reads that span semesters
+ * - shared: bumped by changes that are not tied to one semester (courses,
+ *   course-level requirements, overdue sweeps), folded into every ETag
+ *
+ * A change made inside a transaction is applied after commit, so a reader
+ * never pairs a new version with data from before the change. Counters live in
+ * memory and restart with the application; {@link #getInstanceId()} tells the
+ * two apart in ETags.
+ *
+ * @since 2.1
+ */
+public interface DataVersionService {
+
+    /**
+     * Record a change to a course assignment's data: its submissions or files.
+     * Bumps its semester, the professor's department and the global version.
+     */
+    void courseAssignmentChanged(CourseAssignment assignment);
+
+    /**
+     * Record a change to a professor's data in a semester that has no course
+     * assignment of its own, such as a task.
+     * Bumps the semester, the professor's department and the global version.
+     */
+    void semesterDataChanged(Semester semester, User professor);
+
+    /**
+     * Record a change to the contents of a folder.
+     * Bumps the folder, its semester, the owner's department and the global version.
+     */
+    void folderChanged(Folder folder);
+
+    /**
+     * Record a change that is not tied to one semester.
+     * Bumps the department (if not null), the shared and the global version.
+     */
+    void sharedDataChanged(Long departmentId);
+
+    long getGlobalVersion();
+
+    long getSharedVersion();
+
+    long getSemesterVersion(Long semesterId);
+
+    /**
+     * Semester version by its explorer path segments, e.g. ("2024-2025", "first").
+     */
+    long getSemesterVersion(String yearCode, String semesterType);
+
+    long getDepartmentVersion(Long departmentId);
+
+    long getFolderVersion(Long folderId);
+
+    /**
+     * Random ID of this application instance's counters.
+     */
+    String getInstanceId();
+}
@@ -0,0 +1,206 @@
+package com.alquds.edu.ArchiveSystem.service.core;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.CourseAssignment;
+import com.alquds.edu.ArchiveSystem.entity.academic.Semester;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory implementation of DataVersionService.
+ *
+ * Scope keys are resolved from the entities while the writer's transaction is
+ * still open; only the counter increments are deferred to after commit.
+ *
+ * Folder and file records saved or deleted by any other writer are also picked
+ * up from their {@link EntityChangedEvent}: the semester is read from the first
+ * two segments of the stored path, so explorer ETags below it change even when
+ * the writer never calls this service.
+ *
+ * Folder counters are dropped once there are more than {@value #MAX_FOLDER_COUNTERS}
+ * of them. Every folder version carries the generation of the folder map, so a
+ * dropped counter starting again from zero never repeats an earlier version.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class DataVersionServiceImpl implements DataVersionService {
+
+    static final int MAX_FOLDER_COUNTERS = 100_000;
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final AtomicLong sharedVersion = new AtomicLong();
+    private final Map<String, AtomicLong> scopeVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> folderVersions = new ConcurrentHashMap<>();
+    private final AtomicLong folderGeneration = new AtomicLong();
+
+    @Override
+    public void courseAssignmentChanged(CourseAssignment assignment) {
+        if (assignment == null) {
+            return;
+        }
+        semesterDataChanged(assignment.getSemester(), assignment.getProfessor());
+    }
+
+    @Override
+    public void semesterDataChanged(Semester semester, User professor) {
+        List<String> keys = new ArrayList<>(3);
+        addSemesterKeys(keys, semester);
+        addDepartmentKey(keys, professor);
+        apply(keys, null, false);
+    }
+
+    @Override
+    public void folderChanged(Folder folder) {
+        if (folder == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(3);
+        addSemesterKeys(keys, folder.getSemester());
+        addDepartmentKey(keys, folder.getOwner());
+        apply(keys, folder.getId(), false);
+    }
+
+    @Override
+    public void sharedDataChanged(Long departmentId) {
+        List<String> keys = new ArrayList<>(1);
+        if (departmentId != null) {
+            keys.add(departmentKey(departmentId));
+        }
+        apply(keys, null, true);
+    }
+
+    /**
+     * Runs after the commit, so the counters are bumped right away rather than
+     * through a new synchronization.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        boolean folder = event.isAbout(Folder.class);
+        if (!folder && !event.isAbout(UploadedFile.class)) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(1);
+        if (event.path() != null) {
+            String[] segments = event.path().replaceAll("^/+", "").split("/");
+            if (segments.length >= 2) {
+                keys.add(semesterPathKey(segments[0], segments[1]));
+            }
+        }
+        bump(keys, folder ? event.entityId() : null, false);
+    }
+
+    @Override
+    public long getGlobalVersion() {
+        return globalVersion.get();
+    }
+
+    @Override
+    public long getSharedVersion() {
+        return sharedVersion.get();
+    }
+
+    @Override
+    public long getSemesterVersion(Long semesterId) {
+        return version("semester:" + semesterId);
+    }
+
+    @Override
+    public long getSemesterVersion(String yearCode, String semesterType) {
+        return version(semesterPathKey(yearCode, semesterType));
+    }
+
+    @Override
+    public long getDepartmentVersion(Long departmentId) {
+        return version(departmentKey(departmentId));
+    }
+
+    @Override
+    public long getFolderVersion(Long folderId) {
+        AtomicLong counter = folderVersions.get(folderId);
+        return (folderGeneration.get() << 32) + (counter != null ? counter.get() : 0L);
+    }
+
+    @Override
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private void apply(List<String> keys, Long folderId, boolean shared) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(keys, folderId, shared);
+                }
+            });
+        } else {
+            bump(keys, folderId, shared);
+        }
+    }
+
+    private void bump(List<String> keys, Long folderId, boolean shared) {
+        for (String key : keys) {
+            scopeVersions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        }
+        if (folderId != null) {
+            if (folderVersions.size() >= MAX_FOLDER_COUNTERS && !folderVersions.containsKey(folderId)) {
+                folderGeneration.incrementAndGet();
+                folderVersions.clear();
+                log.debug("Dropped folder version counters, generation {}", folderGeneration.get());
+            }
+            folderVersions.computeIfAbsent(folderId, k -> new AtomicLong()).incrementAndGet();
+        }
+        if (shared) {
+            sharedVersion.incrementAndGet();
+        }
+        globalVersion.incrementAndGet();
+    }
+
+    private long version(String key) {
+        AtomicLong counter = scopeVersions.get(key);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    private static void addSemesterKeys(List<String> keys, Semester semester) {
+        if (semester == null) {
+            return;
+        }
+        keys.add("semester:" + semester.getId());
+        if (semester.getAcademicYear() != null && semester.getType() != null) {
+            keys.add(semesterPathKey(semester.getAcademicYear().getYearCode(), semester.getType().name()));
+        }
+    }
+
+    private static void addDepartmentKey(List<String> keys, User user) {
+        if (user != null && user.getDepartment() != null) {
+            keys.add(departmentKey(user.getDepartment().getId()));
+        }
+    }
+
+    private static String departmentKey(Long departmentId) {
+        return "department:" + departmentId;
+    }
+
+    private static String semesterPathKey(String yearCode, String semesterType) {
+        return "semester-path:" + yearCode + "/" + semesterType.toLowerCase(Locale.ROOT);
+    }
+}
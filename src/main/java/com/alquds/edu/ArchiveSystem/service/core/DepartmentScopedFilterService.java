@@ -3,17 +3,12 @@ package com.alquds.edu.ArchiveSystem.service.core;
 import com.alquds.edu.ArchiveSystem.entity.academic.CourseAssignment;
 import com.alquds.edu.ArchiveSystem.entity.user.User;
 import com.alquds.edu.ArchiveSystem.entity.auth.Role;
-import com.alquds.edu.ArchiveSystem.entity.submission.DocumentSubmission;
-import com.alquds.edu.ArchiveSystem.entity.academic.Course;
 
 
 import com.alquds.edu.ArchiveSystem.exception.auth.UnauthorizedOperationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Service for applying department-scoped filtering based on user role.
  * 
@@ -22,224 +17,15 @@ import java.util.stream.Collectors;
  * - Deanship: No filtering, can access all departments
  * - HOD: Filter all queries by their department
  * - Professor: Filter by department for read operations, by assignment for write operations
+ * 
+ * Lists are scoped in the repository queries: callers pass
+ * {@link #getDepartmentIdForFiltering(User)} to queries that take an optional department ID,
+ * after checking {@link #hasDepartmentScope(User)}.
  */
 @Service
 @Slf4j
 public class DepartmentScopedFilterService {
     
-    /**
-     * Filter course assignments based on user role and department.
-     * 
-     * @param assignments List of course assignments to filter
-     * @param currentUser The current authenticated user
-     * @return Filtered list of course assignments
-     */
-    public List<CourseAssignment> filterCourseAssignments(List<CourseAssignment> assignments, User currentUser) {
-        if (currentUser == null) {
-            throw new IllegalArgumentException("Current user cannot be null");
-        }
-        
-        switch (currentUser.getRole()) {
-            case ROLE_ADMIN:
-                // Admin can see all assignments
-                log.debug("Admin user - no filtering applied to {} assignments", assignments.size());
-                return assignments;
-                
-            case ROLE_DEANSHIP:
-                // Deanship can see all assignments
-                log.debug("Deanship user - no filtering applied to {} assignments", assignments.size());
-                return assignments;
-                
-            case ROLE_HOD:
-            case ROLE_PROFESSOR:
-                // HOD and Professor can only see assignments in their department
-                if (currentUser.getDepartment() == null) {
-                    log.warn("User {} has no department assigned", currentUser.getEmail());
-                    return List.of();
-                }
-                
-                List<CourseAssignment> filtered = assignments.stream()
-                        .filter(assignment -> {
-                            // Check if professor's department matches
-                            User professor = assignment.getProfessor();
-                            return professor.getDepartment() != null && 
-                                   professor.getDepartment().getId().equals(currentUser.getDepartment().getId());
-                        })
-                        .collect(Collectors.toList());
-                
-                log.debug("{} user - filtered {} assignments to {} in department {}", 
-                        currentUser.getRole(), assignments.size(), filtered.size(), 
-                        currentUser.getDepartment().getName());
-                return filtered;
-                
-            default:
-                log.warn("Unknown role: {}", currentUser.getRole());
-                return List.of();
-        }
-    }
-    
-    /**
-     * Filter professors based on user role and department.
-     * 
-     * @param professors List of professors to filter
-     * @param currentUser The current authenticated user
-     * @return Filtered list of professors
-     */
-    public List<User> filterProfessors(List<User> professors, User currentUser) {
-        if (currentUser == null) {
-            throw new IllegalArgumentException("Current user cannot be null");
-        }
-        
-        switch (currentUser.getRole()) {
-            case ROLE_ADMIN:
-                // Admin can see all professors
-                log.debug("Admin user - no filtering applied to {} professors", professors.size());
-                return professors;
-                
-            case ROLE_DEANSHIP:
-                // Deanship can see all professors
-                log.debug("Deanship user - no filtering applied to {} professors", professors.size());
-                return professors;
-                
-            case ROLE_HOD:
-            case ROLE_PROFESSOR:
-                // HOD and Professor can only see professors in their department
-                if (currentUser.getDepartment() == null) {
-                    log.warn("User {} has no department assigned", currentUser.getEmail());
-                    return List.of();
-                }
-                
-                List<User> filtered = professors.stream()
-                        .filter(professor -> professor.getDepartment() != null && 
-                                           professor.getDepartment().getId().equals(currentUser.getDepartment().getId()))
-                        .collect(Collectors.toList());
-                
-                log.debug("{} user - filtered {} professors to {} in department {}", 
-                        currentUser.getRole(), professors.size(), filtered.size(), 
-                        currentUser.getDepartment().getName());
-                return filtered;
-                
-            default:
-                log.warn("Unknown role: {}", currentUser.getRole());
-                return List.of();
-        }
-    }
-    
-    /**
-     * Filter courses based on user role and department.
-     * 
-     * @param courses List of courses to filter
-     * @param currentUser The current authenticated user
-     * @return Filtered list of courses
-     */
-    public List<Course> filterCourses(List<Course> courses, User currentUser) {
-        if (currentUser == null) {
-            throw new IllegalArgumentException("Current user cannot be null");
-        }
-        
-        switch (currentUser.getRole()) {
-            case ROLE_ADMIN:
-                // Admin can see all courses
-                log.debug("Admin user - no filtering applied to {} courses", courses.size());
-                return courses;
-                
-            case ROLE_DEANSHIP:
-                // Deanship can see all courses
-                log.debug("Deanship user - no filtering applied to {} courses", courses.size());
-                return courses;
-                
-            case ROLE_HOD:
-            case ROLE_PROFESSOR:
-                // HOD and Professor can only see courses in their department
-                if (currentUser.getDepartment() == null) {
-                    log.warn("User {} has no department assigned", currentUser.getEmail());
-                    return List.of();
-                }
-                
-                List<Course> filtered = courses.stream()
-                        .filter(course -> course.getDepartment() != null && 
-                                        course.getDepartment().getId().equals(currentUser.getDepartment().getId()))
-                        .collect(Collectors.toList());
-                
-                log.debug("{} user - filtered {} courses to {} in department {}", 
-                        currentUser.getRole(), courses.size(), filtered.size(), 
-                        currentUser.getDepartment().getName());
-                return filtered;
-                
-            default:
-                log.warn("Unknown role: {}", currentUser.getRole());
-                return List.of();
-        }
-    }
-    
-    /**
-     * Filter document submissions based on user role and department.
-     * 
-     * @param submissions List of document submissions to filter
-     * @param currentUser The current authenticated user
-     * @return Filtered list of document submissions
-     */
-    public List<DocumentSubmission> filterDocumentSubmissions(List<DocumentSubmission> submissions, User currentUser) {
-        if (currentUser == null) {
-            throw new IllegalArgumentException("Current user cannot be null");
-        }
-        
-        switch (currentUser.getRole()) {
-            case ROLE_ADMIN:
-                // Admin can see all submissions
-                log.debug("Admin user - no filtering applied to {} submissions", submissions.size());
-                return submissions;
-                
-            case ROLE_DEANSHIP:
-                // Deanship can see all submissions
-                log.debug("Deanship user - no filtering applied to {} submissions", submissions.size());
-                return submissions;
-                
-            case ROLE_HOD:
-                // HOD can only see submissions in their department
-                if (currentUser.getDepartment() == null) {
-                    log.warn("HOD user {} has no department assigned", currentUser.getEmail());
-                    return List.of();
-                }
-                
-                List<DocumentSubmission> hodFiltered = submissions.stream()
-                        .filter(submission -> {
-                            User professor = submission.getProfessor();
-                            return professor.getDepartment() != null && 
-                                   professor.getDepartment().getId().equals(currentUser.getDepartment().getId());
-                        })
-                        .collect(Collectors.toList());
-                
-                log.debug("HOD user - filtered {} submissions to {} in department {}", 
-                        submissions.size(), hodFiltered.size(), currentUser.getDepartment().getName());
-                return hodFiltered;
-                
-            case ROLE_PROFESSOR:
-                // Professor can see submissions in their department (read access)
-                // For write access, additional checks are done at the controller level
-                if (currentUser.getDepartment() == null) {
-                    log.warn("Professor user {} has no department assigned", currentUser.getEmail());
-                    return List.of();
-                }
-                
-                List<DocumentSubmission> profFiltered = submissions.stream()
-                        .filter(submission -> {
-                            User professor = submission.getProfessor();
-                            return professor.getDepartment() != null && 
-                                   professor.getDepartment().getId().equals(currentUser.getDepartment().getId());
-                        })
-                        .collect(Collectors.toList());
-                
-                log.debug("Professor user - filtered {} submissions to {} in department {}", 
-                        submissions.size(), profFiltered.size(), currentUser.getDepartment().getName());
-                return profFiltered;
-                
-            default:
-                log.warn("Unknown role: {}", currentUser.getRole());
-                return List.of();
-        }
-    }
-    
     /**
      * Validate that a user has access to a specific department.
      * Throws UnauthorizedOperationException if access is denied.
@@ -330,6 +116,39 @@ public class DepartmentScopedFilterService {
         log.debug("Professor user - write access granted to own course assignment {}", assignment.getId());
     }
     
+    /**
+     * Check whether a user can read any department-scoped data.
+     * Repository queries scoped with {@link #getDepartmentIdForFiltering(User)} treat a null
+     * department as all departments, so callers check this first: HOD and Professor users
+     * without a department (and unknown roles) must get nothing rather than everything.
+     * 
+     * @param currentUser The current authenticated user
+     * @return true for Admin and Deanship, and for HOD and Professor with a department
+     */
+    public boolean hasDepartmentScope(User currentUser) {
+        if (currentUser == null) {
+            throw new IllegalArgumentException("Current user cannot be null");
+        }
+        
+        switch (currentUser.getRole()) {
+            case ROLE_ADMIN:
+            case ROLE_DEANSHIP:
+                return true;
+                
+            case ROLE_HOD:
+            case ROLE_PROFESSOR:
+                if (currentUser.getDepartment() == null) {
+                    log.warn("User {} has no department assigned", currentUser.getEmail());
+                    return false;
+                }
+                return true;
+                
+            default:
+                log.warn("Unknown role: {}", currentUser.getRole());
+                return false;
+        }
+    }
+    
     /**
      * Get the department ID for filtering based on user role.
      * Returns null for Deanship (no filtering), user's department ID for HOD and Professor.
@@ -0,0 +1,771 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+import com.alquds.edu.ArchiveSystem.service.file.ArchiveTreeService.FolderNode;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact in-memory copy of the Folder hierarchy with per-folder file counts.
+ *
+ * Folders live in parallel primitive arrays indexed by slot:
+ * - parent slot, first child and next sibling (children form a linked list, so a
+ *   folder can be added, moved or removed without shifting its siblings)
+ * - references into one pool of interned characters for the name and path segment
+ * - the folder type as a byte
+ * - owner, owner department, course and semester IDs (0 for none)
+ * - the number of files directly in the folder
+ *
+ * A folder whose path extends its parent's stores only the rest of the path, so
+ * paths are rebuilt by walking up and a renamed or moved subtree follows its root.
+ * Roots, and the rare folder whose path does not extend its parent's, store the
+ * whole path and are found through a map; deeper paths are resolved by walking
+ * down from the longest such prefix.
+ *
+ * A folder may be added before its parent; it is linked once the parent arrives.
+ *
+ * {@link #writeTo} dumps the arrays as they are and {@link #readFrom} reads them
+ * back from a (memory-mapped) buffer with bulk copies; the lookup maps are
+ * rebuilt from the arrays.
+ *
+ * Not thread-safe; {@link ArchiveTreeServiceImpl} guards it with a read-write lock.
+ *
+ * @since 2.1
+ */
+final class ArchiveTreeIndex {
+
+    private static final int NONE = -1;
+    private static final FolderType[] TYPES = FolderType.values();
+
+    /**
+     * Identifies the COURSE folder of one professor, course and semester.
+     */
+    private record CourseKey(long ownerId, long courseId, long semesterId) {
+    }
+
+    // Folder slots; a free slot has id 0
+    private long[] ids;
+    private long[] parentIds;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] segments;
+    private boolean[] relative;
+    private int[] names;
+    private byte[] types;
+    private long[] ownerIds;
+    private long[] departmentIds;
+    private long[] courseIds;
+    private long[] semesterIds;
+    private int[] fileCounts;
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int folderCount;
+
+    // Interned strings; never released, the set of distinct names stays small
+    private char[] chars = new char[4096];
+    private int charCount;
+    private int[] stringOffsets = new int[256];
+    private int[] stringLengths = new int[256];
+    private int stringCount;
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+
+    private final LongLongMap slotsById = new LongLongMap();
+    private final LongLongMap fileFolders = new LongLongMap();
+    private final Map<String, Integer> absoluteSlots = new HashMap<>();
+    private final Map<CourseKey, Integer> courseSlots = new HashMap<>();
+    private final Map<Long, List<Integer>> waitingForParent = new HashMap<>();
+
+    ArchiveTreeIndex() {
+        allocate(64);
+    }
+
+    int size() {
+        return folderCount;
+    }
+
+    int fileCount() {
+        return fileFolders.size();
+    }
+
+    /**
+     * Add or replace a folder. IDs that are {@code null} are stored as unset.
+     */
+    void putFolder(long id, Long parentId, String path, String name, FolderType type,
+            Long ownerId, Long departmentId, Long courseId, Long semesterId) {
+        if (id <= 0 || path == null) {
+            return;
+        }
+        int slot = slotOf(id);
+        if (slot == NONE) {
+            slot = newSlot(id);
+        } else {
+            detach(slot);
+        }
+
+        parentIds[slot] = orZero(parentId);
+        names[slot] = intern(name != null ? name : "");
+        types[slot] = type != null ? (byte) type.ordinal() : -1;
+        ownerIds[slot] = orZero(ownerId);
+        departmentIds[slot] = orZero(departmentId);
+        courseIds[slot] = orZero(courseId);
+        semesterIds[slot] = orZero(semesterId);
+        attach(slot, trimSlashes(path));
+
+        CourseKey courseKey = courseKey(slot);
+        if (courseKey != null) {
+            courseSlots.put(courseKey, slot);
+        }
+
+        List<Integer> children = waitingForParent.remove(id);
+        if (children != null) {
+            for (int child : children) {
+                String childPath = string(segments[child]);
+                absoluteSlots.remove(childPath, child);
+                attach(child, childPath);
+            }
+        }
+    }
+
+    /**
+     * Remove a folder together with everything below it.
+     */
+    void removeFolder(long id) {
+        int slot = slotOf(id);
+        if (slot != NONE) {
+            removeSubtree(slot);
+        }
+    }
+
+    /**
+     * Record which folder a file is in; {@code null} for a file outside the folder tree.
+     */
+    void putFile(long fileId, Long folderId) {
+        if (fileId <= 0) {
+            return;
+        }
+        long folder = orZero(folderId);
+        long previous = fileFolders.get(fileId, 0);
+        if (previous == folder) {
+            return;
+        }
+        if (previous != 0) {
+            addFiles(previous, -1);
+        }
+        if (folder != 0) {
+            fileFolders.put(fileId, folder);
+            addFiles(folder, 1);
+        } else {
+            fileFolders.remove(fileId, 0);
+        }
+    }
+
+    void removeFile(long fileId) {
+        long previous = fileFolders.remove(fileId, 0);
+        if (previous != 0) {
+            addFiles(previous, -1);
+        }
+    }
+
+    /**
+     * A professor moved to another department: update the folders they own.
+     */
+    void updateOwnerDepartment(long ownerId, Long departmentId) {
+        long department = orZero(departmentId);
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ids[slot] != 0 && ownerIds[slot] == ownerId) {
+                departmentIds[slot] = department;
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #updateOwnerDepartment} for many owners in one pass.
+     *
+     * @param departmentsByOwner department ID (or {@code null}) by owner ID
+     */
+    void updateOwnerDepartments(Map<Long, Long> departmentsByOwner) {
+        if (departmentsByOwner.isEmpty()) {
+            return;
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ids[slot] != 0 && departmentsByOwner.containsKey(ownerIds[slot])) {
+                departmentIds[slot] = orZero(departmentsByOwner.get(ownerIds[slot]));
+            }
+        }
+    }
+
+    boolean containsFile(long fileId) {
+        return fileFolders.get(fileId, 0) != 0;
+    }
+
+    /**
+     * @return the IDs of all folders, ascending
+     */
+    long[] folderIds() {
+        long[] folderIds = new long[folderCount];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ids[slot] != 0) {
+                folderIds[count++] = ids[slot];
+            }
+        }
+        Arrays.sort(folderIds);
+        return folderIds;
+    }
+
+    /**
+     * @return the IDs of all files in the tree, ascending
+     */
+    long[] fileIds() {
+        long[] fileIds = new long[fileFolders.size];
+        int count = 0;
+        for (long key : fileFolders.keys) {
+            if (key != 0) {
+                fileIds[count++] = key;
+            }
+        }
+        Arrays.sort(fileIds);
+        return fileIds;
+    }
+
+    FolderNode get(long id) {
+        int slot = slotOf(id);
+        return slot != NONE ? node(slot) : null;
+    }
+
+    /**
+     * @param path folder path as stored on Folder, with or without surrounding slashes
+     */
+    FolderNode findByPath(String path) {
+        if (path == null) {
+            return null;
+        }
+        String normalized = trimSlashes(path);
+        Integer exact = absoluteSlots.get(normalized);
+        if (exact != null) {
+            return node(exact);
+        }
+        for (int end = normalized.lastIndexOf('/'); end > 0; end = normalized.lastIndexOf('/', end - 1)) {
+            Integer base = absoluteSlots.get(normalized.substring(0, end));
+            if (base != null) {
+                int slot = descend(base, normalized, end + 1);
+                return slot != NONE ? node(slot) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the direct subfolders, in no particular order, or an empty list for an unknown folder
+     */
+    List<FolderNode> children(long id) {
+        int slot = slotOf(id);
+        if (slot == NONE) {
+            return List.of();
+        }
+        List<FolderNode> children = new ArrayList<>();
+        for (int child = firstChildren[slot]; child != NONE; child = nextSiblings[child]) {
+            children.add(node(child));
+        }
+        return children;
+    }
+
+    FolderNode findCourseFolder(long ownerId, long courseId, long semesterId) {
+        Integer slot = courseSlots.get(new CourseKey(ownerId, courseId, semesterId));
+        return slot != null ? node(slot) : null;
+    }
+
+    // ---- snapshot ----
+
+    /**
+     * Write the index in the layout read by {@link #readFrom}.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(slotCount);
+        writeLongs(out, ids, slotCount);
+        writeLongs(out, parentIds, slotCount);
+        writeInts(out, parents, slotCount);
+        writeInts(out, firstChildren, slotCount);
+        writeInts(out, nextSiblings, slotCount);
+        writeInts(out, segments, slotCount);
+        writeInts(out, names, slotCount);
+        writeInts(out, fileCounts, slotCount);
+        for (int slot = 0; slot < slotCount; slot++) {
+            out.writeByte(relative[slot] ? 1 : 0);
+        }
+        out.write(types, 0, slotCount);
+        writeLongs(out, ownerIds, slotCount);
+        writeLongs(out, departmentIds, slotCount);
+        writeLongs(out, courseIds, slotCount);
+        writeLongs(out, semesterIds, slotCount);
+        out.writeInt(freeCount);
+        writeInts(out, freeSlots, freeCount);
+
+        out.writeInt(stringCount);
+        writeInts(out, stringOffsets, stringCount);
+        writeInts(out, stringLengths, stringCount);
+        out.writeInt(charCount);
+        for (int i = 0; i < charCount; i++) {
+            out.writeChar(chars[i]);
+        }
+
+        out.writeInt(fileFolders.size);
+        for (int i = 0; i < fileFolders.keys.length; i++) {
+            if (fileFolders.keys[i] != 0) {
+                out.writeLong(fileFolders.keys[i]);
+                out.writeLong(fileFolders.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Read an index written by {@link #writeTo}, starting at the buffer's position.
+     *
+     * @throws java.nio.BufferUnderflowException if the buffer is truncated
+     * @throws IllegalStateException             if the data is inconsistent
+     */
+    static ArchiveTreeIndex readFrom(ByteBuffer buffer) {
+        ArchiveTreeIndex index = new ArchiveTreeIndex();
+        int slots = readCount(buffer);
+        index.allocate(Math.max(64, slots));
+        index.slotCount = slots;
+        readLongs(buffer, index.ids, slots);
+        readLongs(buffer, index.parentIds, slots);
+        readInts(buffer, index.parents, slots);
+        readInts(buffer, index.firstChildren, slots);
+        readInts(buffer, index.nextSiblings, slots);
+        readInts(buffer, index.segments, slots);
+        readInts(buffer, index.names, slots);
+        readInts(buffer, index.fileCounts, slots);
+        for (int slot = 0; slot < slots; slot++) {
+            index.relative[slot] = buffer.get() != 0;
+        }
+        buffer.get(index.types, 0, slots);
+        readLongs(buffer, index.ownerIds, slots);
+        readLongs(buffer, index.departmentIds, slots);
+        readLongs(buffer, index.courseIds, slots);
+        readLongs(buffer, index.semesterIds, slots);
+        index.freeCount = readCount(buffer);
+        index.freeSlots = new int[Math.max(16, index.freeCount)];
+        readInts(buffer, index.freeSlots, index.freeCount);
+
+        index.stringCount = readCount(buffer);
+        index.stringOffsets = new int[Math.max(256, index.stringCount)];
+        index.stringLengths = new int[Math.max(256, index.stringCount)];
+        readInts(buffer, index.stringOffsets, index.stringCount);
+        readInts(buffer, index.stringLengths, index.stringCount);
+        index.charCount = readCount(buffer);
+        index.chars = new char[Math.max(4096, index.charCount)];
+        buffer.asCharBuffer().get(index.chars, 0, index.charCount);
+        buffer.position(buffer.position() + index.charCount * Character.BYTES);
+
+        int files = readCount(buffer);
+        for (int i = 0; i < files; i++) {
+            index.fileFolders.put(buffer.getLong(), buffer.getLong());
+        }
+        index.rebuildLookups();
+        return index;
+    }
+
+    private void rebuildLookups() {
+        for (int ref = 0; ref < stringCount; ref++) {
+            if (stringOffsets[ref] < 0 || stringOffsets[ref] + stringLengths[ref] > charCount) {
+                throw new IllegalStateException("String " + ref + " outside the character pool");
+            }
+            stringRefs.put(string(ref), ref);
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ids[slot] == 0) {
+                continue;
+            }
+            if (segments[slot] < 0 || segments[slot] >= stringCount || names[slot] < 0
+                    || names[slot] >= stringCount || parents[slot] >= slotCount || types[slot] >= TYPES.length) {
+                throw new IllegalStateException("Folder slot " + slot + " is inconsistent");
+            }
+            folderCount++;
+            slotsById.put(ids[slot], slot);
+            if (!relative[slot]) {
+                absoluteSlots.put(string(segments[slot]), slot);
+            }
+            if (parents[slot] == NONE && parentIds[slot] != 0) {
+                waitingForParent.computeIfAbsent(parentIds[slot], key -> new ArrayList<>()).add(slot);
+            }
+            CourseKey courseKey = courseKey(slot);
+            if (courseKey != null) {
+                courseSlots.put(courseKey, slot);
+            }
+        }
+        if (folderCount + freeCount != slotCount) {
+            throw new IllegalStateException("Free slot list does not match the folder slots");
+        }
+    }
+
+    private static void writeLongs(DataOutput out, long[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeLong(values[i]);
+        }
+    }
+
+    private static void writeInts(DataOutput out, int[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalStateException("Invalid element count " + count);
+        }
+        return count;
+    }
+
+    private static void readLongs(ByteBuffer buffer, long[] target, int count) {
+        buffer.asLongBuffer().get(target, 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+    }
+
+    private static void readInts(ByteBuffer buffer, int[] target, int count) {
+        buffer.asIntBuffer().get(target, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    // ---- structure ----
+
+    private int newSlot(long id) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == ids.length) {
+                allocate(ids.length * 2);
+            }
+            slot = slotCount++;
+        }
+        ids[slot] = id;
+        parents[slot] = NONE;
+        firstChildren[slot] = NONE;
+        nextSiblings[slot] = NONE;
+        fileCounts[slot] = 0;
+        slotsById.put(id, slot);
+        folderCount++;
+        return slot;
+    }
+
+    /**
+     * Link a folder under its parent (or queue it until the parent is added) and
+     * store its path, relative to the parent's where possible.
+     */
+    private void attach(int slot, String path) {
+        long parentId = parentIds[slot];
+        int parent = parentId != 0 ? slotOf(parentId) : NONE;
+        String stored = path;
+        boolean isRelative = false;
+        if (parent != NONE) {
+            parents[slot] = parent;
+            nextSiblings[slot] = firstChildren[parent];
+            firstChildren[parent] = slot;
+            String parentPath = path(parent);
+            if (path.length() > parentPath.length() + 1 && path.startsWith(parentPath)
+                    && path.charAt(parentPath.length()) == '/') {
+                stored = path.substring(parentPath.length() + 1);
+                isRelative = true;
+            }
+        } else if (parentId != 0) {
+            waitingForParent.computeIfAbsent(parentId, key -> new ArrayList<>()).add(slot);
+        }
+        segments[slot] = intern(stored);
+        relative[slot] = isRelative;
+        if (!isRelative) {
+            absoluteSlots.put(stored, slot);
+        }
+    }
+
+    /**
+     * Undo {@link #attach} and drop the course key; the folder's own children stay linked.
+     */
+    private void detach(int slot) {
+        int parent = parents[slot];
+        if (parent != NONE) {
+            if (firstChildren[parent] == slot) {
+                firstChildren[parent] = nextSiblings[slot];
+            } else {
+                int previous = firstChildren[parent];
+                while (nextSiblings[previous] != slot) {
+                    previous = nextSiblings[previous];
+                }
+                nextSiblings[previous] = nextSiblings[slot];
+            }
+            parents[slot] = NONE;
+            nextSiblings[slot] = NONE;
+        } else if (parentIds[slot] != 0) {
+            List<Integer> waiting = waitingForParent.get(parentIds[slot]);
+            if (waiting != null) {
+                waiting.remove(Integer.valueOf(slot));
+                if (waiting.isEmpty()) {
+                    waitingForParent.remove(parentIds[slot]);
+                }
+            }
+        }
+        if (!relative[slot]) {
+            absoluteSlots.remove(string(segments[slot]), slot);
+        }
+        CourseKey courseKey = courseKey(slot);
+        if (courseKey != null) {
+            courseSlots.remove(courseKey, slot);
+        }
+    }
+
+    private void removeSubtree(int slot) {
+        while (firstChildren[slot] != NONE) {
+            removeSubtree(firstChildren[slot]);
+        }
+        detach(slot);
+        slotsById.remove(ids[slot], NONE);
+        ids[slot] = 0;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        folderCount--;
+    }
+
+    /**
+     * Follow relative children from {@code slot} along {@code path} starting at {@code from}.
+     */
+    private int descend(int slot, String path, int from) {
+        while (true) {
+            int next = NONE;
+            for (int child = firstChildren[slot]; child != NONE; child = nextSiblings[child]) {
+                if (relative[child] && segmentMatches(segments[child], path, from)) {
+                    next = child;
+                    break;
+                }
+            }
+            if (next == NONE) {
+                return NONE;
+            }
+            int end = from + stringLengths[segments[next]];
+            if (end == path.length()) {
+                return next;
+            }
+            slot = next;
+            from = end + 1;
+        }
+    }
+
+    /**
+     * Whether the pooled string occurs in {@code path} at {@code from}, followed by
+     * the end of the path or a slash.
+     */
+    private boolean segmentMatches(int ref, String path, int from) {
+        int length = stringLengths[ref];
+        int end = from + length;
+        if (end > path.length() || (end < path.length() && path.charAt(end) != '/')) {
+            return false;
+        }
+        int offset = stringOffsets[ref];
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != path.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addFiles(long folderId, int delta) {
+        int slot = slotOf(folderId);
+        if (slot != NONE) {
+            fileCounts[slot] = Math.max(0, fileCounts[slot] + delta);
+        }
+    }
+
+    private CourseKey courseKey(int slot) {
+        if (types[slot] != FolderType.COURSE.ordinal()
+                || ownerIds[slot] == 0 || courseIds[slot] == 0 || semesterIds[slot] == 0) {
+            return null;
+        }
+        return new CourseKey(ownerIds[slot], courseIds[slot], semesterIds[slot]);
+    }
+
+    private FolderNode node(int slot) {
+        int subfolderCount = 0;
+        for (int child = firstChildren[slot]; child != NONE; child = nextSiblings[child]) {
+            subfolderCount++;
+        }
+        return new FolderNode(ids[slot], orNull(parentIds[slot]), path(slot), string(names[slot]),
+                types[slot] >= 0 ? TYPES[types[slot]] : null, orNull(ownerIds[slot]),
+                orNull(departmentIds[slot]), orNull(courseIds[slot]), orNull(semesterIds[slot]),
+                fileCounts[slot], subfolderCount);
+    }
+
+    private String path(int slot) {
+        if (!relative[slot]) {
+            return string(segments[slot]);
+        }
+        return path(parents[slot]) + "/" + string(segments[slot]);
+    }
+
+    private int slotOf(long id) {
+        return (int) slotsById.get(id, NONE);
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        parentIds = parentIds == null ? new long[capacity] : Arrays.copyOf(parentIds, capacity);
+        parents = parents == null ? new int[capacity] : Arrays.copyOf(parents, capacity);
+        firstChildren = firstChildren == null ? new int[capacity] : Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = nextSiblings == null ? new int[capacity] : Arrays.copyOf(nextSiblings, capacity);
+        segments = segments == null ? new int[capacity] : Arrays.copyOf(segments, capacity);
+        relative = relative == null ? new boolean[capacity] : Arrays.copyOf(relative, capacity);
+        names = names == null ? new int[capacity] : Arrays.copyOf(names, capacity);
+        types = types == null ? new byte[capacity] : Arrays.copyOf(types, capacity);
+        ownerIds = ownerIds == null ? new long[capacity] : Arrays.copyOf(ownerIds, capacity);
+        departmentIds = departmentIds == null ? new long[capacity] : Arrays.copyOf(departmentIds, capacity);
+        courseIds = courseIds == null ? new long[capacity] : Arrays.copyOf(courseIds, capacity);
+        semesterIds = semesterIds == null ? new long[capacity] : Arrays.copyOf(semesterIds, capacity);
+        fileCounts = fileCounts == null ? new int[capacity] : Arrays.copyOf(fileCounts, capacity);
+    }
+
+    // ---- string pool ----
+
+    private int intern(String value) {
+        Integer existing = stringRefs.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (charCount + value.length() > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + value.length()));
+        }
+        if (stringCount == stringOffsets.length) {
+            stringOffsets = Arrays.copyOf(stringOffsets, stringCount * 2);
+            stringLengths = Arrays.copyOf(stringLengths, stringCount * 2);
+        }
+        value.getChars(0, value.length(), chars, charCount);
+        int ref = stringCount++;
+        stringOffsets[ref] = charCount;
+        stringLengths[ref] = value.length();
+        charCount += value.length();
+        stringRefs.put(value, ref);
+        return ref;
+    }
+
+    private String string(int ref) {
+        return new String(chars, stringOffsets[ref], stringLengths[ref]);
+    }
+
+    private static String trimSlashes(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static Long orNull(long value) {
+        return value != 0 ? value : null;
+    }
+
+    /**
+     * Open-addressing map from positive long keys to long values, without boxing.
+     * Linear probing with backward-shift deletion, so no tombstones build up.
+     */
+    static final class LongLongMap {
+
+        private long[] keys = new long[16];
+        private long[] values = new long[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(long key, long missing) {
+            int mask = keys.length - 1;
+            for (int i = home(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return missing;
+        }
+
+        void put(long key, long value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = home(key, mask);
+            while (keys[i] != 0) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        long remove(long key, long missing) {
+            int mask = keys.length - 1;
+            int i = home(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return missing;
+                }
+                i = (i + 1) & mask;
+            }
+            long removed = values[i];
+            int gap = i;
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                // Move an entry back into the gap unless its home lies between the gap and itself
+                if (((j - home(keys[j], mask)) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            values[gap] = 0;
+            size--;
+            return removed;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[capacity];
+            values = new long[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int home(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
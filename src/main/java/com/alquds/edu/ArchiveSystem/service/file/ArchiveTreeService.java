@@ -0,0 +1,73 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Memory-resident view of the Folder hierarchy, with the owner, department,
+ * course and semester of each folder and its direct file count.
+ *
+ * Lookups never touch the database. The tree is loaded in the background once
+ * the application is ready and follows entity changes after each commit, so
+ * until it is loaded, and for a moment after a write, a lookup may come back
+ * empty. An empty result therefore means "not known here": callers fall back to
+ * the repositories.
+ *
+ * @since 2.1
+ */
+public interface ArchiveTreeService {
+
+    /**
+     * One folder of the tree.
+     *
+     * @param id             folder ID
+     * @param parentId       parent folder ID, or {@code null} for a root
+     * @param path           folder path as stored on Folder (no leading slash)
+     * @param name           display name
+     * @param type           folder type
+     * @param ownerId        owning professor's ID, or {@code null}
+     * @param departmentId   owner's department ID, or {@code null}
+     * @param courseId       course ID for course folders and below, or {@code null}
+     * @param semesterId     semester ID, or {@code null}
+     * @param fileCount      number of files directly in the folder
+     * @param subfolderCount number of direct subfolders
+     */
+    record FolderNode(Long id, Long parentId, String path, String name, FolderType type, Long ownerId,
+            Long departmentId, Long courseId, Long semesterId, int fileCount, int subfolderCount) {
+    }
+
+    /**
+     * @return whether the tree has been loaded
+     */
+    boolean isReady();
+
+    /**
+     * @param path folder path as stored on Folder, e.g. {@code "2024-2025/first/Jane Doe"}
+     * @return the folder, or empty if it is not known
+     */
+    Optional<FolderNode> findByPath(String path);
+
+    /**
+     * @param folderId the folder ID
+     * @return the folder, or empty if it is not known
+     */
+    Optional<FolderNode> findById(Long folderId);
+
+    /**
+     * @param folderId the folder ID
+     * @return the direct subfolders, or empty if the folder is not known
+     */
+    Optional<List<FolderNode>> findChildren(Long folderId);
+
+    /**
+     * @return the COURSE folder of a professor's course in a semester, or empty if it is not known
+     */
+    Optional<FolderNode> findCourseFolder(Long professorId, Long courseId, Long semesterId);
+
+    /**
+     * Reload the whole tree from the database.
+     */
+    void rebuild();
+}
@@ -0,0 +1,472 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Implementation of ArchiveTreeService on top of {@link ArchiveTreeIndex}.
+ *
+ * The index is loaded once the application is ready by keyset-paging over
+ * folder and file IDs with scalar projection queries, so neither the result
+ * set nor the persistence context holds more than one page. After that it is
+ * kept current from {@link EntityChangedEvent}s: after each commit the changed
+ * folder or file row is re-read and its entry replaced or removed. Loads and
+ * updates all run on one background thread, so changes committed during a
+ * rebuild are applied on top of the new index.
+ *
+ * Lookups only take the read lock, so they never wait for the database.
+ *
+ * For warm restarts the index is checkpointed to a binary snapshot file
+ * ({@code archive.tree.snapshot.file}) every
+ * {@code archive.tree.snapshot.interval-ms} when it changed, and on shutdown.
+ * At startup the snapshot is memory-mapped and read back, then caught up:
+ * - rows deleted or inserted since (including by bulk imports that bypass
+ *   the entity listeners) are found by comparing ID lists
+ * - rows changed since are re-read through their {@code updated_at} column
+ * Only when there is no usable snapshot is the index loaded from scratch.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class ArchiveTreeServiceImpl implements ArchiveTreeService {
+
+    private static final int PAGE_SIZE = 5000;
+    private static final int ID_BATCH_SIZE = 500;
+    private static final int SNAPSHOT_MAGIC = 0x41525452;
+    private static final int SNAPSHOT_VERSION = 1;
+    // Rows stamped up to this long before a checkpoint may still have been committed after it
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(5);
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final FolderRepository folderRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive-tree-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final boolean snapshotEnabled;
+    private final Path snapshotFile;
+
+    private ArchiveTreeIndex index = new ArchiveTreeIndex();
+    private volatile boolean ready;
+    // Changes applied since startup and at the last snapshot; only touched on the updater thread
+    private long appliedChanges;
+    private long snapshotChanges = -1;
+
+    public ArchiveTreeServiceImpl(FolderRepository folderRepository,
+            UploadedFileRepository uploadedFileRepository,
+            UserRepository userRepository,
+            @Value("${archive.tree.snapshot.enabled:true}") boolean snapshotEnabled,
+            @Value("${archive.tree.snapshot.file:data/archive-tree.snapshot}") String snapshotFile) {
+        this.folderRepository = folderRepository;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.userRepository = userRepository;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotFile = Paths.get(snapshotFile).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Write a last snapshot, then stop the updater thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        updater.execute(this::writeSnapshot);
+        updater.shutdown();
+        try {
+            if (!updater.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                updater.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            updater.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        updater.execute(this::loadIndex);
+    }
+
+    @Scheduled(fixedDelayString = "${archive.tree.snapshot.interval-ms:600000}",
+            initialDelayString = "${archive.tree.snapshot.interval-ms:600000}")
+    public void checkpoint() {
+        if (snapshotEnabled && ready) {
+            updater.execute(this::writeSnapshot);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Folder.class) || event.isAbout(UploadedFile.class) || event.isAbout(User.class)) {
+            updater.execute(() -> apply(event));
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        updater.execute(() -> {
+            if (buildIndex()) {
+                writeSnapshot();
+            }
+        });
+    }
+
+    /**
+     * Restore the index from the snapshot and catch it up, or build it from
+     * scratch if there is no usable snapshot. Runs on the updater thread.
+     */
+    void loadIndex() {
+        long start = System.nanoTime();
+        Snapshot snapshot = readSnapshot();
+        if (snapshot != null) {
+            try {
+                LocalDateTime since = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(snapshot.takenAtMillis()).minus(CATCH_UP_OVERLAP), ZoneId.systemDefault());
+                catchUp(snapshot.index(), since);
+                swap(snapshot.index());
+                log.info("Restored archive tree index from snapshot: {} folders, {} files in {} ms",
+                        snapshot.index().size(), snapshot.index().fileCount(), (System.nanoTime() - start) / 1_000_000);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not catch up archive tree snapshot, rebuilding: {}", e.getMessage());
+            }
+        }
+        if (buildIndex()) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Load a new index from the database and swap it in. Runs on the updater thread.
+     *
+     * @return whether the index was built
+     */
+    boolean buildIndex() {
+        long start = System.nanoTime();
+        ArchiveTreeIndex fresh = new ArchiveTreeIndex();
+        try {
+            // Folders first, so file counts land on known folders
+            forEachPage(afterId -> folderRepository.findTreeRowsAfter(afterId, page()),
+                    row -> putFolder(fresh, row));
+            forEachPage(afterId -> uploadedFileRepository.findFolderRowsAfter(afterId, page()),
+                    row -> fresh.putFile((Long) row[0], (Long) row[1]));
+        } catch (RuntimeException e) {
+            log.error("Failed to build archive tree index", e);
+            return false;
+        }
+
+        swap(fresh);
+        log.info("Built archive tree index: {} folders, {} files in {} ms",
+                fresh.size(), fresh.fileCount(), (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Bring a restored index up to date with the database.
+     *
+     * @param since rows updated after this time are re-read
+     */
+    private void catchUp(ArchiveTreeIndex tree, LocalDateTime since) {
+        List<Long> addedFolders = new ArrayList<>();
+        reconcile(tree.folderIds(), afterId -> folderRepository.findIdsAfter(afterId, page()),
+                tree::removeFolder, id -> tree.get(id) != null, addedFolders);
+        forEachBatch(addedFolders, ids -> folderRepository.findTreeRowsByIdIn(ids)
+                .forEach(row -> putFolder(tree, row)));
+        forEachPage(afterId -> folderRepository.findTreeRowsUpdatedAfter(since, afterId, page()),
+                row -> putFolder(tree, row));
+
+        List<Long> addedFiles = new ArrayList<>();
+        reconcile(tree.fileIds(), afterId -> uploadedFileRepository.findIdsInFoldersAfter(afterId, page()),
+                tree::removeFile, tree::containsFile, addedFiles);
+        forEachBatch(addedFiles, ids -> uploadedFileRepository.findFolderRowsByIdIn(ids)
+                .forEach(row -> tree.putFile((Long) row[0], (Long) row[1])));
+        forEachPage(afterId -> uploadedFileRepository.findFolderRowsUpdatedAfter(since, afterId, page()),
+                row -> tree.putFile((Long) row[0], (Long) row[1]));
+
+        Map<Long, Long> departmentsByOwner = new HashMap<>();
+        userRepository.findDepartmentRowsUpdatedAfter(since)
+                .forEach(row -> departmentsByOwner.put((Long) row[0], (Long) row[1]));
+        tree.updateOwnerDepartments(departmentsByOwner);
+    }
+
+    /**
+     * Walk the current IDs of a table next to the sorted IDs known to the index:
+     * known IDs missing from the table are removed, table IDs the index does not
+     * contain are collected in {@code added}.
+     */
+    private static void reconcile(long[] known, Function<Long, List<Long>> idPage, LongConsumer removed,
+            LongPredicate contained, List<Long> added) {
+        int next = 0;
+        long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = idPage.apply(afterId);
+            for (Long id : ids) {
+                while (next < known.length && known[next] < id) {
+                    removed.accept(known[next++]);
+                }
+                if (next < known.length && known[next] == id) {
+                    next++;
+                }
+                // Also re-adds a folder dropped with a deleted parent after it moved elsewhere
+                if (!contained.test(id)) {
+                    added.add(id);
+                }
+            }
+            if (!ids.isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == PAGE_SIZE);
+        while (next < known.length) {
+            removed.accept(known[next++]);
+        }
+    }
+
+    /**
+     * Checkpoint the index to the snapshot file if it changed since the last one.
+     * Runs on the updater thread, the only writer, so the index is read without the lock.
+     */
+    void writeSnapshot() {
+        if (!snapshotEnabled || !ready || snapshotChanges == appliedChanges) {
+            return;
+        }
+        long start = System.nanoTime();
+        long takenAt = System.currentTimeMillis();
+        long changes = appliedChanges;
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(takenAt);
+                index.writeTo(out);
+            }
+            try {
+                Files.move(temp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            snapshotChanges = changes;
+            log.info("Wrote archive tree snapshot: {} folders, {} bytes in {} ms", index.size(),
+                    Files.size(snapshotFile), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Failed to write archive tree snapshot {}: {}", snapshotFile, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Overwritten by the next checkpoint
+            }
+        }
+    }
+
+    /**
+     * @return the index and checkpoint time from the snapshot file, or null if there is no usable snapshot
+     */
+    private Snapshot readSnapshot() {
+        if (!snapshotEnabled || !Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                log.info("Ignoring archive tree snapshot {} written by another version", snapshotFile);
+                return null;
+            }
+            long takenAt = buffer.getLong();
+            return new Snapshot(ArchiveTreeIndex.readFrom(buffer), takenAt);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable archive tree snapshot {}: {}", snapshotFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private record Snapshot(ArchiveTreeIndex index, long takenAtMillis) {
+    }
+
+    private void swap(ArchiveTreeIndex fresh) {
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        appliedChanges++;
+        ready = true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Optional<FolderNode> findByPath(String path) {
+        return read(tree -> tree.findByPath(path));
+    }
+
+    @Override
+    public Optional<FolderNode> findById(Long folderId) {
+        return folderId != null ? read(tree -> tree.get(folderId)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<List<FolderNode>> findChildren(Long folderId) {
+        return folderId != null
+                ? read(tree -> tree.get(folderId) != null ? tree.children(folderId) : null)
+                : Optional.empty();
+    }
+
+    @Override
+    public Optional<FolderNode> findCourseFolder(Long professorId, Long courseId, Long semesterId) {
+        if (professorId == null || courseId == null || semesterId == null) {
+            return Optional.empty();
+        }
+        return read(tree -> tree.findCourseFolder(professorId, courseId, semesterId));
+    }
+
+    /**
+     * Re-read one changed row and update its entry. Runs on the updater thread.
+     */
+    void apply(EntityChangedEvent event) {
+        appliedChanges++;
+        try {
+            Long id = event.entityId();
+            if (event.isAbout(Folder.class)) {
+                List<Object[]> rows = folderRepository.findTreeRowById(id);
+                write(tree -> {
+                    if (rows.isEmpty()) {
+                        tree.removeFolder(id);
+                    } else {
+                        putFolder(tree, rows.get(0));
+                    }
+                });
+            } else if (event.isAbout(UploadedFile.class)) {
+                List<Object[]> rows = uploadedFileRepository.findFolderRowById(id);
+                write(tree -> {
+                    if (rows.isEmpty()) {
+                        tree.removeFile(id);
+                    } else {
+                        tree.putFile(id, (Long) rows.get(0)[1]);
+                    }
+                });
+            } else if (event.isAbout(User.class)) {
+                // Folders carry their owner's department for access checks
+                Long departmentId = userRepository.findById(id)
+                        .map(user -> user.getDepartment() != null ? user.getDepartment().getId() : null)
+                        .orElse(null);
+                write(tree -> tree.updateOwnerDepartment(id, departmentId));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update archive tree index for {} {}: {}",
+                    event.entityType().getSimpleName(), event.entityId(), e.getMessage());
+        }
+    }
+
+    private <T> Optional<T> read(Function<ArchiveTreeIndex, T> lookup) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(lookup.apply(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<ArchiveTreeIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Pageable page() {
+        return PageRequest.of(0, PAGE_SIZE);
+    }
+
+    private static void forEachBatch(List<Long> ids, Consumer<List<Long>> action) {
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            action.accept(ids.subList(from, Math.min(ids.size(), from + ID_BATCH_SIZE)));
+        }
+    }
+
+    /**
+     * Run {@code action} on every row of a keyset-paged query whose first column is the ID.
+     */
+    private static void forEachPage(Function<Long, List<Object[]>> page, Consumer<Object[]> action) {
+        long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = page.apply(afterId);
+            rows.forEach(action);
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == PAGE_SIZE);
+    }
+
+    // Row layout: see FolderRepository.findTreeRowsAfter
+    private static void putFolder(ArchiveTreeIndex tree, Object[] row) {
+        tree.putFolder((Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (FolderType) row[4],
+                (Long) row[5], (Long) row[6], (Long) row[7], (Long) row[8]);
+    }
+}
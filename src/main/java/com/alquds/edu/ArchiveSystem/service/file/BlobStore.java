@@ -0,0 +1,248 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store that keeps each unique upload payload once.
+ *
+ * Blobs live under {@code {root}/{ab}/{cd}/{sha256}}, sharded by the first two
+ * bytes of the hash. The user-facing path of an upload ({@code UploadedFile.fileUrl})
+ * is a hard link to its blob, so every existing reader, preview and download keeps
+ * working on the familiar year/semester/professor/course tree while identical
+ * uploads share their disk blocks.
+ *
+ * Reference counting is done on the {@code content_sha256} column: a blob is
+ * deleted once no UploadedFile row refers to its hash any more (see
+ * {@link #releaseAfterCommit(Collection)}). A daily sweep removes blobs left
+ * behind by deletes that bypass the services (e.g. folder cascades).
+ *
+ * If hard links are not supported by the file system, the payload is copied to
+ * the target instead and the blob is still kept for later uploads.
+ *
+ * @since 2.1
+ */
+@Component
+@Slf4j
+public class BlobStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    // Blobs younger than this are never swept, so in-flight uploads are not affected
+    private static final Duration SWEEP_GRACE = Duration.ofHours(1);
+
+    private final Path root;
+    private final boolean enabled;
+    private final UploadedFileRepository uploadedFileRepository;
+
+    public BlobStore(@Value("${file.blob-store.dir:${file.upload-dir:uploads}/.blobs}") String root,
+            @Value("${file.blob-store.enabled:true}") boolean enabled,
+            UploadedFileRepository uploadedFileRepository) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.uploadedFileRepository = uploadedFileRepository;
+    }
+
+    /**
+     * A store that never deduplicates: {@link #store} simply moves files into place.
+     */
+    public static BlobStore disabled() {
+        return new BlobStore(".blobs", false, null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return path of the blob for the given hash (it may not exist)
+     */
+    public Path blobPath(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    /**
+     * Put a freshly written file at its target path, sharing the payload with an
+     * existing blob of the same content if there is one. If that blob is released
+     * before the target is linked to it, the staging file becomes the new blob.
+     *
+     * @param staging file holding the content; consumed (moved or deleted)
+     * @param sha256  SHA-256 of the content
+     * @param target  final path; replaced if it exists
+     * @return {@code true} if the content was already stored and the staging copy was dropped
+     */
+    public boolean store(Path staging, String sha256, Path target) throws IOException {
+        if (!enabled || sha256 == null) {
+            move(staging, target);
+            return false;
+        }
+
+        Path blob = blobPath(sha256);
+        if (Files.exists(blob) && linkExisting(blob, target, staging)) {
+            return true;
+        }
+
+        Files.createDirectories(blob.getParent());
+        try {
+            Files.move(staging, blob, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same content stored concurrently by another upload
+            if (linkExisting(blob, target, staging)) {
+                return true;
+            }
+            move(staging, target);
+            return false;
+        } catch (AtomicMoveNotSupportedException e) {
+            // Blob store on another file system: fall back to a plain per-file copy
+            log.warn("Blob store {} is not on the same file system as {}, storing without dedup", root, target);
+            move(staging, target);
+            return false;
+        }
+        link(blob, target);
+        return false;
+    }
+
+    /**
+     * Delete blobs whose hash is no longer referenced by any UploadedFile once the
+     * current transaction commits (immediately if there is none).
+     *
+     * @param sha256s hashes of deleted files; {@code null} entries are ignored
+     */
+    public void releaseAfterCommit(Collection<String> sha256s) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> hashes = new HashSet<>();
+        for (String sha256 : sha256s) {
+            if (sha256 != null) {
+                hashes.add(sha256);
+            }
+        }
+        if (hashes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(hashes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(hashes);
+            }
+        });
+    }
+
+    /**
+     * Daily removal of blobs that no UploadedFile refers to.
+     *
+     * @return number of blobs removed
+     */
+    @Scheduled(cron = "${file.blob-store.sweep-cron:0 15 3 * * *}")
+    public int sweepUnreferencedBlobs() {
+        if (!enabled || !Files.isDirectory(root)) {
+            return 0;
+        }
+        Set<String> referenced = new HashSet<>(uploadedFileRepository.findDistinctContentSha256());
+        Instant cutoff = Instant.now().minus(SWEEP_GRACE);
+        int removed = 0;
+        try (Stream<Path> blobs = Files.walk(root, 3)) {
+            for (Path blob : (Iterable<Path>) blobs::iterator) {
+                String name = blob.getFileName().toString();
+                if (!SHA256_HEX.matcher(name).matches() || referenced.contains(name)
+                        || Files.getLastModifiedTime(blob).toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                Files.deleteIfExists(blob);
+                removed++;
+            }
+        } catch (IOException e) {
+            log.error("Failed to sweep blob store {}", root, e);
+        }
+        if (removed > 0) {
+            log.info("Removed {} unreferenced blobs from {}", removed, root);
+        }
+        return removed;
+    }
+
+    private void release(Set<String> hashes) {
+        for (String sha256 : hashes) {
+            if (uploadedFileRepository.countByContentSha256(sha256) > 0) {
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(blobPath(sha256))) {
+                    log.debug("Deleted unreferenced blob {}", sha256);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete blob {}: {}", sha256, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Link the target to an existing blob and drop the staging copy. The staging
+     * copy is only deleted once the link is in place, so a blob released in the
+     * meantime never loses the content.
+     *
+     * @return {@code false} if the blob disappeared; the staging file is kept
+     */
+    private boolean linkExisting(Path blob, Path target, Path staging) throws IOException {
+        try {
+            link(blob, target);
+        } catch (NoSuchFileException e) {
+            log.debug("Blob {} was released before {} could be linked to it", blob.getFileName(), target);
+            return false;
+        }
+        Files.delete(staging);
+        log.debug("Deduplicated upload {} against blob {}", target, blob.getFileName());
+        return true;
+    }
+
+    /**
+     * Hard-link the target to the blob. The link is created under a temporary name and
+     * renamed over the target so an existing file is replaced in one step.
+     */
+    private void link(Path blob, Path target) throws IOException {
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".link");
+        try {
+            Files.createLink(temp, blob);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            log.debug("Hard links unavailable for {}, copying blob instead: {}", target, e.getMessage());
+            Files.copy(blob, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        move(temp, target);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.ChunkedUploadInitRequest;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.ChunkedUploadStatusDTO;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for chunked, resumable file uploads.
+ *
+ * Protocol:
+ * 1. {@link #initUpload} validates the file and target folder and returns an upload ID and chunk size
+ * 2. {@link #writeChunk} stores one chunk at its offset in a staging file; chunks may arrive
+ *    in any order, in parallel, and may be resent
+ * 3. {@link #getStatus} lists the received chunks so an interrupted upload can resume
+ * 4. {@link #commitUpload} moves the staging file into the folder and creates the UploadedFile
+ *
+ * Unfinished uploads expire after {@code file.chunked.session-ttl-hours}.
+ *
+ * @since 2.1
+ */
+public interface ChunkedUploadService {
+
+    /**
+     * Start a chunked upload.
+     *
+     * @param request file name, size and target folder
+     * @param uploaderId User ID of the person uploading the file
+     * @return status of the new upload (no chunks received)
+     * @throws com.alquds.edu.ArchiveSystem.exception.FolderNotFoundException if folder doesn't exist
+     * @throws com.alquds.edu.ArchiveSystem.exception.UnauthorizedException if user doesn't have permission
+     * @throws com.alquds.edu.ArchiveSystem.exception.FileValidationException if the file fails validation
+     */
+    ChunkedUploadStatusDTO initUpload(ChunkedUploadInitRequest request, Long uploaderId);
+
+    /**
+     * Write one chunk of an upload.
+     *
+     * @param uploadId Upload ID returned by {@link #initUpload}
+     * @param chunkIndex Zero-based chunk index
+     * @param content Chunk bytes; must be exactly the expected chunk length
+     * @param uploaderId User ID of the person uploading the file
+     * @return updated upload status
+     */
+    ChunkedUploadStatusDTO writeChunk(String uploadId, int chunkIndex, InputStream content, Long uploaderId);
+
+    /**
+     * Get the state of an upload.
+     *
+     * @param uploadId Upload ID
+     * @param uploaderId User ID of the person uploading the file
+     * @return upload status
+     */
+    ChunkedUploadStatusDTO getStatus(String uploadId, Long uploaderId);
+
+    /**
+     * Move a completed upload into its folder and create the UploadedFile entity.
+     *
+     * @param uploadId Upload ID
+     * @param uploaderId User ID of the person uploading the file
+     * @return the created UploadedFile
+     * @throws com.alquds.edu.ArchiveSystem.exception.FileValidationException if chunks are missing
+     */
+    UploadedFile commitUpload(String uploadId, Long uploaderId);
+
+    /**
+     * Abort an upload and delete its staging file.
+     *
+     * @param uploadId Upload ID
+     * @param uploaderId User ID of the person uploading the file
+     */
+    void abortUpload(String uploadId, Long uploaderId);
+
+    /**
+     * Delete expired uploads and their staging files.
+     *
+     * @return number of uploads removed
+     */
+    int cleanupExpiredUploads();
+}
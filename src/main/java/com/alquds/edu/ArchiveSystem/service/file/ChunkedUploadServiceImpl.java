@@ -0,0 +1,387 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.ChunkedUploadInitRequest;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.ChunkedUploadStatusDTO;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadSession;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.exception.auth.UnauthorizedException;
+import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
+import com.alquds.edu.ArchiveSystem.exception.core.ResourceNotFoundException;
+import com.alquds.edu.ArchiveSystem.exception.file.FileStorageException;
+import com.alquds.edu.ArchiveSystem.exception.file.FileValidationException;
+import com.alquds.edu.ArchiveSystem.exception.file.FolderNotFoundException;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadSessionRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of ChunkedUploadService.
+ *
+ * Chunks are written with positional {@link FileChannel} writes into
+ * {@code {file.upload-dir}/.staging/{uploadId}.part}, which lives on the same
+ * filesystem as the folders so the commit is a single atomic rename. The
+ * received-chunk bitmap is updated under a row lock after the chunk is on
+ * disk, so no database connection is held while the request body streams in.
+ *
+ * @since 2.1
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    static final String STAGING_DIR = ".staging";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // received_chunks column holds 1024 bytes
+    private static final int MAX_CHUNK_COUNT = 8192;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FolderRepository folderRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final UserRepository userRepository;
+    private final FolderFileUploadService folderFileUploadService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${file.chunked.chunk-size:5242880}") // 5MB default
+    private int defaultChunkSize;
+
+    @Value("${file.chunked.min-chunk-size:262144}") // 256KB
+    private int minChunkSize;
+
+    @Value("${file.chunked.max-chunk-size:16777216}") // 16MB
+    private int maxChunkSize;
+
+    @Value("${file.chunked.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    @Override
+    @Transactional
+    public ChunkedUploadStatusDTO initUpload(ChunkedUploadInitRequest request, Long uploaderId) {
+        User uploader = findUploader(uploaderId);
+
+        folderFileUploadService.validateFile(request.getFilename(), request.getFileSize());
+        Folder folder = folderFileUploadService.resolveTargetFolder(
+                request.getFolderId(), request.getFolderPath(), uploader);
+
+        long totalSize = request.getFileSize();
+        int chunkSize = resolveChunkSize(request.getChunkSize(), totalSize);
+        int chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+
+        String uploadId = UUID.randomUUID().toString();
+        Path stagingFile = stagingFile(uploadId);
+        try {
+            Files.createDirectories(stagingFile.getParent());
+            Files.createFile(stagingFile);
+        } catch (IOException e) {
+            log.error("Failed to create staging file: {}", stagingFile, e);
+            throw FileStorageException.fileWriteFailed(request.getFilename(), e);
+        }
+
+        UploadSession session = UploadSession.builder()
+                .id(uploadId)
+                .folderId(folder.getId())
+                .uploaderId(uploader.getId())
+                .originalFilename(request.getFilename())
+                .contentType(request.getContentType())
+                .totalSize(totalSize)
+                .chunkSize(chunkSize)
+                .chunkCount(chunkCount)
+                .receivedChunks(new byte[0])
+                .receivedBytes(0L)
+                .notes(request.getNotes())
+                .expiresAt(LocalDateTime.now().plusHours(sessionTtlHours))
+                .build();
+        session = uploadSessionRepository.save(session);
+
+        log.info("Started chunked upload {}: {} ({} bytes, {} chunks of {}) to folder {}",
+                uploadId, request.getFilename(), totalSize, chunkCount, chunkSize, folder.getPath());
+        return toStatus(session);
+    }
+
+    @Override
+    public ChunkedUploadStatusDTO writeChunk(String uploadId, int chunkIndex, InputStream content, Long uploaderId) {
+        UploadSession session = findActiveSession(uploadId, uploaderId);
+
+        if (chunkIndex < 0 || chunkIndex >= session.getChunkCount()) {
+            throw FileValidationException.validationFailed(String.format(
+                    "Chunk index %d is out of range (0-%d)", chunkIndex, session.getChunkCount() - 1));
+        }
+
+        long expectedLength = session.expectedChunkLength(chunkIndex);
+        long position = (long) chunkIndex * session.getChunkSize();
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(stagingFile(uploadId), StandardOpenOption.WRITE)) {
+            byte[] bytes = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = content.read(bytes)) != -1) {
+                if (written + read > expectedLength) {
+                    throw FileValidationException.validationFailed(String.format(
+                            "Chunk %d is larger than the expected %d bytes", chunkIndex, expectedLength));
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, read);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, position + written);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Aborted or cleaned up while the chunk was in flight
+            throw ResourceNotFoundException.uploadSession(uploadId);
+        } catch (IOException e) {
+            log.error("Failed to write chunk {} of upload {}", chunkIndex, uploadId, e);
+            throw FileStorageException.fileWriteFailed(session.getOriginalFilename(), e);
+        }
+
+        if (written != expectedLength) {
+            throw FileValidationException.validationFailed(String.format(
+                    "Chunk %d has %d bytes, expected %d", chunkIndex, written, expectedLength));
+        }
+
+        ChunkedUploadStatusDTO status = transactionTemplate.execute(tx -> {
+            UploadSession locked = uploadSessionRepository.findByIdForUpdate(uploadId)
+                    .orElseThrow(() -> ResourceNotFoundException.uploadSession(uploadId));
+            BitSet received = locked.receivedChunkSet();
+            if (!received.get(chunkIndex)) {
+                received.set(chunkIndex);
+                locked.setReceivedChunks(received.toByteArray());
+                locked.setReceivedBytes(locked.getReceivedBytes() + expectedLength);
+            }
+            locked.setExpiresAt(LocalDateTime.now().plusHours(sessionTtlHours));
+            return toStatus(locked);
+        });
+
+        log.debug("Stored chunk {}/{} of upload {}", chunkIndex + 1, session.getChunkCount(), uploadId);
+        return status;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChunkedUploadStatusDTO getStatus(String uploadId, Long uploaderId) {
+        return toStatus(findActiveSession(uploadId, uploaderId));
+    }
+
+    @Override
+    @Transactional
+    public UploadedFile commitUpload(String uploadId, Long uploaderId) {
+        findActiveSession(uploadId, uploaderId);
+        UploadSession session = uploadSessionRepository.findByIdForUpdate(uploadId)
+                .orElseThrow(() -> ResourceNotFoundException.uploadSession(uploadId));
+
+        if (!session.isComplete()) {
+            throw FileValidationException.validationFailed(String.format(
+                    "Upload is incomplete: %d of %d chunks received",
+                    session.receivedChunkSet().cardinality(), session.getChunkCount()));
+        }
+
+        User uploader = findUploader(uploaderId);
+        Folder folder = folderRepository.findById(session.getFolderId())
+                .orElseThrow(() -> FolderNotFoundException.byId(session.getFolderId()));
+        if (!folderFileUploadService.canUploadToFolder(folder, uploader)) {
+            throw UnauthorizedException.uploadNotAuthorized(uploader.getId(), folder.getId());
+        }
+
+        Path stagingFile = stagingFile(uploadId);
+        Path targetDir = Paths.get(uploadDir, folder.getPath());
+        Path targetPath;
+        String safeFilename;
+        UploadFileWriter.WrittenFile digest;
+        try {
+            long stagedSize = Files.size(stagingFile);
+            if (stagedSize != session.getTotalSize()) {
+                throw FileValidationException.validationFailed(String.format(
+                        "Staged file has %d bytes, expected %d", stagedSize, session.getTotalSize()));
+            }
+            // Chunks arrive out of order, so the assembled file is hashed in one pass here
+            digest = UploadFileWriter.digest(stagingFile, session.getOriginalFilename());
+            Files.createDirectories(targetDir);
+            safeFilename = folderFileUploadService.generateSafeFilename(session.getOriginalFilename(), targetDir);
+            targetPath = targetDir.resolve(safeFilename);
+            blobStore.store(stagingFile, digest.sha256(), targetPath);
+        } catch (NoSuchFileException e) {
+            throw ResourceNotFoundException.uploadSession(uploadId);
+        } catch (IOException e) {
+            log.error("Failed to commit upload {} to {}", uploadId, targetDir, e);
+            throw FileStorageException.fileWriteFailed(session.getOriginalFilename(), e);
+        }
+        restoreStagingOnRollback(targetPath, stagingFile);
+
+        UploadedFile uploadedFile = UploadedFile.builder()
+                .folder(folder)
+                .originalFilename(session.getOriginalFilename())
+                .storedFilename(safeFilename)
+                .fileUrl(folder.getPath() + "/" + safeFilename)
+                .fileType(session.getContentType())
+                .uploader(uploader)
+                .notes(session.getNotes())
+                .build();
+        digest.applyTo(uploadedFile);
+        uploadedFile = uploadedFileRepository.save(uploadedFile);
+        uploadSessionRepository.delete(session);
+
+        log.info("Committed chunked upload {}: {} to {} (ID: {})",
+                uploadId, safeFilename, folder.getPath(), uploadedFile.getId());
+
+        folderFileUploadService.notifyUpload(uploader, folder, List.of(uploadedFile));
+        return uploadedFile;
+    }
+
+    @Override
+    @Transactional
+    public void abortUpload(String uploadId, Long uploaderId) {
+        UploadSession session = findActiveSession(uploadId, uploaderId);
+        uploadSessionRepository.delete(session);
+        deleteStagingFile(uploadId);
+        log.info("Aborted chunked upload {}", uploadId);
+    }
+
+    /**
+     * Scheduled removal of abandoned uploads.
+     */
+    @Scheduled(cron = "${file.chunked.cleanup-cron:0 30 * * * *}")
+    public void scheduledCleanup() {
+        int removed = cleanupExpiredUploads();
+        if (removed > 0) {
+            log.info("Removed {} expired chunked uploads", removed);
+        }
+    }
+
+    @Override
+    public int cleanupExpiredUploads() {
+        List<UploadSession> expired = uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now());
+        for (UploadSession session : expired) {
+            deleteStagingFile(session.getId());
+        }
+        uploadSessionRepository.deleteAll(expired);
+        return expired.size();
+    }
+
+    private User findUploader(Long uploaderId) {
+        return userRepository.findById(java.util.Objects.requireNonNull(uploaderId))
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + uploaderId));
+    }
+
+    /**
+     * Load a session owned by the uploader that has not expired. Sessions of
+     * other users are reported as not found rather than forbidden.
+     */
+    private UploadSession findActiveSession(String uploadId, Long uploaderId) {
+        UploadSession session = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> ResourceNotFoundException.uploadSession(uploadId));
+        if (!session.getUploaderId().equals(uploaderId)
+                || session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw ResourceNotFoundException.uploadSession(uploadId);
+        }
+        return session;
+    }
+
+    private int resolveChunkSize(Integer requested, long totalSize) {
+        int chunkSize = requested != null ? requested : defaultChunkSize;
+        chunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, chunkSize));
+        if ((totalSize + chunkSize - 1) / chunkSize > MAX_CHUNK_COUNT) {
+            chunkSize = (int) ((totalSize + MAX_CHUNK_COUNT - 1) / MAX_CHUNK_COUNT);
+        }
+        return chunkSize;
+    }
+
+    private Path stagingFile(String uploadId) {
+        return Paths.get(uploadDir, STAGING_DIR, uploadId + ".part");
+    }
+
+    /**
+     * If the database insert fails, put the file back in staging so the
+     * still-existing session can be committed again.
+     *
+     * The target may be a hard link to a shared blob, so its bytes are copied
+     * into a new staging file and the link is removed. Moving the link itself
+     * back would let a re-sent chunk overwrite the blob, and with it every
+     * deduplicated file of the same content.
+     */
+    private void restoreStagingOnRollback(Path targetPath, Path stagingFile) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                Path restored = stagingFile.resolveSibling(stagingFile.getFileName() + ".restore");
+                try {
+                    Files.copy(targetPath, restored, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(restored, stagingFile, StandardCopyOption.REPLACE_EXISTING);
+                    Files.delete(targetPath);
+                } catch (IOException e) {
+                    log.error("Failed to restore staging file {} after rollback", stagingFile, e);
+                    try {
+                        Files.deleteIfExists(restored);
+                    } catch (IOException ignored) {
+                        // Best effort
+                    }
+                }
+            }
+        });
+    }
+
+    private void deleteStagingFile(String uploadId) {
+        try {
+            Files.deleteIfExists(stagingFile(uploadId));
+        } catch (IOException e) {
+            log.warn("Failed to delete staging file for upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private ChunkedUploadStatusDTO toStatus(UploadSession session) {
+        BitSet received = session.receivedChunkSet();
+        List<Integer> receivedChunks = new ArrayList<>(received.cardinality());
+        for (int i = received.nextSetBit(0); i >= 0; i = received.nextSetBit(i + 1)) {
+            receivedChunks.add(i);
+        }
+        return ChunkedUploadStatusDTO.builder()
+                .uploadId(session.getId())
+                .filename(session.getOriginalFilename())
+                .fileSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .receivedChunks(receivedChunks)
+                .receivedBytes(session.getReceivedBytes())
+                .complete(receivedChunks.size() == session.getChunkCount())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,315 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.exception.file.InvalidPathException;
+import com.alquds.edu.ArchiveSystem.util.SafePathResolver;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hierarchical (Merkle) ETags for directories under the uploads root.
+ *
+ * A directory's digest is the sum of one 64-bit hash per direct entry: a file
+ * hashes its name, size and modification time, a subdirectory its name and its
+ * own digest. A change anywhere below a directory therefore changes its ETag,
+ * and the sum lets an ancestor swap one child's hash without re-reading its
+ * other entries.
+ *
+ * Each node also keeps a summary of the directory (subdirectory names, direct
+ * file count and size), so tree views are built without touching the disk.
+ *
+ * Digests are kept in memory, one small node per directory. A cached directory
+ * always has all of its subdirectories cached, so the first request for a
+ * directory walks its subtree once. After that:
+ * - reading an ETag is a map lookup
+ * - a change re-reads the changed directory only and updates each cached
+ *   ancestor in O(1)
+ *
+ * Writes that are never reported (manual copies, bulk deletes) are caught when a
+ * directory whose entries were read more than
+ * {@code file.explorer.etag-revalidate-seconds} ago is requested again.
+ *
+ * Entries whose names start with "." (blob store, staging files) are ignored, as
+ * in directory listings.
+ *
+ * @since 2.1
+ */
+@Component
+@Slf4j
+public class DirectoryEtagIndex {
+
+    private final SafePathResolver pathResolver;
+    private final long revalidateMillis;
+    private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * Cached summary of one directory.
+     *
+     * @param etag           ETag of the directory's subtree
+     * @param subdirs        names of the direct subdirectories, sorted
+     * @param fileCount      number of files directly in the directory
+     * @param fileSize       total size in bytes of those files
+     * @param modifiedMillis last-modified time of the directory
+     */
+    public record DirectorySummary(String etag, List<String> subdirs, int fileCount, long fileSize,
+            long modifiedMillis) {
+    }
+
+    /**
+     * @param digest     sum of the entry hashes
+     * @param subdirs    names of the direct subdirectories, sorted
+     * @param verifiedAt when the entries were last read from disk
+     * Other components as in {@link DirectorySummary}.
+     */
+    private record Node(long digest, String[] subdirs, int fileCount, long fileSize, long modifiedMillis,
+            long verifiedAt) {
+
+        Node withDigest(long newDigest) {
+            return new Node(newDigest, subdirs, fileCount, fileSize, modifiedMillis, verifiedAt);
+        }
+    }
+
+    public DirectoryEtagIndex(SafePathResolver pathResolver,
+            @Value("${file.explorer.etag-revalidate-seconds:60}") long revalidateSeconds) {
+        this.pathResolver = pathResolver;
+        this.revalidateMillis = Math.max(0, revalidateSeconds) * 1000L;
+    }
+
+    /**
+     * @param relativePath normalized directory path ("" for the uploads root)
+     * @return the directory's ETag, or {@code null} if it is not a directory
+     */
+    public String getEtag(String relativePath) {
+        Node node = lookup(relativePath);
+        return node != null ? etag(node) : null;
+    }
+
+    /**
+     * @param relativePath normalized directory path ("" for the uploads root)
+     * @return the directory's summary, or {@code null} if it is not a directory
+     */
+    public DirectorySummary getSummary(String relativePath) {
+        Node node = lookup(relativePath);
+        if (node == null) {
+            return null;
+        }
+        return new DirectorySummary(etag(node), List.of(node.subdirs()), node.fileCount(), node.fileSize(),
+                node.modifiedMillis());
+    }
+
+    /**
+     * Record that the entries of a directory changed: a file was added, replaced or
+     * removed, or a subdirectory was created or deleted. The directory itself may no
+     * longer exist.
+     *
+     * @param relativePath normalized directory path ("" for the uploads root)
+     */
+    public synchronized void directoryChanged(String relativePath) {
+        // Nothing below an uncached directory is cached, so start at the deepest cached one
+        String path = relativePath;
+        while (!nodes.containsKey(path)) {
+            if (path.isEmpty()) {
+                return;
+            }
+            path = parentOf(path);
+        }
+        update(path);
+    }
+
+    /**
+     * Drop all digests; the next request for each directory walks it again.
+     */
+    public void clear() {
+        nodes.clear();
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    private Node lookup(String path) {
+        Node node = nodes.get(path);
+        return node != null && !isStale(node) ? node : refresh(path);
+    }
+
+    private synchronized Node refresh(String path) {
+        Node node = nodes.get(path);
+        if (node != null && !isStale(node)) {
+            return node;
+        }
+        return node == null ? read(path, null) : update(path);
+    }
+
+    /**
+     * Re-read a cached directory and carry the digest change up to its ancestors.
+     *
+     * @return the new node, or {@code null} if the directory is gone
+     */
+    private Node update(String path) {
+        Node old = nodes.get(path);
+        Node updated = read(path, old);
+        if (updated == null) {
+            String parent = parentOf(path);
+            if (!path.isEmpty() && nodes.containsKey(parent)) {
+                update(parent);
+            } else {
+                removeSubtree(path);
+            }
+            return null;
+        }
+
+        String child = path;
+        long oldDigest = old != null ? old.digest() : updated.digest();
+        long newDigest = updated.digest();
+        while (oldDigest != newDigest && !child.isEmpty()) {
+            String parent = parentOf(child);
+            Node parentNode = nodes.get(parent);
+            if (parentNode == null) {
+                break;
+            }
+            String name = nameOf(child);
+            long parentDigest = parentNode.digest()
+                    - directoryEntryHash(name, oldDigest) + directoryEntryHash(name, newDigest);
+            nodes.put(parent, parentNode.withDigest(parentDigest));
+            child = parent;
+            oldDigest = parentNode.digest();
+            newDigest = parentDigest;
+        }
+        return updated;
+    }
+
+    /**
+     * List a directory, computing uncached subdirectories, and cache the result.
+     * Subdirectories that disappeared since {@code old} are dropped with their subtree.
+     *
+     * @return the new node, or {@code null} if the path is not a readable directory
+     */
+    private Node read(String path, Node old) {
+        Path dir;
+        try {
+            dir = path.isEmpty() ? pathResolver.getUploadsRoot() : pathResolver.resolve(path);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        long digest = 0;
+        int fileCount = 0;
+        long fileSize = 0;
+        long modifiedMillis;
+        List<String> subdirs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            modifiedMillis = Files.getLastModifiedTime(dir).toMillis();
+            for (Path entry : stream) {
+                String name = entry.getFileName().toString();
+                if (name.startsWith(".")) {
+                    continue;
+                }
+                BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class);
+                if (attrs.isDirectory()) {
+                    String childPath = path.isEmpty() ? name : path + "/" + name;
+                    Node child = nodes.get(childPath);
+                    if (child == null) {
+                        child = read(childPath, null);
+                    }
+                    if (child != null) {
+                        digest += directoryEntryHash(name, child.digest());
+                        subdirs.add(name);
+                    }
+                } else if (attrs.isRegularFile()) {
+                    digest += fileEntryHash(name, attrs.size(), attrs.lastModifiedTime().toMillis());
+                    fileCount++;
+                    fileSize += attrs.size();
+                }
+            }
+        } catch (NotDirectoryException | NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read directory for ETag: {} ({})", path, e.getMessage());
+            return null;
+        }
+
+        String[] sortedSubdirs = subdirs.toArray(new String[0]);
+        Arrays.sort(sortedSubdirs);
+        if (old != null) {
+            for (String name : old.subdirs()) {
+                if (Arrays.binarySearch(sortedSubdirs, name) < 0) {
+                    removeSubtree(path.isEmpty() ? name : path + "/" + name);
+                }
+            }
+        }
+
+        Node node = new Node(digest, sortedSubdirs, fileCount, fileSize, modifiedMillis, System.currentTimeMillis());
+        nodes.put(path, node);
+        return node;
+    }
+
+    private void removeSubtree(String path) {
+        Node node = nodes.remove(path);
+        if (node != null) {
+            for (String name : node.subdirs()) {
+                removeSubtree(path.isEmpty() ? name : path + "/" + name);
+            }
+        }
+    }
+
+    private static String etag(Node node) {
+        return String.format("W/\"%016x\"", node.digest());
+    }
+
+    private boolean isStale(Node node) {
+        return revalidateMillis > 0 && System.currentTimeMillis() - node.verifiedAt() > revalidateMillis;
+    }
+
+    private static String parentOf(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        return lastSlash < 0 ? "" : path.substring(0, lastSlash);
+    }
+
+    private static String nameOf(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static long fileEntryHash(String name, long size, long modifiedMillis) {
+        return mix(hash(hash(0x66L, name), size) ^ modifiedMillis);
+    }
+
+    private static long directoryEntryHash(String name, long digest) {
+        return mix(hash(hash(0x64L, name), digest));
+    }
+
+    // FNV-1a over the characters, then a 64-bit finalizer so sums of entry hashes stay well spread
+    private static long hash(long seed, String value) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long hash(long seed, long value) {
+        return (seed ^ value) * 0x100000001b3L;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb53fe1a85ec3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,108 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.extractor.ExtractorFactory;
+import org.apache.poi.extractor.POITextExtractor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Extracts plain text from archived documents for the full-text index.
+ * Office formats (.doc, .docx, .xls, .xlsx, .ppt, .pptx) are read with Apache POI,
+ * PDFs with iText and plain text files directly.
+ *
+ * @since 2.1
+ */
+@Component
+@Slf4j
+public class DocumentTextExtractor {
+
+    private static final Set<String> OFFICE_EXTENSIONS = Set.of("doc", "docx", "xls", "xlsx", "ppt", "pptx");
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("txt", "csv", "md");
+
+    /**
+     * @return {@code true} if text can be extracted from files with this name
+     */
+    public boolean supports(String filename) {
+        String extension = extension(filename);
+        return "pdf".equals(extension) || OFFICE_EXTENSIONS.contains(extension) || TEXT_EXTENSIONS.contains(extension);
+    }
+
+    /**
+     * Extract the text of a document.
+     *
+     * @param file     the document on disk
+     * @param filename original filename, used to pick the format
+     * @param maxChars text beyond this length is dropped
+     * @return the extracted text, empty for unsupported formats
+     * @throws IOException if the document cannot be read or parsed
+     */
+    public String extract(Path file, String filename, int maxChars) throws IOException {
+        String extension = extension(filename);
+        String text;
+        if ("pdf".equals(extension)) {
+            text = extractPdf(file, maxChars);
+        } else if (OFFICE_EXTENSIONS.contains(extension)) {
+            text = extractOffice(file);
+        } else if (TEXT_EXTENSIONS.contains(extension)) {
+            text = extractPlainText(file, maxChars);
+        } else {
+            return "";
+        }
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private String extractPdf(Path file, int maxChars) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(file.toString()))) {
+            for (int page = 1; page <= pdf.getNumberOfPages() && text.length() < maxChars; page++) {
+                text.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page))).append('\n');
+            }
+        } catch (RuntimeException e) {
+            // iText reports broken or encrypted PDFs with unchecked exceptions
+            throw new IOException("Could not read PDF: " + e.getMessage(), e);
+        }
+        return text.toString();
+    }
+
+    private String extractOffice(Path file) throws IOException {
+        // ExtractorFactory picks the POI extractor (XWPF, HWPF, XSSF, HSSF, XSLF, HSLF) from the file content
+        try (InputStream in = Files.newInputStream(file);
+             POITextExtractor extractor = ExtractorFactory.createExtractor(in)) {
+            return extractor != null ? extractor.getText() : "";
+        }
+    }
+
+    private String extractPlainText(Path file, int maxChars) throws IOException {
+        char[] buffer = new char[Math.min(maxChars, 64 * 1024)];
+        StringBuilder text = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            int n;
+            while (text.length() < maxChars && (n = reader.read(buffer)) >= 0) {
+                text.append(buffer, 0, n);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot >= 0 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -5,6 +5,8 @@ import com.alquds.edu.ArchiveSystem.entity.auth.Role;
 import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
 import com.alquds.edu.ArchiveSystem.entity.academic.Department;
 import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.service.auth.AccessContext;
+import com.alquds.edu.ArchiveSystem.service.auth.AccessContextService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +37,7 @@ import java.util.stream.Collectors;
 public class FileAccessServiceImpl implements FileAccessService {
     
     private final UploadedFileRepository uploadedFileRepository;
+    private final AccessContextService accessContextService;
     
     @Override
     public boolean canAccessFile(User user, Long fileId) {
@@ -80,61 +83,26 @@ public class FileAccessServiceImpl implements FileAccessService {
             return false;
         }
         
+        AccessContext access = accessContextService.forUser(user);
+        boolean canAccess;
         switch (user.getRole()) {
             case ROLE_HOD:
                 // HOD can access files from professors in their department
-                return canHodAccessFile(user, uploader);
+                canAccess = uploader.getDepartment() != null
+                        && access.canAccessDepartment(uploader.getDepartment().getId());
+                break;
                 
             case ROLE_PROFESSOR:
                 // Professor can only access their own files
-                return canProfessorAccessFile(user, uploader);
+                canAccess = access.isSelf(uploader.getId());
+                break;
                 
             default:
                 log.warn("Unknown role {} for user {}", user.getRole(), user.getEmail());
                 return false;
         }
-    }
-    
-    /**
-     * Check if HOD can access a file based on department.
-     * HOD can access files uploaded by professors in their department.
-     */
-    private boolean canHodAccessFile(User hod, User uploader) {
-        Department hodDepartment = hod.getDepartment();
-        Department uploaderDepartment = uploader.getDepartment();
-        
-        if (hodDepartment == null) {
-            log.warn("HOD {} has no department assigned", hod.getEmail());
-            return false;
-        }
-        
-        if (uploaderDepartment == null) {
-            log.warn("Uploader {} has no department assigned", uploader.getEmail());
-            return false;
-        }
-        
-        boolean canAccess = hodDepartment.getId().equals(uploaderDepartment.getId());
-        log.debug("HOD {} {} access file from {} (department match: {})", 
-            hod.getEmail(), 
-            canAccess ? "can" : "cannot", 
-            uploader.getEmail(),
-            canAccess);
-        
-        return canAccess;
-    }
-    
-    /**
-     * Check if Professor can access a file.
-     * Professor can only access their own files.
-     */
-    private boolean canProfessorAccessFile(User professor, User uploader) {
-        boolean canAccess = professor.getId().equals(uploader.getId());
-        log.debug("Professor {} {} access file from {} (own file: {})", 
-            professor.getEmail(), 
-            canAccess ? "can" : "cannot", 
-            uploader.getEmail(),
-            canAccess);
-        
+        log.debug("User {} {} access file {} from {}", user.getEmail(), canAccess ? "can" : "cannot",
+            file.getId(), uploader.getEmail());
         return canAccess;
     }
     
@@ -248,29 +216,7 @@ public class FileAccessServiceImpl implements FileAccessService {
             return false;
         }
         
-        // Admin and Dean can access all departments
-        if (hasAdminLevelAccess(user)) {
-            return true;
-        }
-        
-        // HOD can only access their own department
-        if (user.getRole() == Role.ROLE_HOD) {
-            Department userDepartment = user.getDepartment();
-            if (userDepartment == null) {
-                return false;
-            }
-            return departmentId.equals(userDepartment.getId());
-        }
-        
-        // Professor can only access their own department
-        if (user.getRole() == Role.ROLE_PROFESSOR) {
-            Department userDepartment = user.getDepartment();
-            if (userDepartment == null) {
-                return false;
-            }
-            return departmentId.equals(userDepartment.getId());
-        }
-        
-        return false;
+        // Admin and Dean can access all departments; HOD and Professor only their own
+        return accessContextService.forUser(user).canAccessDepartment(departmentId);
     }
 }
@@ -28,9 +28,25 @@ public interface FileExplorerService {
      * @param academicYearId the academic year ID
      * @param semesterId the semester ID
      * @param currentUser the authenticated user
-     * @return root node with filtered children
+     * @return root node with the first page of filtered children
      */
-    FileExplorerNode getRootNode(Long academicYearId, Long semesterId, User currentUser);
+    default FileExplorerNode getRootNode(Long academicYearId, Long semesterId, User currentUser) {
+        return getRootNode(academicYearId, semesterId, currentUser, null, 0);
+    }
+    
+    /**
+     * Get the root node with one page of professor children, sorted by name.
+     * The node's childrenTotal holds the number of visible professors and
+     * childrenCursor, when more remain, the cursor of the next page.
+     *
+     * @param academicYearId the academic year ID
+     * @param semesterId the semester ID
+     * @param currentUser the authenticated user
+     * @param cursor childrenCursor of the previous page, or null for the first page
+     * @param limit professors per page (0 for the configured default); keep it the same across pages
+     * @return root node with one page of filtered children
+     */
+    FileExplorerNode getRootNode(Long academicYearId, Long semesterId, User currentUser, String cursor, int limit);
     
     /**
      * Get a specific node in the hierarchy by path.
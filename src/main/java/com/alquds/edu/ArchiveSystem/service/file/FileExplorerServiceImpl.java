@@ -34,8 +34,13 @@ import com.alquds.edu.ArchiveSystem.dto.fileexplorer.UploadedFileDTO;
 import com.alquds.edu.ArchiveSystem.exception.auth.UnauthorizedOperationException;
 import com.alquds.edu.ArchiveSystem.exception.file.FolderAlreadyExistsException;
 import com.alquds.edu.ArchiveSystem.exception.file.InvalidFolderNameException;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -48,6 +53,7 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -66,15 +72,27 @@ public class FileExplorerServiceImpl implements FileExplorerService {
     private final UploadedFileRepository uploadedFileRepository;
     private final FolderRepository folderRepository;
     private final FileAccessService fileAccessService;
-    private final com.alquds.edu.ArchiveSystem.util.SafePathResolver safePathResolver;
+    private final ArchiveTreeService archiveTreeService;
+    private final FolderDiscoveryService folderDiscoveryService;
+    private final DataVersionService dataVersionService;
     
     @Value("${app.upload.base-path:uploads/}")
     private String uploadBasePath;
 
+    // Professors per root node page when the request gives no limit
+    @Value("${file.explorer.root.page-size:50}")
+    private int rootPageSize = 50;
+
+    private static final int MAX_ROOT_PAGE_SIZE = 200;
+
+    // Same order as getProfessorsForUser; the ID keeps pages stable for equal names
+    private static final Sort PROFESSOR_ORDER = Sort.by("firstName", "lastName", "id");
+
     @Override
-    public FileExplorerNode getRootNode(Long academicYearId, Long semesterId, User currentUser) {
-        log.debug("Getting root node for academicYear={}, semester={}, user={}",
-                academicYearId, semesterId, currentUser.getEmail());
+    public FileExplorerNode getRootNode(Long academicYearId, Long semesterId, User currentUser,
+                                        String cursor, int limit) {
+        log.debug("Getting root node for academicYear={}, semester={}, user={}, cursor={}",
+                academicYearId, semesterId, currentUser.getEmail(), cursor);
 
         // Validate academic year and semester
         AcademicYear academicYear = academicYearRepository.findById(academicYearId)
@@ -108,20 +126,92 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         rootNode.getMetadata().put("yearCode", academicYear.getYearCode());
         rootNode.getMetadata().put("semesterType", semester.getType().name());
 
-        // Get professors based on role
-        List<User> professors = getProfessorsForUser(semesterId, currentUser);
+        // Get one page of professors based on role
+        int pageSize = limit > 0 ? Math.min(limit, MAX_ROOT_PAGE_SIZE) : rootPageSize;
+        Page<User> professors = getProfessorPageForUser(currentUser,
+                PageRequest.of(decodeRootCursor(cursor), pageSize, PROFESSOR_ORDER));
 
         // Build professor nodes
-        List<FileExplorerNode> professorNodes = professors.stream()
-                .map(professor -> buildProfessorNode(rootPath, professor, currentUser))
-                .collect(Collectors.toList());
+        List<FileExplorerNode> professorNodes = buildProfessorNodes(rootPath, professors.getContent(),
+                semesterId, currentUser);
 
         rootNode.setChildren(professorNodes);
+        rootNode.setChildrenTotal(professors.getTotalElements());
+        rootNode.setChildrenCursor(professors.hasNext() ? String.valueOf(professors.getNumber() + 1) : null);
 
-        log.debug("Root node built with {} professor nodes", professorNodes.size());
+        log.debug("Root node built with {} of {} professor nodes", professorNodes.size(),
+                professors.getTotalElements());
         return rootNode;
     }
 
+    private int decodeRootCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int page = Integer.parseInt(cursor);
+            if (page >= 0) {
+                return page;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    /**
+     * One page of the professors visible to the user, with the same role rules as
+     * {@link #getProfessorsForUser}. Departments are fetched with the page.
+     */
+    private Page<User> getProfessorPageForUser(User currentUser, Pageable pageable) {
+        if (fileAccessService.hasAdminLevelAccess(currentUser)) {
+            return userRepository.findByRoleAndIsActiveWithDepartment(Role.ROLE_PROFESSOR, true, pageable);
+        }
+
+        switch (currentUser.getRole()) {
+            case ROLE_HOD:
+            case ROLE_PROFESSOR:
+                if (currentUser.getDepartment() != null) {
+                    return userRepository.findByRoleAndDepartmentIdAndIsActiveWithDepartment(
+                            Role.ROLE_PROFESSOR, currentUser.getDepartment().getId(), true, pageable);
+                }
+                log.warn("{} user has no department assigned", currentUser.getRole());
+                if (currentUser.getRole() == Role.ROLE_HOD) {
+                    fileAccessService.logAccessDenial(currentUser, null, "HOD has no department assigned");
+                }
+                return Page.empty(pageable);
+
+            default:
+                log.warn("Unknown role: {}", currentUser.getRole());
+                return Page.empty(pageable);
+        }
+    }
+
+    /**
+     * Build professor nodes with their course and file counts for the semester,
+     * taken from one aggregate query for all of them.
+     */
+    private List<FileExplorerNode> buildProfessorNodes(String parentPath, List<User> professors,
+                                                       Long semesterId, User currentUser) {
+        Map<Long, Object[]> totals = new HashMap<>();
+        if (!professors.isEmpty()) {
+            List<Long> professorIds = professors.stream().map(User::getId).collect(Collectors.toList());
+            for (Object[] row : courseAssignmentRepository.countCoursesAndFilesByProfessor(semesterId, professorIds)) {
+                totals.put((Long) row[0], row);
+            }
+        }
+
+        List<FileExplorerNode> nodes = new ArrayList<>(professors.size());
+        for (User professor : professors) {
+            FileExplorerNode node = buildProfessorNode(parentPath, professor, currentUser);
+            Object[] row = totals.get(professor.getId());
+            node.getMetadata().put("courseCount", row != null ? ((Number) row[1]).longValue() : 0L);
+            node.getMetadata().put("fileCount", row != null ? ((Number) row[2]).longValue() : 0L);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
     /**
      * Get professors based on user role:
      * - Admin: all active professors (uses FileAccessService for admin-level check)
@@ -401,11 +491,27 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      * Files are included separately in the node.files property via buildCustomFolderNode().
      * This prevents duplicate file display in the frontend.
      * 
-     * Also scans the filesystem for physical folders that don't have DB records
-     * and creates DB records for them automatically.
+     * Physical folders without DB records are picked up by FolderDiscoveryService,
+     * which this only asks to check the folder being viewed.
      */
-    @Transactional
     private List<FileExplorerNode> getCustomFolderChildren(PathInfo pathInfo, User currentUser) {
+        String pathPrefix = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
+                "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() + "/custom-";
+
+        // Answer from the archive tree index when it knows the folder and its subfolders
+        Optional<ArchiveTreeService.FolderNode> indexedFolder = findIndexedCustomFolder(pathInfo);
+        Optional<List<ArchiveTreeService.FolderNode>> indexedChildren = indexedFolder
+                .flatMap(folder -> archiveTreeService.findChildren(folder.id()));
+        if (indexedChildren.isPresent()) {
+            ArchiveTreeService.FolderNode customFolder = indexedFolder.get();
+            folderDiscoveryService.requestScan(customFolder.id());
+            boolean isOwnFolder = customFolder.ownerId() != null && customFolder.ownerId().equals(currentUser.getId());
+            String parentPath = pathPrefix + customFolder.id();
+            return indexedChildren.get().stream()
+                    .map(child -> buildCustomChildNode(parentPath, child.id(), child.name(), isOwnFolder, currentUser))
+                    .collect(Collectors.toList());
+        }
+
         // Find professor
         User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
         
@@ -439,6 +545,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
             }
             
             Folder courseFolder = courseFolderOpt.get();
+            folderDiscoveryService.requestScan(courseFolder.getId());
             String customFolderName = pathInfo.getCustomFolderName();
             customFolderOpt = folderRepository.findByNameAndParentId(customFolderName, courseFolder.getId());
             
@@ -453,143 +560,51 @@ public class FileExplorerServiceImpl implements FileExplorerService {
             }
         }
         
-        Folder customFolder;
         if (!customFolderOpt.isPresent()) {
-            // Check if folder exists physically but not in DB
-            String expectedPath = pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
-                    "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() +
-                    "/" + pathInfo.getCustomFolderName();
-            
-            Path physicalPath = Paths.get(uploadBasePath, expectedPath);
-            if (Files.exists(physicalPath) && Files.isDirectory(physicalPath)) {
-                // Physical folder exists but no DB record - create it
-                log.info("Physical folder found without DB record, creating: {}", expectedPath);
-                customFolder = createFolderRecordForPhysicalFolder(
-                        expectedPath, pathInfo.getCustomFolderName(), professor, course, academicYear, semester);
-            } else {
-                log.warn("Custom folder not found: {} (ID: {})", pathInfo.getCustomFolderName(), pathInfo.getCustomFolderId());
-                return new ArrayList<>();
-            }
-        } else {
-            customFolder = customFolderOpt.get();
+            log.warn("Custom folder not found: {} (ID: {})", pathInfo.getCustomFolderName(), pathInfo.getCustomFolderId());
+            return new ArrayList<>();
         }
+        Folder customFolder = customFolderOpt.get();
+        folderDiscoveryService.requestScan(customFolder.getId());
         
         // Use ID-based path for consistency
-        String parentPath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
-                "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() +
-                "/custom-" + customFolder.getId();
+        String parentPath = pathPrefix + customFolder.getId();
         
         boolean isOwnFolder = professor.getId().equals(currentUser.getId());
         
         // Get sub-folders from database
         List<Folder> childFolders = folderRepository.findByParentId(customFolder.getId());
         
-        // Scan filesystem for physical folders that don't have DB records
-        String customFolderPath = customFolder.getPath();
-        Path physicalCustomFolderPath = Paths.get(uploadBasePath, customFolderPath);
-        
-        Set<String> dbFolderNames = childFolders.stream()
-                .map(Folder::getName)
-                .collect(Collectors.toSet());
-        
-        if (Files.exists(physicalCustomFolderPath) && Files.isDirectory(physicalCustomFolderPath)) {
-            try (var folderStream = Files.list(physicalCustomFolderPath)) {
-                List<Path> directories = folderStream
-                        .filter(Files::isDirectory)
-                        .collect(Collectors.toList());
-                
-                for (Path entry : directories) {
-                    String folderName = entry.getFileName().toString();
-                    
-                    // Skip if already in database
-                    if (!dbFolderNames.contains(folderName)) {
-                        // Physical folder exists but no DB record - create it
-                        log.info("Physical subfolder found without DB record, creating: {}/{}", customFolderPath, folderName);
-                        String subfolderPath = customFolderPath + "/" + folderName;
-                        createFolderRecordForPhysicalFolder(
-                                subfolderPath, folderName, professor, course, academicYear, semester, customFolder);
-                    }
-                }
-                
-                // Refresh the list after creating new records
-                childFolders = folderRepository.findByParentId(customFolder.getId());
-            } catch (IOException e) {
-                log.warn("Error scanning physical folder for subfolders: {}", customFolderPath, e);
-            }
-        }
-        
         return childFolders.stream()
-                .map(childFolder -> {
-                    // Use ID-based path for child folders too
-                    String folderPath = parentPath + "/custom-" + childFolder.getId();
-                    
-                    FileExplorerNode node = FileExplorerNode.builder()
-                            .path(folderPath)
-                            .name(childFolder.getName())
-                            .type(NodeType.CUSTOM)
-                            .entityId(childFolder.getId())
-                            .canRead(true)
-                            .canWrite(isOwnFolder && currentUser.getRole() == Role.ROLE_PROFESSOR)
-                            .canDelete(isOwnFolder && currentUser.getRole() == Role.ROLE_PROFESSOR)
-                            .build();
-                    
-                    node.getMetadata().put("folderId", childFolder.getId());
-                    node.getMetadata().put("folderName", childFolder.getName());
-                    node.getMetadata().put("isOwnFolder", isOwnFolder);
-                    node.getMetadata().put("isCustomFolder", true);
-                    
-                    return node;
-                })
+                .map(childFolder -> buildCustomChildNode(parentPath, childFolder.getId(), childFolder.getName(),
+                        isOwnFolder, currentUser))
                 .collect(Collectors.toList());
     }
-    
-    /**
-     * Create a database record for a physical folder that exists on disk but not in DB.
-     * This handles the case when an admin adds folders directly to the filesystem.
-     */
-    @Transactional
-    private Folder createFolderRecordForPhysicalFolder(
-            String folderPath, String folderName, User professor, Course course,
-            AcademicYear academicYear, Semester semester) {
-        return createFolderRecordForPhysicalFolder(folderPath, folderName, professor, course, academicYear, semester, null);
-    }
-    
+
     /**
-     * Create a database record for a physical folder that exists on disk but not in DB.
-     * This handles the case when an admin adds folders directly to the filesystem.
+     * Build the node of a sub-folder inside a custom folder
      */
-    @Transactional
-    private Folder createFolderRecordForPhysicalFolder(
-            String folderPath, String folderName, User professor, Course course,
-            AcademicYear academicYear, Semester semester, Folder parentFolder) {
-        
-        // Find parent folder if not provided
-        if (parentFolder == null) {
-            // Extract parent path
-            int lastSlash = folderPath.lastIndexOf('/');
-            if (lastSlash > 0) {
-                String parentPath = folderPath.substring(0, lastSlash);
-                parentFolder = folderRepository.findByPath(parentPath).orElse(null);
-            }
-        }
-        
-        Folder folder = Folder.builder()
-                .path(folderPath)
+    private FileExplorerNode buildCustomChildNode(String parentPath, Long folderId, String folderName,
+            boolean isOwnFolder, User currentUser) {
+        // Use ID-based path for child folders too
+        FileExplorerNode node = FileExplorerNode.builder()
+                .path(parentPath + "/custom-" + folderId)
                 .name(folderName)
-                .type(FolderType.CUSTOM)
-                .parent(parentFolder)
-                .owner(professor)
-                .academicYear(academicYear)
-                .semester(semester)
-                .course(course)
+                .type(NodeType.CUSTOM)
+                .entityId(folderId)
+                .canRead(true)
+                .canWrite(isOwnFolder && currentUser.getRole() == Role.ROLE_PROFESSOR)
+                .canDelete(isOwnFolder && currentUser.getRole() == Role.ROLE_PROFESSOR)
                 .build();
-        
-        folder = folderRepository.save(folder);
-        log.info("Created DB record for physical folder: {} (ID: {})", folderPath, folder.getId());
-        
-        return folder;
-    }
 
+        node.getMetadata().put("folderId", folderId);
+        node.getMetadata().put("folderName", folderName);
+        node.getMetadata().put("isOwnFolder", isOwnFolder);
+        node.getMetadata().put("isCustomFolder", true);
+
+        return node;
+    }
+    
     /**
      * Parse path to extract components and determine node type
      * Path format: /yearCode/semesterType/professorId/courseCode/documentType
@@ -727,7 +742,9 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      * Build professor node from path info
      */
     private FileExplorerNode buildProfessorNodeFromPath(PathInfo pathInfo, User currentUser) {
-        User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
+        User professor = findProfessorFolder(pathInfo)
+                .flatMap(folder -> userRepository.findById(folder.ownerId()))
+                .orElseGet(() -> findProfessorByIdentifier(pathInfo.getProfessorId()));
 
         String nodePath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() + "/"
                 + pathInfo.getProfessorId();
@@ -739,26 +756,18 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      * Build course node from path info
      */
     private FileExplorerNode buildCourseNode(PathInfo pathInfo, User currentUser) {
-        // Find professor
-        User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
-
-        // Find semester
-        AcademicYear academicYear = academicYearRepository.findByYearCode(pathInfo.getYearCode())
-                .orElseThrow(() -> new EntityNotFoundException("Academic year not found: " + pathInfo.getYearCode()));
-        SemesterType semesterType = SemesterType.valueOf(pathInfo.getSemesterType().toUpperCase());
-        Semester semester = semesterRepository.findByAcademicYearIdAndType(academicYear.getId(), semesterType)
-                .orElseThrow(() -> new EntityNotFoundException("Semester not found"));
+        ProfessorSemester context = resolveProfessorSemester(pathInfo);
 
         // Find course assignment
         CourseAssignment assignment = courseAssignmentRepository
-                .findBySemesterIdAndCourseCodeAndProfessorId(semester.getId(), pathInfo.getCourseCode(),
-                        professor.getId())
+                .findBySemesterIdAndCourseCodeAndProfessorId(context.semesterId(), pathInfo.getCourseCode(),
+                        context.professorId())
                 .orElseThrow(() -> new EntityNotFoundException("Course assignment not found"));
 
         String nodePath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
                 "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode();
 
-        boolean isOwnCourse = professor.getId().equals(currentUser.getId());
+        boolean isOwnCourse = context.professorId().equals(currentUser.getId());
 
         FileExplorerNode node = FileExplorerNode.builder()
                 .path(nodePath)
@@ -783,20 +792,12 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      * Build document type node from path info
      */
     private FileExplorerNode buildDocumentTypeNode(PathInfo pathInfo, User currentUser) {
-        // Find professor
-        User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
-
-        // Find semester
-        AcademicYear academicYear = academicYearRepository.findByYearCode(pathInfo.getYearCode())
-                .orElseThrow(() -> new EntityNotFoundException("Academic year not found: " + pathInfo.getYearCode()));
-        SemesterType semesterType = SemesterType.valueOf(pathInfo.getSemesterType().toUpperCase());
-        Semester semester = semesterRepository.findByAcademicYearIdAndType(academicYear.getId(), semesterType)
-                .orElseThrow(() -> new EntityNotFoundException("Semester not found"));
+        ProfessorSemester context = resolveProfessorSemester(pathInfo);
 
         // Find course assignment
         CourseAssignment assignment = courseAssignmentRepository
-                .findBySemesterIdAndCourseCodeAndProfessorId(semester.getId(), pathInfo.getCourseCode(),
-                        professor.getId())
+                .findBySemesterIdAndCourseCodeAndProfessorId(context.semesterId(), pathInfo.getCourseCode(),
+                        context.professorId())
                 .orElseThrow(() -> new EntityNotFoundException("Course assignment not found"));
 
         // Parse document type from path - handle both enum names and URL-safe formats
@@ -816,7 +817,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
                 "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() +
                 "/" + pathInfo.getDocumentType();
 
-        boolean isOwnCourse = professor.getId().equals(currentUser.getId());
+        boolean isOwnCourse = context.professorId().equals(currentUser.getId());
 
         FileExplorerNode node = FileExplorerNode.builder()
                 .path(nodePath)
@@ -872,6 +873,19 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      * Custom folders are created by professors inside their course folders
      */
     private FileExplorerNode buildCustomFolderNode(PathInfo pathInfo, User currentUser) {
+        String pathPrefix = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
+                "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() + "/custom-";
+
+        // Answer from the archive tree index when it knows the folder
+        Optional<ArchiveTreeService.FolderNode> indexedFolder = findIndexedCustomFolder(pathInfo);
+        if (indexedFolder.isPresent()) {
+            ArchiveTreeService.FolderNode customFolder = indexedFolder.get();
+            folderDiscoveryService.requestScan(customFolder.id());
+            boolean isOwnFolder = customFolder.ownerId() != null && customFolder.ownerId().equals(currentUser.getId());
+            return buildCustomFolderNode(pathPrefix + customFolder.id(), customFolder.id(), customFolder.name(),
+                    customFolder.path(), isOwnFolder, currentUser);
+        }
+
         // Find professor
         User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
         
@@ -913,6 +927,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
             }
             
             Folder courseFolder = courseFolderOpt.get();
+            folderDiscoveryService.requestScan(courseFolder.getId());
             String customFolderName = pathInfo.getCustomFolderName();
             customFolderOpt = folderRepository.findByNameAndParentId(customFolderName, courseFolder.getId());
             
@@ -927,63 +942,50 @@ public class FileExplorerServiceImpl implements FileExplorerService {
             }
         }
         
-        Folder customFolder;
         if (!customFolderOpt.isPresent()) {
-            // Check if folder exists physically but not in DB
-            String expectedPath = pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
-                    "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() +
-                    "/" + pathInfo.getCustomFolderName();
-            
-            Path physicalPath = Paths.get(uploadBasePath, expectedPath);
-            if (Files.exists(physicalPath) && Files.isDirectory(physicalPath)) {
-                // Physical folder exists but no DB record - create it
-                log.info("Physical folder found without DB record in buildCustomFolderNode, creating: {}", expectedPath);
-                customFolder = createFolderRecordForPhysicalFolder(
-                        expectedPath, pathInfo.getCustomFolderName(), professor, course, academicYear, semester);
-            } else {
-                throw new EntityNotFoundException("Custom folder not found: " + pathInfo.getCustomFolderName());
-            }
-        } else {
-            customFolder = customFolderOpt.get();
+            throw new EntityNotFoundException("Custom folder not found: " + pathInfo.getCustomFolderName());
         }
+        Folder customFolder = customFolderOpt.get();
+        folderDiscoveryService.requestScan(customFolder.getId());
         
         // Use the ID-based path format for consistency
-        String nodePath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
-                "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode() +
-                "/custom-" + customFolder.getId();
-        
         boolean isOwnFolder = professor.getId().equals(currentUser.getId());
-        
+        return buildCustomFolderNode(pathPrefix + customFolder.getId(), customFolder.getId(), customFolder.getName(),
+                customFolder.getPath(), isOwnFolder, currentUser);
+    }
+
+    /**
+     * Build a custom folder node with the files recorded in the database and the
+     * physical files found in its directory
+     */
+    private FileExplorerNode buildCustomFolderNode(String nodePath, Long folderId, String folderName,
+            String customFolderPath, boolean isOwnFolder, User currentUser) {
         FileExplorerNode node = FileExplorerNode.builder()
                 .path(nodePath)
-                .name(customFolder.getName())
+                .name(folderName)
                 .type(NodeType.CUSTOM)
-                .entityId(customFolder.getId())
+                .entityId(folderId)
                 .canRead(true)
                 .canWrite(isOwnFolder && currentUser.getRole() == Role.ROLE_PROFESSOR)
                 .canDelete(isOwnFolder && currentUser.getRole() == Role.ROLE_PROFESSOR)
                 .build();
         
-        node.getMetadata().put("folderId", customFolder.getId());
-        node.getMetadata().put("folderName", customFolder.getName());
+        node.getMetadata().put("folderId", folderId);
+        node.getMetadata().put("folderName", folderName);
         node.getMetadata().put("isOwnFolder", isOwnFolder);
         node.getMetadata().put("isCustomFolder", true);
         
-        // Get files in this custom folder from database and filter out those that don't exist on disk
-        List<UploadedFile> dbFiles = uploadedFileRepository.findByFolderIdWithUploader(customFolder.getId());
+        // Get files in this custom folder from database
+        List<UploadedFile> dbFiles = uploadedFileRepository.findByFolderIdWithUploader(folderId);
         final User finalUser = currentUser;
-        List<UploadedFile> existingFiles = dbFiles.stream()
-                .filter(f -> fileExistsOnDisk(f))
-                .collect(Collectors.toList());
-        List<UploadedFileDTO> fileDTOs = existingFiles.stream()
+        List<UploadedFileDTO> fileDTOs = dbFiles.stream()
                 .map(f -> convertToUploadedFileDTO(f, finalUser))
                 .collect(Collectors.toList());
         
         // Also scan filesystem for physical files that don't have DB records
-        String customFolderPath = customFolder.getPath();
         Path physicalCustomFolderPath = Paths.get(uploadBasePath, customFolderPath);
         
-        Set<String> dbFilePaths = existingFiles.stream()
+        Set<String> dbFilePaths = dbFiles.stream()
                 .map(UploadedFile::getFileUrl)
                 .filter(url -> url != null)
                 .collect(Collectors.toSet());
@@ -1059,9 +1061,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
 
         List<User> professors = getProfessorsForUser(semester.getId(), currentUser);
 
-        return professors.stream()
-                .map(professor -> buildProfessorNode(parentPath, professor, currentUser))
-                .collect(Collectors.toList());
+        return buildProfessorNodes(parentPath, professors, semester.getId(), currentUser);
     }
 
     /**
@@ -1070,39 +1070,26 @@ public class FileExplorerServiceImpl implements FileExplorerService {
     private List<FileExplorerNode> getCourseChildren(PathInfo pathInfo, User currentUser) {
         log.debug("=== Getting course children for professor path: {} ===", pathInfo.getPath());
 
-        // Find professor
-        User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
-
-        log.debug("Found professor: ID={}, Name={} {}, ProfessorId={}",
-                professor.getId(), professor.getFirstName(), professor.getLastName(), professor.getProfessorId());
-
-        // Find semester
-        AcademicYear academicYear = academicYearRepository.findByYearCode(pathInfo.getYearCode())
-                .orElseThrow(() -> new EntityNotFoundException("Academic year not found: " + pathInfo.getYearCode()));
-        SemesterType semesterType = SemesterType.valueOf(pathInfo.getSemesterType().toUpperCase());
-        Semester semester = semesterRepository.findByAcademicYearIdAndType(academicYear.getId(), semesterType)
-                .orElseThrow(() -> new EntityNotFoundException("Semester not found"));
-
-        log.debug("Found semester: ID={}, Type={}, AcademicYear={}",
-                semester.getId(), semesterType, academicYear.getYearCode());
+        ProfessorSemester context = resolveProfessorSemester(pathInfo);
 
         // Get course assignments for this professor in this semester
         List<CourseAssignment> assignments = courseAssignmentRepository
-                .findByProfessorIdAndSemesterId(professor.getId(), semester.getId());
+                .findByProfessorIdAndSemesterId(context.professorId(), context.semesterId());
 
         log.debug("Found {} course assignments for professor {} in semester {}",
-                assignments.size(), professor.getId(), semester.getId());
+                assignments.size(), context.professorId(), context.semesterId());
 
         if (assignments.isEmpty()) {
             log.warn("No course assignments found for professor {} (ID: {}) in semester {} (ID: {}). " +
                     "Please verify that course assignments exist in the database for this professor and semester.",
-                    professor.getProfessorId(), professor.getId(), semesterType, semester.getId());
+                    pathInfo.getProfessorId(), context.professorId(), pathInfo.getSemesterType(),
+                    context.semesterId());
         }
 
         String parentPath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() + "/"
                 + pathInfo.getProfessorId();
 
-        boolean isOwnProfile = professor.getId().equals(currentUser.getId());
+        boolean isOwnProfile = context.professorId().equals(currentUser.getId());
 
         return assignments.stream()
                 .map(assignment -> {
@@ -1137,6 +1124,29 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      * Assignments)
      */
     private List<FileExplorerNode> getDocumentTypeChildren(PathInfo pathInfo, User currentUser) {
+        String parentPath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
+                "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode();
+
+        // Answer from the archive tree index when it knows the course folder and its subfolders;
+        // file counts then come from the index instead of the submissions
+        Optional<ArchiveTreeService.FolderNode> indexedCourseFolder = findIndexedCourseFolder(pathInfo);
+        Optional<List<ArchiveTreeService.FolderNode>> indexedSubfolders = indexedCourseFolder
+                .flatMap(folder -> archiveTreeService.findChildren(folder.id()));
+        if (indexedSubfolders.isPresent()) {
+            ArchiveTreeService.FolderNode courseFolder = indexedCourseFolder.get();
+            folderDiscoveryService.requestScan(courseFolder.id());
+            boolean isOwnCourse = courseFolder.ownerId().equals(currentUser.getId());
+            return indexedSubfolders.get().stream()
+                    .map(subfolder -> {
+                        FileExplorerNode node = buildCourseSubfolderNode(parentPath, subfolder.id(), subfolder.name(),
+                                subfolder.type() == FolderType.CUSTOM, isOwnCourse, currentUser);
+                        node.getMetadata().put("fileCount", (long) subfolder.fileCount());
+                        return node;
+                    })
+                    .sorted(Comparator.comparing(FileExplorerNode::getName))
+                    .collect(Collectors.toList());
+        }
+
         // Find professor
         User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
 
@@ -1164,84 +1174,40 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         }
 
         Folder courseFolder = courseFolderOpt.get();
+        folderDiscoveryService.requestScan(courseFolder.getId());
 
         // Get all child folders (subfolders) of the course folder
         List<Folder> subfolders = folderRepository.findByParentId(courseFolder.getId());
 
-        String parentPath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
-                "/" + pathInfo.getProfessorId() + "/" + pathInfo.getCourseCode();
-
         boolean isOwnCourse = professor.getId().equals(currentUser.getId());
 
         // Get all document submissions for file count
         List<DocumentSubmission> submissions = documentSubmissionRepository
                 .findByCourseAssignmentId(assignment.getId());
 
-        // Filter out custom folders that don't exist on disk anymore
-        // and clean up their database records
-        List<Folder> validSubfolders = subfolders.stream()
-                .filter(subfolder -> {
-                    // Always keep non-custom folders (system folders)
-                    if (subfolder.getType() != FolderType.CUSTOM) {
-                        return true;
-                    }
-                    // For custom folders, check if they exist on disk
-                    return folderExistsOnDisk(subfolder);
-                })
-                .collect(Collectors.toList());
-
-        return validSubfolders.stream()
+        return subfolders.stream()
                 .map(subfolder -> {
                     // Check if this is a custom folder (created by professor)
                     boolean isCustomFolder = subfolder.getType() == FolderType.CUSTOM;
-                    
-                    // Map folder name to document type enum for URL-safe path (only for document type folders)
-                    DocumentTypeEnum docType = isCustomFolder ? null : mapFolderNameToDocumentType(subfolder.getName());
-                    
-                    // For custom folders, use folder ID in path to ensure uniqueness
-                    // For document type folders, use the enum name
-                    String pathSegment;
-                    if (docType != null) {
-                        pathSegment = docType.name().toLowerCase();
-                    } else if (isCustomFolder) {
-                        // Use "custom-{id}" format for unique identification
-                        pathSegment = "custom-" + subfolder.getId();
-                    } else {
-                        pathSegment = subfolder.getName().toLowerCase().replace(" ", "-");
-                    }
-                    String docTypePath = parentPath + "/" + pathSegment;
-
-                    // Use CUSTOM node type for custom folders, DOCUMENT_TYPE for standard folders
-                    NodeType nodeType = isCustomFolder ? NodeType.CUSTOM : NodeType.DOCUMENT_TYPE;
-                    
-                    FileExplorerNode node = FileExplorerNode.builder()
-                            .path(docTypePath)
-                            .name(subfolder.getName())
-                            .type(nodeType)
-                            .entityId(subfolder.getId())
-                            .canRead(true)
-                            .canWrite(isOwnCourse && currentUser.getRole() == Role.ROLE_PROFESSOR)
-                            .canDelete(isCustomFolder && isOwnCourse && currentUser.getRole() == Role.ROLE_PROFESSOR)
-                            .build();
 
-                    node.getMetadata().put("folderId", subfolder.getId());
-                    node.getMetadata().put("folderName", subfolder.getName());
+                    FileExplorerNode node = buildCourseSubfolderNode(parentPath, subfolder.getId(),
+                            subfolder.getName(), isCustomFolder, isOwnCourse, currentUser);
                     node.getMetadata().put("assignmentId", assignment.getId());
-                    node.getMetadata().put("isOwnCourse", isOwnCourse);
-                    node.getMetadata().put("isCustomFolder", isCustomFolder);
 
                     // Count files in this subfolder
+                    DocumentTypeEnum docType = isCustomFolder ? null : mapFolderNameToDocumentType(subfolder.getName());
                     if (docType != null) {
                         long fileCount = submissions.stream()
                                 .filter(s -> s.getDocumentType() == docType)
                                 .mapToLong(s -> s.getUploadedFiles().size())
                                 .sum();
                         node.getMetadata().put("fileCount", fileCount);
-                        node.getMetadata().put("documentType", docType.name());
                     } else {
                         // For custom folders, count files uploaded to this folder (if any)
-                        List<UploadedFile> customFolderFiles = uploadedFileRepository.findByFolderId(subfolder.getId());
-                        node.getMetadata().put("fileCount", (long) customFolderFiles.size());
+                        long fileCount = archiveTreeService.findById(subfolder.getId())
+                                .map(folder -> (long) folder.fileCount())
+                                .orElseGet(() -> uploadedFileRepository.countByFolderId(subfolder.getId()));
+                        node.getMetadata().put("fileCount", fileCount);
                     }
 
                     return node;
@@ -1250,6 +1216,51 @@ public class FileExplorerServiceImpl implements FileExplorerService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Build the node of a folder directly inside a course folder: either a
+     * document type folder (Syllabus, Exams, ...) or a custom folder
+     */
+    private FileExplorerNode buildCourseSubfolderNode(String parentPath, Long folderId, String folderName,
+            boolean isCustomFolder, boolean isOwnCourse, User currentUser) {
+        // Map folder name to document type enum for URL-safe path (only for document type folders)
+        DocumentTypeEnum docType = isCustomFolder ? null : mapFolderNameToDocumentType(folderName);
+
+        // For custom folders, use folder ID in path to ensure uniqueness
+        // For document type folders, use the enum name
+        String pathSegment;
+        if (docType != null) {
+            pathSegment = docType.name().toLowerCase();
+        } else if (isCustomFolder) {
+            // Use "custom-{id}" format for unique identification
+            pathSegment = "custom-" + folderId;
+        } else {
+            pathSegment = folderName.toLowerCase().replace(" ", "-");
+        }
+
+        // Use CUSTOM node type for custom folders, DOCUMENT_TYPE for standard folders
+        NodeType nodeType = isCustomFolder ? NodeType.CUSTOM : NodeType.DOCUMENT_TYPE;
+
+        FileExplorerNode node = FileExplorerNode.builder()
+                .path(parentPath + "/" + pathSegment)
+                .name(folderName)
+                .type(nodeType)
+                .entityId(folderId)
+                .canRead(true)
+                .canWrite(isOwnCourse && currentUser.getRole() == Role.ROLE_PROFESSOR)
+                .canDelete(isCustomFolder && isOwnCourse && currentUser.getRole() == Role.ROLE_PROFESSOR)
+                .build();
+
+        node.getMetadata().put("folderId", folderId);
+        node.getMetadata().put("folderName", folderName);
+        node.getMetadata().put("isOwnCourse", isOwnCourse);
+        node.getMetadata().put("isCustomFolder", isCustomFolder);
+        if (docType != null) {
+            node.getMetadata().put("documentType", docType.name());
+        }
+
+        return node;
+    }
+
     /**
      * Map folder name to DocumentTypeEnum for file counting and URL generation
      */
@@ -1349,12 +1360,17 @@ public class FileExplorerServiceImpl implements FileExplorerService {
                 String professorPath = "/" + pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() +
                         "/" + pathInfo.getProfessorId();
 
-                // Try to get professor name
+                // Try to get professor name (the professor folder is named after them)
                 String professorName = pathInfo.getProfessorId();
-                Optional<User> professorOpt = findProfessorByIdentifierOptional(pathInfo.getProfessorId());
-                if (professorOpt.isPresent()) {
-                    User professor = professorOpt.get();
-                    professorName = professor.getFirstName() + " " + professor.getLastName();
+                Optional<ArchiveTreeService.FolderNode> professorFolder = findProfessorFolder(pathInfo);
+                if (professorFolder.isPresent()) {
+                    professorName = professorFolder.get().name();
+                } else {
+                    Optional<User> professorOpt = findProfessorByIdentifierOptional(pathInfo.getProfessorId());
+                    if (professorOpt.isPresent()) {
+                        User professor = professorOpt.get();
+                        professorName = professor.getFirstName() + " " + professor.getLastName();
+                    }
                 }
 
                 breadcrumbs.add(BreadcrumbItem.builder()
@@ -1412,19 +1428,26 @@ public class FileExplorerServiceImpl implements FileExplorerService {
 
             // For HOD and Professor, check department access
             if (pathInfo.getProfessorId() != null) {
-                // Find the professor whose folder this is
-                Optional<User> professorOpt = findProfessorByIdentifierOptional(pathInfo.getProfessorId());
-                if (!professorOpt.isPresent()) {
-                    fileAccessService.logAccessDenial(user, null, 
-                        "Professor not found for path: " + nodePath);
-                    return false;
-                }
+                // Find the department of the professor whose folder this is
+                Long departmentId;
+                Optional<ArchiveTreeService.FolderNode> professorFolder = findProfessorFolder(pathInfo);
+                if (professorFolder.isPresent()) {
+                    departmentId = professorFolder.get().departmentId();
+                } else {
+                    Optional<User> professorOpt = findProfessorByIdentifierOptional(pathInfo.getProfessorId());
+                    if (!professorOpt.isPresent()) {
+                        fileAccessService.logAccessDenial(user, null, 
+                            "Professor not found for path: " + nodePath);
+                        return false;
+                    }
 
-                User professor = professorOpt.get();
+                    User professor = professorOpt.get();
+                    departmentId = professor.getDepartment() != null ? professor.getDepartment().getId() : null;
+                }
 
                 // Use FileAccessService to check department access
-                if (professor.getDepartment() != null) {
-                    boolean canAccess = fileAccessService.canAccessDepartmentFiles(user, professor.getDepartment().getId());
+                if (departmentId != null) {
+                    boolean canAccess = fileAccessService.canAccessDepartmentFiles(user, departmentId);
                     if (!canAccess) {
                         fileAccessService.logAccessDenial(user, null, 
                             "User cannot access department files for path: " + nodePath);
@@ -1465,13 +1488,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
 
             // Check if this is the professor's own course
             if (pathInfo.getProfessorId() != null) {
-                Optional<User> professorOpt = findProfessorByIdentifierOptional(pathInfo.getProfessorId());
-                if (!professorOpt.isPresent()) {
-                    return false;
-                }
-
-                User professor = professorOpt.get();
-                return professor.getId().equals(user.getId());
+                return user.getId().equals(findProfessorUserId(pathInfo));
             }
 
             return false;
@@ -1501,13 +1518,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
 
             // Check if this is the professor's own file
             if (pathInfo.getProfessorId() != null) {
-                Optional<User> professorOpt = findProfessorByIdentifierOptional(pathInfo.getProfessorId());
-                if (!professorOpt.isPresent()) {
-                    return false;
-                }
-
-                User professor = professorOpt.get();
-                return professor.getId().equals(user.getId());
+                return user.getId().equals(findProfessorUserId(pathInfo));
             }
 
             return false;
@@ -1518,6 +1529,81 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         }
     }
 
+    /**
+     * Look up the professor folder of a path in the archive tree index.
+     *
+     * @return the folder, or empty if the index does not know it (ask the database)
+     */
+    private Optional<ArchiveTreeService.FolderNode> findProfessorFolder(PathInfo pathInfo) {
+        String folderPath = pathInfo.getYearCode() + "/" + pathInfo.getSemesterType() + "/"
+                + pathInfo.getProfessorId();
+        return archiveTreeService.findByPath(folderPath)
+                .filter(folder -> folder.type() == FolderType.PROFESSOR_ROOT && folder.ownerId() != null);
+    }
+
+    /**
+     * Look up the course folder of a path in the archive tree index. Course folders
+     * are named "{courseCode} - {courseName}" under the professor folder.
+     *
+     * @return the folder, or empty if the index does not know it (ask the database)
+     */
+    private Optional<ArchiveTreeService.FolderNode> findIndexedCourseFolder(PathInfo pathInfo) {
+        String courseCode = pathInfo.getCourseCode();
+        return findProfessorFolder(pathInfo)
+                .flatMap(professorFolder -> archiveTreeService.findChildren(professorFolder.id()))
+                .flatMap(children -> children.stream()
+                        .filter(folder -> folder.type() == FolderType.COURSE && folder.ownerId() != null)
+                        .filter(folder -> folder.name().equals(courseCode)
+                                || folder.name().startsWith(courseCode + " - "))
+                        .findFirst());
+    }
+
+    /**
+     * Look up the custom folder of an ID-based path in the archive tree index,
+     * checking that it lies inside the path's course folder.
+     *
+     * @return the folder, or empty if the index does not know it (ask the database)
+     */
+    private Optional<ArchiveTreeService.FolderNode> findIndexedCustomFolder(PathInfo pathInfo) {
+        if (pathInfo.getCustomFolderId() == null) {
+            return Optional.empty();
+        }
+        return findIndexedCourseFolder(pathInfo)
+                .flatMap(courseFolder -> archiveTreeService.findById(pathInfo.getCustomFolderId())
+                        .filter(folder -> folder.path().startsWith(courseFolder.path() + "/")));
+    }
+
+    /**
+     * Professor user ID and semester ID of a path, taken from the professor folder
+     * in the archive tree index, or looked up in the database if the index does not know it
+     */
+    private ProfessorSemester resolveProfessorSemester(PathInfo pathInfo) {
+        Optional<ProfessorSemester> indexed = findProfessorFolder(pathInfo)
+                .filter(folder -> folder.semesterId() != null)
+                .map(folder -> new ProfessorSemester(folder.ownerId(), folder.semesterId()));
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
+        User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
+        AcademicYear academicYear = academicYearRepository.findByYearCode(pathInfo.getYearCode())
+                .orElseThrow(() -> new EntityNotFoundException("Academic year not found: " + pathInfo.getYearCode()));
+        SemesterType semesterType = SemesterType.valueOf(pathInfo.getSemesterType().toUpperCase());
+        Semester semester = semesterRepository.findByAcademicYearIdAndType(academicYear.getId(), semesterType)
+                .orElseThrow(() -> new EntityNotFoundException("Semester not found"));
+        return new ProfessorSemester(professor.getId(), semester.getId());
+    }
+
+    /**
+     * @return the user ID of the professor whose folder a path is in, or null if not found
+     */
+    private Long findProfessorUserId(PathInfo pathInfo) {
+        return findProfessorFolder(pathInfo)
+                .map(ArchiveTreeService.FolderNode::ownerId)
+                .or(() -> findProfessorByIdentifierOptional(pathInfo.getProfessorId()).map(User::getId))
+                .orElse(null);
+    }
+
     /**
      * Build year node from path info
      */
@@ -1593,6 +1679,41 @@ public class FileExplorerServiceImpl implements FileExplorerService {
      */
     private List<UploadedFileDTO> getFilesForDocumentType(PathInfo pathInfo, User currentUser) {
         try {
+            // Parse document type from path
+            DocumentTypeEnum docType;
+            try {
+                docType = DocumentTypeEnum.valueOf(pathInfo.getDocumentType().toUpperCase().replace("-", "_"));
+            } catch (IllegalArgumentException e) {
+                docType = mapPathSegmentToDocumentType(pathInfo.getDocumentType());
+                if (docType == null) {
+                    log.warn("Invalid document type: {}", pathInfo.getDocumentType());
+                    return new ArrayList<>();
+                }
+            }
+
+            // Map document type to folder name
+            String folderName = formatDocumentType(docType);
+
+            // Answer from the archive tree index when it knows the course folder and its subfolders
+            Optional<ArchiveTreeService.FolderNode> indexedCourseFolder = findIndexedCourseFolder(pathInfo);
+            Optional<List<ArchiveTreeService.FolderNode>> indexedSubfolders = indexedCourseFolder
+                    .flatMap(folder -> archiveTreeService.findChildren(folder.id()));
+            if (indexedSubfolders.isPresent()) {
+                Optional<ArchiveTreeService.FolderNode> documentTypeFolderOpt = indexedSubfolders.get().stream()
+                        .filter(f -> f.name().equalsIgnoreCase(folderName))
+                        .findFirst();
+                if (!documentTypeFolderOpt.isPresent()) {
+                    log.debug("Document type folder not found: {}", folderName);
+                    return new ArrayList<>();
+                }
+                Long professorId = indexedCourseFolder.get().ownerId();
+                return listDocumentTypeFiles(documentTypeFolderOpt.get().id(),
+                        () -> userRepository.findById(professorId)
+                                .map(professor -> professor.getFirstName() + " " + professor.getLastName())
+                                .orElse(null),
+                        currentUser);
+            }
+
             // Find professor
             User professor = findProfessorByIdentifier(pathInfo.getProfessorId());
 
@@ -1622,21 +1743,6 @@ public class FileExplorerServiceImpl implements FileExplorerService {
 
             Folder courseFolder = courseFolderOpt.get();
 
-            // Parse document type from path
-            DocumentTypeEnum docType;
-            try {
-                docType = DocumentTypeEnum.valueOf(pathInfo.getDocumentType().toUpperCase().replace("-", "_"));
-            } catch (IllegalArgumentException e) {
-                docType = mapPathSegmentToDocumentType(pathInfo.getDocumentType());
-                if (docType == null) {
-                    log.warn("Invalid document type: {}", pathInfo.getDocumentType());
-                    return new ArrayList<>();
-                }
-            }
-
-            // Map document type to folder name
-            String folderName = formatDocumentType(docType);
-
             // Find the subfolder for this document type
             List<Folder> subfolders = folderRepository.findByParentId(courseFolder.getId());
             Optional<Folder> documentTypeFolderOpt = subfolders.stream()
@@ -1648,27 +1754,9 @@ public class FileExplorerServiceImpl implements FileExplorerService {
                 return new ArrayList<>();
             }
 
-            Folder documentTypeFolder = documentTypeFolderOpt.get();
-
-            // Query files from this folder with uploader data and filter out those that don't exist on disk
-            List<UploadedFile> files = uploadedFileRepository.findByFolderIdWithUploader(documentTypeFolder.getId());
-            List<UploadedFile> existingFiles = files.stream()
-                    .filter(f -> fileExistsOnDisk(f))
-                    .collect(Collectors.toList());
-
-            final String fallbackUploaderName = professor.getFirstName() + " " + professor.getLastName();
-            final User finalCurrentUser = currentUser;
-
-            // Convert to DTOs ensuring uploader name is always populated
-            return existingFiles.stream()
-                    .map(file -> {
-                        UploadedFileDTO dto = convertToUploadedFileDTO(file, finalCurrentUser);
-                        if (dto.getUploaderName() == null) {
-                            dto.setUploaderName(fallbackUploaderName);
-                        }
-                        return dto;
-                    })
-                    .collect(Collectors.toList());
+            String fallbackUploaderName = professor.getFirstName() + " " + professor.getLastName();
+            return listDocumentTypeFiles(documentTypeFolderOpt.get().getId(), () -> fallbackUploaderName,
+                    currentUser);
 
         } catch (Exception e) {
             log.error("Error getting files for document type: {}", e.getMessage(), e);
@@ -1676,6 +1764,30 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         }
     }
 
+    /**
+     * List the files of a document type folder, naming the course professor as
+     * uploader for files without one
+     */
+    private List<UploadedFileDTO> listDocumentTypeFiles(Long folderId, Supplier<String> fallbackUploaderName,
+            User currentUser) {
+        folderDiscoveryService.requestScan(folderId);
+
+        // Query files from this folder with uploader data
+        List<UploadedFile> files = uploadedFileRepository.findByFolderIdWithUploader(folderId);
+
+        // Convert to DTOs ensuring uploader name is always populated
+        List<UploadedFileDTO> dtos = files.stream()
+                .map(file -> convertToUploadedFileDTO(file, currentUser))
+                .collect(Collectors.toList());
+        if (dtos.stream().anyMatch(dto -> dto.getUploaderName() == null)) {
+            String uploaderName = fallbackUploaderName.get();
+            dtos.stream()
+                    .filter(dto -> dto.getUploaderName() == null)
+                    .forEach(dto -> dto.setUploaderName(uploaderName));
+        }
+        return dtos;
+    }
+
     /**
      * Convert UploadedFile entity to UploadedFileDTO
      */
@@ -1832,6 +1944,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         
         // 16. Save folder to database
         Folder savedFolder = folderRepository.save(newFolder);
+        dataVersionService.folderChanged(parentFolder);
         log.info("Folder '{}' created successfully with ID {} at path: {}", 
                 folderName, savedFolder.getId(), fullPath);
         
@@ -2043,6 +2156,7 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         
         // 10. Delete folder from database (now safe since all children are deleted)
         folderRepository.delete(folder);
+        dataVersionService.folderChanged(folder.getParent() != null ? folder.getParent() : folder);
         
         log.info("Folder '{}' deleted successfully from database and filesystem", folderName);
         
@@ -2152,81 +2266,6 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         Files.delete(directory);
     }
 
-    /**
-     * Check if a file exists on the physical filesystem.
-     * For files that have been deleted from disk, this method also
-     * triggers cleanup of the database record.
-     * 
-     * @param file the uploaded file entity to check
-     * @return true if the file exists on disk, false otherwise
-     */
-    @org.springframework.transaction.annotation.Transactional
-    private boolean fileExistsOnDisk(UploadedFile file) {
-        if (file == null || file.getFileUrl() == null || file.getFileUrl().isEmpty()) {
-            return false;
-        }
-        
-        try {
-            Path physicalPath = safePathResolver.resolve(file.getFileUrl());
-            boolean exists = Files.exists(physicalPath) && Files.isRegularFile(physicalPath);
-            
-            if (!exists) {
-                log.info("File no longer exists on disk, removing DB record: {} (ID: {})", 
-                        file.getFileUrl(), file.getId());
-                uploadedFileRepository.delete(file);
-                log.info("Removed orphaned file record: {}", file.getId());
-            }
-            
-            return exists;
-        } catch (Exception e) {
-            log.warn("Error checking file existence on disk: {} - {}", file.getFileUrl(), e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Check if a folder exists on the physical filesystem.
-     * For custom folders that have been deleted from disk, this method also
-     * triggers cleanup of the database record asynchronously.
-     * 
-     * @param folder the folder entity to check
-     * @return true if the folder exists on disk, false otherwise
-     */
-    @org.springframework.transaction.annotation.Transactional
-    private boolean folderExistsOnDisk(Folder folder) {
-        if (folder == null || folder.getPath() == null || folder.getPath().isEmpty()) {
-            return false;
-        }
-        
-        try {
-            Path physicalPath = safePathResolver.resolve(folder.getPath());
-            boolean exists = Files.exists(physicalPath) && Files.isDirectory(physicalPath);
-            
-            if (!exists && folder.getType() == FolderType.CUSTOM) {
-                // Custom folder no longer exists on disk - clean up the database record
-                log.info("Custom folder no longer exists on disk, removing DB record: {} (ID: {})", 
-                        folder.getPath(), folder.getId());
-                
-                // Delete associated files from database first
-                List<UploadedFile> files = uploadedFileRepository.findByFolderId(folder.getId());
-                if (!files.isEmpty()) {
-                    log.info("Removing {} orphaned file records from custom folder {}", 
-                            files.size(), folder.getId());
-                    uploadedFileRepository.deleteAll(files);
-                }
-                
-                // Delete the folder record
-                folderRepository.delete(folder);
-                log.info("Removed orphaned custom folder record: {}", folder.getId());
-            }
-            
-            return exists;
-        } catch (Exception e) {
-            log.warn("Error checking folder existence on disk: {} - {}", folder.getPath(), e.getMessage());
-            return false;
-        }
-    }
-
     /**
      * Determine MIME type from file name extension.
      */
@@ -2255,6 +2294,12 @@ public class FileExplorerServiceImpl implements FileExplorerService {
         return "application/octet-stream";
     }
 
+    /**
+     * Professor user ID and semester ID a path points into
+     */
+    private record ProfessorSemester(Long professorId, Long semesterId) {
+    }
+
     /**
      * Helper class to hold parsed path information
      */
@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -34,16 +35,19 @@ public class FilePreviewServiceImpl implements FilePreviewService {
     private final UploadedFileRepository uploadedFileRepository;
     private final FileExplorerService fileExplorerService;
     private final OfficeDocumentConverter officeDocumentConverter;
+    private final PreviewRenditionService previewRenditionService;
     
     @Value("${file.upload.directory:uploads/}")
     private String uploadDirectory;
     
     public FilePreviewServiceImpl(UploadedFileRepository uploadedFileRepository,
                                    FileExplorerService fileExplorerService,
-                                   OfficeDocumentConverter officeDocumentConverter) {
+                                   OfficeDocumentConverter officeDocumentConverter,
+                                   PreviewRenditionService previewRenditionService) {
         this.uploadedFileRepository = uploadedFileRepository;
         this.fileExplorerService = fileExplorerService;
         this.officeDocumentConverter = officeDocumentConverter;
+        this.previewRenditionService = previewRenditionService;
     }
     
     /**
@@ -207,6 +211,7 @@ public class FilePreviewServiceImpl implements FilePreviewService {
                 ? file.getUploader().getDepartment().getName() : null)
             .previewable(isPreviewable(mimeType))
             .previewType(getPreviewType(mimeType))
+            .pageCount(previewRenditionService.findPageCount(file).orElse(null))
             .build();
     }
     
@@ -482,11 +487,20 @@ public class FilePreviewServiceImpl implements FilePreviewService {
             throw new IllegalArgumentException("File is not an Office document: " + mimeType);
         }
         
+        // Serve the rendition prepared after upload, if there is one
+        Optional<byte[]> prepared = previewRenditionService.findHtml(file);
+        if (prepared.isPresent()) {
+            log.debug("Serving pre-rendered HTML preview for fileId: {}", fileId);
+            return prepared.get();
+        }
+        
         // Convert to HTML
         try {
             Path filePath = resolveFilePath(file.getFileUrl());
             log.debug("Resolved file path for Office conversion: {}", filePath);
-            return officeDocumentConverter.convertToHtml(filePath.toString(), mimeType);
+            byte[] html = officeDocumentConverter.convertToHtml(filePath.toString(), mimeType);
+            previewRenditionService.storeHtml(file, html);
+            return html;
         } catch (IOException e) {
             log.error("Error converting Office document to HTML: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to convert Office document: " + e.getMessage(), e);
@@ -98,7 +98,7 @@ public class FileReconciliationService {
             // Step 3: Invalidate caches if any changes were made
             if (result.orphanedFilesRemoved > 0 || result.orphanedFoldersRemoved > 0 || result.foldersRecreated > 0) {
                 log.info("Invalidating all caches after reconciliation changes");
-                filesystemScanService.invalidateCache("");
+                filesystemScanService.invalidateAll();
             }
             
         } catch (Exception e) {
@@ -280,6 +280,14 @@ public class FileReconciliationService {
                     : pathResolver.resolveExistingDirectory(basePath);
             
             Files.walkFileTree(dirPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    // Internal storage (.blobs, .staging) is not part of the folder tree
+                    return !dir.equals(dirPath) && dir.getFileName().toString().startsWith(".")
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+                
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
                     String relativePath = pathResolver.toRelativePath(file);
@@ -20,8 +20,10 @@ import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
 import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
 import com.alquds.edu.ArchiveSystem.entity.submission.RequiredDocumentType;
 import com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 
 
+import com.alquds.edu.ArchiveSystem.exception.file.FileStorageException;
 import com.alquds.edu.ArchiveSystem.exception.file.FileUploadException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,10 +39,10 @@ import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -56,6 +58,9 @@ public class FileServiceImpl implements FileService {
     private final UserRepository userRepository;
     private final RequiredDocumentTypeRepository requiredDocumentTypeRepository;
     private final FolderRepository folderRepository;
+    private final UploadFileWriter uploadFileWriter;
+    private final BlobStore blobStore;
+    private final DataVersionService dataVersionService;
 
     @Value("${file.upload.directory:uploads/}")
     private String uploadDirectory;
@@ -155,12 +160,7 @@ public class FileServiceImpl implements FileService {
         }
 
         // Save files
-        List<UploadedFile> uploadedFiles = new ArrayList<>();
-        for (int i = 0; i < files.size(); i++) {
-            MultipartFile file = files.get(i);
-            UploadedFile uploadedFile = saveFile(file, submission, courseAssignment, i, currentUser);
-            uploadedFiles.add(uploadedFile);
-        }
+        List<UploadedFile> uploadedFiles = saveFiles(files, submission, courseAssignment, currentUser);
 
         // Update submission metadata
         submission.setFileCount(uploadedFiles.size());
@@ -168,6 +168,7 @@ public class FileServiceImpl implements FileService {
                 .mapToLong(f -> f.getFileSize() != null ? f.getFileSize() : 0L)
                 .sum());
         documentSubmissionRepository.save(submission);
+        dataVersionService.courseAssignmentChanged(courseAssignment);
 
         log.info("Successfully uploaded {} files for submission ID: {}", uploadedFiles.size(), submission.getId());
         return uploadedFiles;
@@ -225,16 +226,11 @@ public class FileServiceImpl implements FileService {
             deletePhysicalFile(oldFile.getFileUrl());
         }
         uploadedFileRepository.deleteAll(oldFiles);
+        blobStore.releaseAfterCommit(oldFiles.stream().map(UploadedFile::getContentSha256).toList());
         log.debug("Deleted {} old files for submission ID: {}", oldFiles.size(), submissionId);
 
         // Upload new files
-        List<UploadedFile> newFiles = new ArrayList<>();
-
-        for (int i = 0; i < files.size(); i++) {
-            MultipartFile file = files.get(i);
-            UploadedFile uploadedFile = saveFile(file, submission, courseAssignment, i, currentUser);
-            newFiles.add(uploadedFile);
-        }
+        List<UploadedFile> newFiles = saveFiles(files, submission, courseAssignment, currentUser);
 
         // Update submission metadata
         submission.setFileCount(newFiles.size());
@@ -244,6 +240,7 @@ public class FileServiceImpl implements FileService {
         submission.setSubmittedAt(LocalDateTime.now());
         submission.setNotes(notes);
         documentSubmissionRepository.save(submission);
+        dataVersionService.courseAssignmentChanged(courseAssignment);
 
         log.info("Successfully replaced files for submission ID: {}. New file count: {}",
                 submissionId, newFiles.size());
@@ -276,6 +273,7 @@ public class FileServiceImpl implements FileService {
         // Get the folder and path info from existing file
         Folder folder = existingFile.getFolder();
         String oldFileUrl = existingFile.getFileUrl();
+        String oldContentSha256 = existingFile.getContentSha256();
         
         // Delete the old physical file
         deletePhysicalFile(oldFileUrl);
@@ -301,10 +299,11 @@ public class FileServiceImpl implements FileService {
 
         // Save the new file to disk
         Path targetPath = Paths.get(uploadDirectory, newFileUrl);
+        UploadFileWriter.WrittenFile written;
         try {
-            Files.createDirectories(targetPath.getParent());
-            Files.copy(newFile.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
+            written = uploadFileWriter.writeAll(
+                    List.of(new UploadFileWriter.PendingWrite(newFile, targetPath))).get(0);
+        } catch (FileStorageException e) {
             log.error("Failed to save replacement file: {}", e.getMessage(), e);
             throw FileUploadException.storageError("Failed to save replacement file: " + e.getMessage());
         }
@@ -313,13 +312,15 @@ public class FileServiceImpl implements FileService {
         existingFile.setOriginalFilename(newFile.getOriginalFilename());
         existingFile.setStoredFilename(sanitizedFilename);
         existingFile.setFileUrl(newFileUrl);
-        existingFile.setFileSize(newFile.getSize());
         existingFile.setFileType(newFile.getContentType());
+        written.applyTo(existingFile);
         existingFile.setNotes(notes);
         existingFile.setUploader(uploader);
 
         // Save and return
         UploadedFile savedFile = uploadedFileRepository.save(existingFile);
+        blobStore.releaseAfterCommit(Collections.singletonList(oldContentSha256));
+        recordFileChange(savedFile);
         log.info("Successfully replaced file ID: {} with new file at: {}", fileId, newFileUrl);
 
         return savedFile;
@@ -460,6 +461,7 @@ public class FileServiceImpl implements FileService {
 
         // Delete database record
         uploadedFileRepository.delete(file);
+        blobStore.releaseAfterCommit(Collections.singletonList(file.getContentSha256()));
 
         // Update submission metadata only if file was part of a submission
         if (submission != null) {
@@ -470,6 +472,7 @@ public class FileServiceImpl implements FileService {
                     .sum());
             documentSubmissionRepository.save(submission);
         }
+        recordFileChange(file);
 
         log.info("Successfully deleted file ID: {}", fileId);
     }
@@ -594,20 +597,27 @@ public class FileServiceImpl implements FileService {
         return sanitized;
     }
 
-    private UploadedFile saveFile(MultipartFile file, DocumentSubmission submission,
-            CourseAssignment courseAssignment, int order, User uploader) {
-        try {
-            // Get metadata for path generation
-            Semester semester = courseAssignment.getSemester();
-            AcademicYear academicYear = semester.getAcademicYear();
-            Course course = courseAssignment.getCourse();
-            User professor = courseAssignment.getProfessor();
-
-            // Use professor's full name for folder path (sanitized for filesystem)
-            String professorFolderName = generateProfessorFolderName(professor);
-            log.info("Using professor folder name: {} for professor {}", professorFolderName, professor.getEmail());
-
-            // Generate file path
+    /**
+     * Write the physical files in parallel, then insert all UploadedFile rows at once.
+     * If a write fails no file of the batch is kept; if the transaction rolls back
+     * the written files are removed again by {@link UploadFileWriter}.
+     */
+    private List<UploadedFile> saveFiles(List<MultipartFile> files, DocumentSubmission submission,
+            CourseAssignment courseAssignment, User uploader) {
+        // Get metadata for path generation
+        Semester semester = courseAssignment.getSemester();
+        AcademicYear academicYear = semester.getAcademicYear();
+        Course course = courseAssignment.getCourse();
+        User professor = courseAssignment.getProfessor();
+
+        // Use professor's full name for folder path (sanitized for filesystem)
+        String professorFolderName = generateProfessorFolderName(professor);
+        log.info("Using professor folder name: {} for professor {}", professorFolderName, professor.getEmail());
+
+        // Generate file paths
+        List<String> filePaths = new ArrayList<>(files.size());
+        List<UploadFileWriter.PendingWrite> writes = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
             String filePath = generateFilePath(
                     academicYear.getYearCode(),
                     semester.getType().name(),
@@ -615,53 +625,42 @@ public class FileServiceImpl implements FileService {
                     course.getCourseCode(),
                     submission.getDocumentType(),
                     file.getOriginalFilename());
+            filePaths.add(filePath);
+            writes.add(new UploadFileWriter.PendingWrite(file, Paths.get(uploadDirectory, filePath)));
+        }
 
-            // Save physical file
-            savePhysicalFile(file, filePath);
-            
-            // Find the document type subfolder to link the file properly
-            // This ensures files appear in the File Explorer
-            Folder documentTypeFolder = findOrCreateDocumentTypeFolder(
-                    professor, course, academicYear, semester, submission.getDocumentType());
+        // Save physical files (throws FileStorageException if any write fails)
+        List<UploadFileWriter.WrittenFile> written = uploadFileWriter.writeAll(writes);
+
+        // Find the document type subfolder to link the files properly
+        // This ensures files appear in the File Explorer
+        Folder documentTypeFolder = findOrCreateDocumentTypeFolder(
+                professor, course, academicYear, semester, submission.getDocumentType());
 
-            // Create database record
+        // Create database records
+        List<UploadedFile> uploadedFiles = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
             UploadedFile uploadedFile = new UploadedFile();
             uploadedFile.setDocumentSubmission(submission);
-            uploadedFile.setFileUrl(filePath);
+            uploadedFile.setFileUrl(filePaths.get(i));
             uploadedFile.setOriginalFilename(file.getOriginalFilename());
             uploadedFile.setStoredFilename(sanitizeFilenameForStorage(file.getOriginalFilename()));
-            uploadedFile.setFileSize(file.getSize());
             uploadedFile.setFileType(file.getContentType());
-            uploadedFile.setFileOrder(order);
+            written.get(i).applyTo(uploadedFile);
+            uploadedFile.setFileOrder(i);
             uploadedFile.setUploader(uploader); // Set the uploader for permission checking
             uploadedFile.setFolder(documentTypeFolder); // Link to folder for File Explorer visibility
-
-            uploadedFile = uploadedFileRepository.save(uploadedFile);
-            log.debug("Saved file: {} with ID: {} linked to folder ID: {}", 
-                    file.getOriginalFilename(), uploadedFile.getId(), 
-                    documentTypeFolder != null ? documentTypeFolder.getId() : "null");
-
-            return uploadedFile;
-
-        } catch (IOException e) {
-            log.error("Failed to save file: {}", file.getOriginalFilename(), e);
-            throw FileUploadException.uploadFailed(file.getOriginalFilename(), e.getMessage());
+            uploadedFiles.add(uploadedFile);
         }
-    }
-
-    private void savePhysicalFile(MultipartFile file, String relativePath) throws IOException {
-        // Create full path
-        Path fullPath = Paths.get(uploadDirectory, relativePath);
 
-        // Create directories if they don't exist
-        Files.createDirectories(fullPath.getParent());
+        uploadedFiles = uploadedFileRepository.saveAll(uploadedFiles);
+        log.debug("Saved {} files linked to folder ID: {}", uploadedFiles.size(),
+                documentTypeFolder != null ? documentTypeFolder.getId() : "null");
 
-        // Save file
-        Files.copy(file.getInputStream(), fullPath, StandardCopyOption.REPLACE_EXISTING);
-
-        log.debug("Saved physical file to: {}", fullPath);
+        return uploadedFiles;
     }
-    
+
     /**
      * Find or create the document type folder for linking uploaded files.
      * This ensures files appear in the File Explorer by having a proper folder linkage.
@@ -766,6 +765,16 @@ public class FileServiceImpl implements FileService {
         return filename.replaceAll("[<>:\"/\\\\|?*]", "_");
     }
 
+    /**
+     * Bump the data versions of the folder and course assignment a file belongs to.
+     */
+    private void recordFileChange(UploadedFile file) {
+        dataVersionService.folderChanged(file.getFolder());
+        if (file.getDocumentSubmission() != null) {
+            dataVersionService.courseAssignmentChanged(file.getDocumentSubmission().getCourseAssignment());
+        }
+    }
+
     private void deletePhysicalFile(String relativePath) {
         try {
             Path filePath = Paths.get(uploadDirectory, relativePath);
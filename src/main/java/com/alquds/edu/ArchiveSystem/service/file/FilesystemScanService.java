@@ -28,13 +28,30 @@ public interface FilesystemScanService {
     
     /**
      * Get a lazy-loaded directory tree starting from a path.
+     * Equivalent to {@link #getDirectoryTree(String, User, int, String)} without a continuation token.
      * 
      * @param relativePath The relative path from uploads root
      * @param currentUser The authenticated user
      * @param depth How many levels to load (1 = immediate children only)
      * @return DirectoryTreeDTO with children up to specified depth
      */
-    DirectoryTreeDTO getDirectoryTree(String relativePath, User currentUser, int depth);
+    default DirectoryTreeDTO getDirectoryTree(String relativePath, User currentUser, int depth) {
+        return getDirectoryTree(relativePath, currentUser, depth, null);
+    }
+    
+    /**
+     * Get a lazy-loaded directory tree starting from a path.
+     * Levels are filled breadth-first up to {@code file.explorer.tree.max-nodes} nodes.
+     * A node whose children were cut at the limit carries a continuation token;
+     * requesting that node's path with the token returns its remaining children.
+     * 
+     * @param relativePath The relative path from uploads root
+     * @param currentUser The authenticated user
+     * @param depth How many levels to load (1 = immediate children only)
+     * @param continuationToken Token from a previous response for this path, or null
+     * @return DirectoryTreeDTO with children up to specified depth
+     */
+    DirectoryTreeDTO getDirectoryTree(String relativePath, User currentUser, int depth, String continuationToken);
     
     /**
      * Check if a directory has changed since a specific ETag.
@@ -47,8 +64,9 @@ public interface FilesystemScanService {
     boolean hasDirectoryChanged(String relativePath, String etag);
     
     /**
-     * Compute an ETag for a directory based on its contents.
-     * ETag changes when files/folders are added, removed, or modified.
+     * Get the ETag of a directory.
+     * The ETag changes when files/folders are added, removed, or modified
+     * anywhere below the directory (see {@link DirectoryEtagIndex}).
      * 
      * @param relativePath The relative path
      * @return The computed ETag string
@@ -70,6 +88,12 @@ public interface FilesystemScanService {
      */
     void invalidateCacheRecursive(String relativePath);
     
+    /**
+     * Invalidate all cached listings and directory ETags.
+     * Called after changes made outside the services, e.g. by reconciliation.
+     */
+    void invalidateAll();
+    
     /**
      * Check if a path exists on the filesystem.
      * 
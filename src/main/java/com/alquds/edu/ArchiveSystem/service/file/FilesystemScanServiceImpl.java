@@ -2,6 +2,7 @@ package com.alquds.edu.ArchiveSystem.service.file;
 
 import com.alquds.edu.ArchiveSystem.dto.fileexplorer.*;
 import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
 import com.alquds.edu.ArchiveSystem.entity.file.Folder;
 import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
 import com.alquds.edu.ArchiveSystem.entity.user.User;
@@ -9,16 +10,19 @@ import com.alquds.edu.ArchiveSystem.exception.file.InvalidPathException;
 import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
 import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.auth.AccessContextService;
 import com.alquds.edu.ArchiveSystem.util.SafePathResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -30,6 +34,8 @@ import java.util.stream.Stream;
 /**
  * Implementation of FilesystemScanService.
  * Provides filesystem-based directory scanning with caching and metadata enrichment.
+ * Directory ETags come from the {@link DirectoryEtagIndex}, kept current by
+ * committed file and folder changes and by explicit invalidations.
  */
 @Service
 @RequiredArgsConstructor
@@ -40,14 +46,26 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
     private final UploadedFileRepository uploadedFileRepository;
     private final FolderRepository folderRepository;
     private final UserRepository userRepository;
+    private final DirectoryEtagIndex directoryEtagIndex;
+    private final AccessContextService accessContextService;
     
-    // Simple in-memory cache with TTL
+    // Simple in-memory cache with TTL; entries are also dropped once the directory ETag changes
     private final Map<String, CachedDirectoryListing> listingCache = new ConcurrentHashMap<>();
-    private final Map<String, CachedETag> etagCache = new ConcurrentHashMap<>();
     
     // Cache TTL in milliseconds (15 seconds)
     private static final long CACHE_TTL_MS = 15_000;
     
+    // Tree children are ordered case-insensitively; the exact order breaks ties so continuation is stable
+    private static final Comparator<String> TREE_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+    
+    // Paths per folder entity ID query when building a tree
+    private static final int ENTITY_ID_BATCH_SIZE = 500;
+    
+    // Most nodes returned by one tree request; the rest is reached through continuation tokens
+    @Value("${file.explorer.tree.max-nodes:500}")
+    private int maxTreeNodes;
+    
     // Previewable file extensions
     private static final Set<String> PREVIEWABLE_EXTENSIONS = Set.of(
             "pdf", "jpg", "jpeg", "png", "gif", "webp", "svg",
@@ -67,7 +85,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         // Check cache first
         String cacheKey = buildCacheKey(normalizedPath, currentUser.getId(), page, pageSize, sortBy, sortOrder);
         CachedDirectoryListing cached = listingCache.get(cacheKey);
-        if (cached != null && !cached.isExpired()) {
+        if (cached != null && !cached.isExpired()
+                && cached.getListing().getEtag().equals(computeDirectoryETag(normalizedPath))) {
             log.debug("Returning cached listing for: {}", normalizedPath);
             return cached.getListing();
         }
@@ -83,16 +102,22 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         // Scan the directory
         List<FolderItemDTO> folders = new ArrayList<>();
         List<FileItemDTO> files = new ArrayList<>();
+        ProfessorFolders professors = new ProfessorFolders();
         
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirPath)) {
             for (Path entry : stream) {
+                // Skip internal storage (.blobs, .staging) and temporary upload files
+                if (entry.getFileName().toString().startsWith(".")) {
+                    continue;
+                }
                 BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class);
                 String entryRelativePath = pathResolver.toRelativePath(entry);
                 
                 if (attrs.isDirectory()) {
                     // Check if user has access to this folder
                     if (hasAccessToPath(entryRelativePath, currentUser)) {
-                        FolderItemDTO folderItem = buildFolderItem(entry, entryRelativePath, attrs, currentUser);
+                        FolderItemDTO folderItem = buildFolderItem(entry, entryRelativePath, attrs, currentUser,
+                                professors);
                         folders.add(folderItem);
                     }
                 } else if (attrs.isRegularFile()) {
@@ -158,19 +183,73 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
     }
 
     @Override
-    public DirectoryTreeDTO getDirectoryTree(String relativePath, User currentUser, int depth) {
-        log.debug("Getting directory tree: path={}, depth={}", relativePath, depth);
+    public DirectoryTreeDTO getDirectoryTree(String relativePath, User currentUser, int depth,
+            String continuationToken) {
+        log.debug("Getting directory tree: path={}, depth={}, continuation={}", relativePath, depth, continuationToken);
         
         String normalizedPath = pathResolver.normalizePath(relativePath);
+        if (!normalizedPath.isEmpty()) {
+            pathResolver.resolveExistingDirectory(normalizedPath);
+        }
+        String resumeFrom = decodeContinuationToken(continuationToken);
         
-        Path dirPath;
-        if (normalizedPath.isEmpty()) {
-            dirPath = pathResolver.getUploadsRoot();
-        } else {
-            dirPath = pathResolver.resolveExistingDirectory(normalizedPath);
+        DirectoryEtagIndex.DirectorySummary rootSummary = directoryEtagIndex.getSummary(normalizedPath);
+        if (rootSummary == null) {
+            log.error("Error reading directory for tree: {}", normalizedPath);
+            return null;
+        }
+        
+        ProfessorFolders professors = new ProfessorFolders();
+        DirectoryTreeDTO root = buildTreeNode(normalizedPath, rootSummary, currentUser, professors);
+        List<DirectoryTreeDTO> nodes = new ArrayList<>();
+        nodes.add(root);
+        
+        // Breadth-first, so a capped response holds the upper levels complete; nodes not reached
+        // keep childrenLoaded=false and are loaded lazily like any depth-limited node
+        int budget = Math.max(1, maxTreeNodes) - 1;
+        Deque<PendingTreeNode> pending = new ArrayDeque<>();
+        pending.add(new PendingTreeNode(root, rootSummary, depth));
+        
+        while (!pending.isEmpty() && budget > 0) {
+            PendingTreeNode parent = pending.poll();
+            if (parent.depth() <= 0 || !parent.node().isHasChildren()) {
+                continue;
+            }
+            
+            List<String> names = new ArrayList<>(parent.summary().subdirs());
+            names.sort(TREE_ORDER);
+            int start = 0;
+            if (parent.node() == root && resumeFrom != null) {
+                while (start < names.size() && TREE_ORDER.compare(names.get(start), resumeFrom) < 0) {
+                    start++;
+                }
+            }
+            
+            parent.node().setChildrenLoaded(true);
+            for (int i = start; i < names.size(); i++) {
+                if (budget == 0) {
+                    parent.node().setContinuationToken(encodeContinuationToken(names.get(i)));
+                    break;
+                }
+                String childPath = parent.node().getPath().isEmpty()
+                        ? names.get(i) : parent.node().getPath() + "/" + names.get(i);
+                if (!hasAccessToPath(childPath, currentUser)) {
+                    continue;
+                }
+                DirectoryEtagIndex.DirectorySummary childSummary = directoryEtagIndex.getSummary(childPath);
+                if (childSummary == null) {
+                    continue;
+                }
+                DirectoryTreeDTO child = buildTreeNode(childPath, childSummary, currentUser, professors);
+                parent.node().getChildren().add(child);
+                nodes.add(child);
+                pending.add(new PendingTreeNode(child, childSummary, parent.depth() - 1));
+                budget--;
+            }
         }
         
-        return buildTreeNode(dirPath, normalizedPath, currentUser, depth);
+        assignEntityIds(nodes);
+        return root;
     }
 
     @Override
@@ -186,54 +265,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
     @Override
     public String computeDirectoryETag(String relativePath) {
         String normalizedPath = pathResolver.normalizePath(relativePath);
-        
-        // Check cache
-        CachedETag cached = etagCache.get(normalizedPath);
-        if (cached != null && !cached.isExpired()) {
-            return cached.getEtag();
-        }
-        
-        Path dirPath;
-        if (normalizedPath.isEmpty()) {
-            dirPath = pathResolver.getUploadsRoot();
-        } else {
-            try {
-                dirPath = pathResolver.resolveExistingDirectory(normalizedPath);
-            } catch (InvalidPathException e) {
-                return "W/\"not-found\"";
-            }
-        }
-        
-        try {
-            BasicFileAttributes dirAttrs = Files.readAttributes(dirPath, BasicFileAttributes.class);
-            long lastModified = dirAttrs.lastModifiedTime().toMillis();
-            
-            // Collect names and sizes of immediate children
-            StringBuilder contentBuilder = new StringBuilder();
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirPath)) {
-                List<String> entries = new ArrayList<>();
-                for (Path entry : stream) {
-                    BasicFileAttributes attrs = Files.readAttributes(entry, BasicFileAttributes.class);
-                    entries.add(entry.getFileName().toString() + ":" + attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
-                }
-                Collections.sort(entries);
-                entries.forEach(e -> contentBuilder.append(e).append(";"));
-            }
-            
-            // Compute hash
-            String content = lastModified + "|" + contentBuilder.toString();
-            String hash = computeHash(content);
-            
-            String etag = "W/\"" + hash + "\"";
-            
-            // Cache the etag
-            etagCache.put(normalizedPath, new CachedETag(etag));
-            
-            return etag;
-        } catch (IOException e) {
-            log.error("Error computing ETag for: {}", normalizedPath, e);
-            return "W/\"error-" + System.currentTimeMillis() + "\"";
-        }
+        String etag = directoryEtagIndex.getEtag(normalizedPath);
+        return etag != null ? etag : "W/\"not-found\"";
     }
 
     @Override
@@ -241,9 +274,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         String normalizedPath = pathResolver.normalizePath(relativePath);
         log.debug("Invalidating cache for: {}", normalizedPath);
         
-        // Remove all cache entries starting with this path
-        listingCache.entrySet().removeIf(entry -> entry.getKey().startsWith(normalizedPath + ":"));
-        etagCache.remove(normalizedPath);
+        evictListings(normalizedPath);
+        directoryEtagIndex.directoryChanged(normalizedPath);
     }
 
     @Override
@@ -251,18 +283,37 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         String normalizedPath = pathResolver.normalizePath(relativePath);
         log.debug("Invalidating cache recursively for: {}", normalizedPath);
         
-        // Invalidate this path
+        // Invalidate this path; the ETag index carries the change up to the root itself
         invalidateCache(normalizedPath);
         
-        // Invalidate parent paths up to root
+        // Invalidate parent listings up to root
         String parentPath = pathResolver.getParentPath(normalizedPath);
         while (!parentPath.isEmpty()) {
-            invalidateCache(parentPath);
+            evictListings(parentPath);
             parentPath = pathResolver.getParentPath(parentPath);
         }
         
         // Invalidate root
-        invalidateCache("");
+        evictListings("");
+    }
+
+    @Override
+    public void invalidateAll() {
+        log.debug("Invalidating all directory listings and ETags");
+        listingCache.clear();
+        directoryEtagIndex.clear();
+    }
+
+    /**
+     * Keep listings and directory ETags current for uploads, replacements and
+     * deletions made through any service, not only the explorer endpoints.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.path() == null || !(event.isAbout(UploadedFile.class) || event.isAbout(Folder.class))) {
+            return;
+        }
+        invalidateCacheRecursive(pathResolver.getParentPath(event.path()));
     }
 
     @Override
@@ -287,7 +338,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
 
     // ==================== Private Helper Methods ====================
 
-    private FolderItemDTO buildFolderItem(Path path, String relativePath, BasicFileAttributes attrs, User currentUser) {
+    private FolderItemDTO buildFolderItem(Path path, String relativePath, BasicFileAttributes attrs, User currentUser,
+            ProfessorFolders professors) {
         String folderName = path.getFileName().toString();
         LocalDateTime modifiedAt = LocalDateTime.ofInstant(
                 attrs.lastModifiedTime().toInstant(), ZoneId.systemDefault());
@@ -303,16 +355,13 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         boolean canDelete = hasDeleteAccess(relativePath, currentUser);
         boolean isSystemFolder = isSystemFolder(folderType);
         
-        // Count items (non-recursive)
-        int itemCount = -1; // Default to -1 to indicate not computed
-        try {
-            itemCount = (int) Files.list(path).count();
-        } catch (IOException e) {
-            log.warn("Could not count items in folder: {}", relativePath);
-        }
+        // Count items (non-recursive) from the index; -1 if the folder could not be read
+        DirectoryEtagIndex.DirectorySummary summary = directoryEtagIndex.getSummary(relativePath);
+        int itemCount = summary != null ? summary.subdirs().size() + summary.fileCount() : -1;
         
         // Build metadata
-        FolderItemDTO.FolderMetadata metadata = buildFolderMetadata(relativePath, dbFolder.orElse(null), currentUser);
+        FolderItemDTO.FolderMetadata metadata = buildFolderMetadata(relativePath, dbFolder.orElse(null), currentUser,
+                professors);
         
         return FolderItemDTO.builder()
                 .name(folderName)
@@ -394,88 +443,67 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
                 .build();
     }
 
-    private DirectoryTreeDTO buildTreeNode(Path path, String relativePath, User currentUser, int depth) {
-        String name = relativePath.isEmpty() ? "Uploads" : path.getFileName().toString();
-        
-        BasicFileAttributes attrs;
-        try {
-            attrs = Files.readAttributes(path, BasicFileAttributes.class);
-        } catch (IOException e) {
-            log.error("Error reading attributes for: {}", relativePath, e);
-            return null;
-        }
-        
+    /**
+     * Build a tree node from the index summary; children are added by the caller.
+     * Reads nothing from disk and leaves the entity ID to {@link #assignEntityIds}.
+     */
+    private DirectoryTreeDTO buildTreeNode(String relativePath, DirectoryEtagIndex.DirectorySummary summary,
+            User currentUser, ProfessorFolders professors) {
+        String name = relativePath.isEmpty() ? "Uploads" : pathResolver.getName(relativePath);
         LocalDateTime modifiedAt = LocalDateTime.ofInstant(
-                attrs.lastModifiedTime().toInstant(), ZoneId.systemDefault());
-        
-        // Determine node type
-        String nodeType = determineNodeType(relativePath);
-        
-        // Count immediate children
-        int fileCount = 0;
-        int folderCount = 0;
-        boolean hasChildren = false;
-        
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
-            for (Path entry : stream) {
-                hasChildren = true;
-                if (Files.isDirectory(entry)) {
-                    folderCount++;
-                } else {
-                    fileCount++;
-                }
-            }
-        } catch (IOException e) {
-            log.warn("Error counting children for: {}", relativePath);
-        }
-        
-        // Build children if depth > 0
-        List<DirectoryTreeDTO> children = new ArrayList<>();
-        boolean childrenLoaded = false;
-        
-        if (depth > 0 && hasChildren) {
-            childrenLoaded = true;
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
-                for (Path entry : stream) {
-                    if (Files.isDirectory(entry)) {
-                        String childPath = pathResolver.toRelativePath(entry);
-                        if (hasAccessToPath(childPath, currentUser)) {
-                            DirectoryTreeDTO childNode = buildTreeNode(entry, childPath, currentUser, depth - 1);
-                            if (childNode != null) {
-                                children.add(childNode);
-                            }
-                        }
-                    }
-                }
-            } catch (IOException e) {
-                log.warn("Error loading children for: {}", relativePath);
-            }
-            
-            // Sort children by name
-            children.sort(Comparator.comparing(DirectoryTreeDTO::getName, String.CASE_INSENSITIVE_ORDER));
-        }
-        
-        // Build metadata
-        DirectoryTreeDTO.TreeNodeMetadata metadata = buildTreeMetadata(relativePath, currentUser);
+                Instant.ofEpochMilli(summary.modifiedMillis()), ZoneId.systemDefault());
         
         return DirectoryTreeDTO.builder()
                 .name(name)
                 .path(relativePath)
-                .type(nodeType)
-                .entityId(getFolderEntityId(relativePath))
+                .type(determineNodeType(relativePath))
                 .modifiedAt(modifiedAt)
-                .hasChildren(hasChildren)
-                .children(children)
-                .childrenLoaded(childrenLoaded)
+                .hasChildren(!summary.subdirs().isEmpty() || summary.fileCount() > 0)
                 .canWrite(hasWriteAccess(relativePath, currentUser))
                 .canDelete(hasDeleteAccess(relativePath, currentUser))
-                .etag(computeDirectoryETag(relativePath))
-                .fileCount(fileCount)
-                .folderCount(folderCount)
-                .metadata(metadata)
+                .etag(summary.etag())
+                .fileCount(summary.fileCount())
+                .folderCount(summary.subdirs().size())
+                .totalSize(summary.fileSize())
+                .metadata(buildTreeMetadata(relativePath, currentUser, professors))
                 .build();
     }
 
+    /**
+     * Fill in folder entity IDs with one query per batch instead of one per node.
+     */
+    private void assignEntityIds(List<DirectoryTreeDTO> nodes) {
+        Map<String, DirectoryTreeDTO> byPath = new HashMap<>();
+        for (DirectoryTreeDTO node : nodes) {
+            byPath.put(node.getPath(), node);
+        }
+        List<String> paths = new ArrayList<>(byPath.keySet());
+        for (int from = 0; from < paths.size(); from += ENTITY_ID_BATCH_SIZE) {
+            List<String> batch = paths.subList(from, Math.min(from + ENTITY_ID_BATCH_SIZE, paths.size()));
+            for (Object[] row : folderRepository.findIdsByPathIn(batch)) {
+                DirectoryTreeDTO node = byPath.get((String) row[0]);
+                if (node != null) {
+                    node.setEntityId((Long) row[1]);
+                }
+            }
+        }
+    }
+
+    private static String encodeContinuationToken(String childName) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(childName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeContinuationToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPathException("Invalid continuation token");
+        }
+    }
+
     private String determineFolderType(String relativePath) {
         String[] parts = relativePath.split("/");
         switch (parts.length) {
@@ -510,7 +538,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
                "DOCUMENT_TYPE".equals(folderType);
     }
 
-    private FolderItemDTO.FolderMetadata buildFolderMetadata(String relativePath, Folder dbFolder, User currentUser) {
+    private FolderItemDTO.FolderMetadata buildFolderMetadata(String relativePath, Folder dbFolder, User currentUser,
+            ProfessorFolders professors) {
         String[] parts = relativePath.split("/");
         
         FolderItemDTO.FolderMetadata.FolderMetadataBuilder builder = FolderItemDTO.FolderMetadata.builder();
@@ -518,7 +547,7 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         if (parts.length >= 3) {
             // Professor folder or deeper
             String professorFolderName = parts[2];
-            Optional<User> professor = findProfessorByFolderName(professorFolderName);
+            Optional<User> professor = professors.find(professorFolderName);
             if (professor.isPresent()) {
                 User prof = professor.get();
                 builder.professorId(prof.getId())
@@ -535,7 +564,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         return builder.build();
     }
 
-    private DirectoryTreeDTO.TreeNodeMetadata buildTreeMetadata(String relativePath, User currentUser) {
+    private DirectoryTreeDTO.TreeNodeMetadata buildTreeMetadata(String relativePath, User currentUser,
+            ProfessorFolders professors) {
         String[] parts = relativePath.split("/");
         
         DirectoryTreeDTO.TreeNodeMetadata.TreeNodeMetadataBuilder builder = 
@@ -549,7 +579,7 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         }
         if (parts.length >= 3) {
             String professorFolderName = parts[2];
-            Optional<User> professor = findProfessorByFolderName(professorFolderName);
+            Optional<User> professor = professors.find(professorFolderName);
             if (professor.isPresent()) {
                 User prof = professor.get();
                 builder.professorId(prof.getId())
@@ -570,73 +600,14 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         return builder.build();
     }
 
-    private Optional<User> findProfessorByFolderName(String folderName) {
-        // Try to find professor whose full name matches the folder name
-        List<User> professors = userRepository.findByRole(Role.ROLE_PROFESSOR);
-        for (User prof : professors) {
-            String fullName = (prof.getFirstName() + " " + prof.getLastName()).trim();
-            String sanitized = fullName.replaceAll("[\\\\/:*?\"<>|]", "_")
-                    .replaceAll("\\s+", " ")
-                    .replaceAll("_+", "_")
-                    .trim();
-            if (sanitized.equals(folderName) || fullName.equals(folderName)) {
-                return Optional.of(prof);
-            }
-        }
-        
-        // Try prof_<id> format
-        if (folderName.startsWith("prof_")) {
-            try {
-                Long id = Long.parseLong(folderName.substring(5));
-                return userRepository.findById(id);
-            } catch (NumberFormatException e) {
-                // Ignore
-            }
-        }
-        
-        return Optional.empty();
-    }
-
-    private Long getFolderEntityId(String relativePath) {
-        Optional<Folder> folder = folderRepository.findByPath(relativePath);
-        return folder.map(Folder::getId).orElse(null);
-    }
-
     private boolean hasAccessToPath(String relativePath, User currentUser) {
-        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_DEANSHIP) {
-            return true;
-        }
-        
         String[] parts = relativePath.split("/");
         if (parts.length < 3) {
             return true; // Year/semester level is accessible to all authenticated users
         }
         
-        // For HOD, check if professor is in their department
-        if (currentUser.getRole() == Role.ROLE_HOD) {
-            String professorFolderName = parts[2];
-            Optional<User> professor = findProfessorByFolderName(professorFolderName);
-            if (professor.isPresent() && currentUser.getDepartment() != null) {
-                User prof = professor.get();
-                return prof.getDepartment() != null && 
-                       prof.getDepartment().getId().equals(currentUser.getDepartment().getId());
-            }
-            return false;
-        }
-        
-        // For Professor, check if it's their own folder or same department
-        if (currentUser.getRole() == Role.ROLE_PROFESSOR) {
-            String professorFolderName = parts[2];
-            Optional<User> professor = findProfessorByFolderName(professorFolderName);
-            if (professor.isPresent() && currentUser.getDepartment() != null) {
-                User prof = professor.get();
-                return prof.getDepartment() != null && 
-                       prof.getDepartment().getId().equals(currentUser.getDepartment().getId());
-            }
-            return false;
-        }
-        
-        return false;
+        // Admin and Deanship see every professor folder; HOD and Professor those of their department
+        return accessContextService.forUser(currentUser).canAccessProfessorFolder(parts[2]);
     }
 
     private boolean hasWriteAccess(String relativePath, User currentUser) {
@@ -649,15 +620,7 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
             return false; // Can't write at year/semester level
         }
         
-        String professorFolderName = parts[2];
-        String profFullName = (currentUser.getFirstName() + " " + currentUser.getLastName()).trim()
-                .replaceAll("[\\\\/:*?\"<>|]", "_")
-                .replaceAll("\\s+", " ")
-                .replaceAll("_+", "_")
-                .trim();
-        
-        return professorFolderName.equals(profFullName) || 
-               professorFolderName.equals("prof_" + currentUser.getId());
+        return accessContextService.forUser(currentUser).ownsProfessorFolder(parts[2]);
     }
 
     private boolean hasDeleteAccess(String relativePath, User currentUser) {
@@ -775,18 +738,8 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
         }
     }
 
-    private String computeHash(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] digest = md.digest(input.getBytes());
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString().substring(0, 12); // First 12 chars
-        } catch (NoSuchAlgorithmException e) {
-            return Long.toHexString(input.hashCode());
-        }
+    private void evictListings(String normalizedPath) {
+        listingCache.entrySet().removeIf(entry -> entry.getKey().startsWith(normalizedPath + ":"));
     }
 
     private String buildCacheKey(String path, Long userId, int page, int pageSize, String sortBy, String sortOrder) {
@@ -795,35 +748,62 @@ public class FilesystemScanServiceImpl implements FilesystemScanService {
 
     // ==================== Cache Classes ====================
 
-    private static class CachedDirectoryListing {
-        private final DirectoryListingDTO listing;
-        private final long timestamp;
+    private record PendingTreeNode(DirectoryTreeDTO node, DirectoryEtagIndex.DirectorySummary summary, int depth) {
+    }
 
-        CachedDirectoryListing(DirectoryListingDTO listing) {
-            this.listing = listing;
-            this.timestamp = System.currentTimeMillis();
-        }
+    /**
+     * Professor folder lookups for one request: the professors are loaded once and
+     * each folder name is resolved once, however many nodes share it.
+     */
+    private class ProfessorFolders {
+        private final Map<String, Optional<User>> byFolderName = new HashMap<>();
+        private List<User> professors;
 
-        DirectoryListingDTO getListing() {
-            return listing;
+        Optional<User> find(String folderName) {
+            return byFolderName.computeIfAbsent(folderName, this::lookup);
         }
 
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_TTL_MS;
+        private Optional<User> lookup(String folderName) {
+            // Try to find professor whose full name matches the folder name
+            if (professors == null) {
+                professors = userRepository.findByRole(Role.ROLE_PROFESSOR);
+            }
+            for (User prof : professors) {
+                String fullName = (prof.getFirstName() + " " + prof.getLastName()).trim();
+                String sanitized = fullName.replaceAll("[\\\\/:*?\"<>|]", "_")
+                        .replaceAll("\\s+", " ")
+                        .replaceAll("_+", "_")
+                        .trim();
+                if (sanitized.equals(folderName) || fullName.equals(folderName)) {
+                    return Optional.of(prof);
+                }
+            }
+            
+            // Try prof_<id> format
+            if (folderName.startsWith("prof_")) {
+                try {
+                    Long id = Long.parseLong(folderName.substring(5));
+                    return userRepository.findById(id);
+                } catch (NumberFormatException e) {
+                    // Ignore
+                }
+            }
+            
+            return Optional.empty();
         }
     }
 
-    private static class CachedETag {
-        private final String etag;
+    private static class CachedDirectoryListing {
+        private final DirectoryListingDTO listing;
         private final long timestamp;
 
-        CachedETag(String etag) {
-            this.etag = etag;
+        CachedDirectoryListing(DirectoryListingDTO listing) {
+            this.listing = listing;
             this.timestamp = System.currentTimeMillis();
         }
 
-        String getEtag() {
-            return etag;
+        DirectoryListingDTO getListing() {
+            return listing;
         }
 
         boolean isExpired() {
@@ -0,0 +1,37 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+/**
+ * Background matching of Folder and UploadedFile records against the uploads
+ * directory, one folder at a time:
+ * - subdirectories added directly on disk below a course or custom folder get
+ *   a CUSTOM Folder record
+ * - custom folders whose directory is gone are removed with their contents
+ * - file records whose content is gone are removed
+ *
+ * Explorer reads never write; they only ask for the folders they show to be
+ * checked with {@link #requestScan}. All folders are also swept in small batches
+ * ({@code file.discovery.batch-size} every {@code file.discovery.interval-ms}).
+ *
+ * Entries younger than a minute are left alone, so folders and files that are
+ * being created by a request are not mistaken for strays.
+ *
+ * @since 2.1
+ */
+public interface FolderDiscoveryService {
+
+    /**
+     * Queue a folder to be checked against the disk. Returns immediately; folders
+     * checked within the last minute are skipped.
+     *
+     * @param folderId the folder ID (ignored if null)
+     */
+    void requestScan(Long folderId);
+
+    /**
+     * Check one folder against the disk now, in its own transaction.
+     *
+     * @param folderId the folder ID
+     * @return number of records created or removed
+     */
+    int scanFolder(Long folderId);
+}
@@ -0,0 +1,331 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.exception.file.InvalidPathException;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
+import com.alquds.edu.ArchiveSystem.util.SafePathResolver;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Implementation of FolderDiscoveryService.
+ *
+ * Requested folders and the periodic sweep share one background thread, and
+ * each folder is checked in its own transaction, so a slow disk never holds
+ * locks for more than one directory. The sweep walks COURSE, SUBFOLDER and
+ * CUSTOM folders in ID order from where the previous batch stopped and starts
+ * over after the last one.
+ *
+ * Primary folders missing on disk are recreated by {@link FileReconciliationService},
+ * not removed here. Nothing is removed while the uploads root is missing, or
+ * for an entry whose parent directory is missing: an unmounted volume or a
+ * moved parent would otherwise look like every entry below it was deleted.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class FolderDiscoveryServiceImpl implements FolderDiscoveryService {
+
+    private static final Set<FolderType> SCANNED_TYPES =
+            EnumSet.of(FolderType.COURSE, FolderType.SUBFOLDER, FolderType.CUSTOM);
+    // Subdirectories below these become custom folders
+    private static final Set<FolderType> DISCOVERING_TYPES = EnumSet.of(FolderType.COURSE, FolderType.CUSTOM);
+    private static final Duration GRACE_PERIOD = Duration.ofMinutes(1);
+    private static final long RESCAN_AFTER_MILLIS = 60_000;
+    private static final int MAX_REMEMBERED_SCANS = 10_000;
+
+    private final FolderRepository folderRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final SafePathResolver pathResolver;
+    private final FilesystemScanService filesystemScanService;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> lastScanned = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_REMEMBERED_SCANS;
+        }
+    };
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "folder-discovery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Last folder ID of the previous sweep batch; only touched on the worker thread
+    private long sweepAfterId;
+
+    public FolderDiscoveryServiceImpl(FolderRepository folderRepository,
+            UploadedFileRepository uploadedFileRepository,
+            SafePathResolver pathResolver,
+            FilesystemScanService filesystemScanService,
+            DataVersionService dataVersionService,
+            PlatformTransactionManager transactionManager,
+            @Value("${file.discovery.enabled:true}") boolean enabled,
+            @Value("${file.discovery.batch-size:200}") int batchSize) {
+        this.folderRepository = folderRepository;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.pathResolver = pathResolver;
+        this.filesystemScanService = filesystemScanService;
+        this.dataVersionService = dataVersionService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @Override
+    public void requestScan(Long folderId) {
+        if (!enabled || folderId == null || scannedRecently(folderId) || !pending.add(folderId)) {
+            return;
+        }
+        worker.execute(() -> {
+            if (pending.remove(folderId)) {
+                scanQuietly(folderId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${file.discovery.interval-ms:30000}")
+    public void sweep() {
+        if (enabled) {
+            worker.execute(this::sweepBatch);
+        }
+    }
+
+    /**
+     * Check the next batch of folders. Runs on the worker thread.
+     */
+    void sweepBatch() {
+        if (!uploadsRootAvailable()) {
+            return;
+        }
+        List<Long> ids;
+        try {
+            ids = folderRepository.findIdsByTypeInAfter(SCANNED_TYPES, sweepAfterId, PageRequest.of(0, batchSize));
+        } catch (RuntimeException e) {
+            log.warn("Folder discovery sweep failed: {}", e.getMessage());
+            return;
+        }
+        int changes = 0;
+        for (Long id : ids) {
+            if (!scannedRecently(id)) {
+                changes += scanQuietly(id);
+            }
+        }
+        sweepAfterId = ids.size() < batchSize ? 0L : ids.get(ids.size() - 1);
+        if (changes > 0) {
+            log.info("Folder discovery sweep: {} folders checked, {} records created or removed", ids.size(), changes);
+        }
+    }
+
+    @Override
+    public int scanFolder(Long folderId) {
+        remember(folderId);
+        Integer changes = transaction.execute(status -> folderRepository.findById(folderId)
+                .map(this::reconcile)
+                .orElse(0));
+        return changes != null ? changes : 0;
+    }
+
+    private int scanQuietly(Long folderId) {
+        try {
+            return scanFolder(folderId);
+        } catch (RuntimeException e) {
+            log.warn("Folder discovery failed for folder {}: {}", folderId, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Match one folder's direct files and subfolders with its directory.
+     */
+    private int reconcile(Folder folder) {
+        Path directory = resolve(folder.getPath());
+        if (directory == null || !uploadsRootAvailable()) {
+            return 0;
+        }
+        if (!Files.isDirectory(directory)) {
+            if (folder.getType() == FolderType.CUSTOM && isSettled(folder.getCreatedAt())
+                    && Files.isDirectory(directory.getParent())) {
+                log.info("Custom folder no longer exists on disk, removing DB record: {} (ID: {})",
+                        folder.getPath(), folder.getId());
+                int removed = deleteRecursively(folder);
+                filesystemScanService.invalidateCache(parentPath(folder.getPath()));
+                dataVersionService.folderChanged(folder.getParent() != null ? folder.getParent() : folder);
+                return removed;
+            }
+            return 0;
+        }
+
+        int changes = 0;
+        for (UploadedFile file : uploadedFileRepository.findByFolderId(folder.getId())) {
+            if (isSettled(file.getCreatedAt()) && !fileExists(file)) {
+                log.info("File no longer exists on disk, removing DB record: {} (ID: {})",
+                        file.getFileUrl(), file.getId());
+                uploadedFileRepository.delete(file);
+                changes++;
+            }
+        }
+
+        List<Folder> children = folderRepository.findByParentId(folder.getId());
+        Set<String> known = new HashSet<>();
+        for (Folder child : children) {
+            known.add(child.getName());
+            known.add(child.getPath());
+            if (child.getType() == FolderType.CUSTOM && isSettled(child.getCreatedAt())) {
+                Path childDirectory = resolve(child.getPath());
+                if (childDirectory != null && !Files.isDirectory(childDirectory)) {
+                    log.info("Custom folder no longer exists on disk, removing DB record: {} (ID: {})",
+                            child.getPath(), child.getId());
+                    changes += deleteRecursively(child);
+                }
+            }
+        }
+
+        if (DISCOVERING_TYPES.contains(folder.getType())) {
+            changes += createMissingSubfolders(folder, directory, known);
+        }
+        if (changes > 0) {
+            filesystemScanService.invalidateCache(folder.getPath());
+            dataVersionService.folderChanged(folder);
+        }
+        return changes;
+    }
+
+    /**
+     * Create CUSTOM folder records for subdirectories whose name or path no child has.
+     */
+    private int createMissingSubfolders(Folder folder, Path directory, Set<String> known) {
+        int created = 0;
+        long settledBefore = System.currentTimeMillis() - GRACE_PERIOD.toMillis();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                String path = folder.getPath() + "/" + name;
+                if (name.startsWith(".") || known.contains(name) || known.contains(path) || !Files.isDirectory(entry)
+                        || Files.getLastModifiedTime(entry).toMillis() > settledBefore
+                        || folderRepository.findByPath(path).isPresent()) {
+                    continue;
+                }
+                Folder discovered = folderRepository.save(Folder.builder()
+                        .path(path)
+                        .name(name)
+                        .type(FolderType.CUSTOM)
+                        .parent(folder)
+                        .owner(folder.getOwner())
+                        .academicYear(folder.getAcademicYear())
+                        .semester(folder.getSemester())
+                        .course(folder.getCourse())
+                        .build());
+                log.info("Created DB record for physical folder: {} (ID: {})", path, discovered.getId());
+                created++;
+            }
+        } catch (IOException e) {
+            log.warn("Error scanning physical folder for subfolders: {} - {}", folder.getPath(), e.getMessage());
+        }
+        return created;
+    }
+
+    /**
+     * Delete a folder record with its subfolders and file records, deepest first.
+     *
+     * @return number of records removed
+     */
+    private int deleteRecursively(Folder folder) {
+        int removed = 0;
+        for (Folder child : folderRepository.findByParentId(folder.getId())) {
+            removed += deleteRecursively(child);
+        }
+        List<UploadedFile> files = uploadedFileRepository.findByFolderId(folder.getId());
+        uploadedFileRepository.deleteAll(files);
+        folderRepository.delete(folder);
+        return removed + files.size() + 1;
+    }
+
+    private boolean fileExists(UploadedFile file) {
+        if (file.getFileUrl() == null || file.getFileUrl().isEmpty()) {
+            return true;
+        }
+        Path path = resolve(file.getFileUrl());
+        return path == null || Files.isRegularFile(path) || !Files.isDirectory(path.getParent());
+    }
+
+    private boolean uploadsRootAvailable() {
+        if (Files.isDirectory(pathResolver.getUploadsRoot())) {
+            return true;
+        }
+        log.warn("Uploads root {} is not available, skipping folder discovery", pathResolver.getUploadsRoot());
+        return false;
+    }
+
+    private Path resolve(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return null;
+        }
+        try {
+            return pathResolver.resolve(relativePath);
+        } catch (InvalidPathException e) {
+            log.warn("Skipping folder discovery for invalid path {}: {}", relativePath, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isSettled(LocalDateTime createdAt) {
+        return createdAt == null || createdAt.isBefore(LocalDateTime.now().minus(GRACE_PERIOD));
+    }
+
+    private static String parentPath(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        return lastSlash < 0 ? "" : path.substring(0, lastSlash);
+    }
+
+    private boolean scannedRecently(Long folderId) {
+        synchronized (lastScanned) {
+            Long scannedAt = lastScanned.get(folderId);
+            return scannedAt != null && System.currentTimeMillis() - scannedAt < RESCAN_AFTER_MILLIS;
+        }
+    }
+
+    private void remember(Long folderId) {
+        synchronized (lastScanned) {
+            lastScanned.put(folderId, System.currentTimeMillis());
+        }
+    }
+}
@@ -67,6 +67,16 @@ public interface FolderFileUploadService {
      */
     void validateFile(MultipartFile file);
     
+    /**
+     * Validate a file by name and size, for uploads that do not arrive as a
+     * single MultipartFile (e.g. chunked uploads).
+     * 
+     * @param filename Original filename
+     * @param size File size in bytes
+     * @throws com.alquds.edu.ArchiveSystem.exception.FileValidationException if validation fails
+     */
+    void validateFile(String filename, long size);
+    
     /**
      * Generate a safe filename by sanitizing and handling duplicates.
      * 
@@ -88,6 +98,29 @@ public interface FolderFileUploadService {
      */
     String generateSafeFilename(String originalFilename, Path targetPath);
     
+    /**
+     * Resolve the target folder of an upload and check the uploader may write to it.
+     * 
+     * @param folderId Target folder ID (optional if folderPath provided)
+     * @param folderPath Target folder path, created if needed (optional if folderId provided)
+     * @param uploader User performing the upload
+     * @return the target folder
+     * @throws com.alquds.edu.ArchiveSystem.exception.FolderNotFoundException if folder doesn't exist
+     * @throws com.alquds.edu.ArchiveSystem.exception.UnauthorizedException if user doesn't have permission
+     * @throws IllegalArgumentException if both folderId and folderPath are null
+     */
+    Folder resolveTargetFolder(Long folderId, String folderPath, User uploader);
+    
+    /**
+     * Publish uploaded files: bump the folder's data version and notify HOD and Dean
+     * about files a professor uploaded. Notification failures are logged, not thrown.
+     * 
+     * @param uploader User who uploaded the files
+     * @param folder Folder the files were uploaded to
+     * @param uploadedFiles Uploaded files
+     */
+    void notifyUpload(User uploader, Folder folder, List<UploadedFile> uploadedFiles);
+    
     /**
      * Check if user has permission to upload files to the specified folder.
      * 
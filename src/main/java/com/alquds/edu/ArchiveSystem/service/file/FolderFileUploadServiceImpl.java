@@ -1,6 +1,7 @@
 package com.alquds.edu.ArchiveSystem.service.file;
 
 import com.alquds.edu.ArchiveSystem.service.user.NotificationService;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 
 import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
@@ -31,11 +32,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of FolderFileUploadService for handling file uploads to
@@ -60,6 +62,8 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
     private final UserRepository userRepository;
     private final FolderService folderService;
     private final NotificationService notificationService;
+    private final UploadFileWriter uploadFileWriter;
+    private final DataVersionService dataVersionService;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
@@ -88,7 +92,77 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
         }
         log.info("Files provided: {}", files.length);
 
-        // 2. Resolve folder ID from path if needed
+        // 2. Resolve target folder and check authorization
+        User uploader = userRepository.findById(java.util.Objects.requireNonNull(uploaderId))
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + uploaderId));
+        Folder folder = resolveTargetFolder(folderId, folderPath, uploader);
+
+        // 3. Validate all files first
+        for (MultipartFile file : files) {
+            validateFile(file);
+        }
+
+        log.debug("All files validated successfully");
+
+        // 4. Prepare physical directory
+        Path targetDir = Paths.get(uploadDir, folder.getPath());
+        try {
+            Files.createDirectories(targetDir);
+            log.debug("Created/verified directory: {}", targetDir);
+        } catch (IOException e) {
+            log.error("Failed to create directory: {}", targetDir, e);
+            throw FileStorageException.directoryCreationFailed(targetDir.toString(), e);
+        }
+
+        // 5. Pick target names up front so files in the same batch never collide
+        List<String> safeFilenames = new ArrayList<>(files.length);
+        List<UploadFileWriter.PendingWrite> writes = new ArrayList<>(files.length);
+        Set<String> reservedFilenames = new HashSet<>();
+        for (MultipartFile file : files) {
+            String safeFilename = generateSafeFilename(file.getOriginalFilename(), targetDir, reservedFilenames);
+            reservedFilenames.add(safeFilename);
+            safeFilenames.add(safeFilename);
+            writes.add(new UploadFileWriter.PendingWrite(file, targetDir.resolve(safeFilename)));
+            log.debug("Uploading file: {} -> {}", file.getOriginalFilename(), safeFilename);
+        }
+
+        // 6. Save files to disk in parallel; none are kept if one fails
+        List<UploadFileWriter.WrittenFile> written = uploadFileWriter.writeAll(writes);
+
+        // 7. Create database entities in one batch
+        List<UploadedFile> uploadedFiles = new ArrayList<>(files.length);
+        for (int i = 0; i < files.length; i++) {
+            MultipartFile file = files[i];
+            String safeFilename = safeFilenames.get(i);
+            UploadedFile uploadedFile = UploadedFile.builder()
+                    .folder(folder)
+                    .originalFilename(file.getOriginalFilename())
+                    .storedFilename(safeFilename)
+                    .fileUrl(folder.getPath() + "/" + safeFilename)
+                    .fileType(file.getContentType())
+                    .uploader(uploader)
+                    .notes(notes)
+                    .build();
+            written.get(i).applyTo(uploadedFile);
+            uploadedFiles.add(uploadedFile);
+        }
+        uploadedFiles = uploadedFileRepository.saveAll(uploadedFiles);
+
+        for (UploadedFile uploadedFile : uploadedFiles) {
+            log.info("Successfully uploaded file: {} to {} (ID: {})",
+                    uploadedFile.getStoredFilename(), folder.getPath(), uploadedFile.getId());
+        }
+
+        log.info("Upload complete: {} files uploaded to folder {}", uploadedFiles.size(), folderId);
+        
+        notifyUpload(uploader, folder, uploadedFiles);
+        
+        log.info("=== SERVICE: UPLOAD FILES COMPLETE ===");
+        return uploadedFiles;
+    }
+    
+    @Override
+    public Folder resolveTargetFolder(Long folderId, String folderPath, User uploader) {
         final Long resolvedFolderId;
         if (folderId == null && folderPath != null) {
             log.info("Folder ID not provided, resolving from path: {}", folderPath);
@@ -101,7 +175,7 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
                 resolvedFolderId = customFolderId;
             } else {
                 // Standard path - use getOrCreateFolderByPath
-                Folder folderFromPath = folderService.getOrCreateFolderByPath(folderPath, uploaderId);
+                Folder folderFromPath = folderService.getOrCreateFolderByPath(folderPath, uploader.getId());
                 resolvedFolderId = folderFromPath.getId();
             }
             log.info("Folder resolved with ID: {}", resolvedFolderId);
@@ -112,80 +186,26 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
             throw new IllegalArgumentException("Either folderId or folderPath must be provided");
         }
 
-        // 3. Get folder and validate existence
         Folder folder = folderRepository.findById(java.util.Objects.requireNonNull(resolvedFolderId))
                 .orElseThrow(() -> FolderNotFoundException.byId(resolvedFolderId));
 
         log.debug("Found folder: {} (path: {})", folder.getName(), folder.getPath());
 
-        // 4. Get uploader and validate authorization
-        User uploader = userRepository.findById(java.util.Objects.requireNonNull(uploaderId))
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + uploaderId));
-
         if (!canUploadToFolder(folder, uploader)) {
-            log.warn("Unauthorized upload attempt by user {} to folder {}", uploaderId, resolvedFolderId);
-            throw UnauthorizedException.uploadNotAuthorized(uploaderId, resolvedFolderId);
+            log.warn("Unauthorized upload attempt by user {} to folder {}", uploader.getId(), resolvedFolderId);
+            throw UnauthorizedException.uploadNotAuthorized(uploader.getId(), resolvedFolderId);
         }
 
         log.debug("User {} authorized to upload to folder {}", uploader.getEmail(), folder.getName());
+        return folder;
+    }
 
-        // 5. Validate all files first
-        for (MultipartFile file : files) {
-            validateFile(file);
-        }
-
-        log.debug("All files validated successfully");
-
-        // 5. Prepare physical directory
-        Path targetDir = Paths.get(uploadDir, folder.getPath());
-        try {
-            Files.createDirectories(targetDir);
-            log.debug("Created/verified directory: {}", targetDir);
-        } catch (IOException e) {
-            log.error("Failed to create directory: {}", targetDir, e);
-            throw FileStorageException.directoryCreationFailed(targetDir.toString(), e);
-        }
-
-        // 6. Upload files and create entities
-        List<UploadedFile> uploadedFiles = new ArrayList<>();
-
-        for (MultipartFile file : files) {
-            try {
-                // Generate safe filename
-                String safeFilename = generateSafeFilename(file.getOriginalFilename(), targetDir);
-                Path targetPath = targetDir.resolve(safeFilename);
-
-                log.debug("Uploading file: {} -> {}", file.getOriginalFilename(), safeFilename);
-
-                // Save file to disk
-                Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-
-                // Create database entity
-                UploadedFile uploadedFile = UploadedFile.builder()
-                        .folder(folder)
-                        .originalFilename(file.getOriginalFilename())
-                        .storedFilename(safeFilename)
-                        .fileUrl(folder.getPath() + "/" + safeFilename)
-                        .fileSize(file.getSize())
-                        .fileType(file.getContentType())
-                        .uploader(uploader)
-                        .notes(notes)
-                        .build();
-
-                uploadedFile = uploadedFileRepository.save(java.util.Objects.requireNonNull(uploadedFile));
-                uploadedFiles.add(uploadedFile);
-
-                log.info("Successfully uploaded file: {} to {} (ID: {})",
-                        safeFilename, folder.getPath(), uploadedFile.getId());
-
-            } catch (IOException e) {
-                log.error("Failed to upload file: {}", file.getOriginalFilename(), e);
-                throw FileStorageException.fileWriteFailed(file.getOriginalFilename(), e);
-            }
+    @Override
+    public void notifyUpload(User uploader, Folder folder, List<UploadedFile> uploadedFiles) {
+        if (!uploadedFiles.isEmpty()) {
+            dataVersionService.folderChanged(folder);
         }
 
-        log.info("Upload complete: {} files uploaded to folder {}", uploadedFiles.size(), folderId);
-        
         // Trigger notification for professor uploads
         if (uploader.getRole() == Role.ROLE_PROFESSOR && !uploadedFiles.isEmpty()) {
             try {
@@ -195,9 +215,6 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
                 log.warn("Failed to send notification for file upload: {}", e.getMessage());
             }
         }
-        
-        log.info("=== SERVICE: UPLOAD FILES COMPLETE ===");
-        return uploadedFiles;
     }
     
     /**
@@ -280,14 +297,21 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
             throw FileValidationException.fileEmpty();
         }
 
+        validateFile(file.getOriginalFilename(), file.getSize());
+    }
+
+    @Override
+    public void validateFile(String filename, long size) {
+        if (size <= 0) {
+            throw FileValidationException.fileEmpty();
+        }
+
         // Check file size
-        if (file.getSize() > maxFileSize) {
-            throw FileValidationException.fileTooLarge(
-                    file.getOriginalFilename(), file.getSize(), maxFileSize);
+        if (size > maxFileSize) {
+            throw FileValidationException.fileTooLarge(filename, size, maxFileSize);
         }
 
         // Check file type
-        String filename = file.getOriginalFilename();
         if (filename == null || filename.isEmpty()) {
             throw FileValidationException.invalidFilename(filename);
         }
@@ -302,12 +326,19 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
 
     @Override
     public String generateSafeFilename(String originalFilename, Path targetPath) {
+        return generateSafeFilename(originalFilename, targetPath, Set.of());
+    }
+
+    /**
+     * Same as {@link #generateSafeFilename(String, Path)}, additionally treating
+     * names already picked for the current batch as taken.
+     */
+    private String generateSafeFilename(String originalFilename, Path targetPath, Set<String> reserved) {
         // Sanitize filename - replace special characters with underscore
         String sanitized = originalFilename.replaceAll("[^a-zA-Z0-9._-]", "_");
 
         // Handle duplicates by appending number
-        Path targetFile = targetPath.resolve(sanitized);
-        if (!Files.exists(targetFile)) {
+        if (!reserved.contains(sanitized) && !Files.exists(targetPath.resolve(sanitized))) {
             return sanitized;
         }
 
@@ -320,7 +351,7 @@ public class FolderFileUploadServiceImpl implements FolderFileUploadService {
         do {
             newFilename = nameWithoutExt + "(" + counter + ")." + extension;
             counter++;
-        } while (Files.exists(targetPath.resolve(newFilename)));
+        } while (reserved.contains(newFilename) || Files.exists(targetPath.resolve(newFilename)));
 
         log.debug("Generated safe filename: {} -> {}", originalFilename, newFilename);
         return newFilename;
@@ -0,0 +1,62 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Service for bulk ZIP export of a file explorer node (semester, professor,
+ * course, document type or custom folder).
+ *
+ * Export happens in two steps so the archive can be streamed after the request
+ * transaction has ended:
+ * 1. {@link #prepareExport} walks the node, checks access per file and resolves
+ *    each file to its location on disk
+ * 2. {@link #writeZip} streams the files into a ZIP without temp files or buffering
+ *
+ * @since 2.1
+ */
+public interface FolderZipExportService {
+
+    /**
+     * One file in the archive.
+     *
+     * @param name   entry name inside the ZIP (folder names of the explorer tree + original filename)
+     * @param file   physical file
+     * @param stored {@code true} to store the entry uncompressed (already-compressed formats)
+     */
+    record Entry(String name, Path file, boolean stored) {
+    }
+
+    /**
+     * A prepared export.
+     *
+     * @param filename     suggested name of the ZIP file
+     * @param entries      files to write, in tree order
+     * @param skippedFiles files under the node left out because the user may not access them
+     *                     or they are missing on disk
+     */
+    record ZipExport(String filename, List<Entry> entries, int skippedFiles) {
+    }
+
+    /**
+     * Collect the files under an explorer node that the user may download.
+     *
+     * @param nodePath    explorer path, e.g. {@code /2024-2025/first/Jane Doe/CS101}
+     * @param currentUser the requesting user
+     * @return the export plan
+     * @throws com.alquds.edu.ArchiveSystem.exception.auth.UnauthorizedOperationException if the user cannot read the node
+     */
+    ZipExport prepareExport(String nodePath, User currentUser);
+
+    /**
+     * Write a prepared export as a ZIP archive.
+     *
+     * @param export prepared export
+     * @param out    response stream; not closed
+     */
+    void writeZip(ZipExport export, OutputStream out) throws IOException;
+}
@@ -0,0 +1,230 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileExplorerNode;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.NodeType;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.UploadedFileDTO;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Implementation of FolderZipExportService.
+ *
+ * The explorer tree is walked through {@link FileExplorerService#getNode}, so the
+ * archive has exactly the folders the user sees in the explorer. Every file is then
+ * checked with {@link FileAccessService#canAccessFile(User, UploadedFile)}; files the
+ * user may not download are left out rather than failing the whole export.
+ *
+ * Formats that are already compressed are written as STORED entries. STORED entries
+ * need their CRC before the data, which costs one extra sequential read of the file
+ * but no compression work; everything else is deflated.
+ *
+ * @since 2.1
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FolderZipExportServiceImpl implements FolderZipExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "pdf", "docx", "xlsx", "pptx", "jpg", "jpeg", "png", "gif", "webp",
+            "zip", "rar", "7z", "gz", "bz2", "xz", "mp3", "mp4", "m4a", "mov", "avi");
+
+    private final FileExplorerService fileExplorerService;
+    private final FileAccessService fileAccessService;
+    private final FileService fileService;
+    private final UploadedFileRepository uploadedFileRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ZipExport prepareExport(String nodePath, User currentUser) {
+        log.info("Preparing ZIP export of {} for user {}", nodePath, currentUser.getEmail());
+
+        FileExplorerNode root = fileExplorerService.getNode(nodePath, currentUser);
+
+        // Walk the tree, remembering the ZIP folder of every file
+        Map<Long, String> folderByFileId = new LinkedHashMap<>();
+        collectFiles(root, "", currentUser, folderByFileId);
+
+        Map<Long, UploadedFile> files = uploadedFileRepository.findAllById(folderByFileId.keySet()).stream()
+                .collect(Collectors.toMap(UploadedFile::getId, Function.identity()));
+
+        List<Entry> entries = new ArrayList<>(folderByFileId.size());
+        Set<String> usedNames = new HashSet<>();
+        int skipped = 0;
+        for (Map.Entry<Long, String> item : folderByFileId.entrySet()) {
+            UploadedFile file = files.get(item.getKey());
+            if (file == null || !fileAccessService.canAccessFile(currentUser, file)) {
+                skipped++;
+                continue;
+            }
+
+            Path physicalFile = resolvePhysicalFile(file);
+            if (physicalFile == null) {
+                skipped++;
+                continue;
+            }
+
+            String name = uniqueName(item.getValue(), safeName(file.getOriginalFilename()), usedNames);
+            entries.add(new Entry(name, physicalFile, isCompressed(file.getOriginalFilename())));
+        }
+
+        String filename = safeName(root.getName() != null ? root.getName() : "export") + ".zip";
+        log.info("ZIP export of {} prepared: {} files, {} skipped", nodePath, entries.size(), skipped);
+        return new ZipExport(filename, entries, skipped);
+    }
+
+    @Override
+    public void writeZip(ZipExport export, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int written = 0;
+
+        for (Entry entry : export.entries()) {
+            if (!Files.isRegularFile(entry.file())) {
+                log.warn("File disappeared during ZIP export: {}", entry.file());
+                continue;
+            }
+
+            ZipEntry zipEntry = new ZipEntry(entry.name());
+            zipEntry.setLastModifiedTime(Files.getLastModifiedTime(entry.file()));
+            if (entry.stored()) {
+                zipEntry.setMethod(ZipEntry.STORED);
+                long size = Files.size(entry.file());
+                zipEntry.setSize(size);
+                zipEntry.setCompressedSize(size);
+                zipEntry.setCrc(crc32(entry.file(), buffer));
+            } else {
+                zipEntry.setMethod(ZipEntry.DEFLATED);
+            }
+
+            zip.putNextEntry(zipEntry);
+            try (InputStream in = Files.newInputStream(entry.file())) {
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    zip.write(buffer, 0, n);
+                }
+            }
+            zip.closeEntry();
+            written++;
+        }
+
+        // finish() rather than close(): the servlet container owns the response stream
+        zip.finish();
+        zip.flush();
+        log.info("ZIP export {} written: {} files", export.filename(), written);
+    }
+
+    /**
+     * Recursively collect file IDs below a node. Document type and custom folder
+     * nodes carry their files in {@code node.files}; folders are visited through
+     * {@link FileExplorerService#getNode} so their files are loaded as well.
+     */
+    private void collectFiles(FileExplorerNode node, String zipFolder, User currentUser,
+            Map<Long, String> folderByFileId) {
+        for (UploadedFileDTO file : node.getFiles()) {
+            // Orphaned files exist only on disk and have no access metadata
+            if (file.getId() != null && !Boolean.TRUE.equals(file.getOrphaned())) {
+                folderByFileId.putIfAbsent(file.getId(), zipFolder);
+            }
+        }
+
+        for (FileExplorerNode child : node.getChildren()) {
+            if (child.getType() == NodeType.FILE) {
+                if (child.getEntityId() != null) {
+                    folderByFileId.putIfAbsent(child.getEntityId(), zipFolder);
+                }
+                continue;
+            }
+            if (child.getPath() == null) {
+                continue;
+            }
+            FileExplorerNode childNode = fileExplorerService.getNode(child.getPath(), currentUser);
+            collectFiles(childNode, zipFolder + safeName(child.getName()) + "/", currentUser, folderByFileId);
+        }
+    }
+
+    private Path resolvePhysicalFile(UploadedFile file) {
+        try {
+            Resource resource = fileService.loadFileAsResource(file.getFileUrl());
+            return resource.getFile().toPath();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping file {} in ZIP export, not readable on disk: {}", file.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static long crc32(Path file, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static boolean isCompressed(String filename) {
+        if (filename == null) {
+            return false;
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(filename.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Make a name safe for use as a single ZIP path segment.
+     */
+    private static String safeName(String name) {
+        if (name == null || name.isBlank()) {
+            return "file";
+        }
+        String sanitized = name.replaceAll("[\\\\/:*?\"<>|\\x00-\\x1F]", "_").trim();
+        return sanitized.equals(".") || sanitized.equals("..") ? "_" : sanitized;
+    }
+
+    /**
+     * Append (1), (2), ... to the filename when the same name already exists in the folder.
+     */
+    private static String uniqueName(String folder, String filename, Set<String> usedNames) {
+        String name = folder + filename;
+        if (usedNames.add(name.toLowerCase(Locale.ROOT))) {
+            return name;
+        }
+        int dot = filename.lastIndexOf('.');
+        String base = dot > 0 ? filename.substring(0, dot) : filename;
+        String extension = dot > 0 ? filename.substring(dot) : "";
+        int counter = 1;
+        do {
+            name = folder + base + "(" + counter++ + ")" + extension;
+        } while (!usedNames.add(name.toLowerCase(Locale.ROOT)));
+        return name;
+    }
+}
@@ -0,0 +1,43 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+import java.util.List;
+
+/**
+ * Service for full-text search over the content of archived documents.
+ *
+ * Text is extracted from PDF, Office and plain text uploads into an embedded
+ * Lucene index. The index is updated in the background after upload, replace and
+ * delete transactions commit, so a new file becomes searchable a moment after
+ * its upload returns.
+ *
+ * Results follow the same role rules as the file explorer:
+ * - Admin/Dean: all files
+ * - HOD: files of professors in their department
+ * - Professor: their own files
+ *
+ * @since 2.1
+ */
+public interface FullTextSearchService {
+
+    /**
+     * Search file names and content.
+     * Supports simple query syntax: {@code "exact phrase"}, {@code -exclude},
+     * {@code a | b}, and {@code prefix*}; terms are AND-ed by default.
+     *
+     * @param query       the search text
+     * @param limit       maximum number of results (capped at 50)
+     * @param currentUser the requesting user
+     * @return matching files the user may access, best match first
+     */
+    List<FileSearchResultDTO> search(String query, int limit, User currentUser);
+
+    /**
+     * Queue every file for (re)indexing. Runs in the background.
+     *
+     * @return number of files queued
+     */
+    int reindexAll();
+}
@@ -0,0 +1,420 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DepartmentScopedFilterService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of FullTextSearchService backed by an embedded Lucene index
+ * under {@code search.index.dir}.
+ *
+ * Indexing runs on a single background thread. Every committed insert, update or
+ * delete of an UploadedFile (see {@link EntityChangedEvent}) queues the file
+ * ID; repeated changes to a file that is still queued are coalesced. The worker
+ * reloads the row, extracts the text with {@link DocumentTextExtractor} (or takes
+ * the extract cached by {@link PreviewRenditionService}) and replaces the file's document. Files whose content hash and name did not change
+ * are not extracted again. The index is committed and the searcher refreshed
+ * whenever the queue runs empty.
+ *
+ * Each document stores the uploader and department IDs so searches are narrowed
+ * to the user's scope inside Lucene; hits are then checked again with
+ * {@link FileAccessService#canAccessFile(User, UploadedFile)} against current data.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class FullTextSearchServiceImpl implements FullTextSearchService {
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_FILENAME = "filename";
+    static final String FIELD_CONTENT = "content";
+    static final String FIELD_SHA256 = "sha256";
+    static final String FIELD_UPLOADER = "uploader";
+    static final String FIELD_DEPARTMENT = "department";
+
+    private static final int MAX_RESULTS = 50;
+
+    // Marker for "no scope restriction"
+    private static final Query ALL_FILES = new BooleanQuery.Builder().build();
+
+    private final Path indexDir;
+    private final boolean enabled;
+    private final int maxTextChars;
+    private final long maxFileSize;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final FileService fileService;
+    private final FileAccessService fileAccessService;
+    private final DepartmentScopedFilterService departmentScopedFilterService;
+    private final DocumentTextExtractor textExtractor;
+    private final PreviewRenditionService previewRenditionService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private volatile boolean open;
+
+    public FullTextSearchServiceImpl(@Value("${search.index.dir:data/search-index}") String indexDir,
+            @Value("${search.index.enabled:true}") boolean enabled,
+            @Value("${search.index.max-text-chars:1000000}") int maxTextChars,
+            @Value("${search.index.max-file-size:52428800}") long maxFileSize,
+            UploadedFileRepository uploadedFileRepository,
+            FileService fileService,
+            FileAccessService fileAccessService,
+            DepartmentScopedFilterService departmentScopedFilterService,
+            DocumentTextExtractor textExtractor,
+            PreviewRenditionService previewRenditionService,
+            PlatformTransactionManager transactionManager) {
+        this.indexDir = Paths.get(indexDir).toAbsolutePath().normalize();
+        this.enabled = enabled;
+        this.maxTextChars = maxTextChars;
+        this.maxFileSize = maxFileSize;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.fileService = fileService;
+        this.fileAccessService = fileAccessService;
+        this.departmentScopedFilterService = departmentScopedFilterService;
+        this.textExtractor = textExtractor;
+        this.previewRenditionService = previewRenditionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void openIndex() {
+        if (!enabled) {
+            log.info("Full-text search index is disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(indexDir);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer);
+            config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            indexWriter = new IndexWriter(FSDirectory.open(indexDir), config);
+            searcherManager = new SearcherManager(indexWriter, null);
+            open = true;
+            log.info("Opened full-text search index at {} ({} documents)",
+                    indexDir, indexWriter.getDocStats().numDocs);
+        } catch (IOException e) {
+            // Search is an add-on: the archive keeps working without it
+            log.error("Could not open full-text search index at {}, search is disabled", indexDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            worker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            searcherManager.close();
+            indexWriter.close();
+        } catch (IOException e) {
+            log.warn("Failed to close full-text search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Build the index on first start (or after the index directory was removed).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (open && indexWriter.getDocStats().numDocs == 0) {
+            int count = reindexAll();
+            if (count > 0) {
+                log.info("Full-text search index is empty, indexing {} files in the background", count);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(UploadedFile.class)) {
+            enqueue(event.entityId());
+        }
+    }
+
+    @Override
+    public int reindexAll() {
+        if (!open) {
+            return 0;
+        }
+        List<Long> ids = uploadedFileRepository.findAllIds();
+        ids.forEach(this::enqueue);
+        return ids.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FileSearchResultDTO> search(String queryText, int limit, User currentUser) {
+        if (!open || queryText == null || queryText.isBlank()) {
+            return List.of();
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_RESULTS));
+
+        Query scope = scopeQuery(currentUser);
+        if (scope == null) {
+            return List.of();
+        }
+
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(FIELD_FILENAME, 2.0f, FIELD_CONTENT, 1.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(queryText.trim()), BooleanClause.Occur.MUST);
+        if (scope != ALL_FILES) {
+            query.add(scope, BooleanClause.Occur.FILTER);
+        }
+
+        // Hit IDs in rank order with their scores
+        Map<Long, Float> scores = new LinkedHashMap<>();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Over-fetch a little: the access re-check below may drop some hits
+                TopDocs topDocs = searcher.search(query.build(), maxResults * 2);
+                for (ScoreDoc hit : topDocs.scoreDocs) {
+                    Document document = searcher.storedFields().document(hit.doc);
+                    scores.put(Long.valueOf(document.get(FIELD_ID)), hit.score);
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.error("Full-text search for '{}' failed", queryText, e);
+            return List.of();
+        }
+
+        Map<Long, UploadedFile> files = uploadedFileRepository.findAllById(scores.keySet()).stream()
+                .collect(Collectors.toMap(UploadedFile::getId, Function.identity()));
+
+        List<FileSearchResultDTO> results = new ArrayList<>();
+        for (Map.Entry<Long, Float> hit : scores.entrySet()) {
+            UploadedFile file = files.get(hit.getKey());
+            if (file == null || !fileAccessService.canAccessFile(currentUser, file)) {
+                continue;
+            }
+            results.add(toResult(file, hit.getValue()));
+            if (results.size() == maxResults) {
+                break;
+            }
+        }
+        log.debug("Full-text search '{}' by {}: {} results", queryText, currentUser.getEmail(), results.size());
+        return results;
+    }
+
+    private void enqueue(Long fileId) {
+        if (!open || fileId == null || !queued.add(fileId)) {
+            return;
+        }
+        worker.execute(() -> {
+            // Removed before indexing, so a change made while the file is indexed queues it again
+            queued.remove(fileId);
+            try {
+                indexFile(fileId);
+            } catch (Exception e) {
+                log.warn("Failed to index file {}: {}", fileId, e.getMessage());
+            }
+            if (queued.isEmpty()) {
+                commit();
+            }
+        });
+    }
+
+    /**
+     * Bring the index document of one file in line with its database row.
+     */
+    void indexFile(Long fileId) throws IOException {
+        Optional<UploadedFile> row = readOnlyTransaction.execute(
+                status -> uploadedFileRepository.findByIdWithUploaderAndFolder(fileId));
+        Term idTerm = new Term(FIELD_ID, String.valueOf(fileId));
+        if (row == null || row.isEmpty()) {
+            indexWriter.deleteDocuments(idTerm);
+            return;
+        }
+
+        UploadedFile file = row.get();
+        String uploaderId = file.getUploader() != null ? String.valueOf(file.getUploader().getId()) : "";
+        String departmentId = file.getUploader() != null && file.getUploader().getDepartment() != null
+                ? String.valueOf(file.getUploader().getDepartment().getId()) : "";
+
+        if (isUpToDate(idTerm, file, uploaderId, departmentId)) {
+            return;
+        }
+
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(fileId), Field.Store.YES));
+        document.add(new TextField(FIELD_FILENAME, Objects.toString(file.getOriginalFilename(), ""), Field.Store.YES));
+        document.add(new StringField(FIELD_UPLOADER, uploaderId, Field.Store.YES));
+        document.add(new StringField(FIELD_DEPARTMENT, departmentId, Field.Store.YES));
+        if (file.getContentSha256() != null) {
+            document.add(new StoredField(FIELD_SHA256, file.getContentSha256()));
+        }
+        document.add(new TextField(FIELD_CONTENT, extractText(file), Field.Store.NO));
+
+        indexWriter.updateDocument(idTerm, document);
+    }
+
+    /**
+     * Commit pending index changes and make them visible to searches.
+     */
+    void commit() {
+        try {
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to commit full-text search index", e);
+        }
+    }
+
+    /**
+     * Same content (hash), name and owner as the indexed document: nothing to re-extract.
+     */
+    private boolean isUpToDate(Term idTerm, UploadedFile file, String uploaderId, String departmentId)
+            throws IOException {
+        if (file.getContentSha256() == null) {
+            return false;
+        }
+        // The last refreshed searcher is enough: missing a very recent update only costs a re-extraction
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs existing = searcher.search(new TermQuery(idTerm), 1);
+            if (existing.scoreDocs.length == 0) {
+                return false;
+            }
+            Document document = searcher.storedFields().document(existing.scoreDocs[0].doc);
+            return file.getContentSha256().equals(document.get(FIELD_SHA256))
+                    && Objects.equals(file.getOriginalFilename(), document.get(FIELD_FILENAME))
+                    && uploaderId.equals(document.get(FIELD_UPLOADER))
+                    && departmentId.equals(document.get(FIELD_DEPARTMENT));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private String extractText(UploadedFile file) {
+        String filename = file.getOriginalFilename();
+        if (!textExtractor.supports(filename)) {
+            return "";
+        }
+        if (file.getFileSize() != null && file.getFileSize() > maxFileSize) {
+            log.debug("File {} is too large for text extraction, indexing its name only", file.getId());
+            return "";
+        }
+        // Reuse the extract prepared by the preview conversion queue when it ran first
+        Optional<String> prepared = previewRenditionService.findTextExtract(file);
+        if (prepared.isPresent()) {
+            String text = prepared.get();
+            return text.length() > maxTextChars ? text.substring(0, maxTextChars) : text;
+        }
+        try {
+            Path path = fileService.loadFileAsResource(file.getFileUrl()).getFile().toPath();
+            return textExtractor.extract(path, filename, maxTextChars);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not extract text from file {} ({}): {}", file.getId(), filename, e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Lucene filter for the files a user may see, {@link #ALL_FILES} for admin-level
+     * users and {@code null} if the user can see nothing.
+     */
+    private Query scopeQuery(User user) {
+        if (fileAccessService.hasAdminLevelAccess(user)) {
+            return ALL_FILES;
+        }
+        if (user.getRole() == Role.ROLE_PROFESSOR) {
+            return new TermQuery(new Term(FIELD_UPLOADER, String.valueOf(user.getId())));
+        }
+        if (user.getRole() == Role.ROLE_HOD) {
+            Long departmentId = departmentScopedFilterService.getDepartmentIdForFiltering(user);
+            return departmentId != null ? new TermQuery(new Term(FIELD_DEPARTMENT, String.valueOf(departmentId))) : null;
+        }
+        return null;
+    }
+
+    private static FileSearchResultDTO toResult(UploadedFile file, float score) {
+        return FileSearchResultDTO.builder()
+                .fileId(file.getId())
+                .originalFilename(file.getOriginalFilename())
+                .fileType(file.getFileType())
+                .fileSize(file.getFileSize())
+                .folderPath(file.getFolder() != null ? file.getFolder().getPath() : null)
+                .uploaderName(file.getUploader() != null ? file.getUploader().getName() : null)
+                .uploadedAt(file.getCreatedAt())
+                .score(score)
+                .build();
+    }
+}
@@ -0,0 +1,278 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO.ResultType;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over short metadata strings (filenames, folder names,
+ * course codes, professor names) supporting typo-tolerant prefix queries.
+ *
+ * Every token of an entry is indexed by the trigrams of {@code "^" + token}, so
+ * the grams at the start of a token double as prefix grams. A query token first
+ * selects candidates that share enough of its grams (one edit breaks at most three
+ * trigrams), then each candidate is verified with an edit distance between the
+ * query token and the best-matching prefix of one of the entry's tokens.
+ * Allowed edits grow with the query token length: none up to 3 characters, one up
+ * to 7, two beyond.
+ *
+ * Not thread-safe; {@link MetadataSearchServiceImpl} guards it with a read-write lock.
+ *
+ * @since 2.1
+ */
+final class MetadataNgramIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int MAX_TOKEN_LENGTH = 32;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    /**
+     * One searchable item with the attributes needed for role scoping.
+     */
+    record Entry(ResultType type, Long id, String label, String detail, String path,
+            Long ownerId, Long departmentId, List<String> tokens) {
+
+        Entry(ResultType type, Long id, String label, String detail, String path,
+                Long ownerId, Long departmentId, String searchText) {
+            this(type, id, label, detail, path, ownerId, departmentId, tokenize(searchText));
+        }
+
+        Entry withDepartment(Long newDepartmentId) {
+            return new Entry(type, id, label, detail, path, ownerId, newDepartmentId, tokens);
+        }
+
+        // Identity semantics: entries are hashed for every posting and candidate,
+        // and the index never holds two equal entries under different keys
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    record Match(Entry entry, double score) {
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Entry>> postings = new HashMap<>();
+
+    int size() {
+        return entries.size();
+    }
+
+    void put(Entry entry) {
+        remove(entry.type(), entry.id());
+        entries.put(key(entry.type(), entry.id()), entry);
+        for (String token : entry.tokens()) {
+            for (String gram : indexGrams(token)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry);
+            }
+        }
+    }
+
+    void remove(ResultType type, Long id) {
+        Entry existing = entries.remove(key(type, id));
+        if (existing == null) {
+            return;
+        }
+        for (String token : existing.tokens()) {
+            for (String gram : indexGrams(token)) {
+                Set<Entry> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(existing);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Move all file and folder entries of an owner to another department
+     * (e.g. after a professor changed department).
+     */
+    void updateOwnerDepartment(Long ownerId, Long departmentId) {
+        List<Entry> moved = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (ownerId.equals(entry.ownerId()) && !Objects.equals(departmentId, entry.departmentId())) {
+                moved.add(entry.withDepartment(departmentId));
+            }
+        }
+        moved.forEach(this::put);
+    }
+
+    /**
+     * Find entries whose tokens start with (or nearly start with) every query token.
+     *
+     * @param query   free text
+     * @param visible scope filter applied before verification
+     * @param limit   maximum number of matches
+     * @return best matches first
+     */
+    List<Match> search(String query, Predicate<Entry> visible, int limit) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        if (queryTokens.size() > MAX_QUERY_TOKENS) {
+            queryTokens = queryTokens.subList(0, MAX_QUERY_TOKENS);
+        }
+
+        // Count shared grams per candidate
+        Map<Entry, Integer> sharedGrams = new HashMap<>();
+        int required = 0;
+        for (String token : queryTokens) {
+            Set<String> grams = queryGrams(token);
+            required += Math.max(1, grams.size() - 3 * allowedEdits(token));
+            for (String gram : grams) {
+                Set<Entry> posting = postings.get(gram);
+                if (posting != null) {
+                    for (Entry entry : posting) {
+                        sharedGrams.merge(entry, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Map.Entry<Entry, Integer> candidate : sharedGrams.entrySet()) {
+            if (candidate.getValue() < required || !visible.test(candidate.getKey())) {
+                continue;
+            }
+            double score = score(candidate.getKey(), queryTokens);
+            if (score > 0) {
+                matches.add(new Match(candidate.getKey(), score));
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(Match::score).reversed()
+                .thenComparingInt(match -> match.entry().label().length())
+                .thenComparing(match -> match.entry().label()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Score a candidate; 0 if some query token matches none of its tokens.
+     */
+    private static double score(Entry entry, List<String> queryTokens) {
+        double score = 0;
+        for (String queryToken : queryTokens) {
+            int allowed = allowedEdits(queryToken);
+            double best = 0;
+            for (String token : entry.tokens()) {
+                int distance = prefixDistance(queryToken, token, allowed);
+                if (distance > allowed) {
+                    continue;
+                }
+                double tokenScore = distance == 0 ? (token.equals(queryToken) ? 3.0 : 2.0) : 1.0 - 0.25 * distance;
+                best = Math.max(best, tokenScore);
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    static int allowedEdits(String queryToken) {
+        int length = queryToken.length();
+        return length <= 3 ? 0 : length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Smallest edit distance (with adjacent transpositions) between the query token
+     * and any prefix of the token; returns {@code max + 1} when above {@code max}.
+     */
+    static int prefixDistance(String query, String token, int max) {
+        int m = query.length();
+        int n = Math.min(token.length(), m + max);
+        if (m - max > n) {
+            return max + 1;
+        }
+        int[][] d = new int[m + 1][n + 1];
+        for (int i = 0; i <= m; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= n; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            for (int j = 1; j <= n; j++) {
+                int cost = query.charAt(i - 1) == token.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == token.charAt(j - 2)
+                        && query.charAt(i - 2) == token.charAt(j - 1)) {
+                    value = Math.min(value, d[i - 2][j - 2] + 1);
+                }
+                d[i][j] = value;
+            }
+        }
+        int best = max + 1;
+        for (int j = Math.max(1, m - max); j <= n; j++) {
+            best = Math.min(best, d[m][j]);
+        }
+        return best;
+    }
+
+    /**
+     * Lower-case, accent-free alphanumeric tokens of a text.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> indexGrams(String token) {
+        Set<String> grams = queryGrams(token);
+        // Single-character queries look up "^x"
+        grams.add("^" + token.charAt(0));
+        return grams;
+    }
+
+    private static Set<String> queryGrams(String token) {
+        Set<String> grams = new HashSet<>();
+        String anchored = "^" + token;
+        if (anchored.length() < 3) {
+            grams.add(anchored);
+            return grams;
+        }
+        for (int i = 0; i + 3 <= anchored.length(); i++) {
+            grams.add(anchored.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static String key(ResultType type, Long id) {
+        return type.name() + ':' + id;
+    }
+}
@@ -0,0 +1,39 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+import java.util.List;
+
+/**
+ * Service for quick "jump to" search over archive metadata: file names, folder
+ * names, course codes/names and professor names.
+ *
+ * Matches are prefix based and tolerate small typos ({@code "strcture"} finds
+ * "Data Structures"). The index lives in memory and follows entity changes after
+ * each commit, so a query needs no database round trip.
+ *
+ * Results are scoped by role:
+ * - Admin/Dean: everything
+ * - HOD: items of their department
+ * - Professor: their own files and folders, courses and professors of their department
+ *
+ * @since 2.1
+ */
+public interface MetadataSearchService {
+
+    /**
+     * Search archive metadata.
+     *
+     * @param query       one or more words (prefixes)
+     * @param limit       maximum number of results (capped at 50)
+     * @param currentUser the requesting user
+     * @return best matches first
+     */
+    List<MetadataSearchResultDTO> search(String query, int limit, User currentUser);
+
+    /**
+     * Rebuild the whole index from the database.
+     */
+    void rebuild();
+}
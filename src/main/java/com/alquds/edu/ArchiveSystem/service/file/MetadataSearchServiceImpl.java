@@ -0,0 +1,249 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO.ResultType;
+import com.alquds.edu.ArchiveSystem.entity.academic.Course;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of MetadataSearchService on top of {@link MetadataNgramIndex}.
+ *
+ * The index is built from four projection queries once the application is ready
+ * and then kept current from {@link EntityChangedEvent}s: after each commit the
+ * changed row is re-read and its entry replaced or removed. Builds and updates all
+ * run on one background thread, so changes committed during a rebuild are applied
+ * on top of the new index.
+ *
+ * Searches only take the read lock, so they never wait for the database.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class MetadataSearchServiceImpl implements MetadataSearchService {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final UploadedFileRepository uploadedFileRepository;
+    private final FolderRepository folderRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final FileAccessService fileAccessService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metadata-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MetadataNgramIndex index = new MetadataNgramIndex();
+
+    public MetadataSearchServiceImpl(UploadedFileRepository uploadedFileRepository,
+            FolderRepository folderRepository,
+            CourseRepository courseRepository,
+            UserRepository userRepository,
+            FileAccessService fileAccessService) {
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.folderRepository = folderRepository;
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.fileAccessService = fileAccessService;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        updater.execute(() -> apply(event));
+    }
+
+    @Override
+    public void rebuild() {
+        updater.execute(this::buildIndex);
+    }
+
+    /**
+     * Build a new index from the database and swap it in. Runs on the updater thread.
+     */
+    void buildIndex() {
+        long start = System.nanoTime();
+        MetadataNgramIndex fresh = new MetadataNgramIndex();
+        try {
+            uploadedFileRepository.findSearchMetadata().forEach(row -> fresh.put(fileEntry(row)));
+            folderRepository.findSearchMetadata().forEach(row -> fresh.put(folderEntry(row)));
+            courseRepository.findSearchMetadata().forEach(row -> fresh.put(courseEntry(row)));
+            userRepository.findProfessorSearchMetadata().forEach(row -> fresh.put(professorEntry(row)));
+        } catch (RuntimeException e) {
+            log.error("Failed to build metadata search index", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built metadata search index: {} entries in {} ms",
+                fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public List<MetadataSearchResultDTO> search(String query, int limit, User currentUser) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_RESULTS));
+        Predicate<MetadataNgramIndex.Entry> visible = scope(currentUser);
+
+        long start = System.nanoTime();
+        List<MetadataNgramIndex.Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.search(query, visible, maxResults);
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.debug("Metadata search '{}' by {}: {} results in {} µs", query, currentUser.getEmail(),
+                matches.size(), (System.nanoTime() - start) / 1_000);
+
+        return matches.stream()
+                .map(match -> MetadataSearchResultDTO.builder()
+                        .type(match.entry().type())
+                        .id(match.entry().id())
+                        .label(match.entry().label())
+                        .detail(match.entry().detail())
+                        .path(match.entry().path())
+                        .score(match.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Re-read one changed row and update its entry. Runs on the updater thread.
+     */
+    void apply(EntityChangedEvent event) {
+        try {
+            Long id = event.entityId();
+            if (event.isAbout(UploadedFile.class)) {
+                update(ResultType.FILE, id, uploadedFileRepository.findSearchMetadataById(id), this::fileEntry);
+            } else if (event.isAbout(Folder.class)) {
+                update(ResultType.FOLDER, id, folderRepository.findSearchMetadataById(id), this::folderEntry);
+            } else if (event.isAbout(Course.class)) {
+                update(ResultType.COURSE, id, courseRepository.findSearchMetadataById(id), this::courseEntry);
+            } else if (event.isAbout(User.class)) {
+                update(ResultType.PROFESSOR, id, userRepository.findProfessorSearchMetadataById(id),
+                        this::professorEntry);
+                // Files and folders carry their owner's department for scoping
+                Long departmentId = userRepository.findById(id)
+                        .map(user -> user.getDepartment() != null ? user.getDepartment().getId() : null)
+                        .orElse(null);
+                lock.writeLock().lock();
+                try {
+                    index.updateOwnerDepartment(id, departmentId);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update metadata search index for {} {}: {}",
+                    event.entityType().getSimpleName(), event.entityId(), e.getMessage());
+        }
+    }
+
+    private void update(ResultType type, Long id, List<Object[]> rows,
+            Function<Object[], MetadataNgramIndex.Entry> toEntry) {
+        MetadataNgramIndex.Entry entry = rows.isEmpty() ? null : toEntry.apply(rows.get(0));
+        lock.writeLock().lock();
+        try {
+            if (entry != null) {
+                index.put(entry);
+            } else {
+                index.remove(type, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Predicate<MetadataNgramIndex.Entry> scope(User user) {
+        if (fileAccessService.hasAdminLevelAccess(user)) {
+            return entry -> true;
+        }
+        Long departmentId = user.getDepartment() != null ? user.getDepartment().getId() : null;
+        if (user.getRole() == Role.ROLE_HOD && departmentId != null) {
+            return entry -> departmentId.equals(entry.departmentId());
+        }
+        if (user.getRole() == Role.ROLE_PROFESSOR) {
+            return entry -> switch (entry.type()) {
+                case FILE, FOLDER -> user.getId().equals(entry.ownerId());
+                case COURSE, PROFESSOR -> departmentId != null && departmentId.equals(entry.departmentId());
+            };
+        }
+        return entry -> false;
+    }
+
+    // Row layouts: see the findSearchMetadata queries of each repository
+
+    private MetadataNgramIndex.Entry fileEntry(Object[] row) {
+        String filename = Objects.toString(row[1], "");
+        String folderPath = (String) row[2];
+        return new MetadataNgramIndex.Entry(ResultType.FILE, (Long) row[0], filename, folderPath, folderPath,
+                (Long) row[3], (Long) row[4], filename);
+    }
+
+    private MetadataNgramIndex.Entry folderEntry(Object[] row) {
+        String name = Objects.toString(row[1], "");
+        String path = (String) row[2];
+        return new MetadataNgramIndex.Entry(ResultType.FOLDER, (Long) row[0], name, path, path,
+                (Long) row[3], (Long) row[4], name);
+    }
+
+    private MetadataNgramIndex.Entry courseEntry(Object[] row) {
+        String code = Objects.toString(row[1], "");
+        String name = (String) row[2];
+        return new MetadataNgramIndex.Entry(ResultType.COURSE, (Long) row[0], code, name, null,
+                null, (Long) row[3], code + " " + Objects.toString(name, ""));
+    }
+
+    private MetadataNgramIndex.Entry professorEntry(Object[] row) {
+        String name = (Objects.toString(row[1], "") + " " + Objects.toString(row[2], "")).trim();
+        String professorId = (String) row[3];
+        return new MetadataNgramIndex.Entry(ResultType.PROFESSOR, (Long) row[0], name, professorId, null,
+                (Long) row[0], (Long) row[4], name + " " + Objects.toString(professorId, ""));
+    }
+}
@@ -0,0 +1,179 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.config.OfficeConversionProperties;
+import com.alquds.edu.ArchiveSystem.exception.file.ConversionRejectedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+import org.apache.poi.util.IOUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs Office conversions on a dedicated, bounded pool.
+ *
+ * Limits (see {@link OfficeConversionProperties}):
+ * - input size per format, checked before anything is parsed;
+ * - POI's ZIP inflate ratio, entry size and text size caps, and the largest
+ *   record POI may allocate, applied process-wide at startup;
+ * - {@code threads} running and {@code queue-capacity} waiting conversions,
+ *   further submissions are rejected instead of piling up request threads;
+ * - a wall-clock timeout per conversion. The caller stops waiting and the worker
+ *   is interrupted; POI does not always react to interrupts, so a stuck parse may
+ *   hold its thread until it finishes, but never a request thread.
+ *
+ * Metrics: {@code office.conversion.active}, {@code office.conversion.queued},
+ * {@code office.conversion.timeouts}, {@code office.conversion.rejected} (tag
+ * {@code reason}) and {@code office.conversion.duration}.
+ *
+ * @since 2.1
+ */
+@Component
+@Slf4j
+public class OfficeConversionExecutor {
+
+    /**
+     * Format families with their own input size limit.
+     */
+    public enum Format {
+        WORD, SPREADSHEET, PRESENTATION
+    }
+
+    private final OfficeConversionProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Counter timeouts;
+    private final Counter rejectedBusy;
+    private final Counter rejectedTooLarge;
+    private final Timer duration;
+
+    public OfficeConversionExecutor(OfficeConversionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "office-converter-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("office.conversion.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Office conversions currently running")
+                .register(meterRegistry);
+        Gauge.builder("office.conversion.queued", executor, pool -> pool.getQueue().size())
+                .description("Office conversions waiting for a free thread")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("office.conversion.timeouts")
+                .description("Office conversions abandoned after the wall-clock timeout")
+                .register(meterRegistry);
+        this.rejectedBusy = Counter.builder("office.conversion.rejected")
+                .description("Office conversions refused before running")
+                .tag("reason", "busy")
+                .register(meterRegistry);
+        this.rejectedTooLarge = Counter.builder("office.conversion.rejected")
+                .description("Office conversions refused before running")
+                .tag("reason", "too_large")
+                .register(meterRegistry);
+        this.duration = Timer.builder("office.conversion.duration")
+                .description("Time spent converting Office documents")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply the ZIP and record caps. POI keeps them in static fields, so they
+     * also guard the text extractor and thumbnail renderer.
+     */
+    @PostConstruct
+    void applyPoiLimits() {
+        ZipSecureFile.setMinInflateRatio(properties.getMinInflateRatio());
+        ZipSecureFile.setMaxEntrySize(properties.getMaxEntrySize());
+        ZipSecureFile.setMaxTextSize(properties.getMaxTextSize());
+        IOUtils.setByteArrayMaxOverride(properties.getMaxRecordSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run a conversion within the limits and wait for its result.
+     *
+     * @param format    the format family of the input
+     * @param inputSize the input size in bytes
+     * @param task      the conversion
+     * @return the conversion result
+     * @throws ConversionRejectedException if the input is too large, the queue is full or the timeout is reached
+     * @throws IOException                 if the conversion fails
+     */
+    public <T> T execute(Format format, long inputSize, Callable<T> task) throws IOException {
+        long limit = maxSize(format);
+        if (inputSize > limit) {
+            rejectedTooLarge.increment();
+            throw ConversionRejectedException.tooLarge(format.name().toLowerCase(), inputSize, limit);
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> duration.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedBusy.increment();
+            log.warn("Office conversion rejected: {} running, {} queued",
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw ConversionRejectedException.busy(properties.getRetryAfterSeconds());
+        }
+
+        try {
+            return future.get(properties.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            log.warn("Office conversion of a {} document ({} bytes) timed out after {} s",
+                    format, inputSize, properties.getTimeoutSeconds());
+            throw ConversionRejectedException.timedOut(properties.getTimeoutSeconds());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for Office conversion", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Office conversion failed", cause);
+        }
+    }
+
+    private long maxSize(Format format) {
+        return switch (format) {
+            case WORD -> properties.getMaxWordSize();
+            case SPREADSHEET -> properties.getMaxSpreadsheetSize();
+            case PRESENTATION -> properties.getMaxPresentationSize();
+        };
+    }
+}
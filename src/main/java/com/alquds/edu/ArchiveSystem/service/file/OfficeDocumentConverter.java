@@ -16,16 +16,25 @@ import org.springframework.stereotype.Service;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Iterator;
 
 /**
  * Service for converting Office documents to HTML format.
  * Supports Word (.doc, .docx), Excel (.xls, .xlsx), and PowerPoint (.ppt, .pptx) files.
+ * Conversions run within the limits of {@link OfficeConversionExecutor}.
  */
 @Service
 @Slf4j
 public class OfficeDocumentConverter {
     
+    private final OfficeConversionExecutor conversionExecutor;
+    
+    public OfficeDocumentConverter(OfficeConversionExecutor conversionExecutor) {
+        this.conversionExecutor = conversionExecutor;
+    }
+    
     /**
      * Convert an Office document to HTML.
      * 
@@ -33,10 +42,34 @@ public class OfficeDocumentConverter {
      * @param mimeType the MIME type of the document
      * @return HTML representation as byte array
      * @throws IOException if conversion fails
+     * @throws com.alquds.edu.ArchiveSystem.exception.file.ConversionRejectedException
+     *         if the document exceeds the conversion limits
      */
     public byte[] convertToHtml(String filePath, String mimeType) throws IOException {
         log.info("Converting Office document to HTML: {} (type: {})", filePath, mimeType);
         
+        OfficeConversionExecutor.Format format = formatOf(mimeType);
+        long size = Files.size(Paths.get(filePath));
+        return conversionExecutor.execute(format, size, () -> convert(filePath, mimeType));
+    }
+    
+    private static OfficeConversionExecutor.Format formatOf(String mimeType) {
+        switch (mimeType) {
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document":
+            case "application/msword":
+                return OfficeConversionExecutor.Format.WORD;
+            case "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet":
+            case "application/vnd.ms-excel":
+                return OfficeConversionExecutor.Format.SPREADSHEET;
+            case "application/vnd.openxmlformats-officedocument.presentationml.presentation":
+            case "application/vnd.ms-powerpoint":
+                return OfficeConversionExecutor.Format.PRESENTATION;
+            default:
+                throw new IllegalArgumentException("Unsupported Office document type: " + mimeType);
+        }
+    }
+    
+    private byte[] convert(String filePath, String mimeType) throws IOException {
         String html;
         
         switch (mimeType) {
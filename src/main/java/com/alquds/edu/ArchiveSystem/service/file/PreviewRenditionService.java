@@ -0,0 +1,56 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+
+import java.util.Optional;
+
+/**
+ * Service for preview renditions prepared ahead of time: the HTML preview of
+ * Office documents, the plain-text extract and the page count of PDF and Office files.
+ *
+ * Every committed upload or replacement is recorded as a job in the
+ * {@code conversion_jobs} table, so pending work survives restarts. A bounded
+ * pool of workers processes the queue with the most recent uploads first, and
+ * the results are cached on disk per file and content version. Readers fall back
+ * to on-demand conversion while a file's job has not run yet.
+ *
+ * Access checks are the caller's job.
+ *
+ * @since 2.1
+ */
+public interface PreviewRenditionService {
+
+    /**
+     * @param file the uploaded file
+     * @return the cached HTML preview of the file's current content, if prepared
+     */
+    Optional<byte[]> findHtml(UploadedFile file);
+
+    /**
+     * Cache an HTML preview converted on demand, so later requests are served
+     * from the cache even if the file's job has not run yet.
+     *
+     * @param file the uploaded file
+     * @param html the converted HTML
+     */
+    void storeHtml(UploadedFile file, byte[] html);
+
+    /**
+     * @param file the uploaded file
+     * @return the cached plain text of the file's current content, if prepared
+     */
+    Optional<String> findTextExtract(UploadedFile file);
+
+    /**
+     * @param file the uploaded file
+     * @return pages (PDF, Word), slides (PowerPoint) or sheets (Excel), if known
+     */
+    Optional<Integer> findPageCount(UploadedFile file);
+
+    /**
+     * Queue a job for every convertible file that has none yet.
+     *
+     * @return number of jobs created
+     */
+    int enqueueMissing();
+}
@@ -0,0 +1,515 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.ConversionJob;
+import com.alquds.edu.ArchiveSystem.entity.file.ConversionJobStatus;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.exception.file.ConversionRejectedException;
+import com.alquds.edu.ArchiveSystem.repository.file.ConversionJobRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.sl.usermodel.SlideShow;
+import org.apache.poi.sl.usermodel.SlideShowFactory;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of PreviewRenditionService with a database-backed job queue.
+ *
+ * Flow:
+ * 1. After an UploadedFile commit ({@link EntityChangedEvent}) the file's job row
+ *    is created or reset to PENDING for the new content version.
+ * 2. A dispatcher thread claims PENDING jobs, newest uploads first, but only as
+ *    many as there are idle workers; the queue itself stays in the database.
+ *    Claims are conditional updates, so two instances never run the same job.
+ * 3. A worker writes {@code {id}-{version}.html} (Office only) and
+ *    {@code {id}-{version}.txt} into a {@link ShardedFileCache} under
+ *    {@code conversion.dir} and records the page count on the job.
+ *
+ * Failed jobs are retried with exponential back-off up to {@code conversion.max-attempts}.
+ * Files over the converter's size limit fail at once; a full converter queue
+ * postpones the job briefly without counting an attempt.
+ * Jobs left RUNNING by a stopped instance are re-queued on startup, and files
+ * without a job (uploaded while the queue was down) are picked up then as well.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class PreviewRenditionServiceImpl implements PreviewRenditionService {
+
+    private static final String HTML_SUFFIX = ".html";
+    private static final String TEXT_SUFFIX = ".txt";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final Map<String, String> OFFICE_MIME_TYPES = Map.of(
+            "docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "doc", "application/msword",
+            "xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "xls", "application/vnd.ms-excel",
+            "pptx", "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+            "ppt", "application/vnd.ms-powerpoint");
+
+    private final ShardedFileCache cache;
+    private final boolean enabled;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final long maxFileSize;
+    private final int maxTextChars;
+    private final long staleAfterMinutes;
+    private final ConversionJobRepository conversionJobRepository;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final FileService fileService;
+    private final OfficeDocumentConverter officeDocumentConverter;
+    private final DocumentTextExtractor textExtractor;
+    private final TransactionTemplate newTransaction;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "conversion-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService workers;
+
+    public PreviewRenditionServiceImpl(@Value("${conversion.dir:data/renditions}") String cacheDir,
+            @Value("${conversion.enabled:true}") boolean enabled,
+            @Value("${conversion.workers:2}") int workerCount,
+            @Value("${conversion.max-attempts:3}") int maxAttempts,
+            @Value("${conversion.max-file-size:52428800}") long maxFileSize,
+            @Value("${conversion.max-text-chars:1000000}") int maxTextChars,
+            @Value("${conversion.stale-after-minutes:30}") long staleAfterMinutes,
+            ConversionJobRepository conversionJobRepository,
+            UploadedFileRepository uploadedFileRepository,
+            FileService fileService,
+            OfficeDocumentConverter officeDocumentConverter,
+            DocumentTextExtractor textExtractor,
+            PlatformTransactionManager transactionManager) {
+        this.cache = new ShardedFileCache(Paths.get(cacheDir).toAbsolutePath().normalize());
+        this.enabled = enabled;
+        this.workerCount = Math.max(1, workerCount);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxFileSize = maxFileSize;
+        this.maxTextChars = maxTextChars;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.conversionJobRepository = conversionJobRepository;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.fileService = fileService;
+        this.officeDocumentConverter = officeDocumentConverter;
+        this.textExtractor = textExtractor;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "conversion-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Re-queue jobs of a previous run and create jobs for files that have none.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!enabled) {
+            log.info("Preview conversion queue is disabled");
+            return;
+        }
+        dispatcher.execute(() -> {
+            try {
+                int created = enqueueMissing();
+                if (created > 0) {
+                    log.info("Queued preview conversion of {} files without a job", created);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to scan for files without a preview conversion job", e);
+            }
+            requeueStale();
+            dispatch();
+        });
+    }
+
+    /**
+     * Pick up retries whose back-off has passed, jobs queued by other instances
+     * and jobs left RUNNING by a stopped instance.
+     */
+    @Scheduled(fixedDelayString = "${conversion.poll-interval-ms:10000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                requeueStale();
+                dispatch();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void requeueStale() {
+        try {
+            int requeued = conversionJobRepository.requeueStale(ConversionJobStatus.RUNNING,
+                    ConversionJobStatus.PENDING, LocalDateTime.now().minusMinutes(staleAfterMinutes));
+            if (requeued > 0) {
+                log.info("Re-queued {} interrupted preview conversion jobs", requeued);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to re-queue interrupted preview conversion jobs: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isAbout(UploadedFile.class)) {
+            return;
+        }
+        if (event.type() == EntityChangedEvent.ChangeType.DELETED) {
+            try {
+                newTransaction.executeWithoutResult(status -> conversionJobRepository.deleteByFileId(event.entityId()));
+            } catch (RuntimeException e) {
+                // A job left behind fails on its own once the file record is gone
+                log.warn("Failed to delete preview conversion job of file {}: {}", event.entityId(), e.getMessage());
+            } finally {
+                cache.deleteOtherVersions(event.entityId());
+            }
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> schedule(event.entityId()));
+            requestDispatch();
+        } catch (RuntimeException e) {
+            // The job is created again by the startup scan if this fails
+            log.warn("Failed to queue preview conversion of file {}: {}", event.entityId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<byte[]> findHtml(UploadedFile file) {
+        return read(cache.path(file.getId(), file.contentVersion(), HTML_SUFFIX));
+    }
+
+    @Override
+    public void storeHtml(UploadedFile file, byte[] html) {
+        try {
+            cache.write(cache.path(file.getId(), file.contentVersion(), HTML_SUFFIX), path -> Files.write(path, html));
+        } catch (IOException e) {
+            log.warn("Failed to cache HTML preview of file {}: {}", file.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<String> findTextExtract(UploadedFile file) {
+        return read(cache.path(file.getId(), file.contentVersion(), TEXT_SUFFIX))
+                .map(content -> new String(content, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Optional<Integer> findPageCount(UploadedFile file) {
+        return conversionJobRepository.findByFileId(file.getId())
+                .filter(job -> job.getStatus() == ConversionJobStatus.DONE)
+                .filter(job -> file.contentVersion().equals(job.getContentVersion()))
+                .map(ConversionJob::getPageCount);
+    }
+
+    @Override
+    public int enqueueMissing() {
+        int created = 0;
+        for (Object[] row : conversionJobRepository.findFilesWithoutJob()) {
+            // Row layout: [fileId, originalFilename, createdAt]
+            if (!isConvertible((String) row[1], null)) {
+                continue;
+            }
+            Long fileId = (Long) row[0];
+            Boolean scheduled = newTransaction.execute(status -> schedule(fileId));
+            if (Boolean.TRUE.equals(scheduled)) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Create or reset the job of a file for its current content version.
+     *
+     * @return {@code true} if the job is now PENDING
+     */
+    boolean schedule(Long fileId) {
+        Optional<UploadedFile> row = uploadedFileRepository.findById(fileId);
+        if (row.isEmpty() || !isConvertible(row.get().getOriginalFilename(), row.get().getFileSize())) {
+            return false;
+        }
+        UploadedFile file = row.get();
+        String version = file.contentVersion();
+        ConversionJob job = conversionJobRepository.findByFileId(fileId).orElse(null);
+        if (job != null && version.equals(job.getContentVersion())) {
+            // Same content: already queued, converted or given up on
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (job == null) {
+            job = ConversionJob.builder().fileId(fileId).build();
+        }
+        job.setContentVersion(version);
+        job.setStatus(ConversionJobStatus.PENDING);
+        job.setFileUploadedAt(file.getCreatedAt() != null ? file.getCreatedAt() : now);
+        job.setAttempts(0);
+        job.setNextAttemptAt(now);
+        job.setStartedAt(null);
+        job.setCompletedAt(null);
+        job.setPageCount(null);
+        job.setLastError(null);
+        try {
+            conversionJobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the job at the same moment
+            return false;
+        }
+        return true;
+    }
+
+    private void requestDispatch() {
+        try {
+            dispatcher.execute(this::dispatch);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Claim as many runnable jobs as there are idle workers. Runs on the dispatcher thread.
+     */
+    void dispatch() {
+        int idle = workerCount - running.get();
+        if (idle <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ConversionJob> jobs;
+        try {
+            jobs = conversionJobRepository.findRunnable(ConversionJobStatus.PENDING, now, PageRequest.of(0, idle));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read preview conversion queue: {}", e.getMessage());
+            return;
+        }
+        for (ConversionJob job : jobs) {
+            if (conversionJobRepository.claim(job.getId(), ConversionJobStatus.PENDING,
+                    ConversionJobStatus.RUNNING, now) != 1) {
+                continue;
+            }
+            running.incrementAndGet();
+            workers.execute(() -> {
+                try {
+                    runJob(job.getId());
+                } finally {
+                    running.decrementAndGet();
+                    requestDispatch();
+                }
+            });
+        }
+    }
+
+    /**
+     * Convert the file of a claimed job and record the outcome. Runs on a worker thread.
+     */
+    void runJob(Long jobId) {
+        ConversionJob job = conversionJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ConversionJobStatus.RUNNING) {
+            return;
+        }
+        UploadedFile file = uploadedFileRepository.findById(job.getFileId()).orElse(null);
+        if (file == null) {
+            conversionJobRepository.deleteById(jobId);
+            cache.deleteOtherVersions(job.getFileId());
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            job.setPageCount(convert(file));
+            job.setStatus(ConversionJobStatus.DONE);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setLastError(null);
+            log.debug("Prepared preview of file {} in {} ms", file.getId(), (System.nanoTime() - start) / 1_000_000);
+        } catch (ConversionRejectedException e) {
+            if (e.isBusy()) {
+                // The converter pool is full; that is not the file's fault, so it costs no attempt
+                job.setStatus(ConversionJobStatus.PENDING);
+                job.setAttempts(job.getAttempts() - 1);
+                job.setNextAttemptAt(LocalDateTime.now().plusSeconds(e.getRetryAfterSeconds()));
+                log.debug("Converter busy, preview of file {} postponed", file.getId());
+            } else {
+                // Too large fails for good; a timeout is retried like any other failure
+                fail(job, file, e, !e.isTooLarge() && job.getAttempts() < maxAttempts);
+            }
+        } catch (Exception e) {
+            fail(job, file, e, job.getAttempts() < maxAttempts);
+        }
+        finish(job, file.contentVersion());
+    }
+
+    private void fail(ConversionJob job, UploadedFile file, Exception e, boolean retry) {
+        job.setStatus(retry ? ConversionJobStatus.PENDING : ConversionJobStatus.FAILED);
+        job.setNextAttemptAt(LocalDateTime.now().plusMinutes(1L << Math.min(job.getAttempts(), 10)));
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        job.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        log.warn("Preview conversion of file {} failed (attempt {} of {}): {}",
+                file.getId(), job.getAttempts(), maxAttempts, message);
+    }
+
+    /**
+     * Save the outcome for the converted version. If the job was meanwhile reset
+     * for another version of the file it stays PENDING for that version.
+     */
+    private void finish(ConversionJob job, String convertedVersion) {
+        newTransaction.executeWithoutResult(status -> {
+            // Locked so a concurrent reset by onEntityChanged is not overwritten
+            ConversionJob current = conversionJobRepository.findByIdForUpdate(job.getId()).orElse(null);
+            if (current == null || (current.getStatus() != ConversionJobStatus.RUNNING
+                    && !convertedVersion.equals(current.getContentVersion()))) {
+                return;
+            }
+            current.setContentVersion(convertedVersion);
+            current.setStatus(job.getStatus());
+            current.setAttempts(job.getAttempts());
+            current.setPageCount(job.getPageCount());
+            current.setCompletedAt(job.getCompletedAt());
+            current.setNextAttemptAt(job.getNextAttemptAt());
+            current.setLastError(job.getLastError());
+            conversionJobRepository.save(current);
+        });
+        if (job.getStatus() == ConversionJobStatus.DONE) {
+            cache.deleteOtherVersions(job.getFileId(),
+                    cache.path(job.getFileId(), convertedVersion, HTML_SUFFIX),
+                    cache.path(job.getFileId(), convertedVersion, TEXT_SUFFIX));
+        }
+    }
+
+    /**
+     * Write the renditions of a file's current version and count its pages.
+     */
+    private Integer convert(UploadedFile file) throws IOException {
+        String filename = file.getOriginalFilename();
+        String extension = extension(filename);
+        String version = file.contentVersion();
+        Path source = fileService.loadFileAsResource(file.getFileUrl()).getFile().toPath();
+
+        String officeMimeType = OFFICE_MIME_TYPES.get(extension);
+        Path html = cache.path(file.getId(), version, HTML_SUFFIX);
+        if (officeMimeType != null && !Files.exists(html)) {
+            byte[] content = officeDocumentConverter.convertToHtml(source.toString(), officeMimeType);
+            cache.write(html, path -> Files.write(path, content));
+        }
+        Path text = cache.path(file.getId(), version, TEXT_SUFFIX);
+        if (!Files.exists(text)) {
+            String content = textExtractor.extract(source, filename, maxTextChars);
+            cache.write(text, path -> Files.writeString(path, content, StandardCharsets.UTF_8));
+        }
+        return countPages(source, extension);
+    }
+
+    private static Integer countPages(Path source, String extension) throws IOException {
+        switch (extension) {
+            case "pdf":
+                try (PdfDocument pdf = new PdfDocument(new PdfReader(source.toString()))) {
+                    return pdf.getNumberOfPages();
+                } catch (RuntimeException e) {
+                    throw new IOException("Could not read PDF: " + e.getMessage(), e);
+                }
+            case "ppt":
+            case "pptx":
+                try (SlideShow<?, ?> slideShow = SlideShowFactory.create(source.toFile(), null, true)) {
+                    return slideShow.getSlides().size();
+                }
+            case "xls":
+            case "xlsx":
+                try (Workbook workbook = WorkbookFactory.create(source.toFile(), null, true)) {
+                    return workbook.getNumberOfSheets();
+                }
+            case "docx":
+                // Word stores the page count computed at last save in docProps/app.xml
+                try (InputStream in = Files.newInputStream(source); XWPFDocument document = new XWPFDocument(in)) {
+                    int pages = document.getProperties().getExtendedProperties().getPages();
+                    return pages > 0 ? pages : null;
+                }
+            case "doc":
+                try (InputStream in = Files.newInputStream(source); HWPFDocument document = new HWPFDocument(in)) {
+                    int pages = document.getSummaryInformation() != null
+                            ? document.getSummaryInformation().getPageCount() : 0;
+                    return pages > 0 ? pages : null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private boolean isConvertible(String filename, Long fileSize) {
+        String extension = extension(filename);
+        return (OFFICE_MIME_TYPES.containsKey(extension) || "pdf".equals(extension))
+                && (fileSize == null || fileSize <= maxFileSize);
+    }
+
+    private static Optional<byte[]> read(Path path) {
+        try {
+            return Optional.of(Files.readAllBytes(path));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read cached rendition {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot >= 0 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,87 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Disk cache of files derived from uploads (thumbnails, preview renditions),
+ * keyed by file ID and content version.
+ *
+ * Layout: {@code {root}/{aa}/{bb}/{fileId}-{version}{suffix}}, where {@code aa}
+ * and {@code bb} are the low two bytes of the file ID in hex, so no directory
+ * grows beyond a few hundred entries.
+ *
+ * @since 2.1
+ */
+@Slf4j
+final class ShardedFileCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path root;
+
+    ShardedFileCache(Path root) {
+        this.root = root;
+    }
+
+    Path path(Long fileId, String version, String suffix) {
+        return shardDir(fileId).resolve(fileId + "-" + version + suffix);
+    }
+
+    /**
+     * Write an entry through a temp file in the same directory, so readers never see partial content.
+     */
+    void write(Path target, Writer writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            writer.write(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Remove the entries of a file except those to keep (none given: all of them).
+     */
+    void deleteOtherVersions(Long fileId, Path... keep) {
+        Path dir = shardDir(fileId);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir, fileId + "-*")) {
+            for (Path entry : entries) {
+                if (!isKept(entry, keep) && !entry.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up cached files of file {} in {}: {}", fileId, root, e.getMessage());
+        }
+    }
+
+    private Path shardDir(Long fileId) {
+        return root.resolve(String.format("%02x", fileId & 0xff))
+                .resolve(String.format("%02x", (fileId >> 8) & 0xff));
+    }
+
+    private static boolean isKept(Path entry, Path[] keep) {
+        for (Path path : keep) {
+            if (entry.equals(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    interface Writer {
+        void write(Path target) throws IOException;
+    }
+}
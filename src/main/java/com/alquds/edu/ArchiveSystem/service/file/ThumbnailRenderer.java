@@ -0,0 +1,308 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.sl.usermodel.Slide;
+import org.apache.poi.sl.usermodel.SlideShow;
+import org.apache.poi.sl.usermodel.SlideShowFactory;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Renders small preview images of archived files for the explorer grid:
+ * - Images: decoded with ImageIO, subsampled while reading so large photos and
+ *   scans never need a full-resolution raster
+ * - PowerPoint (.ppt, .pptx): the first slide, drawn by Apache POI
+ * - PDF: the dominant image of the first page (scanned documents), otherwise a
+ *   page sketch with the first lines of its text
+ * - Word, Excel and text files: a page sketch with the first lines of their text
+ *
+ * The result fits into a {@code size x size} square and keeps the aspect ratio.
+ *
+ * @since 2.1
+ */
+@Component
+@Slf4j
+public class ThumbnailRenderer {
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "bmp");
+    private static final Set<String> SLIDE_EXTENSIONS = Set.of("ppt", "pptx");
+    private static final Set<String> TEXT_CARD_EXTENSIONS = Set.of("doc", "docx", "xls", "xlsx", "txt", "csv", "md");
+
+    // A page image covering at least this share of the page is taken as the page itself
+    private static final double SCANNED_PAGE_COVERAGE = 0.5;
+    private static final int CARD_TEXT_CHARS = 600;
+
+    private final DocumentTextExtractor textExtractor;
+
+    public ThumbnailRenderer(DocumentTextExtractor textExtractor) {
+        this.textExtractor = textExtractor;
+    }
+
+    /**
+     * @return {@code true} if a thumbnail can be rendered for files with this name
+     */
+    public boolean supports(String filename) {
+        String extension = extension(filename);
+        return IMAGE_EXTENSIONS.contains(extension) || SLIDE_EXTENSIONS.contains(extension)
+                || TEXT_CARD_EXTENSIONS.contains(extension) || "pdf".equals(extension);
+    }
+
+    /**
+     * Render the thumbnail of a file.
+     *
+     * @param file     the file on disk
+     * @param filename original filename, used to pick the format
+     * @param size     maximum width and height in pixels
+     * @return the thumbnail, or {@code null} for unsupported formats
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public BufferedImage render(Path file, String filename, int size) throws IOException {
+        String extension = extension(filename);
+        if (IMAGE_EXTENSIONS.contains(extension)) {
+            return renderImage(file, size);
+        }
+        if (SLIDE_EXTENSIONS.contains(extension)) {
+            return renderFirstSlide(file, size);
+        }
+        if ("pdf".equals(extension)) {
+            return renderPdfFirstPage(file, size);
+        }
+        if (TEXT_CARD_EXTENSIONS.contains(extension)) {
+            return renderTextCard(textExtractor.extract(file, filename, CARD_TEXT_CHARS), size);
+        }
+        return null;
+    }
+
+    private BufferedImage renderImage(Path file, int size) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                throw new IOException("Cannot open image");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Decode at no less than twice the target size; the final resize smooths the rest
+                int subsampling = Math.max(1, Math.max(width, height) / (size * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return scaleToFit(reader.read(0, param), size);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage renderFirstSlide(Path file, int size) throws IOException {
+        try (SlideShow<?, ?> slideShow = SlideShowFactory.create(file.toFile(), null, true)) {
+            List<? extends Slide<?, ?>> slides = slideShow.getSlides();
+            if (slides.isEmpty()) {
+                return renderTextCard("", size);
+            }
+            Dimension page = slideShow.getPageSize();
+            double scale = (double) size / Math.max(page.width, page.height);
+            BufferedImage image = canvas((int) Math.ceil(page.width * scale), (int) Math.ceil(page.height * scale));
+            Graphics2D graphics = image.createGraphics();
+            try {
+                applyQualityHints(graphics);
+                graphics.scale(scale, scale);
+                slides.get(0).draw(graphics);
+            } finally {
+                graphics.dispose();
+            }
+            return image;
+        }
+    }
+
+    private BufferedImage renderPdfFirstPage(Path file, int size) throws IOException {
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(file.toString()))) {
+            if (pdf.getNumberOfPages() == 0) {
+                return renderTextCard("", size);
+            }
+            PdfPage page = pdf.getFirstPage();
+            Rectangle pageSize = page.getPageSize();
+
+            LargestImageListener images = new LargestImageListener();
+            new PdfCanvasProcessor(images).processPageContent(page);
+            double pageArea = (double) pageSize.getWidth() * pageSize.getHeight();
+            if (images.largest != null && images.largestArea >= pageArea * SCANNED_PAGE_COVERAGE) {
+                BufferedImage scan = ImageIO.read(new ByteArrayInputStream(images.largest.getImageBytes()));
+                if (scan != null) {
+                    return scaleToFit(scan, size);
+                }
+            }
+            return renderTextCard(PdfTextExtractor.getTextFromPage(page), size);
+        } catch (RuntimeException e) {
+            // iText reports broken or encrypted PDFs with unchecked exceptions
+            throw new IOException("Could not read PDF: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A white page in A4 proportions with the first lines of the document text.
+     */
+    BufferedImage renderTextCard(String text, int size) {
+        int height = size;
+        int width = (int) Math.round(size / Math.sqrt(2));
+        BufferedImage image = canvas(width, height);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            applyQualityHints(graphics);
+            graphics.setColor(new Color(0xD0D5DD));
+            graphics.drawRect(0, 0, width - 1, height - 1);
+
+            int margin = Math.max(4, size / 16);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, Math.max(6, size / 22)));
+            graphics.setColor(new Color(0x475467));
+            FontMetrics metrics = graphics.getFontMetrics();
+            int y = margin + metrics.getAscent();
+            for (String line : wrap(text, metrics, width - 2 * margin)) {
+                if (y > height - margin) {
+                    break;
+                }
+                graphics.drawString(line, margin, y);
+                y += metrics.getHeight();
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static List<String> wrap(String text, FontMetrics metrics, int maxWidth) {
+        List<String> lines = new ArrayList<>();
+        if (text == null) {
+            return lines;
+        }
+        for (String paragraph : text.split("\\R")) {
+            StringBuilder line = new StringBuilder();
+            for (String word : paragraph.trim().split("\\s+")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                if (line.length() > 0 && metrics.stringWidth(line + " " + word) > maxWidth) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                if (line.length() > 0) {
+                    line.append(' ');
+                }
+                line.append(word);
+            }
+            if (line.length() > 0) {
+                lines.add(line.toString());
+            }
+        }
+        return lines;
+    }
+
+    private static BufferedImage scaleToFit(BufferedImage source, int size) {
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage target = canvas(width, height);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            applyQualityHints(graphics);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Opaque RGB canvas on white: transparent areas of the source become white,
+     * which keeps the PNG small and looks right on the explorer's light cards.
+     */
+    private static BufferedImage canvas(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static void applyQualityHints(Graphics2D graphics) {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot >= 0 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Remembers the image drawn largest on the page (by area in page units).
+     */
+    private static final class LargestImageListener implements IEventListener {
+
+        private PdfImageXObject largest;
+        private double largestArea;
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            if (type != EventType.RENDER_IMAGE) {
+                return;
+            }
+            ImageRenderInfo info = (ImageRenderInfo) data;
+            Matrix ctm = info.getImageCtm();
+            double area = Math.abs((double) ctm.get(Matrix.I11) * ctm.get(Matrix.I22));
+            if (area > largestArea && info.getImage() != null) {
+                largest = info.getImage();
+                largestArea = area;
+            }
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return Set.of(EventType.RENDER_IMAGE);
+        }
+    }
+}
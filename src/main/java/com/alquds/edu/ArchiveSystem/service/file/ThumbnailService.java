@@ -0,0 +1,46 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import java.nio.file.Path;
+
+/**
+ * Service for small preview images of archived files, used by the explorer grid
+ * instead of downloading the full original.
+ *
+ * Thumbnails are PNG files in a sharded disk cache under {@code thumbnail.dir},
+ * keyed by file ID and content version, and are generated in the background:
+ * right after an upload or replacement is committed, or on first request.
+ *
+ * Access checks are the caller's job.
+ *
+ * @since 2.1
+ */
+public interface ThumbnailService {
+
+    enum Status {
+        /** The thumbnail is in the cache */
+        READY,
+        /** The thumbnail is being generated; ask again shortly */
+        PENDING,
+        /** No thumbnail for this file (unsupported format, too large or generation failed) */
+        UNAVAILABLE
+    }
+
+    /**
+     * Lookup result.
+     *
+     * @param status  availability
+     * @param file    the cached PNG when {@link Status#READY}, otherwise {@code null}
+     * @param version content version the thumbnail belongs to; changes when the file is replaced
+     */
+    record Thumbnail(Status status, Path file, String version) {
+    }
+
+    /**
+     * Look up the thumbnail of a file and queue its generation if it is missing.
+     *
+     * @param fileId the file ID
+     * @return the thumbnail and its status
+     * @throws com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException if the file does not exist
+     */
+    Thumbnail getThumbnail(Long fileId);
+}
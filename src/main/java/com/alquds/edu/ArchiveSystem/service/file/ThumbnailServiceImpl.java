@@ -0,0 +1,185 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of ThumbnailService with a disk cache under {@code thumbnail.dir}.
+ *
+ * Cache layout: {@code {dir}/{size}/{aa}/{bb}/{fileId}-{version}.png} (see
+ * {@link ShardedFileCache}). The version is {@link UploadedFile#contentVersion()},
+ * so a replaced file gets a new cache entry and the old one is removed.
+ *
+ * Generation runs on a small pool of background threads; requests for a file
+ * that is already queued are coalesced. A file that cannot be rendered leaves an
+ * empty {@code .failed} marker so it is not retried until its content changes.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final String THUMBNAIL_SUFFIX = ".png";
+    private static final String FAILED_SUFFIX = ".failed";
+
+    private final ShardedFileCache cache;
+    private final boolean enabled;
+    private final int size;
+    private final long maxFileSize;
+    private final UploadedFileRepository uploadedFileRepository;
+    private final FileService fileService;
+    private final ThumbnailRenderer renderer;
+
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+
+    public ThumbnailServiceImpl(@Value("${thumbnail.dir:data/thumbnails}") String cacheDir,
+            @Value("${thumbnail.enabled:true}") boolean enabled,
+            @Value("${thumbnail.size:256}") int size,
+            @Value("${thumbnail.max-file-size:52428800}") long maxFileSize,
+            @Value("${thumbnail.threads:2}") int threads,
+            UploadedFileRepository uploadedFileRepository,
+            FileService fileService,
+            ThumbnailRenderer renderer) {
+        this.size = size;
+        this.cache = new ShardedFileCache(
+                Paths.get(cacheDir).toAbsolutePath().normalize().resolve(String.valueOf(size)));
+        this.enabled = enabled;
+        this.maxFileSize = maxFileSize;
+        this.uploadedFileRepository = uploadedFileRepository;
+        this.fileService = fileService;
+        this.renderer = renderer;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-generator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Pre-generate thumbnails of new and replaced files, drop those of deleted ones.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isAbout(UploadedFile.class)) {
+            return;
+        }
+        if (event.type() == EntityChangedEvent.ChangeType.DELETED) {
+            workers.execute(() -> cache.deleteOtherVersions(event.entityId()));
+        } else {
+            enqueue(event.entityId());
+        }
+    }
+
+    @Override
+    public Thumbnail getThumbnail(Long fileId) {
+        UploadedFile file = uploadedFileRepository.findById(fileId)
+                .orElseThrow(() -> new EntityNotFoundException("File not found with id: " + fileId));
+        String version = file.contentVersion();
+        if (!enabled || !canRender(file)) {
+            return new Thumbnail(Status.UNAVAILABLE, null, version);
+        }
+
+        Path thumbnail = cache.path(fileId, version, THUMBNAIL_SUFFIX);
+        if (Files.isRegularFile(thumbnail)) {
+            return new Thumbnail(Status.READY, thumbnail, version);
+        }
+        if (Files.exists(cache.path(fileId, version, FAILED_SUFFIX))) {
+            return new Thumbnail(Status.UNAVAILABLE, null, version);
+        }
+        enqueue(fileId);
+        return new Thumbnail(Status.PENDING, null, version);
+    }
+
+    private void enqueue(Long fileId) {
+        if (fileId == null || !queued.add(fileId)) {
+            return;
+        }
+        workers.execute(() -> {
+            queued.remove(fileId);
+            try {
+                generate(fileId);
+            } catch (Exception e) {
+                log.warn("Failed to generate thumbnail for file {}: {}", fileId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Render and cache the thumbnail of the file's current version, if missing.
+     */
+    void generate(Long fileId) throws IOException {
+        Optional<UploadedFile> row = uploadedFileRepository.findById(fileId);
+        if (row.isEmpty()) {
+            cache.deleteOtherVersions(fileId);
+            return;
+        }
+        UploadedFile file = row.get();
+        if (!canRender(file)) {
+            return;
+        }
+        String version = file.contentVersion();
+        Path target = cache.path(fileId, version, THUMBNAIL_SUFFIX);
+        Path failedMarker = cache.path(fileId, version, FAILED_SUFFIX);
+        if (Files.exists(target) || Files.exists(failedMarker)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        BufferedImage image;
+        try {
+            Path source = fileService.loadFileAsResource(file.getFileUrl()).getFile().toPath();
+            image = renderer.render(source, file.getOriginalFilename(), size);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not render thumbnail of file {} ({}): {}",
+                    fileId, file.getOriginalFilename(), e.getMessage());
+            image = null;
+        }
+        if (image == null) {
+            cache.write(failedMarker, path -> { });
+            cache.deleteOtherVersions(fileId, failedMarker);
+            return;
+        }
+
+        BufferedImage thumbnail = image;
+        cache.write(target, path -> ImageIO.write(thumbnail, "png", path.toFile()));
+        cache.deleteOtherVersions(fileId, target);
+        log.debug("Generated {}x{} thumbnail for file {} in {} ms ({} bytes)", image.getWidth(),
+                image.getHeight(), fileId, (System.nanoTime() - start) / 1_000_000, Files.size(target));
+    }
+
+    private boolean canRender(UploadedFile file) {
+        return renderer.supports(file.getOriginalFilename())
+                && (file.getFileSize() == null || file.getFileSize() <= maxFileSize);
+    }
+}
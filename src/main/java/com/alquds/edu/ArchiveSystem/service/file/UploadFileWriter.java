@@ -0,0 +1,224 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.exception.file.FileStorageException;
+import com.alquds.edu.ArchiveSystem.util.ContentDigestInputStream;
+import com.alquds.edu.ArchiveSystem.util.ContentTypeDetector;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the files of a multi-file upload to disk in parallel on a bounded pool.
+ * Each file is hashed (SHA-256, xxHash32) and its content type detected while it is
+ * copied, so the content is read only once.
+ *
+ * Every file is first copied to a hidden staging file next to its target. Only
+ * when all copies succeed are the staging files renamed into place; if any copy
+ * fails, all staging files of the batch are removed. Files moved into place are
+ * deleted again if the surrounding transaction rolls back, so a failed database
+ * insert does not leave orphans on disk.
+ *
+ * Moving into place goes through the {@link BlobStore}, so a file whose content is
+ * already stored becomes a link to the existing blob instead of a second copy.
+ *
+ * The pool size ({@code file.upload.io-threads}) is shared by all requests, so
+ * concurrent uploads cannot open an unbounded number of disk writers.
+ *
+ * @since 2.1
+ */
+@Component
+@Slf4j
+public class UploadFileWriter {
+
+    private final ExecutorService executor;
+    private final BlobStore blobStore;
+
+    public UploadFileWriter(@Value("${file.upload.io-threads:4}") int ioThreads, BlobStore blobStore) {
+        this.blobStore = blobStore;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, ioThreads), runnable -> {
+            Thread thread = new Thread(runnable, "upload-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One file to write: the uploaded content and its final location.
+     */
+    public record PendingWrite(MultipartFile source, Path target) {
+    }
+
+    /**
+     * A file that was written to its final location, with its integrity metadata.
+     */
+    public record WrittenFile(Path target, long size, String sha256, String xxHash, String detectedContentType) {
+
+        /**
+         * Copy size, hashes and detected content type onto an UploadedFile.
+         */
+        public void applyTo(UploadedFile uploadedFile) {
+            uploadedFile.setFileSize(size);
+            uploadedFile.setContentSha256(sha256);
+            uploadedFile.setContentXxHash(xxHash);
+            uploadedFile.setDetectedContentType(detectedContentType);
+        }
+    }
+
+    /**
+     * Write all files and return them in the same order as the input.
+     *
+     * @param writes files to write; target directories are created as needed
+     * @return written files
+     * @throws FileStorageException if any file cannot be written (no file of the batch is left behind)
+     */
+    public List<WrittenFile> writeAll(List<PendingWrite> writes) {
+        List<Path> stagingFiles = new ArrayList<>(writes.size());
+        List<Future<WrittenFile>> copies = new ArrayList<>(writes.size());
+        AtomicBoolean aborted = new AtomicBoolean();
+        for (PendingWrite write : writes) {
+            Path staging = write.target().resolveSibling(
+                    "." + write.target().getFileName() + "." + UUID.randomUUID() + ".part");
+            stagingFiles.add(staging);
+            copies.add(executor.submit(() -> aborted.get() ? null : copy(write, staging)));
+        }
+
+        List<WrittenFile> written = new ArrayList<>(writes.size());
+        for (int i = 0; i < copies.size(); i++) {
+            try {
+                written.add(copies.get(i).get());
+            } catch (InterruptedException | ExecutionException e) {
+                aborted.set(true);
+                discard(copies, stagingFiles);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                String filename = writes.get(i).source().getOriginalFilename();
+                log.error("Failed to write uploaded file: {}", filename, e);
+                throw FileStorageException.fileWriteFailed(filename,
+                        e instanceof ExecutionException ? e.getCause() : e);
+            }
+        }
+
+        List<Path> created = new ArrayList<>(writes.size());
+        for (int i = 0; i < writes.size(); i++) {
+            Path target = writes.get(i).target();
+            try {
+                boolean existed = Files.exists(target);
+                blobStore.store(stagingFiles.get(i), written.get(i).sha256(), target);
+                if (!existed) {
+                    created.add(target);
+                }
+            } catch (IOException e) {
+                deleteQuietly(stagingFiles);
+                deleteQuietly(created);
+                log.error("Failed to move uploaded file into place: {}", target, e);
+                throw FileStorageException.fileWriteFailed(target.getFileName().toString(), e);
+            }
+        }
+
+        deleteOnRollback(created);
+        log.debug("Wrote {} uploaded file(s)", written.size());
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hash an existing file and detect its content type (one sequential read).
+     * Used where the content did not arrive as a single stream, e.g. chunked uploads.
+     *
+     * @param file     file to read
+     * @param filename original filename, used to narrow container formats
+     * @return the file's integrity metadata
+     */
+    public static WrittenFile digest(Path file, String filename) throws IOException {
+        try (ContentDigestInputStream in = new ContentDigestInputStream(Files.newInputStream(file))) {
+            long size = in.drain();
+            return new WrittenFile(file, size, in.sha256Hex(), in.xxHashHex(),
+                    ContentTypeDetector.detect(in.header(), filename));
+        }
+    }
+
+    private WrittenFile copy(PendingWrite write, Path staging) throws IOException {
+        Files.createDirectories(staging.getParent());
+        try (ContentDigestInputStream in = new ContentDigestInputStream(write.source().getInputStream())) {
+            long size = Files.copy(in, staging, StandardCopyOption.REPLACE_EXISTING);
+            return new WrittenFile(write.target(), size, in.sha256Hex(), in.xxHashHex(),
+                    ContentTypeDetector.detect(in.header(), write.source().getOriginalFilename()));
+        }
+    }
+
+    /**
+     * Wait for copies that already started (queued ones skip their work once the
+     * batch is aborted), then remove every staging file. Futures are not cancelled
+     * because a cancelled future returns before its copy has actually stopped.
+     */
+    private void discard(List<Future<WrittenFile>> copies, List<Path> stagingFiles) {
+        boolean interrupted = Thread.interrupted();
+        for (Future<WrittenFile> copy : copies) {
+            while (true) {
+                try {
+                    copy.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break;
+                }
+            }
+        }
+        deleteQuietly(stagingFiles);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deleteOnRollback(List<Path> created) {
+        if (created.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    log.warn("Upload transaction rolled back, removing {} written file(s)", created.size());
+                    deleteQuietly(created);
+                }
+            }
+        });
+    }
+
+    private static void deleteQuietly(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
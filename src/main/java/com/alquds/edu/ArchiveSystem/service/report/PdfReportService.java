@@ -17,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -28,6 +29,7 @@ public class PdfReportService {
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int TABLE_FLUSH_ROWS = 50;
     
     /**
      * Generate PDF report for department submission summary
@@ -140,7 +142,8 @@ public class PdfReportService {
         
         // Create table with 8 columns
         float[] columnWidths = {3f, 1.2f, 1.2f, 1.2f, 1.2f, 1.5f, 1.5f, 2f};
-        Table table = new Table(UnitValue.createPercentArray(columnWidths))
+        // Large table: rows added after document.add() are laid out on flush()
+        Table table = new Table(UnitValue.createPercentArray(columnWidths), true)
                 .setWidth(UnitValue.createPercentValue(100));
         
         // Header row
@@ -206,11 +209,25 @@ public class PdfReportService {
      * Generate PDF report for professor submission report (semester-based)
      */
     public byte[] generateProfessorSubmissionReportPdf(com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport report) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeProfessorSubmissionReportPdf(report, baos);
+        return baos.toByteArray();
+    }
+    
+    /**
+     * Write the professor submission report (semester-based) as PDF to the given stream.
+     * The submission table is laid out in chunks of {@value #TABLE_FLUSH_ROWS} rows, so
+     * finished pages go to the stream instead of being held until the end. The stream
+     * is not closed.
+     */
+    public void writeProfessorSubmissionReportPdf(com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport report,
+                                                  OutputStream out) {
         log.info("Generating PDF report for semester: {}, department: {}", 
                 report.getSemesterName(), report.getDepartmentName());
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
+        try {
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdfDoc = new PdfDocument(writer);
             Document document = new Document(pdfDoc);
             
@@ -229,7 +246,6 @@ public class PdfReportService {
             document.close();
             
             log.info("PDF report generated successfully");
-            return baos.toByteArray();
             
         } catch (Exception e) {
             log.error("Error generating PDF report", e);
@@ -328,7 +344,8 @@ public class PdfReportService {
             columnWidths[i] = 1.5f; // Document type columns
         }
         
-        Table table = new Table(UnitValue.createPercentArray(columnWidths))
+        // Large table: rows added after document.add() are laid out on flush()
+        Table table = new Table(UnitValue.createPercentArray(columnWidths), true)
                 .setWidth(UnitValue.createPercentValue(100));
         
         // Header row
@@ -338,8 +355,10 @@ public class PdfReportService {
         for (com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum docType : documentTypes) {
             addTableHeader(table, docType.name(), headerBg);
         }
+        document.add(table);
         
         // Data rows
+        int rowCount = 0;
         for (com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionRow row : report.getRows()) {
             addTableCell(table, row.getProfessorName(), false);
             addTableCell(table, row.getCourseCode(), false);
@@ -351,9 +370,12 @@ public class PdfReportService {
                         statusInfo != null ? statusInfo.getStatus() : com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus.NOT_UPLOADED;
                 addStatusCell(table, status);
             }
+            if (++rowCount % TABLE_FLUSH_ROWS == 0) {
+                table.flush();
+            }
         }
         
-        document.add(table);
+        table.complete();
         
         // Add legend
         addStatusLegend(document);
@@ -0,0 +1,146 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.DepartmentReportSummary;
+import com.alquds.edu.ArchiveSystem.dto.report.DocumentStatusInfo;
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionRow;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionDetailRow;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionStatistics;
+import com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * CSV exports of the semester reports, written row by row to a caller-supplied
+ * {@link Writer}. The writer is flushed but not closed.
+ */
+@Component
+public class ReportCsvExporter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /**
+     * One row per department plus a TOTAL row.
+     */
+    public void writeSystemWideReport(SystemWideReport report, Writer out) throws IOException {
+        out.write("Department,Professors,Courses,Required Documents,Submitted,Missing,Overdue,Completion Rate\n");
+
+        if (report.getDepartmentSummaries() != null) {
+            for (DepartmentReportSummary deptSummary : report.getDepartmentSummaries()) {
+                writeStatistics(out, deptSummary.getDepartmentName(), deptSummary.getStatistics());
+            }
+        }
+
+        // Add overall statistics
+        if (report.getOverallStatistics() != null) {
+            writeStatistics(out, "TOTAL", report.getOverallStatistics());
+        }
+        out.flush();
+    }
+
+    /**
+     * One row per professor and course with a status column per required document type.
+     * The cell shows the status, followed by the submission time if submitted.
+     */
+    public void writeProfessorSubmissionReport(ProfessorSubmissionReport report, Writer out) throws IOException {
+        Set<DocumentTypeEnum> documentTypes = new TreeSet<>();
+        if (report.getRows() != null) {
+            for (ProfessorSubmissionRow row : report.getRows()) {
+                if (row.getDocumentStatuses() != null) {
+                    documentTypes.addAll(row.getDocumentStatuses().keySet());
+                }
+            }
+        }
+
+        out.write("Professor,Email,Course Code,Course Name");
+        for (DocumentTypeEnum documentType : documentTypes) {
+            out.write(',');
+            out.write(documentType.name());
+        }
+        out.write('\n');
+
+        if (report.getRows() != null) {
+            for (ProfessorSubmissionRow row : report.getRows()) {
+                out.write(quote(row.getProfessorName()) + ',' + quote(row.getProfessorEmail()) + ','
+                        + quote(row.getCourseCode()) + ',' + quote(row.getCourseName()));
+                Map<DocumentTypeEnum, DocumentStatusInfo> statuses = row.getDocumentStatuses();
+                for (DocumentTypeEnum documentType : documentTypes) {
+                    DocumentStatusInfo info = statuses != null ? statuses.get(documentType) : null;
+                    out.write(',');
+                    out.write(quote(statusCell(info)));
+                }
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * One row per course assignment and required document type. Rows are pulled
+     * from the iterator as they are written, so memory use does not grow with the row count.
+     */
+    public void writeSubmissionDetails(Iterator<SubmissionDetailRow> rows, Writer out) throws IOException {
+        out.write("Professor,Email,Department,Course Code,Course Name,Document Type,Deadline,Status,Submitted At,Late\n");
+        while (rows.hasNext()) {
+            SubmissionDetailRow row = rows.next();
+            out.write(quote(row.getProfessorName()) + ','
+                    + quote(row.getProfessorEmail()) + ','
+                    + quote(row.getDepartmentName()) + ','
+                    + quote(row.getCourseCode()) + ','
+                    + quote(row.getCourseName()) + ','
+                    + (row.getDocumentType() != null ? row.getDocumentType().name() : "") + ','
+                    + format(row.getDeadline()) + ','
+                    + (row.getStatus() != null ? row.getStatus().name() : "") + ','
+                    + format(row.getSubmittedAt()) + ','
+                    + (Boolean.TRUE.equals(row.getLateSubmission()) ? "yes" : "no") + '\n');
+        }
+        out.flush();
+    }
+
+    private static void writeStatistics(Writer out, String label, SubmissionStatistics stats) throws IOException {
+        int totalRequired = stats.getTotalRequiredDocuments();
+        int submitted = stats.getSubmittedDocuments();
+        double completionRate = totalRequired > 0 ? (double) submitted / totalRequired * 100 : 0.0;
+
+        out.write(String.format("\"%s\",%d,%d,%d,%d,%d,%d,%.2f%%\n",
+                label,
+                stats.getTotalProfessors(),
+                stats.getTotalCourses(),
+                totalRequired,
+                submitted,
+                stats.getMissingDocuments(),
+                stats.getOverdueDocuments(),
+                completionRate));
+    }
+
+    private static String statusCell(DocumentStatusInfo info) {
+        if (info == null || info.getStatus() == null) {
+            return "";
+        }
+        if (info.getSubmittedAt() == null) {
+            return info.getStatus().name();
+        }
+        return info.getStatus().name() + " " + info.getSubmittedAt().format(DATE_FORMATTER);
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_FORMATTER) : "";
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,69 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseRepository;
+import com.alquds.edu.ArchiveSystem.repository.academic.DepartmentRepository;
+import com.alquds.edu.ArchiveSystem.repository.submission.DocumentSubmissionRepository;
+import com.alquds.edu.ArchiveSystem.repository.submission.RequiredDocumentTypeRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Computes the data version of a semester's reports: a hash of the row count and
+ * latest update time of every table a report reads. Any insert, update or delete
+ * of a submission, assignment, requirement, user, course or department changes it.
+ *
+ * Six aggregate queries over indexed columns, far cheaper than building a report.
+ *
+ * @since 2.1
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportDataVersionResolver {
+
+    private final DocumentSubmissionRepository documentSubmissionRepository;
+    private final CourseAssignmentRepository courseAssignmentRepository;
+    private final RequiredDocumentTypeRepository requiredDocumentTypeRepository;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+
+    /**
+     * @param semesterId the semester the report covers
+     * @return a 16 character version that changes whenever the report data changes
+     */
+    @Transactional(readOnly = true)
+    public String resolve(Long semesterId) {
+        StringBuilder stamp = new StringBuilder().append(semesterId);
+        append(stamp, documentSubmissionRepository.findChangeStampBySemesterId(semesterId));
+        append(stamp, courseAssignmentRepository.findChangeStampBySemesterId(semesterId));
+        append(stamp, requiredDocumentTypeRepository.findChangeStampBySemesterId(semesterId));
+        append(stamp, userRepository.findChangeStamp());
+        append(stamp, courseRepository.findChangeStamp());
+        append(stamp, departmentRepository.findChangeStamp());
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(stamp.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void append(StringBuilder stamp, List<Object[]> rows) {
+        stamp.append('|');
+        if (!rows.isEmpty()) {
+            Object[] row = rows.get(0);
+            stamp.append(row[0]).append('@').append(row[1]);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportFormat;
+import com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service for writing reports straight to an output stream (a servlet response
+ * or a report store file) instead of building them in memory first.
+ *
+ * The stream is flushed but not closed. Formats a report does not support
+ * (see {@link com.alquds.edu.ArchiveSystem.dto.report.ReportType#supports}) are
+ * rejected with a ValidationException before anything is written.
+ *
+ * @since 2.1
+ */
+public interface ReportExportService {
+
+    /**
+     * Write a professor submission report as PDF, CSV, XLSX or JSON.
+     */
+    void writeProfessorSubmissionReport(ProfessorSubmissionReport report, ReportFormat format, OutputStream out)
+            throws IOException;
+
+    /**
+     * Write a system-wide report as CSV, XLSX or JSON.
+     */
+    void writeSystemWideReport(SystemWideReport report, ReportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Write the submission detail export (one row per course assignment and required
+     * document type) as CSV or XLSX. Rows are read from the database in pages while
+     * they are written, so memory use stays flat however many rows the semester has.
+     *
+     * @param semesterId   the semester
+     * @param departmentId the department, or null for all departments; callers apply access rules
+     * @param format       CSV or XLSX
+     * @param out          the target stream
+     */
+    void writeSubmissionDetails(Long semesterId, Long departmentId, ReportFormat format, OutputStream out)
+            throws IOException;
+}
@@ -0,0 +1,221 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportFormat;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportType;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionDetailRow;
+import com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+import com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus;
+import com.alquds.edu.ArchiveSystem.exception.core.ValidationException;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of ReportExportService.
+ *
+ * The submission detail export pages through a semester's course assignments by
+ * ID (keyset pagination, {@code report.export.page-size} assignments per page)
+ * and fetches each page's rows with one scalar query, so neither the result set
+ * nor the persistence context grows with the export.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private static final int WRITER_BUFFER_SIZE = 16 * 1024;
+
+    private final int pageSize;
+    private final PdfReportService pdfReportService;
+    private final ReportCsvExporter csvExporter;
+    private final ReportXlsxExporter xlsxExporter;
+    private final CourseAssignmentRepository courseAssignmentRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReportExportServiceImpl(@Value("${report.export.page-size:500}") int pageSize,
+            PdfReportService pdfReportService,
+            ReportCsvExporter csvExporter,
+            ReportXlsxExporter xlsxExporter,
+            CourseAssignmentRepository courseAssignmentRepository,
+            ObjectMapper objectMapper) {
+        this.pageSize = Math.max(1, pageSize);
+        this.pdfReportService = pdfReportService;
+        this.csvExporter = csvExporter;
+        this.xlsxExporter = xlsxExporter;
+        this.courseAssignmentRepository = courseAssignmentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void writeProfessorSubmissionReport(ProfessorSubmissionReport report, ReportFormat format,
+                                               OutputStream out) throws IOException {
+        checkSupported(ReportType.PROFESSOR_SUBMISSIONS, format);
+        switch (format) {
+            case PDF:
+                pdfReportService.writeProfessorSubmissionReportPdf(report, out);
+                break;
+            case CSV:
+                csvExporter.writeProfessorSubmissionReport(report, writer(out));
+                break;
+            case XLSX:
+                xlsxExporter.writeProfessorSubmissionReport(report, out);
+                break;
+            default:
+                writeJson(report, out);
+        }
+    }
+
+    @Override
+    public void writeSystemWideReport(SystemWideReport report, ReportFormat format, OutputStream out)
+            throws IOException {
+        checkSupported(ReportType.SYSTEM_WIDE, format);
+        switch (format) {
+            case CSV:
+                csvExporter.writeSystemWideReport(report, writer(out));
+                break;
+            case XLSX:
+                xlsxExporter.writeSystemWideReport(report, out);
+                break;
+            default:
+                writeJson(report, out);
+        }
+    }
+
+    @Override
+    public void writeSubmissionDetails(Long semesterId, Long departmentId, ReportFormat format, OutputStream out)
+            throws IOException {
+        checkSupported(ReportType.SUBMISSION_DETAILS, format);
+        long start = System.nanoTime();
+        SubmissionDetailIterator rows = new SubmissionDetailIterator(semesterId, departmentId);
+        if (format == ReportFormat.CSV) {
+            csvExporter.writeSubmissionDetails(rows, writer(out));
+        } else {
+            xlsxExporter.writeSubmissionDetails(rows, out);
+        }
+        log.info("Exported {} submission detail rows for semester {}, department {} as {} in {} ms",
+                rows.count, semesterId, departmentId != null ? departmentId : "all", format,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void writeJson(Object report, OutputStream out) throws IOException {
+        objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, report);
+        out.flush();
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+    }
+
+    private static void checkSupported(ReportType type, ReportFormat format) {
+        if (format == null || !type.supports(format)) {
+            String name = type.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            throw new ValidationException("Format " + format + " is not supported for the " + name + " report",
+                    Map.of("format", "unsupported for " + type));
+        }
+    }
+
+    /**
+     * Submission status of one required document: the submission's own status,
+     * or OVERDUE / NOT_UPLOADED by deadline if nothing was submitted, as in the
+     * professor submission report.
+     */
+    static SubmissionStatus status(SubmissionStatus submitted, LocalDateTime deadline, LocalDateTime now) {
+        if (submitted != null) {
+            return submitted;
+        }
+        return deadline != null && deadline.isBefore(now) ? SubmissionStatus.OVERDUE : SubmissionStatus.NOT_UPLOADED;
+    }
+
+    static SubmissionDetailRow toDetailRow(Object[] row, LocalDateTime now) {
+        String firstName = (String) row[1];
+        String lastName = (String) row[2];
+        LocalDateTime deadline = (LocalDateTime) row[8];
+        return SubmissionDetailRow.builder()
+                .courseAssignmentId((Long) row[0])
+                .professorName(firstName + " " + lastName)
+                .professorEmail((String) row[3])
+                .departmentName((String) row[4])
+                .courseCode((String) row[5])
+                .courseName((String) row[6])
+                .documentType((DocumentTypeEnum) row[7])
+                .deadline(deadline)
+                .status(status((SubmissionStatus) row[9], deadline, now))
+                .submittedAt((LocalDateTime) row[10])
+                .lateSubmission(Boolean.TRUE.equals(row[11]))
+                .build();
+    }
+
+    /**
+     * Lazily pages through the detail rows; only the current page is held in memory.
+     */
+    private final class SubmissionDetailIterator implements Iterator<SubmissionDetailRow> {
+        private final Long semesterId;
+        private final Long departmentId;
+        // Fixed for the whole export so that OVERDUE is consistent across pages
+        private final LocalDateTime now = LocalDateTime.now();
+        private Iterator<SubmissionDetailRow> page = Collections.emptyIterator();
+        private long afterId = 0L;
+        private boolean exhausted;
+        long count;
+
+        SubmissionDetailIterator(Long semesterId, Long departmentId) {
+            this.semesterId = semesterId;
+            this.departmentId = departmentId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !exhausted) {
+                List<Long> ids = courseAssignmentRepository.findIdsForExport(
+                        semesterId, departmentId, afterId, PageRequest.of(0, pageSize));
+                if (ids.size() < pageSize) {
+                    exhausted = true;
+                }
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+
+                List<Object[]> rows = courseAssignmentRepository.findSubmissionDetails(ids);
+                List<SubmissionDetailRow> details = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    details.add(toDetailRow(row, now));
+                }
+                page = details.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public SubmissionDetailRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            count++;
+            return page.next();
+        }
+    }
+}
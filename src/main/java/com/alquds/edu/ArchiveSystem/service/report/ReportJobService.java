@@ -0,0 +1,61 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobDTO;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobRequest;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+
+import java.nio.file.Path;
+
+/**
+ * Service for building reports in the background.
+ *
+ * A submitted job returns at once with a job ID; a worker builds the report and
+ * stores the PDF, CSV, XLSX or JSON on disk, keyed by semester, department, role scope
+ * and data version (see {@link ReportDataVersionResolver}). Submitting the same
+ * report again while its data is unchanged completes immediately from that store,
+ * and identical jobs that are still running share one build.
+ *
+ * Jobs are visible only to the user who submitted them.
+ *
+ * @since 2.1
+ */
+public interface ReportJobService {
+
+    /**
+     * A finished report on disk.
+     *
+     * @param file        the stored report
+     * @param filename    download name
+     * @param contentType MIME type of the format
+     */
+    record ReportFile(Path file, String filename, String contentType) {
+    }
+
+    /**
+     * Submit a report job.
+     *
+     * @param request     report type, format, semester and optional department
+     * @param currentUser the submitting user; HOD users are limited to their department
+     * @return the job, already DONE if the report was in the store
+     * @throws com.alquds.edu.ArchiveSystem.exception.core.ValidationException if the request is not supported
+     */
+    ReportJobDTO submit(ReportJobRequest request, User currentUser);
+
+    /**
+     * @param jobId       the job ID
+     * @param currentUser the user polling
+     * @return the job's current status
+     * @throws com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException if there is no such job for the user
+     */
+    ReportJobDTO getJob(String jobId, User currentUser);
+
+    /**
+     * @param jobId       the job ID
+     * @param currentUser the user downloading
+     * @return the finished report
+     * @throws com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException if there is no such job for the
+     *         user or its result has been evicted
+     * @throws IllegalStateException if the job is not DONE
+     */
+    ReportFile getResult(String jobId, User currentUser);
+}
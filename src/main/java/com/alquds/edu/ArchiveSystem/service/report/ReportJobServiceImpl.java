@@ -0,0 +1,431 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobDTO;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobRequest;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobStatus;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportType;
+import com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.exception.auth.UnauthorizedOperationException;
+import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
+import com.alquds.edu.ArchiveSystem.exception.core.ValidationException;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.academic.SemesterReportService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ReportJobService with an in-memory job table and a report
+ * store under {@code report.jobs.dir}.
+ *
+ * Store layout: {@code {dir}/{type}-s{semester}-{d{department}|all}-{role}-{dataVersion}.{ext}}.
+ * A new data version gives a new file name, so changed data is never served
+ * from the store. Reports also depend on the clock (overdue documents), so
+ * stored files expire after {@code cache-ttl-minutes}; when the store grows over
+ * {@code cache-max-bytes} the oldest files are removed first.
+ *
+ * Job records are kept for {@code retention-minutes} after they finish. They
+ * live in memory only: a restart forgets them, but not the stored reports.
+ *
+ * @since 2.1
+ */
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final Path storeDir;
+    private final Duration cacheTtl;
+    private final long cacheMaxBytes;
+    private final Duration jobRetention;
+    private final SemesterReportService semesterReportService;
+    private final ReportExportService reportExportService;
+    private final ReportDataVersionResolver dataVersionResolver;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Builds in progress by store file name, shared by identical jobs
+    private final Map<String, Build> builds = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+
+    public ReportJobServiceImpl(@Value("${report.jobs.dir:data/reports}") String storeDir,
+            @Value("${report.jobs.workers:2}") int workerCount,
+            @Value("${report.jobs.cache-ttl-minutes:60}") long cacheTtlMinutes,
+            @Value("${report.jobs.cache-max-bytes:268435456}") long cacheMaxBytes,
+            @Value("${report.jobs.retention-minutes:60}") long retentionMinutes,
+            SemesterReportService semesterReportService,
+            ReportExportService reportExportService,
+            ReportDataVersionResolver dataVersionResolver,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager) {
+        this.storeDir = Paths.get(storeDir).toAbsolutePath().normalize();
+        this.cacheTtl = Duration.ofMinutes(cacheTtlMinutes);
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.jobRetention = Duration.ofMinutes(retentionMinutes);
+        this.semesterReportService = semesterReportService;
+        this.reportExportService = reportExportService;
+        this.dataVersionResolver = dataVersionResolver;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), runnable -> {
+            Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public ReportJobDTO submit(ReportJobRequest request, User currentUser) {
+        Long departmentId = effectiveDepartmentId(request.getDepartmentId(), currentUser);
+        validate(request, departmentId);
+
+        String name = String.join("-",
+                request.getType().name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                "s" + request.getSemesterId(),
+                departmentId != null ? "d" + departmentId : "all",
+                roleScope(currentUser),
+                dataVersionResolver.resolve(request.getSemesterId()))
+                + "." + request.getFormat().getExtension();
+        Path target = storeDir.resolve(name);
+
+        Build build;
+        boolean cached = isFresh(target);
+        if (cached) {
+            build = Build.finished();
+            log.debug("Report {} served from the store", name);
+        } else {
+            Build created = new Build();
+            Build running = builds.putIfAbsent(name, created);
+            build = running != null ? running : created;
+            if (running == null) {
+                schedule(name, created, request, departmentId, currentUser.getId(), target);
+            }
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), currentUser.getId(), request, departmentId,
+                target, build, cached, LocalDateTime.now());
+        jobs.put(job.id, job);
+        return toDto(job);
+    }
+
+    @Override
+    public ReportJobDTO getJob(String jobId, User currentUser) {
+        return toDto(findJob(jobId, currentUser));
+    }
+
+    @Override
+    public ReportFile getResult(String jobId, User currentUser) {
+        Job job = findJob(jobId, currentUser);
+        if (status(job) != ReportJobStatus.DONE) {
+            throw new IllegalStateException("Report job " + jobId + " is not finished");
+        }
+        if (!Files.isRegularFile(job.result)) {
+            throw new EntityNotFoundException("Report result has expired, please submit the job again");
+        }
+
+        ReportJobRequest request = job.request;
+        String filename = request.getType().name().toLowerCase(Locale.ROOT).replace('_', '-')
+                + "-report-" + request.getSemesterId()
+                + (job.departmentId != null ? "-" + job.departmentId : "")
+                + "." + request.getFormat().getExtension();
+        return new ReportFile(job.result, filename, request.getFormat().getContentType());
+    }
+
+    /**
+     * Forget finished jobs past their retention and trim the report store.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.evict-interval-ms:300000}",
+               initialDelayString = "${report.jobs.evict-interval-ms:300000}")
+    public void evict() {
+        LocalDateTime jobCutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.build.completedAt != null && job.build.completedAt.isBefore(jobCutoff));
+
+        if (!Files.isDirectory(storeDir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(storeDir)) {
+            files = new ArrayList<>(listing.filter(Files::isRegularFile).toList());
+        } catch (IOException e) {
+            log.warn("Could not list report store {}: {}", storeDir, e.getMessage());
+            return;
+        }
+
+        Instant fileCutoff = Instant.now().minus(cacheTtl);
+        files.sort(Comparator.comparing(ReportJobServiceImpl::lastModified));
+        long totalBytes = 0;
+        for (Path file : files) {
+            totalBytes += size(file);
+        }
+        int deleted = 0;
+        for (Path file : files) {
+            boolean expired = lastModified(file).isBefore(fileCutoff);
+            if (!expired && totalBytes <= cacheMaxBytes) {
+                break;
+            }
+            long fileSize = size(file);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    totalBytes -= fileSize;
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.debug("Could not delete stored report {}: {}", file, e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Evicted {} stored reports, {} bytes remain", deleted, totalBytes);
+        }
+    }
+
+    private void schedule(String name, Build build, ReportJobRequest request, Long departmentId,
+                          Long userId, Path target) {
+        try {
+            workers.execute(() -> {
+                build.started = true;
+                long start = System.nanoTime();
+                try {
+                    write(target, out -> render(request, departmentId, userId, out));
+                    build.finish(null);
+                    log.info("Built report {} ({} bytes) in {} ms", name, size(target),
+                            (System.nanoTime() - start) / 1_000_000);
+                } catch (Exception e) {
+                    String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    log.warn("Report job for {} failed: {}", name, message);
+                    build.finish(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                } finally {
+                    builds.remove(name, build);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            builds.remove(name, build);
+            build.finish("Report workers are shut down");
+        }
+    }
+
+    /**
+     * Build the report as the submitting user and write it in the requested format.
+     * The detail export is not built in memory; it is streamed from the database.
+     */
+    private void render(ReportJobRequest request, Long departmentId, Long userId, OutputStream out)
+            throws IOException {
+        if (request.getType() == ReportType.SUBMISSION_DETAILS) {
+            reportExportService.writeSubmissionDetails(request.getSemesterId(), departmentId, request.getFormat(), out);
+            return;
+        }
+
+        Object report = readOnlyTransaction.execute(status -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+            if (request.getType() == ReportType.PROFESSOR_SUBMISSIONS) {
+                return semesterReportService.generateProfessorSubmissionReportWithRoleFilter(
+                        request.getSemesterId(), departmentId, user);
+            }
+            return semesterReportService.generateSystemWideReportWithRoleFilter(
+                    request.getSemesterId(), user, departmentId);
+        });
+
+        if (report instanceof ProfessorSubmissionReport professorReport) {
+            reportExportService.writeProfessorSubmissionReport(professorReport, request.getFormat(), out);
+        } else {
+            reportExportService.writeSystemWideReport((SystemWideReport) report, request.getFormat(), out);
+        }
+    }
+
+    /**
+     * Write into a temp file in the store and move it into place once complete.
+     */
+    private void write(Path target, ReportWriter reportWriter) {
+        Path temp = storeDir.resolve("." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.createDirectories(storeDir);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                reportWriter.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store report " + target.getFileName(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.debug("Could not delete temp report {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+
+    private void validate(ReportJobRequest request, Long departmentId) {
+        if (!request.getType().supports(request.getFormat())) {
+            throw new ValidationException("Format " + request.getFormat() + " is not supported for this report",
+                    Map.of("format", request.getFormat() + " is not supported for " + request.getType()));
+        }
+        if (request.getType() == ReportType.PROFESSOR_SUBMISSIONS && departmentId == null) {
+            throw new ValidationException("A department is required for the professor submission report",
+                    Map.of("departmentId", "required"));
+        }
+    }
+
+    /**
+     * Same rules as the report service: HOD users are limited to their own department.
+     */
+    private static Long effectiveDepartmentId(Long requestedDepartmentId, User currentUser) {
+        if (currentUser.getRole() == Role.ROLE_ADMIN || currentUser.getRole() == Role.ROLE_DEANSHIP) {
+            return requestedDepartmentId;
+        }
+        if (currentUser.getRole() == Role.ROLE_HOD) {
+            if (currentUser.getDepartment() == null) {
+                throw new UnauthorizedOperationException("User has no department assigned");
+            }
+            return currentUser.getDepartment().getId();
+        }
+        throw new UnauthorizedOperationException("Reports are not available for this role");
+    }
+
+    private static String roleScope(User user) {
+        return user.getRole().name().substring("ROLE_".length()).toLowerCase(Locale.ROOT);
+    }
+
+    private boolean isFresh(Path file) {
+        return Files.isRegularFile(file) && lastModified(file).isAfter(Instant.now().minus(cacheTtl));
+    }
+
+    private Job findJob(String jobId, User currentUser) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.ownerId.equals(currentUser.getId())) {
+            throw new EntityNotFoundException("Report job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private static ReportJobStatus status(Job job) {
+        Build build = job.build;
+        if (build.completedAt == null) {
+            return build.started ? ReportJobStatus.RUNNING : ReportJobStatus.PENDING;
+        }
+        return build.error == null ? ReportJobStatus.DONE : ReportJobStatus.FAILED;
+    }
+
+    private static ReportJobDTO toDto(Job job) {
+        ReportJobStatus status = status(job);
+        return ReportJobDTO.builder()
+                .jobId(job.id)
+                .type(job.request.getType())
+                .format(job.request.getFormat())
+                .semesterId(job.request.getSemesterId())
+                .departmentId(job.departmentId)
+                .status(status)
+                .cached(job.cached)
+                .error(job.build.error)
+                .submittedAt(job.submittedAt)
+                .completedAt(job.build.completedAt)
+                .downloadUrl(status == ReportJobStatus.DONE ? "/api/reports/jobs/" + job.id + "/download" : null)
+                .build();
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * A submitted job. Identical jobs of different users share one {@link Build}.
+     */
+    private static final class Job {
+        final String id;
+        final Long ownerId;
+        final ReportJobRequest request;
+        final Long departmentId;
+        final Path result;
+        final Build build;
+        final boolean cached;
+        final LocalDateTime submittedAt;
+
+        Job(String id, Long ownerId, ReportJobRequest request, Long departmentId, Path result,
+            Build build, boolean cached, LocalDateTime submittedAt) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.request = request;
+            this.departmentId = departmentId;
+            this.result = result;
+            this.build = build;
+            this.cached = cached;
+            this.submittedAt = submittedAt;
+        }
+    }
+
+    private static final class Build {
+        volatile boolean started;
+        volatile String error;
+        volatile LocalDateTime completedAt;
+
+        static Build finished() {
+            Build build = new Build();
+            build.started = true;
+            build.completedAt = LocalDateTime.now();
+            return build;
+        }
+
+        void finish(String error) {
+            this.error = error;
+            this.completedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.DepartmentReportSummary;
+import com.alquds.edu.ArchiveSystem.dto.report.DocumentStatusInfo;
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionRow;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionDetailRow;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionStatistics;
+import com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Excel (XLSX) exports of the semester reports.
+ *
+ * Uses POI's streaming {@link SXSSFWorkbook}: only the last {@value #ROW_WINDOW}
+ * rows of a sheet are kept in memory, older rows are flushed to a compressed
+ * temp file that is deleted once the workbook has been written. The output
+ * stream is not closed.
+ */
+@Component
+public class ReportXlsxExporter {
+
+    static final int ROW_WINDOW = 100;
+
+    private static final String DATE_FORMAT = "yyyy-mm-dd hh:mm";
+
+    /**
+     * One row per department plus a TOTAL row.
+     */
+    public void writeSystemWideReport(SystemWideReport report, OutputStream out) throws IOException {
+        write(out, workbook -> {
+            Sheet sheet = workbook.createSheet("Departments");
+            writeHeader(workbook, sheet, List.of("Department", "Professors", "Courses", "Required Documents",
+                    "Submitted", "Missing", "Overdue", "Completion Rate"));
+            CellStyle percentStyle = workbook.createCellStyle();
+            percentStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00%"));
+
+            int rowIndex = 1;
+            if (report.getDepartmentSummaries() != null) {
+                for (DepartmentReportSummary deptSummary : report.getDepartmentSummaries()) {
+                    writeStatistics(sheet.createRow(rowIndex++), deptSummary.getDepartmentName(),
+                            deptSummary.getStatistics(), percentStyle);
+                }
+            }
+            if (report.getOverallStatistics() != null) {
+                writeStatistics(sheet.createRow(rowIndex), "TOTAL", report.getOverallStatistics(), percentStyle);
+            }
+        });
+    }
+
+    /**
+     * One row per professor and course with a status column per required document type.
+     */
+    public void writeProfessorSubmissionReport(ProfessorSubmissionReport report, OutputStream out) throws IOException {
+        Set<DocumentTypeEnum> documentTypes = new TreeSet<>();
+        if (report.getRows() != null) {
+            for (ProfessorSubmissionRow row : report.getRows()) {
+                if (row.getDocumentStatuses() != null) {
+                    documentTypes.addAll(row.getDocumentStatuses().keySet());
+                }
+            }
+        }
+
+        write(out, workbook -> {
+            Sheet sheet = workbook.createSheet("Submissions");
+            List<String> headers = new ArrayList<>(List.of("Professor", "Email", "Course Code", "Course Name"));
+            for (DocumentTypeEnum documentType : documentTypes) {
+                headers.add(documentType.name());
+            }
+            writeHeader(workbook, sheet, headers);
+
+            int rowIndex = 1;
+            if (report.getRows() != null) {
+                for (ProfessorSubmissionRow row : report.getRows()) {
+                    Row sheetRow = sheet.createRow(rowIndex++);
+                    int column = 0;
+                    setText(sheetRow, column++, row.getProfessorName());
+                    setText(sheetRow, column++, row.getProfessorEmail());
+                    setText(sheetRow, column++, row.getCourseCode());
+                    setText(sheetRow, column++, row.getCourseName());
+                    Map<DocumentTypeEnum, DocumentStatusInfo> statuses = row.getDocumentStatuses();
+                    for (DocumentTypeEnum documentType : documentTypes) {
+                        DocumentStatusInfo info = statuses != null ? statuses.get(documentType) : null;
+                        setText(sheetRow, column++, info != null && info.getStatus() != null
+                                ? info.getStatus().name() : null);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * One row per course assignment and required document type. Rows are pulled
+     * from the iterator as they are written, so memory use does not grow with the row count.
+     */
+    public void writeSubmissionDetails(Iterator<SubmissionDetailRow> rows, OutputStream out) throws IOException {
+        write(out, workbook -> {
+            Sheet sheet = workbook.createSheet("Submission Details");
+            writeHeader(workbook, sheet, List.of("Professor", "Email", "Department", "Course Code", "Course Name",
+                    "Document Type", "Deadline", "Status", "Submitted At", "Late"));
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat(DATE_FORMAT));
+
+            int rowIndex = 1;
+            while (rows.hasNext()) {
+                SubmissionDetailRow row = rows.next();
+                Row sheetRow = sheet.createRow(rowIndex++);
+                setText(sheetRow, 0, row.getProfessorName());
+                setText(sheetRow, 1, row.getProfessorEmail());
+                setText(sheetRow, 2, row.getDepartmentName());
+                setText(sheetRow, 3, row.getCourseCode());
+                setText(sheetRow, 4, row.getCourseName());
+                setText(sheetRow, 5, row.getDocumentType() != null ? row.getDocumentType().name() : null);
+                setDate(sheetRow, 6, row.getDeadline(), dateStyle);
+                setText(sheetRow, 7, row.getStatus() != null ? row.getStatus().name() : null);
+                setDate(sheetRow, 8, row.getSubmittedAt(), dateStyle);
+                setText(sheetRow, 9, Boolean.TRUE.equals(row.getLateSubmission()) ? "yes" : "no");
+            }
+        });
+    }
+
+    private void write(OutputStream out, SheetWriter sheetWriter) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            sheetWriter.write(workbook);
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void writeHeader(SXSSFWorkbook workbook, Sheet sheet, List<String> headers) {
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        CellStyle headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+
+        Row row = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+            // Fixed widths: auto-sizing would need every row in memory
+            sheet.setColumnWidth(i, Math.max(12, headers.get(i).length() + 2) * 256);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private static void writeStatistics(Row row, String label, SubmissionStatistics stats, CellStyle percentStyle) {
+        int totalRequired = stats.getTotalRequiredDocuments();
+        int submitted = stats.getSubmittedDocuments();
+
+        setText(row, 0, label);
+        row.createCell(1).setCellValue(stats.getTotalProfessors());
+        row.createCell(2).setCellValue(stats.getTotalCourses());
+        row.createCell(3).setCellValue(totalRequired);
+        row.createCell(4).setCellValue(submitted);
+        row.createCell(5).setCellValue(stats.getMissingDocuments());
+        row.createCell(6).setCellValue(stats.getOverdueDocuments());
+        Cell rate = row.createCell(7);
+        rate.setCellValue(totalRequired > 0 ? (double) submitted / totalRequired : 0.0);
+        rate.setCellStyle(percentStyle);
+    }
+
+    private static void setText(Row row, int column, String value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value);
+        }
+    }
+
+    private static void setDate(Row row, int column, LocalDateTime value, CellStyle dateStyle) {
+        if (value != null) {
+            Cell cell = row.createCell(column);
+            cell.setCellValue(value);
+            cell.setCellStyle(dateStyle);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SheetWriter {
+        void write(SXSSFWorkbook workbook) throws IOException;
+    }
+}
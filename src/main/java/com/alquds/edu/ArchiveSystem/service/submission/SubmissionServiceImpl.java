@@ -1,5 +1,6 @@
 package com.alquds.edu.ArchiveSystem.service.submission;
 
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import com.alquds.edu.ArchiveSystem.service.core.DepartmentScopedFilterService;
 
 import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
@@ -38,6 +39,7 @@ public class SubmissionServiceImpl implements SubmissionService {
     private final RequiredDocumentTypeRepository requiredDocumentTypeRepository;
     private final SemesterRepository semesterRepository;
     private final DepartmentScopedFilterService departmentScopedFilterService;
+    private final DataVersionService dataVersionService;
     
     /**
      * Create a new DocumentSubmission record for a course assignment and document type.
@@ -87,6 +89,7 @@ public class SubmissionServiceImpl implements SubmissionService {
         submission.setTotalFileSize(0L);
         
         DocumentSubmission savedSubmission = documentSubmissionRepository.save(submission);
+        dataVersionService.courseAssignmentChanged(courseAssignment);
         log.info("Created submission with id: {}", savedSubmission.getId());
         
         return savedSubmission;
@@ -115,6 +118,7 @@ public class SubmissionServiceImpl implements SubmissionService {
         calculateSubmissionStatus(submission, deadline);
         
         DocumentSubmission updatedSubmission = documentSubmissionRepository.save(submission);
+        dataVersionService.courseAssignmentChanged(submission.getCourseAssignment());
         log.info("Updated submission with id: {}", updatedSubmission.getId());
         
         return updatedSubmission;
@@ -204,18 +208,13 @@ public class SubmissionServiceImpl implements SubmissionService {
             throw new EntityNotFoundException("Semester not found with id: " + semesterId);
         }
         
-        // Get all course assignments for the semester
-        List<CourseAssignment> assignments = courseAssignmentRepository.findBySemesterId(semesterId);
-        
-        // Apply department-scoped filtering to assignments
-        List<CourseAssignment> filteredAssignments = 
-                departmentScopedFilterService.filterCourseAssignments(assignments, currentUser);
+        if (!departmentScopedFilterService.hasDepartmentScope(currentUser)) {
+            return List.of();
+        }
         
-        // Get submissions for filtered assignments
-        List<DocumentSubmission> submissions = filteredAssignments.stream()
-                .flatMap(assignment -> documentSubmissionRepository
-                        .findByCourseAssignmentId(assignment.getId()).stream())
-                .collect(java.util.stream.Collectors.toList());
+        // Submissions of the semester's assignments in the user's department, in one query
+        List<DocumentSubmission> submissions = documentSubmissionRepository.findBySemesterIdAndDepartment(
+                semesterId, departmentScopedFilterService.getDepartmentIdForFiltering(currentUser));
         
         log.debug("Found {} submissions after department filtering", submissions.size());
         return submissions;
@@ -21,6 +21,7 @@ import com.alquds.edu.ArchiveSystem.repository.task.TaskAuditLogRepository;
 import com.alquds.edu.ArchiveSystem.repository.task.TaskEvidenceRepository;
 import com.alquds.edu.ArchiveSystem.repository.task.TaskRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -49,6 +50,7 @@ public class TaskServiceImpl implements TaskService {
     private final CourseRepository courseRepository;
     private final SemesterRepository semesterRepository;
     private final UploadedFileRepository uploadedFileRepository;
+    private final DataVersionService dataVersionService;
     
     @Override
     public TaskDTO createTask(TaskCreateRequest request, Long professorId) {
@@ -91,6 +93,7 @@ public class TaskServiceImpl implements TaskService {
         task.setSemester(semester);
         
         task = taskRepository.save(task);
+        dataVersionService.semesterDataChanged(semester, professor);
         
         // Add evidence files if provided
         if (request.getEvidenceFileIds() != null && !request.getEvidenceFileIds().isEmpty()) {
@@ -166,6 +169,7 @@ public class TaskServiceImpl implements TaskService {
         }
         
         task = taskRepository.save(task);
+        dataVersionService.semesterDataChanged(task.getSemester(), task.getProfessor());
         
         // Log status change if status changed
         if (oldStatus != task.getStatus()) {
@@ -196,6 +200,7 @@ public class TaskServiceImpl implements TaskService {
         
         // Delete the task
         taskRepository.delete(task);
+        dataVersionService.semesterDataChanged(task.getSemester(), task.getProfessor());
         log.info("Task {} deleted successfully (status was: {})", taskId, task.getStatus());
     }
     
@@ -340,6 +345,7 @@ public class TaskServiceImpl implements TaskService {
         TaskStatus oldStatus = task.getStatus();
         task.setStatus(TaskStatus.APPROVED);
         task = taskRepository.save(task);
+        dataVersionService.semesterDataChanged(task.getSemester(), task.getProfessor());
         
         // Log approval
         logStatusChange(task, oldStatus, TaskStatus.APPROVED, hodUser, 
@@ -370,6 +376,7 @@ public class TaskServiceImpl implements TaskService {
         TaskStatus oldStatus = task.getStatus();
         task.setStatus(TaskStatus.REJECTED);
         task = taskRepository.save(task);
+        dataVersionService.semesterDataChanged(task.getSemester(), task.getProfessor());
         
         // Log rejection
         logStatusChange(task, oldStatus, TaskStatus.REJECTED, hodUser, 
@@ -479,6 +486,9 @@ public class TaskServiceImpl implements TaskService {
         LocalDate today = LocalDate.now();
         int updated = taskRepository.markTasksAsOverdue(today);
         log.info("Updated {} tasks to OVERDUE status", updated);
+        if (updated > 0) {
+            dataVersionService.sharedDataChanged(null);
+        }
         return updated;
     }
     
@@ -620,6 +630,7 @@ public class TaskServiceImpl implements TaskService {
         
         User professor = task.getProfessor();
         addEvidenceToTask(task, fileIds, professor);
+        dataVersionService.semesterDataChanged(task.getSemester(), professor);
         
         // Return updated evidence list
         List<TaskEvidence> evidenceList = taskEvidenceRepository.findByTaskIdWithFile(taskId);
@@ -644,6 +655,7 @@ public class TaskServiceImpl implements TaskService {
         if (deleted == 0) {
             throw new EntityNotFoundException("Evidence not found with ID: " + evidenceId + " for task: " + taskId);
         }
+        dataVersionService.semesterDataChanged(task.getSemester(), task.getProfessor());
         
         log.info("Evidence {} removed from task {}", evidenceId, taskId);
     }
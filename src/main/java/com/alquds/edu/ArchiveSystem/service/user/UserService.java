@@ -1,6 +1,7 @@
 package com.alquds.edu.ArchiveSystem.service.user;
 
 import com.alquds.edu.ArchiveSystem.service.auth.EmailValidationService;
+import com.alquds.edu.ArchiveSystem.service.file.BlobStore;
 
 import com.alquds.edu.ArchiveSystem.repository.academic.DepartmentRepository;
 import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
@@ -41,6 +42,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -67,6 +69,7 @@ public class UserService implements UserDetailsService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final EmailValidationService emailValidationService;
+    private final BlobStore blobStore;
     
     @Value("${file.upload.directory:uploads/}")
     private String uploadDirectory;
@@ -416,6 +419,9 @@ public class UserService implements UserDetailsService {
         Long userId = user.getId();
         log.info("Deleting all associated data for user id: {}", userId);
         
+        // Content hashes of deleted files; their blobs are released once nothing else refers to them
+        List<String> deletedContentHashes = new ArrayList<>();
+        
         try {
             // 1. Delete uploaded files (with physical files from filesystem)
             var uploadedFiles = uploadedFileRepository.findByUploaderId(userId);
@@ -432,6 +438,7 @@ public class UserService implements UserDetailsService {
                     }
                 }
                 uploadedFileRepository.deleteAll(uploadedFiles);
+                uploadedFiles.forEach(file -> deletedContentHashes.add(file.getContentSha256()));
                 log.debug("Deleted {} uploaded files for user id: {}", uploadedFiles.size(), userId);
             }
             
@@ -453,6 +460,7 @@ public class UserService implements UserDetailsService {
                             }
                         }
                         uploadedFileRepository.deleteAll(filesInSubmission);
+                        filesInSubmission.forEach(file -> deletedContentHashes.add(file.getContentSha256()));
                     }
                 }
                 documentSubmissionRepository.deleteAll(submissions);
@@ -480,6 +488,7 @@ public class UserService implements UserDetailsService {
                                     }
                                 }
                                 uploadedFileRepository.deleteAll(filesInSub);
+                                filesInSub.forEach(file -> deletedContentHashes.add(file.getContentSha256()));
                             }
                         }
                         documentSubmissionRepository.deleteAll(assignmentSubmissions);
@@ -489,6 +498,8 @@ public class UserService implements UserDetailsService {
                 log.debug("Deleted {} course assignments for user id: {}", courseAssignments.size(), userId);
             }
             
+            blobStore.releaseAfterCommit(deletedContentHashes);
+            
         } catch (Exception e) {
             log.error("Error deleting associated data for user id: {}", userId, e);
             throw new RuntimeException("Failed to delete user associated data: " + e.getMessage(), e);
@@ -0,0 +1,146 @@
+package com.alquds.edu.ArchiveSystem.util;
+
+import org.apache.commons.codec.digest.XXHash32;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Input stream that computes a SHA-256 and an xxHash32 of everything read through it,
+ * and keeps the first bytes for content type detection.
+ *
+ * Wrap the upload stream with it while copying to disk so the file is hashed in the
+ * same pass, without reading it back:
+ * <pre>
+ * try (ContentDigestInputStream in = new ContentDigestInputStream(file.getInputStream())) {
+ *     Files.copy(in, target);
+ *     String sha256 = in.sha256Hex();
+ * }
+ * </pre>
+ */
+public class ContentDigestInputStream extends FilterInputStream {
+
+    /**
+     * Number of leading bytes kept for {@link ContentTypeDetector}
+     */
+    public static final int HEADER_LENGTH = 16;
+
+    private final MessageDigest sha256;
+    private final XXHash32 xxHash = new XXHash32();
+    private final byte[] header = new byte[HEADER_LENGTH];
+    private int headerLength;
+    private long bytesRead;
+
+    public ContentDigestInputStream(InputStream in) {
+        super(in);
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            update(new byte[] { (byte) b }, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            update(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes must still be hashed
+        byte[] buffer = new byte[8192];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported: re-reading would hash bytes twice
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Read the rest of the stream, discarding the bytes.
+     *
+     * @return number of bytes read by this call
+     */
+    public long drain() throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        while ((n = read(buffer, 0, buffer.length)) >= 0) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * @return lower-case hex SHA-256 of the bytes read; call once, after the stream is consumed
+     */
+    public String sha256Hex() {
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * @return xxHash32 of the bytes read as 8 lower-case hex digits
+     */
+    public String xxHashHex() {
+        return String.format("%08x", xxHash.getValue());
+    }
+
+    /**
+     * @return the first (up to {@link #HEADER_LENGTH}) bytes read
+     */
+    public byte[] header() {
+        return Arrays.copyOf(header, headerLength);
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    private void update(byte[] b, int off, int len) {
+        sha256.update(b, off, len);
+        xxHash.update(b, off, len);
+        if (headerLength < HEADER_LENGTH) {
+            int copy = Math.min(len, HEADER_LENGTH - headerLength);
+            System.arraycopy(b, off, header, headerLength, copy);
+            headerLength += copy;
+        }
+        bytesRead += len;
+    }
+}
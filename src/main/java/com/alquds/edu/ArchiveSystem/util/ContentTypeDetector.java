@@ -0,0 +1,114 @@
+package com.alquds.edu.ArchiveSystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Detects the content type of an uploaded file from its leading bytes.
+ *
+ * Unlike the multipart Content-Type header, the result does not depend on the
+ * browser. Container formats (ZIP for Office Open XML, OLE2 for legacy Office)
+ * are narrowed down by file extension.
+ */
+public final class ContentTypeDetector {
+
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    private static final byte[] PDF = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final byte[] JPEG = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF };
+    private static final byte[] GIF = "GIF8".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP = { 'P', 'K', 0x03, 0x04 };
+    private static final byte[] ZIP_EMPTY = { 'P', 'K', 0x05, 0x06 };
+    private static final byte[] OLE2 = { (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1 };
+    private static final byte[] RAR = "Rar!".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEVEN_ZIP = { '7', 'z', (byte) 0xBC, (byte) 0xAF, 0x27, 0x1C };
+
+    private ContentTypeDetector() {
+    }
+
+    /**
+     * Detect a content type.
+     *
+     * @param header   leading bytes of the file (see {@link ContentDigestInputStream#header()})
+     * @param filename original filename, used to narrow container formats
+     * @return detected MIME type, {@value #OCTET_STREAM} if unknown
+     */
+    public static String detect(byte[] header, String filename) {
+        String extension = extension(filename);
+
+        if (startsWith(header, PDF)) {
+            return "application/pdf";
+        }
+        if (startsWith(header, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(header, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, GIF)) {
+            return "image/gif";
+        }
+        if (startsWith(header, ZIP) || startsWith(header, ZIP_EMPTY)) {
+            return switch (extension) {
+                case "docx" -> "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+                case "xlsx" -> "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+                case "pptx" -> "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+                default -> "application/zip";
+            };
+        }
+        if (startsWith(header, OLE2)) {
+            return switch (extension) {
+                case "doc" -> "application/msword";
+                case "xls" -> "application/vnd.ms-excel";
+                case "ppt" -> "application/vnd.ms-powerpoint";
+                default -> "application/x-ole-storage";
+            };
+        }
+        if (startsWith(header, RAR)) {
+            return "application/vnd.rar";
+        }
+        if (startsWith(header, SEVEN_ZIP)) {
+            return "application/x-7z-compressed";
+        }
+        if (header.length > 0 && isText(header)) {
+            return "csv".equals(extension) ? "text/csv" : "text/plain";
+        }
+        return OCTET_STREAM;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Treat the header as text if it has no control bytes other than whitespace.
+     * Bytes >= 0x80 are allowed so UTF-8 (e.g. Arabic) text is recognised.
+     */
+    private static boolean isText(byte[] header) {
+        for (byte b : header) {
+            int c = b & 0xFF;
+            if (c < 0x20 && c != '\t' && c != '\n' && c != '\r' && c != '\f') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot >= 0 ? filename.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+}
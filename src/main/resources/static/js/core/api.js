@@ -55,6 +55,9 @@ function updateAccessToken(newToken) {
  * Also clears any cached role-specific data that could cause navigation issues
  */
 export function clearAuthData() {
+    // Conditional GET cache holds the previous user's data
+    conditionalGetCache.clear();
+
     // Core auth data
     localStorage.removeItem('token');
     localStorage.removeItem('refreshToken');
@@ -255,6 +258,14 @@ export async function initializeAuth() {
     return false;
 }
 
+/**
+ * Responses of GET requests that came with an ETag, by URL: { etag, data }.
+ * Dashboard, report filter option and file explorer reads carry data-version
+ * ETags; sending If-None-Match lets the server answer 304 without querying.
+ */
+const conditionalGetCache = new Map();
+const CONDITIONAL_GET_CACHE_MAX_ENTRIES = 100;
+
 /**
  * Make an API request with authentication and auto token refresh
  * @param {string} endpoint - API endpoint (relative to base URL)
@@ -281,6 +292,12 @@ export async function apiRequest(endpoint, options = {}, retryOnExpire = true) {
         delete headers['Content-Type'];
     }
 
+    const isGet = !options.method || options.method.toUpperCase() === 'GET';
+    const cached = isGet ? conditionalGetCache.get(url) : undefined;
+    if (cached && !headers['If-None-Match']) {
+        headers['If-None-Match'] = cached.etag;
+    }
+
     const config = {
         ...options,
         headers,
@@ -289,6 +306,11 @@ export async function apiRequest(endpoint, options = {}, retryOnExpire = true) {
     try {
         const response = await fetch(url, config);
 
+        // Data unchanged since the cached response
+        if (response.status === 304 && cached) {
+            return structuredClone(cached.data);
+        }
+
         // Handle 401 Unauthorized - try to refresh token
         if (response.status === 401) {
             // Check if the error is specifically about token expiration
@@ -399,11 +421,20 @@ export async function apiRequest(endpoint, options = {}, retryOnExpire = true) {
 
         // Extract data from ApiResponse wrapper
         // Backend returns: { success: true, message: "...", data: [...] }
-        if (responseData && typeof responseData === 'object' && 'data' in responseData) {
-            return responseData.data;
+        const data = responseData && typeof responseData === 'object' && 'data' in responseData
+            ? responseData.data
+            : responseData;
+
+        const etag = isGet ? response.headers.get('ETag') : null;
+        if (etag) {
+            conditionalGetCache.delete(url);
+            if (conditionalGetCache.size >= CONDITIONAL_GET_CACHE_MAX_ENTRIES) {
+                conditionalGetCache.delete(conditionalGetCache.keys().next().value);
+            }
+            conditionalGetCache.set(url, { etag, data: structuredClone(data) });
         }
 
-        return responseData;
+        return data;
     } catch (error) {
         // Network or parsing error
         if (error.name === 'TypeError' && error.message === 'Failed to fetch') {
@@ -691,9 +722,21 @@ export const hod = {
         });
     },
 
+    // One row per course and required document; format is 'CSV' or 'XLSX'
+    exportSubmissionDetails: (semesterId, format = 'CSV') => {
+        const token = getToken();
+        return fetch(`${API_BASE_URL}/hod/reports/professor-submissions/details?semesterId=${semesterId}&format=${format}`, {
+            method: 'GET',
+            headers: {
+                'Authorization': `Bearer ${token}`,
+            },
+        });
+    },
+
     // File Explorer
-    getFileExplorerRoot: (academicYearId, semesterId) =>
-        apiRequest(`/hod/file-explorer/root?academicYearId=${academicYearId}&semesterId=${semesterId}`, {
+    getFileExplorerRoot: (academicYearId, semesterId, cursor = null) =>
+        apiRequest(`/hod/file-explorer/root?academicYearId=${academicYearId}&semesterId=${semesterId}` +
+            (cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''), {
             method: 'GET',
         }),
 
@@ -868,8 +911,9 @@ export const professor = {
         }),
 
     // File Explorer
-    getFileExplorerRoot: (academicYearId, semesterId) =>
-        apiRequest(`/professor/file-explorer/root?academicYearId=${academicYearId}&semesterId=${semesterId}`, {
+    getFileExplorerRoot: (academicYearId, semesterId, cursor = null) =>
+        apiRequest(`/professor/file-explorer/root?academicYearId=${academicYearId}&semesterId=${semesterId}` +
+            (cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''), {
             method: 'GET',
         }),
 
@@ -1061,8 +1105,9 @@ export const deanship = {
 
 // File Explorer endpoints (shared)
 export const fileExplorer = {
-    getRoot: (academicYearId, semesterId) =>
-        apiRequest(`/file-explorer/root?academicYearId=${academicYearId}&semesterId=${semesterId}`, {
+    getRoot: (academicYearId, semesterId, cursor = null) =>
+        apiRequest(`/file-explorer/root?academicYearId=${academicYearId}&semesterId=${semesterId}` +
+            (cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''), {
             method: 'GET',
         }),
 
@@ -1090,6 +1135,38 @@ export const fileExplorer = {
                 'Authorization': `Bearer ${getToken()}`,
             },
         }),
+
+    /**
+     * Download everything below an explorer node as a streamed ZIP archive.
+     * Files the user may not access are left out; their count is in the
+     * X-Export-Skipped-Files response header.
+     *
+     * @param {string} path - Explorer node path (semester, professor, course or folder)
+     * @returns {Promise<Response>} The raw fetch response (read with response.blob())
+     */
+    exportZip: (path) =>
+        fetch(`${API_BASE_URL}/file-explorer/export?path=${encodeURIComponent(path)}`, {
+            headers: {
+                'Authorization': `Bearer ${getToken()}`,
+            },
+        }),
+
+    /**
+     * Fetch the small PNG thumbnail of a file for grid views.
+     * Status 202 means the thumbnail is still being generated (retry after the
+     * Retry-After seconds), 404 means the file has none; show the type icon then.
+     * Pass the version from a previous response's ETag to get a cache-forever response.
+     *
+     * @param {number} fileId - File ID
+     * @param {string} [version] - Content version (ETag without quotes and "<fileId>-" prefix)
+     * @returns {Promise<Response>} The raw fetch response (read with response.blob())
+     */
+    getThumbnail: (fileId, version) =>
+        fetch(`${API_BASE_URL}/file-explorer/files/${fileId}/thumbnail${version ? `?v=${encodeURIComponent(version)}` : ''}`, {
+            headers: {
+                'Authorization': `Bearer ${getToken()}`,
+            },
+        }),
     
     /**
      * Create a new folder in the file explorer.
@@ -1221,16 +1298,20 @@ export const fileExplorer = {
      * @param {string} path - Relative path from uploads root
      * @param {number} [depth=1] - Levels to load (1-3)
      * @param {string} [etag] - ETag from previous request
+     * @param {string} [continuation] - continuationToken of the node at path, for its remaining children
      * @returns {Promise<Object>} DirectoryTreeDTO with children
      */
-    getDirectoryTree: async (path = '', depth = 1, etag = null) => {
+    getDirectoryTree: async (path = '', depth = 1, etag = null, continuation = null) => {
         const params = new URLSearchParams({
             path: path,
             depth: depth.toString()
         });
+        if (continuation) {
+            params.set('continuation', continuation);
+        }
         
         const headers = {};
-        if (etag) {
+        if (etag && !continuation) {
             headers['If-None-Match'] = etag;
         }
         
@@ -1303,12 +1384,147 @@ export const fileExplorer = {
         }),
 };
 
+// Chunked (resumable) upload endpoints
+export const chunkedUploads = {
+    /**
+     * Start a chunked upload of one file.
+     *
+     * @param {Object} request - { filename, fileSize, contentType, folderId | folderPath, notes, chunkSize }
+     * @returns {Promise<Object>} Upload status with uploadId, chunkSize and chunkCount
+     */
+    init: (request) =>
+        apiRequest('/professor/files/uploads', {
+            method: 'POST',
+            body: JSON.stringify(request),
+        }),
+
+    /**
+     * Get the chunks already received, used to resume an interrupted upload.
+     */
+    getStatus: (uploadId) =>
+        apiRequest(`/professor/files/uploads/${uploadId}`, {
+            method: 'GET',
+        }),
+
+    /**
+     * Send one chunk as a raw request body.
+     *
+     * @param {string} uploadId - Upload ID from init
+     * @param {number} index - Zero-based chunk index
+     * @param {Blob} blob - Chunk bytes
+     * @param {Function} onProgress - Progress callback for this chunk (0-100)
+     */
+    putChunk: (uploadId, index, blob, onProgress = null) =>
+        uploadFile(`/professor/files/uploads/${uploadId}/chunks/${index}`, blob, onProgress, 'PUT'),
+
+    commit: (uploadId) =>
+        apiRequest(`/professor/files/uploads/${uploadId}/commit`, {
+            method: 'POST',
+        }),
+
+    abort: (uploadId) =>
+        apiRequest(`/professor/files/uploads/${uploadId}`, {
+            method: 'DELETE',
+        }),
+};
+
+// Archive-wide search endpoints (results are limited to what the user may access)
+export const search = {
+    /**
+     * Quick "jump to" search over file names, folder names, course codes and professor names.
+     * Words match as prefixes and small typos are tolerated.
+     *
+     * @param {string} query - Search text
+     * @param {number} limit - Maximum number of results (1-50)
+     * @returns {Promise<Array>} Hits with type (FILE, FOLDER, COURSE, PROFESSOR), id, label, detail and path
+     */
+    metadata: (query, limit = 20) =>
+        apiRequest(`/search?q=${encodeURIComponent(query)}&limit=${limit}`, {
+            method: 'GET',
+        }),
+
+    /**
+     * Full-text search over document content (PDF, Office and text files).
+     *
+     * @param {string} query - Search text; supports "phrases", -exclusions and prefix*
+     * @param {number} limit - Maximum number of results (1-50)
+     * @returns {Promise<Array>} Matching files, best match first
+     */
+    content: (query, limit = 20) =>
+        apiRequest(`/search/content?q=${encodeURIComponent(query)}&limit=${limit}`, {
+            method: 'GET',
+        }),
+};
+
+// Background report jobs (HOD, Deanship, Admin)
+export const reportJobs = {
+    /**
+     * Submit a report job. Unchanged reports come back already DONE.
+     *
+     * @param {Object} request - { type: 'PROFESSOR_SUBMISSIONS' | 'SYSTEM_WIDE', format: 'PDF' | 'CSV' | 'JSON',
+     *                            semesterId, departmentId }
+     * @returns {Promise<Object>} Job with jobId, status and downloadUrl once DONE
+     */
+    submit: (request) =>
+        apiRequest('/reports/jobs', {
+            method: 'POST',
+            body: JSON.stringify(request),
+        }),
+
+    getStatus: (jobId) =>
+        apiRequest(`/reports/jobs/${jobId}`, {
+            method: 'GET',
+        }),
+
+    /**
+     * Fetch the result of a finished job.
+     *
+     * @returns {Promise<Response>} Raw response; read it with .blob() or .json()
+     */
+    download: (jobId) => {
+        const token = getToken();
+        return fetch(`${API_BASE_URL}/reports/jobs/${jobId}/download`, {
+            method: 'GET',
+            headers: {
+                'Authorization': `Bearer ${token}`,
+            },
+        });
+    },
+
+    /**
+     * Submit a job and poll until it is finished.
+     *
+     * @param {Object} request - See submit
+     * @param {number} intervalMs - Delay between polls
+     * @param {number} timeoutMs - Give up after this long
+     * @returns {Promise<Object>} The DONE job
+     */
+    run: async (request, intervalMs = 1000, timeoutMs = 300000) => {
+        let job = await reportJobs.submit(request);
+        const deadline = Date.now() + timeoutMs;
+        while (job.status === 'PENDING' || job.status === 'RUNNING') {
+            if (Date.now() > deadline) {
+                throw new Error('The report is taking too long. Please try again later.');
+            }
+            await new Promise((resolve) => setTimeout(resolve, intervalMs));
+            job = await reportJobs.getStatus(job.jobId);
+        }
+        if (job.status === 'FAILED') {
+            throw new Error(job.error || 'Failed to build the report');
+        }
+        return job;
+    },
+};
+
 export default {
     auth,
     hod,
     professor,
     deanship,
     fileExplorer,
+    chunkedUploads,
+    search,
+    reportJobs,
     getUserInfo,
     saveAuthData,
     clearAuthData,
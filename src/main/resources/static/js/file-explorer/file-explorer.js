@@ -506,6 +506,7 @@ export class FileExplorer {
         try {
             const response = await fileExplorer.getRoot(academicYearId, semesterId);
             this.treeRoot = response.data || response;
+            this.rootContext = { academicYearId, semesterId };
 
             // Handle empty or null response
             if (!this.treeRoot) {
@@ -918,7 +919,92 @@ export class FileExplorer {
 
         // Render the tree starting from root
         const treeHtml = this.renderTreeNodes(node.children, 0);
-        container.innerHTML = treeHtml;
+        container.innerHTML = treeHtml + this.renderLoadMoreRootChildren(node);
+        this.observeLoadMoreRootChildren(container);
+    }
+
+    /**
+     * Render the "load more" row under the root's professors
+     * 
+     * The root node returns professors one page at a time; while childrenCursor is set,
+     * more pages remain. The row loads the next page when scrolled into view or clicked.
+     * 
+     * @param {Object} node - The node being rendered
+     * @returns {string} HTML string, empty when there is nothing more to load
+     */
+    renderLoadMoreRootChildren(node) {
+        if (node !== this.treeRoot || !node.childrenCursor) {
+            return '';
+        }
+
+        const shown = node.children ? node.children.length : 0;
+        return `
+            <button type="button" data-load-more-root
+                    class="w-full py-2 px-3 text-sm text-blue-600 dark:text-blue-400 hover:bg-gray-100 dark:hover:bg-gray-700 rounded transition-colors"
+                    onclick="window.fileExplorerInstance.loadMoreRootChildren()">
+                Load more professors (${shown} of ${node.childrenTotal})
+            </button>
+        `;
+    }
+
+    /**
+     * Load the next page of root children when the "load more" row scrolls into view
+     * 
+     * @param {HTMLElement} container - The tree container
+     * @returns {void}
+     */
+    observeLoadMoreRootChildren(container) {
+        if (this.loadMoreObserver) {
+            this.loadMoreObserver.disconnect();
+            this.loadMoreObserver = null;
+        }
+
+        const sentinel = container.querySelector('[data-load-more-root]');
+        if (!sentinel || typeof IntersectionObserver === 'undefined') {
+            return;
+        }
+
+        this.loadMoreObserver = new IntersectionObserver((entries) => {
+            if (entries.some(entry => entry.isIntersecting)) {
+                this.loadMoreRootChildren();
+            }
+        });
+        this.loadMoreObserver.observe(sentinel);
+    }
+
+    /**
+     * Fetch the next page of professors and append it to the root node
+     * 
+     * Ignored while a page is loading, and dropped if the semester changed meanwhile.
+     * 
+     * @returns {Promise<void>}
+     */
+    async loadMoreRootChildren() {
+        const root = this.treeRoot;
+        if (this.isLoadingMoreRootChildren || !root || !root.childrenCursor || !this.rootContext) {
+            return;
+        }
+
+        this.isLoadingMoreRootChildren = true;
+        try {
+            const { academicYearId, semesterId } = this.rootContext;
+            const response = await fileExplorer.getRoot(academicYearId, semesterId, root.childrenCursor);
+            const page = response.data || response;
+
+            if (root !== this.treeRoot) {
+                return;
+            }
+
+            root.children = [...(root.children || []), ...(page.children || [])];
+            root.childrenCursor = page.childrenCursor;
+            root.childrenTotal = page.childrenTotal;
+            this.renderTree(root);
+        } catch (error) {
+            console.error('Error loading more professors:', error);
+            showToast('Failed to load more professors', 'error');
+        } finally {
+            this.isLoadingMoreRootChildren = false;
+        }
     }
 
     /**
@@ -3608,6 +3694,11 @@ export class FileExplorer {
             this.unsubscribe();
             this.unsubscribe = null;
         }
+
+        if (this.loadMoreObserver) {
+            this.loadMoreObserver.disconnect();
+            this.loadMoreObserver = null;
+        }
         
         // Stop the sync service
         fileExplorerSync.stop();
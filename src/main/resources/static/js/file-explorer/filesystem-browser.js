@@ -125,10 +125,16 @@ export class FilesystemBrowser {
      * 
      * @param {string} path - Path of the node
      * @param {number} [depth=1] - How many levels to load
+     * @param {string} [continuation] - continuationToken of the node, to load the children left out by the node limit
      * @returns {Promise<Object>} Tree node with children
      */
-    async loadTreeChildren(path = '', depth = 1) {
+    async loadTreeChildren(path = '', depth = 1, continuation = null) {
         try {
+            if (continuation) {
+                const page = await fileExplorer.getDirectoryTree(path, depth, null, continuation);
+                return page.data;
+            }
+            
             const cachedEtag = this.treeEtagCache.get(path);
             
             const result = await fileExplorer.getDirectoryTree(path, depth, cachedEtag);
@@ -1,18 +1,29 @@
 /**
  * Professional Multi-File Upload Component
- * Provides drag-and-drop interface, file preview, progress tracking, and file management
+ * Provides drag-and-drop interface, file preview, progress tracking, and file management.
+ * Files are sent with the chunked upload API, so an interrupted upload resumes from the
+ * chunks the server already has instead of starting over.
  */
 
-import { uploadMultipleFiles, addFilesToSubmission, deleteFileAttachment, reorderFileAttachments, getFileAttachments } from '../core/api.js';
+import { chunkedUploads } from '../core/api.js';
 import { showToast, showModal } from '../core/ui.js';
 
+const CHUNK_CONCURRENCY = 3;
+const CHUNK_RETRIES = 3;
+const RESUME_KEY_PREFIX = 'chunked-upload:';
+
 /**
  * Create and show multi-file upload modal
+ *
+ * @param {Object} target - Upload destination: { folderId } or { folderPath }
+ * @param {string} allowedExtensions - Comma-separated allowed extensions
+ * @param {Array} existingFiles - Files already in the folder (unused, kept for compatibility)
+ * @param {Object} options - { onComplete(uploadedFiles) } called after a successful upload
  */
-export function showMultiFileUploadModal(requestId, allowedExtensions, existingFiles = []) {
-    const maxFiles = 5;
-    const maxSizePerFile = 10; // MB
-    const maxTotalSize = 50; // MB
+export function showMultiFileUploadModal(target, allowedExtensions, existingFiles = [], options = {}) {
+    const maxFiles = 10;
+    const maxSizePerFile = 100; // MB, matches file.max-size
+    const maxTotalSize = 1000; // MB
     
     const files = new Map(); // Map to track selected files
     let fileOrder = 0;
@@ -91,7 +102,7 @@ export function showMultiFileUploadModal(requestId, allowedExtensions, existingF
                         return;
                     }
                     
-                    await handleUpload(requestId, Array.from(files.values()), close);
+                    await handleUpload(target, Array.from(files.values()), close);
                 },
             },
         ],
@@ -269,7 +280,7 @@ export function showMultiFileUploadModal(requestId, allowedExtensions, existingF
         uploadError.classList.remove('hidden');
     }
     
-    async function handleUpload(requestId, filesToUpload, close) {
+    async function handleUpload(target, filesToUpload, close) {
         if (!validateTotalSize()) return;
         
         const uploadProgress = document.getElementById('uploadProgress');
@@ -284,32 +295,41 @@ export function showMultiFileUploadModal(requestId, allowedExtensions, existingF
         cancelBtn.disabled = true;
         uploadBtn.textContent = 'Uploading...';
         
+        // Keep the order the user arranged in the list
+        const orderedFiles = Array.from(fileList.children)
+            .map(item => files.get(item.id.substring('file-'.length)))
+            .filter(Boolean);
+        const totalBytes = orderedFiles.reduce((sum, file) => sum + file.size, 0) || 1;
+        let completedBytes = 0;
+        
         try {
-            const formData = new FormData();
-            filesToUpload.forEach(file => formData.append('files', file));
-            if (notes) formData.append('notes', notes);
-            
-            await uploadMultipleFiles(
-                requestId,
-                formData,
-                (percent) => {
-                    progressFill.style.width = `${percent}%`;
-                    progressText.textContent = `Uploading... ${Math.round(percent)}%`;
-                }
-            );
+            const uploadedFiles = [];
+            for (const [index, file] of orderedFiles.entries()) {
+                const uploaded = await uploadFileInChunks(file, target, {
+                    notes,
+                    onProgress: (fileBytes) => {
+                        const percent = ((completedBytes + fileBytes) / totalBytes) * 100;
+                        progressFill.style.width = `${percent}%`;
+                        progressText.textContent = `Uploading ${index + 1} of ${orderedFiles.length}... ${Math.round(percent)}%`;
+                    },
+                });
+                completedBytes += file.size;
+                uploadedFiles.push(uploaded);
+            }
             
-            showToast(`Successfully uploaded ${filesToUpload.length} file(s)`, 'success');
+            showToast(`Successfully uploaded ${uploadedFiles.length} file(s)`, 'success');
             
-            // Reload the requests to update UI
-            if (window.loadRequests) {
-                window.loadRequests();
+            if (typeof options.onComplete === 'function') {
+                options.onComplete(uploadedFiles);
+            } else if (window.refreshCurrentFolderFiles) {
+                window.refreshCurrentFolderFiles();
             }
             
             close();
         } catch (error) {
             console.error('Upload error:', error);
             // Parse error to get friendly message
-            let errorMessage = 'Upload failed. Please try again.';
+            let errorMessage = 'Upload failed. Click Upload again to resume.';
             if (typeof window.getFriendlyErrorMessage === 'function') {
                 errorMessage = window.getFriendlyErrorMessage(error.message || '', 'upload');
             } else if (error.message && !error.message.startsWith('{')) {
@@ -325,6 +345,98 @@ export function showMultiFileUploadModal(requestId, allowedExtensions, existingF
     }
 }
 
+/**
+ * Upload one file with the chunked upload API.
+ *
+ * The upload ID is remembered in localStorage, so calling this again for the same
+ * file and target after a failure (or a page reload) only sends the missing chunks.
+ *
+ * @param {File} file - File to upload
+ * @param {Object} target - { folderId } or { folderPath }
+ * @param {Object} options - { notes, onProgress(bytesSent) }
+ * @returns {Promise<Object>} The uploaded file DTO
+ */
+export async function uploadFileInChunks(file, target, { notes = '', onProgress = null } = {}) {
+    const resumeKey = `${RESUME_KEY_PREFIX}${target.folderId ?? target.folderPath}:${file.name}:${file.size}:${file.lastModified}`;
+    let status = await resumeUpload(resumeKey);
+    
+    if (!status) {
+        status = await chunkedUploads.init({
+            filename: file.name,
+            fileSize: file.size,
+            contentType: file.type || null,
+            folderId: target.folderId ?? null,
+            folderPath: target.folderId ? null : (target.folderPath ?? null),
+            notes: notes || null,
+        });
+        localStorage.setItem(resumeKey, status.uploadId);
+    }
+    
+    const { uploadId, chunkSize, chunkCount } = status;
+    const received = new Set(status.receivedChunks || []);
+    const pending = [];
+    for (let i = 0; i < chunkCount; i++) {
+        if (!received.has(i)) pending.push(i);
+    }
+    
+    const chunkLength = (i) => Math.min(chunkSize, file.size - i * chunkSize);
+    let sentBytes = Array.from(received).reduce((sum, i) => sum + chunkLength(i), 0);
+    const inFlight = new Map();
+    const reportProgress = () => {
+        if (onProgress) {
+            const partial = Array.from(inFlight.values()).reduce((sum, bytes) => sum + bytes, 0);
+            onProgress(Math.min(file.size, sentBytes + partial));
+        }
+    };
+    reportProgress();
+    
+    // A few chunks in flight at a time; each chunk is retried before giving up
+    const worker = async () => {
+        while (pending.length > 0) {
+            const index = pending.shift();
+            const start = index * chunkSize;
+            const blob = file.slice(start, start + chunkLength(index), 'application/octet-stream');
+            await sendChunkWithRetry(uploadId, index, blob, (percent) => {
+                inFlight.set(index, (percent / 100) * blob.size);
+                reportProgress();
+            });
+            inFlight.delete(index);
+            sentBytes += blob.size;
+            reportProgress();
+        }
+    };
+    await Promise.all(Array.from({ length: Math.min(CHUNK_CONCURRENCY, pending.length) }, worker));
+    
+    const uploaded = await chunkedUploads.commit(uploadId);
+    localStorage.removeItem(resumeKey);
+    return uploaded;
+}
+
+/**
+ * Look up a remembered upload; returns its status, or null if it expired or was committed.
+ */
+async function resumeUpload(resumeKey) {
+    const uploadId = localStorage.getItem(resumeKey);
+    if (!uploadId) return null;
+    try {
+        return await chunkedUploads.getStatus(uploadId);
+    } catch (error) {
+        localStorage.removeItem(resumeKey);
+        return null;
+    }
+}
+
+async function sendChunkWithRetry(uploadId, index, blob, onProgress) {
+    for (let attempt = 1; ; attempt++) {
+        try {
+            return await chunkedUploads.putChunk(uploadId, index, blob, onProgress);
+        } catch (error) {
+            if (attempt >= CHUNK_RETRIES) throw error;
+            await new Promise(resolve => setTimeout(resolve, 1000 * attempt));
+        }
+    }
+}
+
 // Helper functions
 function validateFile(file, allowedExtensions, maxSizePerFile) {
     if (!file) {
@@ -364,5 +476,6 @@ function getFileIcon(mimeType) {
     return '📎';
 }
 
-// Make function globally available
+// Make functions globally available
 window.showMultiFileUploadModal = showMultiFileUploadModal;
+window.uploadFileInChunks = uploadFileInChunks;
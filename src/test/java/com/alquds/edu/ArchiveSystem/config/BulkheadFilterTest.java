@@ -0,0 +1,123 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for BulkheadFilter endpoint classification and admission.
+ */
+@DisplayName("BulkheadFilter Unit Tests")
+class BulkheadFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setReportExport(new BulkheadProperties.Limit(1, 0, 0L));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new BulkheadFilter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("classify - maps heavy endpoints to their class and leaves the rest alone")
+    void classify_MapsEndpoints() {
+        assertThat(BulkheadFilter.classify("GET", "/api/hod/reports/professor-submissions/pdf"))
+                .isEqualTo(BulkheadFilter.EndpointClass.REPORT_EXPORT);
+        assertThat(BulkheadFilter.classify("GET", "/api/admin/reports/export/pdf"))
+                .isEqualTo(BulkheadFilter.EndpointClass.REPORT_EXPORT);
+        assertThat(BulkheadFilter.classify("GET", "/api/hod/reports/professor-submissions/details"))
+                .isEqualTo(BulkheadFilter.EndpointClass.REPORT_EXPORT);
+        assertThat(BulkheadFilter.classify("GET", "/api/deanship/reports/system-wide"))
+                .isEqualTo(BulkheadFilter.EndpointClass.REPORT);
+        assertThat(BulkheadFilter.classify("GET", "/api/file-explorer/files/12/office-preview"))
+                .isEqualTo(BulkheadFilter.EndpointClass.OFFICE_PREVIEW);
+        assertThat(BulkheadFilter.classify("POST", "/api/professor/files/upload"))
+                .isEqualTo(BulkheadFilter.EndpointClass.UPLOAD);
+        assertThat(BulkheadFilter.classify("POST", "/api/professor/files/uploads/abc-123/commit"))
+                .isEqualTo(BulkheadFilter.EndpointClass.UPLOAD);
+
+        assertThat(BulkheadFilter.classify("GET", "/api/admin/reports/filter-options")).isNull();
+        assertThat(BulkheadFilter.classify("GET", "/api/file-explorer/root")).isNull();
+        assertThat(BulkheadFilter.classify("PUT", "/api/professor/files/uploads/abc-123/chunks/0")).isNull();
+    }
+
+    @Test
+    @DisplayName("doFilter - rejects with 503 and Retry-After while the class is saturated")
+    void doFilter_RejectsWhenSaturated() throws Exception {
+        // Arrange - one export holds the only slot
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = mock(FilterChain.class);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return null;
+        }).when(blockingChain).doFilter(any(), any());
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(exportRequest(), new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(exportRequest(), response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(response.getContentAsString()).contains("SERVICE_BUSY");
+        verify(chain, never()).doFilter(any(), any());
+        assertThat(meterRegistry.get("http.bulkhead.active").tag("endpoint", "report-export").gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("http.bulkhead.rejected").tag("endpoint", "report-export").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.get("http.bulkhead.active").tag("endpoint", "report-export").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter - passes requests outside the limited classes straight through")
+    void doFilter_PassesUnlimitedRequests() throws Exception {
+        // Arrange
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/file-explorer/root");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        verify(chain).doFilter(request, response);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletRequest exportRequest() {
+        return new MockHttpServletRequest("GET", "/api/admin/reports/export/pdf");
+    }
+}
@@ -0,0 +1,115 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.AcademicYear;
+import com.alquds.edu.ArchiveSystem.entity.academic.CourseAssignment;
+import com.alquds.edu.ArchiveSystem.entity.academic.Semester;
+import com.alquds.edu.ArchiveSystem.entity.academic.SemesterType;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionServiceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DataVersionEtagInterceptor conditional GETs.
+ */
+@DisplayName("DataVersionEtagInterceptor Unit Tests")
+class DataVersionEtagInterceptorTest {
+
+    private DataVersionServiceImpl dataVersionService;
+    private DataVersionEtagInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        dataVersionService = new DataVersionServiceImpl();
+        interceptor = new DataVersionEtagInterceptor(dataVersionService, 3600);
+    }
+
+    @Test
+    @DisplayName("preHandle - returns 304 without running the handler when the ETag matches")
+    void preHandle_NotModified() {
+        // Arrange
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(dashboardRequest(5L, null), first, new Object())).isTrue();
+        String etag = first.getHeader("ETag");
+
+        // Act
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(dashboardRequest(5L, etag), second, new Object());
+
+        // Assert
+        assertThat(etag).isNotBlank();
+        assertThat(proceed).isFalse();
+        assertThat(second.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("computeEtag - changes after a write to the requested semester only")
+    void computeEtag_ChangesWithSemesterVersion() {
+        // Arrange
+        String semesterFive = interceptor.computeEtag(dashboardRequest(5L, null));
+        String semesterSix = interceptor.computeEtag(dashboardRequest(6L, null));
+
+        // Act
+        CourseAssignment assignment = new CourseAssignment();
+        assignment.setSemester(semester(5L));
+        dataVersionService.courseAssignmentChanged(assignment);
+
+        // Assert
+        assertThat(interceptor.computeEtag(dashboardRequest(5L, null))).isNotEqualTo(semesterFive);
+        assertThat(interceptor.computeEtag(dashboardRequest(6L, null))).isEqualTo(semesterSix);
+    }
+
+    @Test
+    @DisplayName("computeEtag - explorer node ETags follow the semester in the node path")
+    void computeEtag_ExplorerNodePath() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/file-explorer/node");
+        request.setParameter("path", "/2024-2025/first/12/CS101");
+        String before = interceptor.computeEtag(request);
+
+        // Act
+        CourseAssignment assignment = new CourseAssignment();
+        assignment.setSemester(semester(5L));
+        dataVersionService.courseAssignmentChanged(assignment);
+
+        // Assert
+        assertThat(interceptor.computeEtag(request)).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("preHandle - ignores requests other than GET")
+    void preHandle_IgnoresPost() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/hod/dashboard/overview");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(response.getHeader("ETag")).isNull();
+    }
+
+    private static MockHttpServletRequest dashboardRequest(Long semesterId, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/hod/dashboard/overview");
+        request.setParameter("semesterId", semesterId.toString());
+        request.setQueryString("semesterId=" + semesterId);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static Semester semester(Long id) {
+        AcademicYear academicYear = new AcademicYear();
+        academicYear.setYearCode("2024-2025");
+        Semester semester = new Semester();
+        semester.setId(id);
+        semester.setAcademicYear(academicYear);
+        semester.setType(SemesterType.FIRST);
+        return semester;
+    }
+}
@@ -0,0 +1,124 @@
+package com.alquds.edu.ArchiveSystem.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the synthetic archive generator.
+ * Runs the "generate" profile against its own in-memory database and a temporary
+ * uploads root (deleted afterwards), with every required document submitted so
+ * counts are exact.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "generate"})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:generatortest",
+        "app.generator.prefix=gentest",
+        "app.generator.departments=2",
+        "app.generator.professors=4",
+        "app.generator.assignments-per-semester=6",
+        "app.generator.semesters=FIRST",
+        "app.generator.document-types=SYLLABUS,EXAM",
+        "app.generator.submission-ratio=1.0",
+        "app.generator.files-per-submission=2",
+        "app.generator.file-size-bytes=128",
+        "app.generator.batch-size=5",
+        "app.generator.file-writer-threads=2"
+})
+@DisplayName("LargeArchiveGenerator Integration Tests")
+class LargeArchiveGeneratorTest {
+
+    private static final Path UPLOADS_ROOT = createUploadsRoot();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LargeArchiveGenerator generator;
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.base-path", () -> UPLOADS_ROOT.toString());
+    }
+
+    @AfterAll
+    static void deleteUploadsRoot() throws IOException {
+        FileSystemUtils.deleteRecursively(UPLOADS_ROOT);
+    }
+
+    @Test
+    @DisplayName("Should generate the configured number of rows")
+    void shouldGenerateConfiguredRowCounts() {
+        assertThat(count("SELECT COUNT(*) FROM departments WHERE shortcut LIKE 'gentest%'")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE email LIKE 'gentest.prof%'")).isEqualTo(4);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE email LIKE 'gentest.hod%'")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM courses WHERE course_code LIKE 'GENTEST%'")).isEqualTo(6);
+        assertThat(count("SELECT COUNT(*) FROM course_assignments")).isEqualTo(6);
+        assertThat(count("SELECT COUNT(*) FROM required_document_types")).isEqualTo(12);
+        assertThat(count("SELECT COUNT(*) FROM document_submissions")).isEqualTo(12);
+        assertThat(count("SELECT COUNT(*) FROM uploaded_files")).isEqualTo(24);
+        // 4 professor roots + 6 course folders + 6 x 4 standard subfolders
+        assertThat(count("SELECT COUNT(*) FROM folders")).isEqualTo(34);
+    }
+
+    @Test
+    @DisplayName("Should link every file to a folder and a submission")
+    void shouldLinkFilesToFoldersAndSubmissions() {
+        assertThat(count("SELECT COUNT(*) FROM uploaded_files WHERE folder_id IS NULL OR document_submission_id IS NULL"))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM uploaded_files uf JOIN folders f ON f.id = uf.folder_id "
+                + "WHERE uf.file_url <> CONCAT(f.path, '/', uf.stored_filename)")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write a physical file for every uploaded file row")
+    void shouldWritePhysicalFiles() {
+        List<String> fileUrls = jdbcTemplate.queryForList("SELECT file_url FROM uploaded_files", String.class);
+
+        assertThat(fileUrls).isNotEmpty();
+        assertThat(fileUrls).allSatisfy(url -> {
+            Path file = UPLOADS_ROOT.resolve(url);
+            assertThat(file).isRegularFile();
+            assertThat(file.toFile()).hasSize(128);
+        });
+    }
+
+    @Test
+    @DisplayName("Should skip generation when the prefix already exists")
+    void shouldSkipWhenAlreadyGenerated() {
+        generator.generate();
+
+        assertThat(count("SELECT COUNT(*) FROM departments WHERE shortcut LIKE 'gentest%'")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM uploaded_files")).isEqualTo(24);
+    }
+
+    private int count(String sql) {
+        Integer value = jdbcTemplate.queryForObject(sql, Integer.class);
+        return value != null ? value : 0;
+    }
+
+    private static Path createUploadsRoot() {
+        try {
+            return Files.createTempDirectory("generator-test-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -312,6 +312,15 @@ class FileExplorerControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
     
+    @Test
+    @DisplayName("Should return 403 when unauthenticated for ZIP export")
+    void shouldReturn403WhenUnauthenticatedForExport() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/file-explorer/export")
+                        .param("path", "/2024-2025/first/Test Professor"))
+                .andExpect(status().isForbidden());
+    }
+    
     // ==================== Get Breadcrumbs Tests ====================
     
     @Test
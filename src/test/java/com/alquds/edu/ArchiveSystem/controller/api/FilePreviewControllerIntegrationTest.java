@@ -393,4 +393,16 @@ class FilePreviewControllerIntegrationTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").value(false));
     }
+    
+    // ==================== Thumbnail Tests ====================
+    
+    @Test
+    @DisplayName("Should return 404 thumbnail for unsupported file type")
+    @WithMockUser(username = "test.professor@staff.alquds.edu", roles = "PROFESSOR")
+    void shouldReturn404ThumbnailForUnsupportedFileType() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/file-explorer/files/{fileId}/thumbnail", unsupportedFile.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
 }
@@ -9,6 +9,7 @@ import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
 import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,10 +23,16 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -47,7 +54,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     "file.upload-dir=${java.io.tmpdir}/test-uploads",
     "file.max-size=10485760", // 10MB for testing
     "file.allowed-types=pdf,doc,docx,ppt,pptx,xls,xlsx,txt,zip,rar,jpg,jpeg,png,gif,csv",
-    "app.upload.max-file-count=5"
+    "app.upload.max-file-count=5",
+    "file.chunked.min-chunk-size=1"
 })
 @DisplayName("FileUploadController Integration Tests")
 class FileUploadControllerIntegrationTest {
@@ -428,4 +436,95 @@ class FileUploadControllerIntegrationTest {
                         .param("folderId", String.valueOf(testFolder.getId())))
                 .andExpect(status().isForbidden());
     }
+    
+    // ==================== Chunked Upload Tests ====================
+    
+    @Test
+    @DisplayName("Should assemble chunks sent out of order and commit the file")
+    @WithMockUser(username = "test.professor@staff.alquds.edu", roles = "PROFESSOR")
+    void shouldCommitChunkedUploadWithChunksOutOfOrder() throws Exception {
+        // Arrange
+        String uploadId = initChunkedUpload("chunked-notes.pdf", 10, 4);
+        
+        // Act
+        putChunk(uploadId, 2, "89").andExpect(status().isOk());
+        putChunk(uploadId, 0, "0123").andExpect(status().isOk());
+        putChunk(uploadId, 1, "4567")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.complete").value(true))
+                .andExpect(jsonPath("$.data.receivedBytes").value(10));
+        
+        MvcResult result = mockMvc.perform(post("/api/professor/files/uploads/{id}/commit", uploadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.originalFilename").value("chunked-notes.pdf"))
+                .andExpect(jsonPath("$.data.fileSize").value(10))
+                .andReturn();
+        
+        // Assert
+        String storedFilename = JsonPath.read(result.getResponse().getContentAsString(), "$.data.storedFilename");
+        Path stored = Paths.get(System.getProperty("java.io.tmpdir"), "test-uploads", testFolder.getPath(), storedFilename);
+        assertThat(Files.readString(stored, StandardCharsets.US_ASCII)).isEqualTo("0123456789");
+        assertThat(uploadedFileRepository.findByFolderId(testFolder.getId())).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("Should report received chunks and refuse to commit an incomplete upload")
+    @WithMockUser(username = "test.professor@staff.alquds.edu", roles = "PROFESSOR")
+    void shouldReportReceivedChunksForIncompleteUpload() throws Exception {
+        // Arrange
+        String uploadId = initChunkedUpload("partial.pdf", 10, 4);
+        putChunk(uploadId, 1, "4567").andExpect(status().isOk());
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/professor/files/uploads/{id}", uploadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.chunkCount").value(3))
+                .andExpect(jsonPath("$.data.receivedChunks.length()").value(1))
+                .andExpect(jsonPath("$.data.receivedChunks[0]").value(1))
+                .andExpect(jsonPath("$.data.complete").value(false));
+        
+        mockMvc.perform(post("/api/professor/files/uploads/{id}/commit", uploadId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+    
+    @Test
+    @DisplayName("Should reject a chunk with the wrong length")
+    @WithMockUser(username = "test.professor@staff.alquds.edu", roles = "PROFESSOR")
+    void shouldRejectChunkWithWrongLength() throws Exception {
+        String uploadId = initChunkedUpload("short.pdf", 10, 4);
+        
+        putChunk(uploadId, 0, "012").andExpect(status().isBadRequest());
+        putChunk(uploadId, 2, "89AB").andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @DisplayName("Should return 403 when starting a chunked upload into another professor's folder")
+    @WithMockUser(username = "test.professor@staff.alquds.edu", roles = "PROFESSOR")
+    void shouldReturn403WhenChunkedUploadTargetsAnotherProfessorsFolder() throws Exception {
+        mockMvc.perform(post("/api/professor/files/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"filename\":\"x.pdf\",\"fileSize\":10,\"folderId\":%d}",
+                                otherProfessorFolder.getId())))
+                .andExpect(status().isForbidden());
+    }
+    
+    private String initChunkedUpload(String filename, long fileSize, int chunkSize) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/professor/files/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(
+                                "{\"filename\":\"%s\",\"fileSize\":%d,\"chunkSize\":%d,\"folderId\":%d}",
+                                filename, fileSize, chunkSize, testFolder.getId())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.chunkSize").value(chunkSize))
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.data.uploadId");
+    }
+    
+    private ResultActions putChunk(String uploadId, int index, String content) throws Exception {
+        return mockMvc.perform(put("/api/professor/files/uploads/{id}/chunks/{index}", uploadId, index)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(content.getBytes(StandardCharsets.US_ASCII)));
+    }
 }
@@ -10,6 +10,7 @@ import com.alquds.edu.ArchiveSystem.exception.core.DuplicateEntityException;
 import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
 import com.alquds.edu.ArchiveSystem.repository.academic.*;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import com.alquds.edu.ArchiveSystem.service.core.DepartmentScopedFilterService;
 import com.alquds.edu.ArchiveSystem.service.file.FolderService;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
@@ -66,6 +67,9 @@ class CourseServiceTest {
     
     @Mock
     private FolderService folderService;
+
+    @Mock
+    private DataVersionService dataVersionService;
     
     @InjectMocks
     private CourseServiceImpl courseService;
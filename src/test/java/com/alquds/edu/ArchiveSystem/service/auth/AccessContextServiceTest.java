@@ -0,0 +1,130 @@
+package com.alquds.edu.ArchiveSystem.service.auth;
+
+import com.alquds.edu.ArchiveSystem.entity.academic.Department;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccessContextService Unit Tests")
+class AccessContextServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private AccessContextServiceImpl accessContextService;
+
+    private Department department;
+    private User professor;
+
+    @BeforeEach
+    void setUp() {
+        department = TestDataBuilder.createDepartment();
+        department.setId(1L);
+
+        professor = TestDataBuilder.createProfessorUser();
+        professor.setId(10L);
+        professor.setFirstName("John");
+        professor.setLastName("Doe");
+        professor.setDepartment(department);
+    }
+
+    @Test
+    @DisplayName("forUser - professor context covers department professors and own folder")
+    void forUser_BuildsProfessorContext() {
+        // Arrange
+        when(userRepository.findAccessRowsByDepartmentId(1L)).thenReturn(List.of(
+                new Object[] {10L, Role.ROLE_PROFESSOR, "John", "Doe"},
+                new Object[] {11L, Role.ROLE_PROFESSOR, "Jane", "Smith"},
+                new Object[] {12L, Role.ROLE_HOD, "Head", "User"}));
+
+        // Act
+        AccessContext access = accessContextService.forUser(professor);
+
+        // Assert
+        assertThat(access.canAccessDepartment(1L)).isTrue();
+        assertThat(access.canAccessDepartment(2L)).isFalse();
+        assertThat(access.canAccessProfessorFolder("Jane Smith")).isTrue();
+        assertThat(access.canAccessProfessorFolder("prof_11")).isTrue();
+        assertThat(access.canAccessProfessorFolder("Head User")).isFalse();
+        assertThat(access.ownsProfessorFolder("John Doe")).isTrue();
+        assertThat(access.ownsProfessorFolder("prof_10")).isTrue();
+        assertThat(access.ownsProfessorFolder("Jane Smith")).isFalse();
+        assertThat(access.isDepartmentMember(12L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("forUser - admin context reaches every department without loading members")
+    void forUser_AdminSeesAllDepartments() {
+        // Arrange
+        User admin = TestDataBuilder.createAdminUser();
+        admin.setId(1L);
+
+        // Act
+        AccessContext access = accessContextService.forUser(admin);
+
+        // Assert
+        assertThat(access.isAdminLevel()).isTrue();
+        assertThat(access.canAccessDepartment(99L)).isTrue();
+        assertThat(access.canAccessProfessorFolder("Anyone")).isTrue();
+        assertThat(access.ownsProfessorFolder("Anyone")).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("forUser - reuses the context until the role, department or a user changes")
+    void forUser_RebuildsOnChange() {
+        // Arrange
+        when(userRepository.findAccessRowsByDepartmentId(1L)).thenReturn(List.of());
+        accessContextService.forUser(professor);
+        accessContextService.forUser(professor);
+
+        // Act
+        professor.setRole(Role.ROLE_HOD);
+        AccessContext asHod = accessContextService.forUser(professor);
+        accessContextService.onEntityChanged(
+                new EntityChangedEvent(User.class, 11L, EntityChangedEvent.ChangeType.SAVED));
+        accessContextService.forUser(professor);
+
+        // Assert
+        assertThat(asHod.role()).isEqualTo(Role.ROLE_HOD);
+        verify(userRepository, times(3)).findAccessRowsByDepartmentId(1L);
+    }
+
+    @Test
+    @DisplayName("forUser - does not cache a context built while a user changed")
+    void forUser_DropsContextBuiltDuringChange() {
+        // Arrange
+        when(userRepository.findAccessRowsByDepartmentId(1L)).thenAnswer(invocation -> {
+            accessContextService.onEntityChanged(
+                    new EntityChangedEvent(User.class, 11L, EntityChangedEvent.ChangeType.SAVED));
+            return List.of();
+        }).thenReturn(List.of());
+
+        // Act
+        accessContextService.forUser(professor);
+        accessContextService.forUser(professor);
+        accessContextService.forUser(professor);
+
+        // Assert
+        verify(userRepository, times(2)).findAccessRowsByDepartmentId(1L);
+    }
+}
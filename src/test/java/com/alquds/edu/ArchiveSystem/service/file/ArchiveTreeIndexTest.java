@@ -0,0 +1,146 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ArchiveTreeIndex folder hierarchy.
+ */
+@DisplayName("ArchiveTreeIndex Unit Tests")
+class ArchiveTreeIndexTest {
+
+    private static final String PROFESSOR_PATH = "2024-2025/first/Jane Doe";
+    private static final String COURSE_PATH = PROFESSOR_PATH + "/CS101 - Data Structures";
+
+    private ArchiveTreeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ArchiveTreeIndex();
+        index.putFolder(1L, null, PROFESSOR_PATH, "Jane Doe", FolderType.PROFESSOR_ROOT, 7L, 3L, null, 5L);
+        index.putFolder(2L, 1L, COURSE_PATH, "CS101 - Data Structures", FolderType.COURSE, 7L, 3L, 11L, 5L);
+        index.putFolder(3L, 2L, COURSE_PATH + "/Syllabus", "Syllabus", FolderType.SUBFOLDER, 7L, 3L, 11L, 5L);
+        index.putFolder(4L, 2L, COURSE_PATH + "/Projects", "Projects", FolderType.CUSTOM, 7L, 3L, 11L, 5L);
+    }
+
+    @Test
+    @DisplayName("findByPath - resolves roots and nested folders with their attributes")
+    void findByPath_ResolvesNestedFolders() {
+        // Act
+        ArchiveTreeService.FolderNode professor = index.findByPath("/" + PROFESSOR_PATH + "/");
+        ArchiveTreeService.FolderNode syllabus = index.findByPath(COURSE_PATH + "/Syllabus");
+
+        // Assert
+        assertThat(professor.id()).isEqualTo(1L);
+        assertThat(professor.departmentId()).isEqualTo(3L);
+        assertThat(professor.subfolderCount()).isEqualTo(1);
+        assertThat(syllabus.id()).isEqualTo(3L);
+        assertThat(syllabus.path()).isEqualTo(COURSE_PATH + "/Syllabus");
+        assertThat(syllabus.type()).isEqualTo(FolderType.SUBFOLDER);
+        assertThat(index.findByPath(COURSE_PATH + "/Exams")).isNull();
+        assertThat(index.findCourseFolder(7L, 11L, 5L).id()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("putFolder - links a folder that arrived before its parent")
+    void putFolder_LinksLateParent() {
+        // Arrange
+        index.putFolder(21L, 20L, "2024-2025/second/John Roe/CS201", "CS201", FolderType.COURSE,
+                8L, 3L, 12L, 6L);
+
+        // Act
+        index.putFolder(20L, null, "2024-2025/second/John Roe", "John Roe", FolderType.PROFESSOR_ROOT,
+                8L, 3L, null, 6L);
+
+        // Assert
+        assertThat(index.children(20L)).extracting(ArchiveTreeService.FolderNode::id).containsExactly(21L);
+        assertThat(index.findByPath("2024-2025/second/John Roe/CS201").parentId()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("removeFolder - drops the whole subtree and frees its course key")
+    void removeFolder_DropsSubtree() {
+        // Act
+        index.removeFolder(2L);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get(3L)).isNull();
+        assertThat(index.findByPath(COURSE_PATH + "/Projects")).isNull();
+        assertThat(index.findCourseFolder(7L, 11L, 5L)).isNull();
+        assertThat(index.get(1L).subfolderCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("putFolder - a renamed course folder carries its subfolder paths along")
+    void putFolder_RenameMovesSubtreePaths() {
+        // Act
+        index.putFolder(2L, 1L, PROFESSOR_PATH + "/CS101 - Algorithms", "CS101 - Algorithms",
+                FolderType.COURSE, 7L, 3L, 11L, 5L);
+
+        // Assert
+        assertThat(index.get(3L).path()).isEqualTo(PROFESSOR_PATH + "/CS101 - Algorithms/Syllabus");
+        assertThat(index.findByPath(PROFESSOR_PATH + "/CS101 - Algorithms/Projects").id()).isEqualTo(4L);
+        assertThat(index.findByPath(COURSE_PATH + "/Projects")).isNull();
+    }
+
+    @Test
+    @DisplayName("putFile - keeps direct file counts as files are added, moved and removed")
+    void putFile_TracksFileCounts() {
+        // Arrange
+        LongStream.rangeClosed(100, 199).forEach(fileId -> index.putFile(fileId, 4L));
+
+        // Act
+        index.putFile(100L, 3L);
+        index.removeFile(101L);
+        index.putFile(102L, null);
+
+        // Assert
+        assertThat(index.get(4L).fileCount()).isEqualTo(97);
+        assertThat(index.get(3L).fileCount()).isEqualTo(1);
+        assertThat(index.fileCount()).isEqualTo(98);
+    }
+
+    @Test
+    @DisplayName("updateOwnerDepartment - moves the owner's folders to the new department")
+    void updateOwnerDepartment_UpdatesOwnedFolders() {
+        // Act
+        index.updateOwnerDepartment(7L, 9L);
+
+        // Assert
+        assertThat(index.findByPath(PROFESSOR_PATH).departmentId()).isEqualTo(9L);
+        assertThat(index.get(4L).departmentId()).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("readFrom - a written snapshot reads back with its lookups and stays editable")
+    void readFrom_RoundTripsSnapshot() throws Exception {
+        // Arrange
+        index.putFile(100L, 4L);
+        index.removeFolder(3L);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        // Act
+        ArchiveTreeIndex restored = ArchiveTreeIndex.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+        restored.putFolder(5L, 2L, COURSE_PATH + "/Exams", "Exams", FolderType.SUBFOLDER, 7L, 3L, 11L, 5L);
+
+        // Assert
+        assertThat(restored.size()).isEqualTo(4);
+        assertThat(restored.findByPath(COURSE_PATH + "/Projects").fileCount()).isEqualTo(1);
+        assertThat(restored.findCourseFolder(7L, 11L, 5L).id()).isEqualTo(2L);
+        assertThat(restored.findByPath(COURSE_PATH + "/Exams").id()).isEqualTo(5L);
+        assertThat(restored.folderIds()).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(restored.fileIds()).containsExactly(100L);
+    }
+}
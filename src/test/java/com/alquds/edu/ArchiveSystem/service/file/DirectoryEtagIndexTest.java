@@ -0,0 +1,120 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.util.SafePathResolver;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DirectoryEtagIndex hierarchical ETags.
+ */
+@DisplayName("DirectoryEtagIndex Unit Tests")
+class DirectoryEtagIndexTest {
+
+    @TempDir
+    Path uploadsRoot;
+
+    private DirectoryEtagIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Revalidation off: only reported changes may move an ETag
+        index = new DirectoryEtagIndex(new SafePathResolver(uploadsRoot.toString()), 0);
+        Files.createDirectories(uploadsRoot.resolve("2024-2025/first/prof_1/CS101/syllabus"));
+        Files.createDirectories(uploadsRoot.resolve("2024-2025/first/prof_2/CS102"));
+        Files.writeString(uploadsRoot.resolve("2024-2025/first/prof_1/CS101/syllabus/outline.pdf"), "v1");
+    }
+
+    @Test
+    @DisplayName("directoryChanged - a deep change moves every ancestor's ETag but not the siblings'")
+    void directoryChanged_PropagatesToAncestors() throws Exception {
+        // Arrange
+        String root = index.getEtag("");
+        String semester = index.getEtag("2024-2025/first");
+        String sibling = index.getEtag("2024-2025/first/prof_2");
+
+        // Act
+        Files.writeString(uploadsRoot.resolve("2024-2025/first/prof_1/CS101/syllabus/notes.pdf"), "new");
+        index.directoryChanged("2024-2025/first/prof_1/CS101/syllabus");
+
+        // Assert
+        assertThat(index.getEtag("")).isNotEqualTo(root);
+        assertThat(index.getEtag("2024-2025/first")).isNotEqualTo(semester);
+        assertThat(index.getEtag("2024-2025/first/prof_2")).isEqualTo(sibling);
+    }
+
+    @Test
+    @DisplayName("getEtag - serves the cached digest until a change is reported")
+    void getEtag_CachedUntilReported() throws Exception {
+        // Arrange
+        String before = index.getEtag("2024-2025");
+        Files.writeString(uploadsRoot.resolve("2024-2025/first/prof_2/CS102/exam.pdf"), "x");
+
+        // Act & Assert
+        assertThat(index.getEtag("2024-2025")).isEqualTo(before);
+        index.directoryChanged("2024-2025/first/prof_2/CS102");
+        assertThat(index.getEtag("2024-2025")).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("directoryChanged - a deleted subtree is dropped and a recreated one starts fresh")
+    void directoryChanged_DropsDeletedSubtree() throws Exception {
+        // Arrange
+        index.getEtag("");
+        int cached = index.size();
+        Path course = uploadsRoot.resolve("2024-2025/first/prof_1/CS101");
+        Files.delete(course.resolve("syllabus/outline.pdf"));
+        Files.delete(course.resolve("syllabus"));
+        Files.delete(course);
+
+        // Act
+        index.directoryChanged("2024-2025/first/prof_1/CS101");
+
+        // Assert
+        assertThat(index.size()).isEqualTo(cached - 2);
+        assertThat(index.getEtag("2024-2025/first/prof_1/CS101")).isNull();
+    }
+
+    @Test
+    @DisplayName("getSummary - counts subdirectories and direct files and follows reported changes")
+    void getSummary_CountsEntries() throws Exception {
+        // Arrange
+        Files.writeString(uploadsRoot.resolve("2024-2025/first/prof_1/CS101/readme.txt"), "12345");
+
+        // Act
+        DirectoryEtagIndex.DirectorySummary course = index.getSummary("2024-2025/first/prof_1/CS101");
+        DirectoryEtagIndex.DirectorySummary semester = index.getSummary("2024-2025/first");
+
+        // Assert
+        assertThat(course.subdirs()).containsExactly("syllabus");
+        assertThat(course.fileCount()).isEqualTo(1);
+        assertThat(course.fileSize()).isEqualTo(5);
+        assertThat(semester.subdirs()).containsExactly("prof_1", "prof_2");
+        assertThat(semester.fileCount()).isZero();
+
+        Files.createDirectories(uploadsRoot.resolve("2024-2025/first/prof_3"));
+        index.directoryChanged("2024-2025/first");
+        assertThat(index.getSummary("2024-2025/first").subdirs()).containsExactly("prof_1", "prof_2", "prof_3");
+    }
+
+    @Test
+    @DisplayName("getEtag - ignores hidden staging files")
+    void getEtag_IgnoresHiddenEntries() throws Exception {
+        // Arrange
+        String before = index.getEtag("2024-2025/first/prof_2/CS102");
+        Files.writeString(uploadsRoot.resolve("2024-2025/first/prof_2/CS102/.exam.pdf.1234.part"), "partial");
+
+        // Act
+        index.directoryChanged("2024-2025/first/prof_2/CS102");
+
+        // Assert
+        assertThat(index.getEtag("2024-2025/first/prof_2/CS102")).isEqualTo(before);
+    }
+}
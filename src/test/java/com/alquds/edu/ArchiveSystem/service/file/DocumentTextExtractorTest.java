@@ -0,0 +1,68 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DocumentTextExtractor.
+ */
+@DisplayName("DocumentTextExtractor Unit Tests")
+class DocumentTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final DocumentTextExtractor extractor = new DocumentTextExtractor();
+
+    @Test
+    @DisplayName("extract - reads paragraphs of a Word document")
+    void extract_Docx() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("lecture.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            document.createParagraph().createRun().setText("Introduction to recursion");
+            document.write(out);
+        }
+
+        // Act
+        String text = extractor.extract(file, "lecture.docx", 10_000);
+
+        // Assert
+        assertThat(text).contains("Introduction to recursion");
+    }
+
+    @Test
+    @DisplayName("extract - truncates long text files")
+    void extract_TruncatesText() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("notes.txt");
+        Files.writeString(file, "a".repeat(500));
+
+        // Act
+        String text = extractor.extract(file, "notes.txt", 100);
+
+        // Assert
+        assertThat(text).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("extract - returns empty text for unsupported formats")
+    void extract_UnsupportedFormat() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("photo.jpg");
+        Files.write(file, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF});
+
+        // Act & Assert
+        assertThat(extractor.supports("photo.jpg")).isFalse();
+        assertThat(extractor.extract(file, "photo.jpg", 100)).isEmpty();
+    }
+}
@@ -5,6 +5,8 @@ import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
 import com.alquds.edu.ArchiveSystem.entity.user.User;
 import com.alquds.edu.ArchiveSystem.entity.auth.Role;
 import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.auth.AccessContextServiceImpl;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -30,6 +33,9 @@ class FileAccessServiceTest {
     @Mock
     private UploadedFileRepository uploadedFileRepository;
 
+    @Spy
+    private AccessContextServiceImpl accessContextService = new AccessContextServiceImpl(mock(UserRepository.class));
+
     @InjectMocks
     private FileAccessServiceImpl fileAccessService;
 
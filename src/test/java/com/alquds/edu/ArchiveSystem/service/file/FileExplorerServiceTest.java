@@ -24,6 +24,7 @@ import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
 import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
 import com.alquds.edu.ArchiveSystem.repository.submission.DocumentSubmissionRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -34,6 +35,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -74,6 +77,15 @@ class FileExplorerServiceTest {
     @Mock
     private FileAccessService fileAccessService;
 
+    @Mock
+    private ArchiveTreeService archiveTreeService;
+
+    @Mock
+    private FolderDiscoveryService folderDiscoveryService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
     @InjectMocks
     private FileExplorerServiceImpl fileExplorerService;
 
@@ -214,11 +226,9 @@ class FileExplorerServiceTest {
         when(academicYearRepository.findById(1L)).thenReturn(Optional.of(academicYear));
         when(semesterRepository.findById(1L)).thenReturn(Optional.of(semester));
         when(fileAccessService.hasAdminLevelAccess(professor1)).thenReturn(false);
-        List<User> professors = new ArrayList<>();
-        professors.add(professor1);
-        professors.add(professor2);
-        when(userRepository.findActiveProfessorsByDepartment(1L, Role.ROLE_PROFESSOR))
-                .thenReturn(professors);
+        when(userRepository.findByRoleAndDepartmentIdAndIsActiveWithDepartment(
+                eq(Role.ROLE_PROFESSOR), eq(1L), eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(professor2, professor1)));
 
         // Act
         FileExplorerNode result = fileExplorerService.getRootNode(1L, 1L, professor1);
@@ -240,11 +250,8 @@ class FileExplorerServiceTest {
         when(academicYearRepository.findById(1L)).thenReturn(Optional.of(academicYear));
         when(semesterRepository.findById(1L)).thenReturn(Optional.of(semester));
         when(fileAccessService.hasAdminLevelAccess(adminUser)).thenReturn(true);
-        List<User> professors = new ArrayList<>();
-        professors.add(professor1);
-        professors.add(professor2);
-        when(userRepository.findByRole(Role.ROLE_PROFESSOR))
-                .thenReturn(professors);
+        when(userRepository.findByRoleAndIsActiveWithDepartment(eq(Role.ROLE_PROFESSOR), eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(professor2, professor1)));
 
         // Act
         FileExplorerNode result = fileExplorerService.getRootNode(1L, 1L, adminUser);
@@ -256,6 +263,36 @@ class FileExplorerServiceTest {
         verify(fileAccessService).hasAdminLevelAccess(adminUser);
     }
 
+    @Test
+    @DisplayName("Should return one page of professors with total, cursor and aggregate counts")
+    void shouldGetRootNodePageWithCursorAndCounts() {
+        // Arrange
+        when(academicYearRepository.findById(1L)).thenReturn(Optional.of(academicYear));
+        when(semesterRepository.findById(1L)).thenReturn(Optional.of(semester));
+        when(fileAccessService.hasAdminLevelAccess(adminUser)).thenReturn(true);
+        when(userRepository.findByRoleAndIsActiveWithDepartment(eq(Role.ROLE_PROFESSOR), eq(true), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Pageable pageable = invocation.getArgument(2);
+                    return new PageImpl<>(List.of(professor1), pageable, 3);
+                });
+        when(courseAssignmentRepository.countCoursesAndFilesByProfessor(1L, List.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, 2L, 7L}));
+
+        // Act
+        FileExplorerNode result = fileExplorerService.getRootNode(1L, 1L, adminUser, "1", 1);
+
+        // Assert
+        assertThat(result.getChildren()).hasSize(1);
+        assertThat(result.getChildrenTotal()).isEqualTo(3L);
+        assertThat(result.getChildrenCursor()).isEqualTo("2");
+        assertThat(result.getChildren().get(0).getMetadata())
+                .containsEntry("courseCount", 2L)
+                .containsEntry("fileCount", 7L);
+        verify(userRepository).findByRoleAndIsActiveWithDepartment(eq(Role.ROLE_PROFESSOR), eq(true),
+                argThat(pageable -> pageable.getPageNumber() == 1 && pageable.getPageSize() == 1));
+        verify(userRepository, never()).findByRole(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when academic year not found")
     void shouldThrowExceptionWhenAcademicYearNotFound() {
@@ -444,6 +481,67 @@ class FileExplorerServiceTest {
         assertThat(result.get(0).getType()).isEqualTo(NodeType.DOCUMENT_TYPE);
     }
 
+    @Test
+    @DisplayName("Should list course subfolders from the archive tree index without querying the database")
+    void shouldGetDocumentTypeChildrenFromArchiveTreeIndex() {
+        // Arrange
+        String parentPath = "/2024-2025/first/John Doe/CS101";
+        when(fileAccessService.hasAdminLevelAccess(professor1)).thenReturn(false);
+        when(fileAccessService.canAccessDepartmentFiles(professor1, 1L)).thenReturn(true);
+        when(archiveTreeService.findByPath("2024-2025/first/John Doe")).thenReturn(Optional.of(
+                new ArchiveTreeService.FolderNode(10L, null, "2024-2025/first/John Doe", "John Doe",
+                        FolderType.PROFESSOR_ROOT, 1L, 1L, null, 1L, 0, 1)));
+        when(archiveTreeService.findChildren(10L)).thenReturn(Optional.of(List.of(
+                new ArchiveTreeService.FolderNode(11L, 10L,
+                        "2024-2025/first/John Doe/CS101 - Introduction to Computer Science",
+                        "CS101 - Introduction to Computer Science", FolderType.COURSE, 1L, 1L, 1L, 1L, 0, 2))));
+        when(archiveTreeService.findChildren(11L)).thenReturn(Optional.of(List.of(
+                new ArchiveTreeService.FolderNode(12L, 11L,
+                        "2024-2025/first/John Doe/CS101 - Introduction to Computer Science/Syllabus",
+                        "Syllabus", FolderType.SUBFOLDER, 1L, 1L, 1L, 1L, 3, 0),
+                new ArchiveTreeService.FolderNode(13L, 11L,
+                        "2024-2025/first/John Doe/CS101 - Introduction to Computer Science/Extras",
+                        "Extras", FolderType.CUSTOM, 1L, 1L, 1L, 1L, 1, 0))));
+
+        // Act
+        List<FileExplorerNode> result = fileExplorerService.getChildren(parentPath, professor1);
+
+        // Assert
+        assertThat(result).extracting(FileExplorerNode::getPath).containsExactly(
+                "/2024-2025/first/John Doe/CS101/custom-13", "/2024-2025/first/John Doe/CS101/syllabus");
+        assertThat(result.get(0).getType()).isEqualTo(NodeType.CUSTOM);
+        assertThat(result.get(0).isCanDelete()).isTrue();
+        assertThat(result.get(1).getType()).isEqualTo(NodeType.DOCUMENT_TYPE);
+        assertThat(result.get(1).getMetadata()).containsEntry("fileCount", 3L)
+                .containsEntry("documentType", "SYLLABUS");
+        verify(folderDiscoveryService).requestScan(11L);
+        verify(userRepository, never()).findByRole(any());
+        verifyNoInteractions(academicYearRepository, semesterRepository, courseAssignmentRepository,
+                folderRepository, documentSubmissionRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve professor and semester of course children from the archive tree index")
+    void shouldGetCourseChildrenUsingArchiveTreeIndex() {
+        // Arrange
+        String parentPath = "/2024-2025/first/John Doe";
+        when(fileAccessService.hasAdminLevelAccess(professor1)).thenReturn(false);
+        when(fileAccessService.canAccessDepartmentFiles(professor1, 1L)).thenReturn(true);
+        when(archiveTreeService.findByPath("2024-2025/first/John Doe")).thenReturn(Optional.of(
+                new ArchiveTreeService.FolderNode(10L, null, "2024-2025/first/John Doe", "John Doe",
+                        FolderType.PROFESSOR_ROOT, 1L, 1L, null, 1L, 0, 1)));
+        when(courseAssignmentRepository.findByProfessorIdAndSemesterId(1L, 1L)).thenReturn(List.of(assignment));
+
+        // Act
+        List<FileExplorerNode> result = fileExplorerService.getChildren(parentPath, professor1);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getPath()).isEqualTo("/2024-2025/first/John Doe/CS101");
+        verify(userRepository, never()).findByRole(any());
+        verifyNoInteractions(academicYearRepository, semesterRepository);
+    }
+
     @Test
     @DisplayName("Should get file children for document type node")
     void shouldGetFileChildrenForDocumentTypeNode() {
@@ -562,6 +660,26 @@ class FileExplorerServiceTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    @DisplayName("Should check read access against the archive tree index without loading professors")
+    void shouldCheckReadAccessFromArchiveTreeIndex() {
+        // Arrange
+        String nodePath = "/2024-2025/first/John Doe/CS101";
+        when(fileAccessService.hasAdminLevelAccess(professor1)).thenReturn(false);
+        when(archiveTreeService.findByPath("2024-2025/first/John Doe")).thenReturn(Optional.of(
+                new ArchiveTreeService.FolderNode(10L, null, "2024-2025/first/John Doe", "John Doe",
+                        FolderType.PROFESSOR_ROOT, 1L, 1L, null, 1L, 0, 1)));
+        when(fileAccessService.canAccessDepartmentFiles(professor1, 1L)).thenReturn(true);
+
+        // Act
+        boolean result = fileExplorerService.canRead(nodePath, professor1);
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(userRepository, never()).findByRole(any());
+        verify(userRepository, never()).findByProfessorId(any());
+    }
+
     @Test
     @DisplayName("Should return true for semester level path (all authenticated users)")
     void shouldReturnTrueForSemesterLevelPath() {
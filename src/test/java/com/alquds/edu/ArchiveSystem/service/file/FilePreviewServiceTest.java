@@ -46,6 +46,9 @@ class FilePreviewServiceTest {
     @Mock
     private OfficeDocumentConverter officeDocumentConverter;
 
+    @Mock
+    private PreviewRenditionService previewRenditionService;
+
     @InjectMocks
     private FilePreviewServiceImpl filePreviewService;
 
@@ -757,6 +760,24 @@ class FilePreviewServiceTest {
         verify(officeDocumentConverter).convertToHtml(anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("Should serve pre-rendered HTML without converting again")
+    void shouldServePreRenderedHtml() throws IOException {
+        // Arrange
+        byte[] preparedHtml = "<html>Prepared content</html>".getBytes();
+        when(uploadedFileRepository.findById(4L)).thenReturn(Optional.of(officeFile));
+        when(uploadedFileRepository.findByIdWithUploaderAndFolder(4L))
+                .thenReturn(Optional.of(officeFile));
+        when(previewRenditionService.findHtml(officeFile)).thenReturn(Optional.of(preparedHtml));
+
+        // Act
+        byte[] result = filePreviewService.convertOfficeDocumentToHtml(4L, professor1);
+
+        // Assert
+        assertThat(result).isEqualTo(preparedHtml);
+        verify(officeDocumentConverter, never()).convertToHtml(anyString(), anyString());
+    }
+
     @Test
     @DisplayName("Should throw IllegalArgumentException for non-Office document")
     void shouldThrowIllegalArgumentExceptionForNonOfficeDocument() {
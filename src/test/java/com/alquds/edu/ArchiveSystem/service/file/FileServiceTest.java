@@ -19,6 +19,7 @@ import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
 import com.alquds.edu.ArchiveSystem.repository.submission.DocumentSubmissionRepository;
 import com.alquds.edu.ArchiveSystem.repository.submission.RequiredDocumentTypeRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
@@ -87,6 +89,15 @@ class FileServiceTest {
     @Mock
     private Authentication authentication;
     
+    @Mock
+    private DataVersionService dataVersionService;
+    
+    @Spy
+    private BlobStore blobStore = BlobStore.disabled();
+    
+    @Spy
+    private UploadFileWriter uploadFileWriter = new UploadFileWriter(2, BlobStore.disabled());
+    
     @InjectMocks
     private FileServiceImpl fileService;
     
@@ -433,13 +444,16 @@ class FileServiceTest {
                     }
                     return sub;
                 });
-        when(uploadedFileRepository.save(any(UploadedFile.class)))
+        when(uploadedFileRepository.saveAll(anyIterable()))
                 .thenAnswer(invocation -> {
-                    UploadedFile uf = invocation.getArgument(0);
-                    if (uf.getId() == null) {
-                        uf.setId((long) (Math.random() * 1000));
+                    List<UploadedFile> saved = new ArrayList<>();
+                    for (UploadedFile uf : invocation.<Iterable<UploadedFile>>getArgument(0)) {
+                        if (uf.getId() == null) {
+                            uf.setId((long) (saved.size() + 1));
+                        }
+                        saved.add(uf);
                     }
-                    return uf;
+                    return saved;
                 });
         
         // Act
@@ -454,11 +468,16 @@ class FileServiceTest {
         
         // Verify files were saved to disk
         verify(documentSubmissionRepository, times(2)).save(any(DocumentSubmission.class));
-        verify(uploadedFileRepository, times(2)).save(any(UploadedFile.class));
+        verify(uploadedFileRepository, times(1)).saveAll(anyIterable());
+        verify(uploadedFileRepository, never()).save(any(UploadedFile.class));
         
         // Verify physical files exist
         assertThat(result.get(0).getFileUrl()).isNotNull();
         assertThat(result.get(1).getFileUrl()).isNotNull();
+        assertThat(tempDir.resolve(result.get(0).getFileUrl())).hasContent("PDF content");
+        assertThat(tempDir.resolve(result.get(1).getFileUrl())).hasContent("Notes content");
+        assertThat(result.get(0).getContentSha256()).hasSize(64);
+        assertThat(result.get(0).getDetectedContentType()).isEqualTo("text/plain");
     }
     
     @Test
@@ -505,13 +524,16 @@ class FileServiceTest {
                 .thenReturn(Collections.emptyList());
         when(uploadedFileRepository.findByDocumentSubmissionId(1L))
                 .thenReturn(oldFiles);
-        when(uploadedFileRepository.save(any(UploadedFile.class)))
+        when(uploadedFileRepository.saveAll(anyIterable()))
                 .thenAnswer(invocation -> {
-                    UploadedFile uf = invocation.getArgument(0);
-                    if (uf.getId() == null) {
-                        uf.setId(20L);
+                    List<UploadedFile> saved = new ArrayList<>();
+                    for (UploadedFile uf : invocation.<Iterable<UploadedFile>>getArgument(0)) {
+                        if (uf.getId() == null) {
+                            uf.setId(20L);
+                        }
+                        saved.add(uf);
                     }
-                    return uf;
+                    return saved;
                 });
         when(uploadedFileRepository.findByDocumentSubmissionId(1L))
                 .thenReturn(oldFiles) // First call returns old files
@@ -523,7 +545,7 @@ class FileServiceTest {
         // Assert
         verify(uploadedFileRepository).deleteAll(oldFiles);
         verify(documentSubmissionRepository).save(any(DocumentSubmission.class));
-        verify(uploadedFileRepository, times(1)).save(any(UploadedFile.class));
+        verify(uploadedFileRepository, times(1)).saveAll(anyIterable());
     }
     
     @Test
@@ -0,0 +1,164 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.Folder;
+import com.alquds.edu.ArchiveSystem.entity.file.FolderType;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
+import com.alquds.edu.ArchiveSystem.util.SafePathResolver;
+import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FolderDiscoveryServiceImpl against a temp uploads directory.
+ */
+@DisplayName("FolderDiscoveryService Unit Tests")
+class FolderDiscoveryServiceTest {
+
+    private static final String COURSE_PATH = "2024-2025/first/Test User/CS101";
+
+    @TempDir
+    Path uploadsRoot;
+
+    private FolderRepository folderRepository;
+    private UploadedFileRepository uploadedFileRepository;
+    private FilesystemScanService filesystemScanService;
+    private DataVersionService dataVersionService;
+    private FolderDiscoveryServiceImpl discoveryService;
+
+    private Folder courseFolder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        folderRepository = mock(FolderRepository.class);
+        uploadedFileRepository = mock(UploadedFileRepository.class);
+        filesystemScanService = mock(FilesystemScanService.class);
+        dataVersionService = mock(DataVersionService.class);
+        discoveryService = new FolderDiscoveryServiceImpl(folderRepository, uploadedFileRepository,
+                new SafePathResolver(uploadsRoot.toString()), filesystemScanService,
+                dataVersionService, mock(PlatformTransactionManager.class), true, 100);
+
+        courseFolder = TestDataBuilder.createFolder();
+        courseFolder.setId(1L);
+        courseFolder.setPath(COURSE_PATH);
+        courseFolder.setName("CS101");
+        courseFolder.setType(FolderType.COURSE);
+        courseFolder.setCreatedAt(LocalDateTime.now().minusDays(1));
+        Files.createDirectories(uploadsRoot.resolve(COURSE_PATH));
+        when(folderRepository.findById(1L)).thenReturn(Optional.of(courseFolder));
+        when(folderRepository.findByPath(any())).thenReturn(Optional.empty());
+        when(folderRepository.save(any(Folder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("scanFolder - creates custom folder records for settled untracked directories only")
+    void scanFolder_CreatesRecordsForSettledDirectories() throws IOException {
+        // Arrange
+        Path settled = Files.createDirectories(uploadsRoot.resolve(COURSE_PATH + "/Extra Material"));
+        Files.setLastModifiedTime(settled, FileTime.from(Instant.now().minusSeconds(600)));
+        Files.createDirectories(uploadsRoot.resolve(COURSE_PATH + "/Being Uploaded"));
+        Files.createDirectories(uploadsRoot.resolve(COURSE_PATH + "/.trash"));
+
+        // Act
+        int changes = discoveryService.scanFolder(1L);
+
+        // Assert
+        ArgumentCaptor<Folder> saved = ArgumentCaptor.forClass(Folder.class);
+        verify(folderRepository).save(saved.capture());
+        assertThat(changes).isEqualTo(1);
+        assertThat(saved.getValue().getPath()).isEqualTo(COURSE_PATH + "/Extra Material");
+        assertThat(saved.getValue().getType()).isEqualTo(FolderType.CUSTOM);
+        assertThat(saved.getValue().getParent()).isSameAs(courseFolder);
+        verify(filesystemScanService).invalidateCache(COURSE_PATH);
+        verify(dataVersionService).folderChanged(courseFolder);
+    }
+
+    @Test
+    @DisplayName("scanFolder - removes records whose file or custom folder is gone from disk")
+    void scanFolder_RemovesMissingEntries() throws IOException {
+        // Arrange
+        Files.writeString(uploadsRoot.resolve(COURSE_PATH + "/kept.pdf"), "pdf");
+        UploadedFile kept = uploadedFile(10L, COURSE_PATH + "/kept.pdf", LocalDateTime.now().minusDays(1));
+        UploadedFile missing = uploadedFile(11L, COURSE_PATH + "/missing.pdf", LocalDateTime.now().minusDays(1));
+        UploadedFile uploading = uploadedFile(12L, COURSE_PATH + "/uploading.pdf", LocalDateTime.now());
+        when(uploadedFileRepository.findByFolderId(1L)).thenReturn(List.of(kept, missing, uploading));
+
+        Folder removedFolder = TestDataBuilder.createFolder();
+        removedFolder.setId(2L);
+        removedFolder.setPath(COURSE_PATH + "/Removed");
+        removedFolder.setName("Removed");
+        removedFolder.setType(FolderType.CUSTOM);
+        removedFolder.setCreatedAt(LocalDateTime.now().minusDays(1));
+        when(folderRepository.findByParentId(1L)).thenReturn(List.of(removedFolder));
+
+        // Act
+        int changes = discoveryService.scanFolder(1L);
+
+        // Assert
+        assertThat(changes).isEqualTo(2);
+        verify(uploadedFileRepository).delete(missing);
+        verify(uploadedFileRepository, never()).delete(kept);
+        verify(uploadedFileRepository, never()).delete(uploading);
+        verify(folderRepository).delete(removedFolder);
+        verify(folderRepository, never()).delete(courseFolder);
+    }
+
+    @Test
+    @DisplayName("scanFolder - keeps records while the uploads root or the parent directory is missing")
+    void scanFolder_KeepsRecordsWhenVolumeMissing() {
+        // Arrange
+        UploadedFile file = uploadedFile(13L, COURSE_PATH + "/notes.pdf", LocalDateTime.now().minusDays(1));
+        when(uploadedFileRepository.findByFolderId(1L)).thenReturn(List.of(file));
+        FolderDiscoveryServiceImpl unmounted = new FolderDiscoveryServiceImpl(folderRepository,
+                uploadedFileRepository, new SafePathResolver(uploadsRoot.resolve("unmounted").toString()),
+                filesystemScanService, dataVersionService, mock(PlatformTransactionManager.class), true, 100);
+
+        Folder orphaned = TestDataBuilder.createFolder();
+        orphaned.setId(3L);
+        orphaned.setPath("2024-2025/second/Test User/CS102/Notes");
+        orphaned.setName("Notes");
+        orphaned.setType(FolderType.CUSTOM);
+        orphaned.setCreatedAt(LocalDateTime.now().minusDays(1));
+        when(folderRepository.findById(3L)).thenReturn(Optional.of(orphaned));
+
+        // Act
+        int unmountedChanges = unmounted.scanFolder(1L);
+        int orphanedChanges = discoveryService.scanFolder(3L);
+
+        // Assert
+        assertThat(unmountedChanges).isZero();
+        assertThat(orphanedChanges).isZero();
+        verify(uploadedFileRepository, never()).delete(any(UploadedFile.class));
+        verify(folderRepository, never()).delete(any(Folder.class));
+    }
+
+    private UploadedFile uploadedFile(Long id, String fileUrl, LocalDateTime createdAt) {
+        UploadedFile file = TestDataBuilder.createUploadedFile(courseFolder, null);
+        file.setId(id);
+        file.setFileUrl(fileUrl);
+        file.setCreatedAt(createdAt);
+        return file;
+    }
+}
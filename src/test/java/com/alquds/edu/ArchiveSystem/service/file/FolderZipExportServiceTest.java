@@ -0,0 +1,163 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileExplorerNode;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.NodeType;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.UploadedFileDTO;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.UrlResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FolderZipExportServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FolderZipExportService Unit Tests")
+class FolderZipExportServiceTest {
+
+    @Mock
+    private FileExplorerService fileExplorerService;
+
+    @Mock
+    private FileAccessService fileAccessService;
+
+    @Mock
+    private FileService fileService;
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @InjectMocks
+    private FolderZipExportServiceImpl exportService;
+
+    @TempDir
+    Path tempDir;
+
+    private User hod;
+
+    @BeforeEach
+    void setUp() {
+        hod = TestDataBuilder.createHodUser();
+        hod.setId(5L);
+    }
+
+    @Test
+    @DisplayName("Should export accessible files of a course with one folder per document type")
+    void shouldExportAccessibleFiles() throws IOException {
+        // Arrange
+        UploadedFile syllabus = file(1L, "syllabus.pdf", "%PDF-1.7 syllabus");
+        UploadedFile notes = file(2L, "notes.txt", "lecture notes ".repeat(100));
+        UploadedFile hidden = file(3L, "hidden.txt", "not for this user");
+
+        FileExplorerNode course = node("/2024-2025/first/Jane Doe/CS101", "CS101", NodeType.COURSE);
+        course.getChildren().add(node("/2024-2025/first/Jane Doe/CS101/syllabus", "Syllabus", NodeType.DOCUMENT_TYPE));
+        FileExplorerNode documentType = node("/2024-2025/first/Jane Doe/CS101/syllabus", "Syllabus", NodeType.DOCUMENT_TYPE);
+        documentType.getFiles().add(UploadedFileDTO.builder().id(1L).build());
+        documentType.getFiles().add(UploadedFileDTO.builder().id(2L).build());
+        documentType.getFiles().add(UploadedFileDTO.builder().id(3L).build());
+
+        when(fileExplorerService.getNode("/2024-2025/first/Jane Doe/CS101", hod)).thenReturn(course);
+        when(fileExplorerService.getNode("/2024-2025/first/Jane Doe/CS101/syllabus", hod)).thenReturn(documentType);
+        when(uploadedFileRepository.findAllById(any())).thenReturn(List.of(syllabus, notes, hidden));
+        when(fileAccessService.canAccessFile(hod, syllabus)).thenReturn(true);
+        when(fileAccessService.canAccessFile(hod, notes)).thenReturn(true);
+        when(fileAccessService.canAccessFile(hod, hidden)).thenReturn(false);
+
+        // Act
+        FolderZipExportService.ZipExport export =
+                exportService.prepareExport("/2024-2025/first/Jane Doe/CS101", hod);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeZip(export, out);
+
+        // Assert
+        assertThat(export.filename()).isEqualTo("CS101.zip");
+        assertThat(export.skippedFiles()).isEqualTo(1);
+
+        Map<String, ZipEntry> entries = new HashMap<>();
+        Map<String, String> contents = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), entry);
+                contents.put(entry.getName(), new String(zip.readAllBytes()));
+            }
+        }
+        assertThat(entries).containsOnlyKeys("Syllabus/syllabus.pdf", "Syllabus/notes.txt");
+        assertThat(entries.get("Syllabus/syllabus.pdf").getMethod()).isEqualTo(ZipEntry.STORED);
+        assertThat(entries.get("Syllabus/notes.txt").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+        assertThat(contents.get("Syllabus/syllabus.pdf")).isEqualTo("%PDF-1.7 syllabus");
+        assertThat(contents.get("Syllabus/notes.txt")).isEqualTo("lecture notes ".repeat(100));
+    }
+
+    @Test
+    @DisplayName("Should rename files with the same name in one folder")
+    void shouldRenameDuplicateNames() throws IOException {
+        // Arrange
+        UploadedFile first = file(1L, "exam.pdf", "first");
+        UploadedFile second = file(2L, "exam.pdf", "second");
+
+        FileExplorerNode folder = node("/2024-2025/first/Jane Doe/CS101/exams", "Exams", NodeType.DOCUMENT_TYPE);
+        folder.getFiles().add(UploadedFileDTO.builder().id(1L).build());
+        folder.getFiles().add(UploadedFileDTO.builder().id(2L).build());
+
+        when(fileExplorerService.getNode("/2024-2025/first/Jane Doe/CS101/exams", hod)).thenReturn(folder);
+        when(uploadedFileRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(fileAccessService.canAccessFile(any(), any(UploadedFile.class))).thenReturn(true);
+
+        // Act
+        FolderZipExportService.ZipExport export =
+                exportService.prepareExport("/2024-2025/first/Jane Doe/CS101/exams", hod);
+
+        // Assert
+        assertThat(export.entries())
+                .extracting(FolderZipExportService.Entry::name)
+                .containsExactly("exam.pdf", "exam(1).pdf");
+    }
+
+    private UploadedFile file(Long id, String name, String content) throws IOException {
+        Path path = tempDir.resolve(id + "_" + name);
+        Files.writeString(path, content);
+        UploadedFile file = new UploadedFile();
+        file.setId(id);
+        file.setOriginalFilename(name);
+        file.setFileUrl("course/" + id + "_" + name);
+        lenient().when(fileService.loadFileAsResource(file.getFileUrl())).thenReturn(new UrlResource(path.toUri()));
+        return file;
+    }
+
+    private static FileExplorerNode node(String path, String name, NodeType type) {
+        return FileExplorerNode.builder()
+                .path(path)
+                .name(name)
+                .type(type)
+                .children(new ArrayList<>())
+                .files(new ArrayList<>())
+                .build();
+    }
+}
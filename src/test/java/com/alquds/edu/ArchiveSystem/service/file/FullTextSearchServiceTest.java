@@ -0,0 +1,150 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.FileSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.entity.academic.Department;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DepartmentScopedFilterService;
+import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.UrlResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FullTextSearchServiceImpl, using a real Lucene index in a temp directory.
+ */
+@DisplayName("FullTextSearchService Unit Tests")
+class FullTextSearchServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private UploadedFileRepository uploadedFileRepository;
+    private FileService fileService;
+    private FileAccessService fileAccessService;
+    private FullTextSearchServiceImpl searchService;
+
+    private User professor;
+    private User otherProfessor;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        uploadedFileRepository = mock(UploadedFileRepository.class);
+        fileService = mock(FileService.class);
+        fileAccessService = mock(FileAccessService.class);
+
+        searchService = new FullTextSearchServiceImpl(tempDir.resolve("index").toString(), true, 10_000,
+                1_000_000, uploadedFileRepository, fileService, fileAccessService,
+                new DepartmentScopedFilterService(), new DocumentTextExtractor(),
+                mock(PreviewRenditionService.class), mock(PlatformTransactionManager.class));
+        searchService.openIndex();
+
+        Department department = TestDataBuilder.createDepartment();
+        department.setId(1L);
+        professor = TestDataBuilder.createProfessorUser();
+        professor.setId(10L);
+        professor.setDepartment(department);
+        otherProfessor = TestDataBuilder.createProfessorUser();
+        otherProfessor.setId(11L);
+        otherProfessor.setDepartment(department);
+        admin = TestDataBuilder.createAdminUser();
+        admin.setId(1L);
+
+        lenient().when(fileAccessService.hasAdminLevelAccess(admin)).thenReturn(true);
+        lenient().when(fileAccessService.canAccessFile(any(User.class), any(UploadedFile.class))).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchService.close();
+    }
+
+    @Test
+    @DisplayName("search - finds a file by a word in its content")
+    void search_FindsFileByContent() throws IOException {
+        // Arrange
+        UploadedFile midterm = file(1L, "midterm.txt", "Question 3: write a recursive function for factorial.");
+        UploadedFile syllabus = file(2L, "syllabus.txt", "Course outline and grading policy.");
+        index(midterm, syllabus);
+
+        // Act
+        List<FileSearchResultDTO> results = searchService.search("recursive", 10, admin);
+
+        // Assert
+        assertThat(results).extracting(FileSearchResultDTO::getFileId).containsExactly(1L);
+        assertThat(results.get(0).getOriginalFilename()).isEqualTo("midterm.txt");
+    }
+
+    @Test
+    @DisplayName("search - limits professors to their own files")
+    void search_ProfessorOnlySeesOwnFiles() throws IOException {
+        // Arrange
+        UploadedFile own = file(1L, "own-notes.txt", "graph algorithms lecture");
+        UploadedFile foreign = file(2L, "other-notes.txt", "graph algorithms exam");
+        foreign.setUploader(otherProfessor);
+        index(own, foreign);
+
+        // Act
+        List<FileSearchResultDTO> results = searchService.search("graph", 10, professor);
+
+        // Assert
+        assertThat(results).extracting(FileSearchResultDTO::getFileId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("indexFile - removes the document of a deleted file")
+    void indexFile_RemovesDeletedFile() throws IOException {
+        // Arrange
+        UploadedFile file = file(1L, "quiz.txt", "binary search trees");
+        index(file);
+        when(uploadedFileRepository.findByIdWithUploaderAndFolder(1L)).thenReturn(Optional.empty());
+
+        // Act
+        searchService.indexFile(1L);
+        searchService.commit();
+
+        // Assert
+        assertThat(searchService.search("binary", 10, admin)).isEmpty();
+    }
+
+    private UploadedFile file(Long id, String name, String content) throws IOException {
+        Path path = tempDir.resolve(id + "_" + name);
+        Files.writeString(path, content);
+        UploadedFile file = new UploadedFile();
+        file.setId(id);
+        file.setOriginalFilename(name);
+        file.setFileUrl("course/" + id + "_" + name);
+        file.setFileSize((long) content.length());
+        file.setUploader(professor);
+        lenient().when(fileService.loadFileAsResource(file.getFileUrl())).thenReturn(new UrlResource(path.toUri()));
+        return file;
+    }
+
+    private void index(UploadedFile... files) throws IOException {
+        for (UploadedFile file : files) {
+            when(uploadedFileRepository.findByIdWithUploaderAndFolder(file.getId())).thenReturn(Optional.of(file));
+            searchService.indexFile(file.getId());
+        }
+        searchService.commit();
+        lenient().when(uploadedFileRepository.findAllById(anyIterable())).thenReturn(List.of(files));
+    }
+}
@@ -0,0 +1,158 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO;
+import com.alquds.edu.ArchiveSystem.dto.fileexplorer.MetadataSearchResultDTO.ResultType;
+import com.alquds.edu.ArchiveSystem.entity.academic.Department;
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.FolderRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MetadataSearchServiceImpl and its n-gram index.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetadataSearchService Unit Tests")
+class MetadataSearchServiceTest {
+
+    @Mock
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FileAccessService fileAccessService;
+
+    @InjectMocks
+    private MetadataSearchServiceImpl searchService;
+
+    private User dean;
+    private User professor;
+
+    @BeforeEach
+    void setUp() {
+        Department department = TestDataBuilder.createDepartment();
+        department.setId(1L);
+        professor = TestDataBuilder.createProfessorUser();
+        professor.setId(10L);
+        professor.setDepartment(department);
+        dean = TestDataBuilder.createUser();
+        dean.setId(1L);
+        lenient().when(fileAccessService.hasAdminLevelAccess(dean)).thenReturn(true);
+
+        when(uploadedFileRepository.findSearchMetadata()).thenReturn(rows(
+                new Object[] {100L, "Data Structures Midterm.pdf", "2024-2025/first/P10/CS201/Exams", 10L, 1L},
+                new Object[] {101L, "Operating Systems Final.pdf", "2024-2025/first/P11/CS301/Exams", 11L, 2L}));
+        when(folderRepository.findSearchMetadata()).thenReturn(rows(
+                new Object[] {200L, "CS201 - Data Structures", "2024-2025/first/P10/CS201", 10L, 1L}));
+        when(courseRepository.findSearchMetadata()).thenReturn(rows(
+                new Object[] {300L, "CS201", "Data Structures", 1L}));
+        when(userRepository.findProfessorSearchMetadata()).thenReturn(rows(
+                new Object[] {10L, "Jane", "Doe", "P10", 1L}));
+
+        searchService.buildIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchService.shutdown();
+    }
+
+    @Test
+    @DisplayName("search - matches word prefixes across files, folders and courses")
+    void search_MatchesPrefixes() {
+        // Act
+        List<MetadataSearchResultDTO> results = searchService.search("data struc", 10, dean);
+
+        // Assert
+        assertThat(results).extracting(MetadataSearchResultDTO::getType)
+                .containsExactlyInAnyOrder(ResultType.FILE, ResultType.FOLDER, ResultType.COURSE);
+    }
+
+    @Test
+    @DisplayName("search - tolerates typos and transpositions")
+    void search_ToleratesTypos() {
+        // Act
+        List<MetadataSearchResultDTO> results = searchService.search("opertaing sytems", 10, dean);
+
+        // Assert
+        assertThat(results).extracting(MetadataSearchResultDTO::getId).containsExactly(101L);
+    }
+
+    @Test
+    @DisplayName("search - finds professors by name and course codes exactly")
+    void search_FindsProfessorAndCourseCode() {
+        // Act & Assert
+        assertThat(searchService.search("doe", 10, dean))
+                .extracting(MetadataSearchResultDTO::getLabel).containsExactly("Jane Doe");
+        assertThat(searchService.search("cs201", 10, dean).get(0).getType()).isEqualTo(ResultType.COURSE);
+    }
+
+    @Test
+    @DisplayName("search - limits professors to their own files and their department")
+    void search_ProfessorScope() {
+        // Act
+        List<MetadataSearchResultDTO> results = searchService.search("final", 10, professor);
+        List<MetadataSearchResultDTO> own = searchService.search("midterm", 10, professor);
+
+        // Assert
+        assertThat(results).isEmpty();
+        assertThat(own).extracting(MetadataSearchResultDTO::getId).containsExactly(100L);
+    }
+
+    @Test
+    @DisplayName("apply - adds new files and removes deleted ones")
+    void apply_UpdatesIndexIncrementally() {
+        // Arrange
+        when(uploadedFileRepository.findSearchMetadataById(102L)).thenReturn(rows(
+                new Object[] {102L, "Algorithms Quiz.docx", "2024-2025/first/P10/CS202/Quizzes", 10L, 1L}));
+        when(uploadedFileRepository.findSearchMetadataById(100L)).thenReturn(List.of());
+
+        // Act
+        searchService.apply(new EntityChangedEvent(UploadedFile.class, 102L, EntityChangedEvent.ChangeType.SAVED));
+        searchService.apply(new EntityChangedEvent(UploadedFile.class, 100L, EntityChangedEvent.ChangeType.DELETED));
+
+        // Assert
+        assertThat(searchService.search("algo", 10, dean))
+                .extracting(MetadataSearchResultDTO::getId).containsExactly(102L);
+        assertThat(searchService.search("midterm", 10, dean)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("prefixDistance - counts edits against the closest prefix")
+    void prefixDistance_UsesClosestPrefix() {
+        assertThat(MetadataNgramIndex.prefixDistance("struc", "structures", 1)).isZero();
+        assertThat(MetadataNgramIndex.prefixDistance("strcu", "structures", 1)).isEqualTo(1);
+        assertThat(MetadataNgramIndex.prefixDistance("xyz", "structures", 0)).isEqualTo(1);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
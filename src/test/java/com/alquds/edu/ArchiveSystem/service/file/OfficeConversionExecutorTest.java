@@ -0,0 +1,155 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.config.OfficeConversionProperties;
+import com.alquds.edu.ArchiveSystem.exception.file.ConversionRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OfficeConversionExecutor limits and metrics.
+ */
+@DisplayName("OfficeConversionExecutor Unit Tests")
+class OfficeConversionExecutorTest {
+
+    private OfficeConversionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OfficeConversionExecutor conversionExecutor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OfficeConversionProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeoutSeconds(10);
+        properties.setMaxSpreadsheetSize(1000L);
+        meterRegistry = new SimpleMeterRegistry();
+        conversionExecutor = new OfficeConversionExecutor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        conversionExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("execute - returns the result of a conversion within the limits")
+    void execute_ReturnsResult() throws IOException {
+        // Act
+        String html = conversionExecutor.execute(OfficeConversionExecutor.Format.WORD, 500, () -> "<html/>");
+
+        // Assert
+        assertThat(html).isEqualTo("<html/>");
+        assertThat(meterRegistry.get("office.conversion.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("execute - rejects input over the limit of its format without running it")
+    void execute_RejectsTooLarge() {
+        // Arrange
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act & Assert
+        assertThatThrownBy(() -> conversionExecutor.execute(OfficeConversionExecutor.Format.SPREADSHEET, 2000,
+                () -> ran.getAndSet(true)))
+                .isInstanceOfSatisfying(ConversionRejectedException.class, e -> {
+                    assertThat(e.isTooLarge()).isTrue();
+                    assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+                });
+        assertThat(ran).isFalse();
+        assertThat(meterRegistry.get("office.conversion.rejected").tag("reason", "too_large").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("execute - rejects conversions while the thread and queue are full")
+    void execute_RejectsWhenBusy() throws Exception {
+        // Arrange - one conversion running, one waiting
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> convertBlocking(release));
+        awaitGauge("office.conversion.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> convertBlocking(release));
+        awaitGauge("office.conversion.queued", 1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> conversionExecutor.execute(OfficeConversionExecutor.Format.WORD, 10, () -> "x"))
+                .isInstanceOfSatisfying(ConversionRejectedException.class, e -> {
+                    assertThat(e.isBusy()).isTrue();
+                    assertThat(e.getRetryAfterSeconds()).isPositive();
+                });
+        assertThat(meterRegistry.get("office.conversion.rejected").tag("reason", "busy").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    @DisplayName("execute - abandons and interrupts a conversion that exceeds the timeout")
+    void execute_TimesOut() throws Exception {
+        // Arrange
+        conversionExecutor.shutdown();
+        properties.setTimeoutSeconds(1);
+        meterRegistry = new SimpleMeterRegistry();
+        conversionExecutor = new OfficeConversionExecutor(properties, meterRegistry);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> conversionExecutor.execute(OfficeConversionExecutor.Format.PRESENTATION, 10, () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }))
+                .isInstanceOf(ConversionRejectedException.class)
+                .hasMessageContaining("1 seconds");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("office.conversion.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("execute - propagates conversion failures unchanged")
+    void execute_PropagatesIOException() {
+        // Act & Assert
+        assertThatThrownBy(() -> conversionExecutor.execute(OfficeConversionExecutor.Format.WORD, 10, () -> {
+            throw new IOException("corrupt");
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("corrupt");
+    }
+
+    private String convertBlocking(CountDownLatch release) {
+        try {
+            return conversionExecutor.execute(OfficeConversionExecutor.Format.WORD, 10, () -> {
+                release.await();
+                return "done";
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get(name).gauge().value()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,259 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.event.EntityChangedEvent;
+import com.alquds.edu.ArchiveSystem.entity.file.ConversionJob;
+import com.alquds.edu.ArchiveSystem.entity.file.ConversionJobStatus;
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.exception.file.ConversionRejectedException;
+import com.alquds.edu.ArchiveSystem.repository.file.ConversionJobRepository;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.UrlResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PreviewRenditionServiceImpl with a temp rendition cache.
+ */
+@DisplayName("PreviewRenditionService Unit Tests")
+class PreviewRenditionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConversionJobRepository conversionJobRepository;
+    private UploadedFileRepository uploadedFileRepository;
+    private FileService fileService;
+    private OfficeDocumentConverter officeDocumentConverter;
+    private PreviewRenditionServiceImpl renditionService;
+
+    @BeforeEach
+    void setUp() {
+        conversionJobRepository = mock(ConversionJobRepository.class);
+        uploadedFileRepository = mock(UploadedFileRepository.class);
+        fileService = mock(FileService.class);
+        officeDocumentConverter = mock(OfficeDocumentConverter.class);
+        renditionService = new PreviewRenditionServiceImpl(tempDir.resolve("renditions").toString(), true, 2, 3,
+                1_000_000, 10_000, 30, conversionJobRepository, uploadedFileRepository, fileService,
+                officeDocumentConverter, new DocumentTextExtractor(), mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        renditionService.shutdown();
+    }
+
+    @Test
+    @DisplayName("schedule - queues new Office files with their upload time as priority")
+    void schedule_CreatesPendingJob() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(1L, "syllabus.docx", "aaaaaaaaaaaaaaaa");
+        when(conversionJobRepository.findByFileId(1L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean scheduled = renditionService.schedule(1L);
+
+        // Assert
+        ArgumentCaptor<ConversionJob> saved = ArgumentCaptor.forClass(ConversionJob.class);
+        verify(conversionJobRepository).save(saved.capture());
+        assertThat(scheduled).isTrue();
+        assertThat(saved.getValue().getStatus()).isEqualTo(ConversionJobStatus.PENDING);
+        assertThat(saved.getValue().getContentVersion()).isEqualTo(file.contentVersion());
+        assertThat(saved.getValue().getFileUploadedAt()).isEqualTo(file.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("schedule - skips unsupported formats and unchanged content")
+    void schedule_SkipsUnsupportedAndUnchanged() throws IOException {
+        // Arrange
+        storedFile(2L, "photo.png", "bbbbbbbbbbbbbbbb");
+        UploadedFile report = storedFile(3L, "report.pdf", "cccccccccccccccc");
+        when(conversionJobRepository.findByFileId(3L)).thenReturn(Optional.of(ConversionJob.builder()
+                .id(30L).fileId(3L).contentVersion(report.contentVersion()).status(ConversionJobStatus.DONE).build()));
+
+        // Act & Assert
+        assertThat(renditionService.schedule(2L)).isFalse();
+        assertThat(renditionService.schedule(3L)).isFalse();
+        verify(conversionJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("runJob - caches the HTML and text of an Office document")
+    void runJob_WritesRenditions() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(4L, "lecture.docx", "dddddddddddddddd");
+        ConversionJob job = runningJob(40L, file, 1);
+        when(officeDocumentConverter.convertToHtml(anyString(), anyString()))
+                .thenReturn("<html>Recursion</html>".getBytes());
+
+        // Act
+        renditionService.runJob(40L);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.DONE);
+        assertThat(renditionService.findHtml(file)).hasValueSatisfying(
+                html -> assertThat(new String(html)).contains("Recursion"));
+        assertThat(renditionService.findTextExtract(file)).hasValueSatisfying(
+                text -> assertThat(text).contains("Introduction to recursion"));
+    }
+
+    @Test
+    @DisplayName("runJob - records the page count of a PDF")
+    void runJob_CountsPdfPages() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(5L, "exam.pdf", "eeeeeeeeeeeeeeee");
+        ConversionJob job = runningJob(50L, file, 1);
+
+        // Act
+        renditionService.runJob(50L);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.DONE);
+        assertThat(job.getPageCount()).isEqualTo(2);
+        assertThat(renditionService.findPageCount(file)).contains(2);
+        assertThat(renditionService.findHtml(file)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("runJob - retries with back-off and gives up after the last attempt")
+    void runJob_RetriesThenFails() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(6L, "broken.docx", "ffffffffffffffff");
+        ConversionJob firstAttempt = runningJob(60L, file, 1);
+        when(officeDocumentConverter.convertToHtml(anyString(), anyString())).thenThrow(new IOException("corrupt"));
+
+        // Act
+        renditionService.runJob(60L);
+
+        // Assert
+        assertThat(firstAttempt.getStatus()).isEqualTo(ConversionJobStatus.PENDING);
+        assertThat(firstAttempt.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(firstAttempt.getLastError()).contains("corrupt");
+
+        // Arrange - last attempt
+        ConversionJob lastAttempt = runningJob(60L, file, 3);
+
+        // Act
+        renditionService.runJob(60L);
+
+        // Assert
+        assertThat(lastAttempt.getStatus()).isEqualTo(ConversionJobStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("runJob - postpones a job without using an attempt while the converter is busy")
+    void runJob_PostponesWhenConverterBusy() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(7L, "slides.docx", "1111111111111111");
+        ConversionJob job = runningJob(70L, file, 3);
+        when(officeDocumentConverter.convertToHtml(anyString(), anyString()))
+                .thenThrow(ConversionRejectedException.busy(5));
+
+        // Act
+        renditionService.runJob(70L);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.PENDING);
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getNextAttemptAt()).isBefore(LocalDateTime.now().plusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("runJob - fails a file over the converter's size limit without retrying")
+    void runJob_FailsTooLarge() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(8L, "huge.docx", "2222222222222222");
+        ConversionJob job = runningJob(80L, file, 1);
+        when(officeDocumentConverter.convertToHtml(anyString(), anyString()))
+                .thenThrow(ConversionRejectedException.tooLarge("word", 30_000_000L, 20_000_000L));
+
+        // Act
+        renditionService.runJob(80L);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(ConversionJobStatus.FAILED);
+        assertThat(job.getLastError()).contains("too large");
+    }
+
+    @Test
+    @DisplayName("onEntityChanged - removes cached renditions of a deleted file even if the job delete fails")
+    void onEntityChanged_DeletedFileClearsCache() throws IOException {
+        // Arrange
+        UploadedFile file = storedFile(9L, "notes.docx", "3333333333333333");
+        renditionService.storeHtml(file, "<html>Notes</html>".getBytes());
+        doThrow(new IllegalStateException("database unavailable")).when(conversionJobRepository).deleteByFileId(9L);
+
+        // Act
+        renditionService.onEntityChanged(
+                new EntityChangedEvent(UploadedFile.class, 9L, EntityChangedEvent.ChangeType.DELETED));
+
+        // Assert
+        verify(conversionJobRepository).deleteByFileId(9L);
+        assertThat(renditionService.findHtml(file)).isEmpty();
+    }
+
+    private ConversionJob runningJob(Long jobId, UploadedFile file, int attempts) {
+        ConversionJob job = ConversionJob.builder()
+                .id(jobId)
+                .fileId(file.getId())
+                .contentVersion(file.contentVersion())
+                .status(ConversionJobStatus.RUNNING)
+                .attempts(attempts)
+                .build();
+        when(conversionJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(conversionJobRepository.findByIdForUpdate(jobId)).thenReturn(Optional.of(job));
+        when(conversionJobRepository.findByFileId(file.getId())).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    private UploadedFile storedFile(Long id, String name, String sha256) throws IOException {
+        Path source = tempDir.resolve(name);
+        if (name.endsWith(".docx")) {
+            try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(source)) {
+                document.createParagraph().createRun().setText("Introduction to recursion");
+                document.write(out);
+            }
+        } else if (name.endsWith(".pdf")) {
+            try (PdfDocument pdf = new PdfDocument(new PdfWriter(source.toString()))) {
+                pdf.addNewPage();
+                pdf.addNewPage();
+            }
+        } else {
+            Files.write(source, new byte[] {1, 2, 3});
+        }
+
+        UploadedFile file = new UploadedFile();
+        file.setId(id);
+        file.setOriginalFilename(name);
+        file.setFileUrl(name);
+        file.setFileSize(Files.size(source));
+        file.setContentSha256(sha256);
+        file.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 0));
+        when(uploadedFileRepository.findById(id)).thenReturn(Optional.of(file));
+        when(fileService.loadFileAsResource(name)).thenReturn(new UrlResource(source.toUri()));
+        return file;
+    }
+}
@@ -0,0 +1,144 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.entity.file.UploadedFile;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.UrlResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ThumbnailServiceImpl with the real renderer and a temp cache directory.
+ */
+@DisplayName("ThumbnailService Unit Tests")
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private UploadedFileRepository uploadedFileRepository;
+    private FileService fileService;
+    private ThumbnailServiceImpl thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        uploadedFileRepository = mock(UploadedFileRepository.class);
+        fileService = mock(FileService.class);
+        thumbnailService = new ThumbnailServiceImpl(tempDir.resolve("thumbnails").toString(), true, 64,
+                1_000_000, 1, uploadedFileRepository, fileService,
+                new ThumbnailRenderer(new DocumentTextExtractor()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("generate - scales a large image down into the size box")
+    void generate_ScalesImage() throws IOException {
+        // Arrange
+        UploadedFile file = storedImage(1L, "scan.png", 1200, 800, "aaaaaaaaaaaaaaaabbbb");
+
+        // Act
+        thumbnailService.generate(1L);
+
+        // Assert
+        ThumbnailService.Thumbnail thumbnail = thumbnailService.getThumbnail(1L);
+        assertThat(thumbnail.status()).isEqualTo(ThumbnailService.Status.READY);
+        assertThat(thumbnail.version()).isEqualTo(file.contentVersion());
+        BufferedImage image = ImageIO.read(thumbnail.file().toFile());
+        assertThat(image.getWidth()).isEqualTo(64);
+        assertThat(image.getHeight()).isBetween(42, 43);
+    }
+
+    @Test
+    @DisplayName("generate - replaces the cached thumbnail of an older version")
+    void generate_RemovesOldVersion() throws IOException {
+        // Arrange
+        storedImage(2L, "photo.jpg", 100, 100, "1111111111111111");
+        thumbnailService.generate(2L);
+        Path oldThumbnail = thumbnailService.getThumbnail(2L).file();
+        storedImage(2L, "photo.jpg", 100, 100, "2222222222222222");
+
+        // Act
+        thumbnailService.generate(2L);
+
+        // Assert
+        assertThat(thumbnailService.getThumbnail(2L).file()).exists().isNotEqualTo(oldThumbnail);
+        assertThat(oldThumbnail).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("generate - marks unreadable files as unavailable")
+    void generate_MarksFailures() throws IOException {
+        // Arrange
+        Path source = tempDir.resolve("broken.png");
+        Files.writeString(source, "not an image");
+        mockFile(3L, "broken.png", source, "3333333333333333");
+
+        // Act
+        thumbnailService.generate(3L);
+
+        // Assert
+        assertThat(thumbnailService.getThumbnail(3L).status()).isEqualTo(ThumbnailService.Status.UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("getThumbnail - reports unsupported formats as unavailable")
+    void getThumbnail_UnsupportedFormat() throws IOException {
+        // Arrange
+        mockFile(4L, "setup.exe", tempDir.resolve("setup.exe"), null);
+
+        // Act
+        ThumbnailService.Thumbnail thumbnail = thumbnailService.getThumbnail(4L);
+
+        // Assert
+        assertThat(thumbnail.status()).isEqualTo(ThumbnailService.Status.UNAVAILABLE);
+        assertThat(thumbnail.file()).isNull();
+    }
+
+    @Test
+    @DisplayName("renderTextCard - draws a page in A4 proportions")
+    void renderTextCard_A4Proportions() {
+        // Act
+        BufferedImage card = new ThumbnailRenderer(new DocumentTextExtractor())
+                .renderTextCard("Chapter 1\nIntroduction to recursion", 200);
+
+        // Assert
+        assertThat(card.getHeight()).isEqualTo(200);
+        assertThat(card.getWidth()).isEqualTo(141);
+    }
+
+    private UploadedFile storedImage(Long id, String name, int width, int height, String sha256) throws IOException {
+        Path source = tempDir.resolve(id + "-" + sha256 + "-" + name);
+        String format = name.endsWith(".jpg") ? "jpg" : "png";
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, source.toFile());
+        return mockFile(id, name, source, sha256);
+    }
+
+    private UploadedFile mockFile(Long id, String name, Path source, String sha256) throws IOException {
+        UploadedFile file = new UploadedFile();
+        file.setId(id);
+        file.setOriginalFilename(name);
+        file.setFileUrl(source.getFileName().toString());
+        file.setFileSize(Files.exists(source) ? Files.size(source) : 0L);
+        file.setContentSha256(sha256);
+        when(uploadedFileRepository.findById(id)).thenReturn(Optional.of(file));
+        when(fileService.loadFileAsResource(file.getFileUrl())).thenReturn(new UrlResource(source.toUri()));
+        return file;
+    }
+}
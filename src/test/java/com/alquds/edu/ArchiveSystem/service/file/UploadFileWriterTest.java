@@ -0,0 +1,151 @@
+package com.alquds.edu.ArchiveSystem.service.file;
+
+import com.alquds.edu.ArchiveSystem.exception.file.FileStorageException;
+import com.alquds.edu.ArchiveSystem.repository.file.UploadedFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UploadFileWriter.
+ */
+@DisplayName("UploadFileWriter Unit Tests")
+class UploadFileWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BlobStore blobStore;
+    private UploadFileWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new BlobStore(tempDir.resolve(".blobs").toString(), true, mock(UploadedFileRepository.class));
+        writer = new UploadFileWriter(2, blobStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("writeAll - writes every file and keeps input order")
+    void writeAll_WritesAllFilesInOrder() throws IOException {
+        // Arrange
+        List<UploadFileWriter.PendingWrite> writes = List.of(
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f1", "a.pdf", "application/pdf", "first".getBytes()),
+                        tempDir.resolve("course/a.pdf")),
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f2", "b.pdf", "application/pdf", "second file".getBytes()),
+                        tempDir.resolve("course/b.pdf")));
+
+        // Act
+        List<UploadFileWriter.WrittenFile> written = writer.writeAll(writes);
+
+        // Assert
+        assertThat(written).extracting(UploadFileWriter.WrittenFile::size).containsExactly(5L, 11L);
+        assertThat(written.get(0).sha256())
+                .isEqualTo("a7937b64b8caa58f03721bb6bacf5c78cb235febe0e70b1b84cd99541461a08e");
+        assertThat(written.get(0).xxHash()).hasSize(8);
+        assertThat(written.get(0).detectedContentType()).isEqualTo("text/plain");
+        assertThat(tempDir.resolve("course/a.pdf")).hasContent("first");
+        assertThat(tempDir.resolve("course/b.pdf")).hasContent("second file");
+        try (Stream<Path> files = Files.list(tempDir.resolve("course"))) {
+            assertThat(files).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("writeAll - stores identical content once and links both paths to it")
+    void writeAll_DeduplicatesIdenticalContent() throws IOException {
+        // Arrange
+        byte[] content = "same syllabus".getBytes();
+        List<UploadFileWriter.PendingWrite> writes = List.of(
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f1", "syllabus.pdf", "application/pdf", content),
+                        tempDir.resolve("2024-2025/first/CS101/syllabus.pdf")),
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f2", "syllabus.pdf", "application/pdf", content),
+                        tempDir.resolve("2024-2025/first/CS102/syllabus.pdf")));
+
+        // Act
+        List<UploadFileWriter.WrittenFile> written = writer.writeAll(writes);
+
+        // Assert
+        Path blob = blobStore.blobPath(written.get(0).sha256());
+        assertThat(written.get(1).sha256()).isEqualTo(written.get(0).sha256());
+        assertThat(blob).hasBinaryContent(content);
+        assertThat(tempDir.resolve("2024-2025/first/CS101/syllabus.pdf")).hasBinaryContent(content);
+        assertThat(tempDir.resolve("2024-2025/first/CS102/syllabus.pdf")).hasBinaryContent(content);
+        assertThat(Files.isSameFile(blob, tempDir.resolve("2024-2025/first/CS102/syllabus.pdf"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("releaseAfterCommit - deletes a blob only when no file refers to it")
+    void releaseAfterCommit_DeletesUnreferencedBlob() {
+        // Arrange
+        UploadedFileRepository repository = mock(UploadedFileRepository.class);
+        BlobStore store = new BlobStore(tempDir.resolve(".blobs").toString(), true, repository);
+        UploadFileWriter storeWriter = new UploadFileWriter(1, store);
+        List<UploadFileWriter.WrittenFile> written = storeWriter.writeAll(List.of(
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f1", "a.pdf", "application/pdf", "kept".getBytes()),
+                        tempDir.resolve("course/a.pdf")),
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f2", "b.pdf", "application/pdf", "dropped".getBytes()),
+                        tempDir.resolve("course/b.pdf"))));
+        storeWriter.shutdown();
+        String kept = written.get(0).sha256();
+        String dropped = written.get(1).sha256();
+        when(repository.countByContentSha256(kept)).thenReturn(1L);
+        when(repository.countByContentSha256(dropped)).thenReturn(0L);
+
+        // Act
+        store.releaseAfterCommit(List.of(kept, dropped));
+
+        // Assert
+        assertThat(store.blobPath(kept)).exists();
+        assertThat(store.blobPath(dropped)).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("writeAll - leaves no file behind when one write fails")
+    void writeAll_FailureRemovesStagedFiles() throws IOException {
+        // Arrange
+        MultipartFile broken = mock(MultipartFile.class);
+        when(broken.getOriginalFilename()).thenReturn("broken.pdf");
+        when(broken.getInputStream()).thenThrow(new IOException("stream closed"));
+
+        List<UploadFileWriter.PendingWrite> writes = List.of(
+                new UploadFileWriter.PendingWrite(
+                        new MockMultipartFile("f1", "a.pdf", "application/pdf", "first".getBytes()),
+                        tempDir.resolve("course/a.pdf")),
+                new UploadFileWriter.PendingWrite(broken, tempDir.resolve("course/broken.pdf")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> writer.writeAll(writes))
+                .isInstanceOf(FileStorageException.class)
+                .hasMessageContaining("broken.pdf");
+
+        try (Stream<Path> files = Files.list(tempDir.resolve("course"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.ReportFormat;
+import com.alquds.edu.ArchiveSystem.dto.report.SystemWideReport;
+import com.alquds.edu.ArchiveSystem.entity.submission.DocumentTypeEnum;
+import com.alquds.edu.ArchiveSystem.entity.submission.SubmissionStatus;
+import com.alquds.edu.ArchiveSystem.exception.core.ValidationException;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportExportServiceImpl streaming exports.
+ */
+@DisplayName("ReportExportService Unit Tests")
+class ReportExportServiceTest {
+
+    private CourseAssignmentRepository courseAssignmentRepository;
+    private ReportExportServiceImpl reportExportService;
+
+    @BeforeEach
+    void setUp() {
+        courseAssignmentRepository = mock(CourseAssignmentRepository.class);
+        // Page size 2: three assignments take two pages
+        reportExportService = new ReportExportServiceImpl(2, mock(PdfReportService.class), new ReportCsvExporter(),
+                new ReportXlsxExporter(), courseAssignmentRepository, new ObjectMapper().findAndRegisterModules());
+
+        when(courseAssignmentRepository.findIdsForExport(eq(5L), eq(3L), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(courseAssignmentRepository.findIdsForExport(eq(5L), eq(3L), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(7L));
+        when(courseAssignmentRepository.findSubmissionDetails(List.of(1L, 2L))).thenReturn(List.of(
+                detail(1L, "Course \"One\"", DocumentTypeEnum.SYLLABUS, LocalDateTime.now().minusDays(1),
+                        SubmissionStatus.UPLOADED, LocalDateTime.of(2025, 3, 1, 9, 30), true),
+                detail(2L, "Course Two", DocumentTypeEnum.SYLLABUS, LocalDateTime.now().minusDays(1),
+                        null, null, null)));
+        when(courseAssignmentRepository.findSubmissionDetails(List.of(7L))).thenReturn(List.<Object[]>of(
+                detail(7L, "Course Three", DocumentTypeEnum.EXAM, LocalDateTime.now().plusDays(7),
+                        null, null, null)));
+    }
+
+    @Test
+    @DisplayName("writeSubmissionDetails - pages through assignments and writes one CSV row per document")
+    void writeSubmissionDetails_Csv() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        reportExportService.writeSubmissionDetails(5L, 3L, ReportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("Professor,Email,Department");
+        assertThat(lines[1]).contains("\"Course \"\"One\"\"\"", "SYLLABUS", "UPLOADED", "2025-03-01 09:30").endsWith(",yes");
+        assertThat(lines[2]).contains("OVERDUE").endsWith(",no");
+        assertThat(lines[3]).contains("EXAM", "NOT_UPLOADED");
+        verify(courseAssignmentRepository, times(2)).findIdsForExport(eq(5L), eq(3L), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("writeSubmissionDetails - writes an XLSX workbook with a header and every row")
+    void writeSubmissionDetails_Xlsx() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        reportExportService.writeSubmissionDetails(5L, 3L, ReportFormat.XLSX, out);
+
+        // Assert
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(3);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Professor");
+            assertThat(sheet.getRow(1).getCell(7).getStringCellValue()).isEqualTo("UPLOADED");
+            assertThat(sheet.getRow(3).getCell(4).getStringCellValue()).isEqualTo("Course Three");
+        }
+    }
+
+    @Test
+    @DisplayName("writeSystemWideReport - rejects PDF before writing anything")
+    void writeSystemWideReport_RejectsPdf() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThatThrownBy(() -> reportExportService.writeSystemWideReport(new SystemWideReport(), ReportFormat.PDF, out))
+                .isInstanceOf(ValidationException.class);
+        assertThat(out.size()).isZero();
+    }
+
+    private static Object[] detail(Long assignmentId, String courseName, DocumentTypeEnum documentType,
+                                   LocalDateTime deadline, SubmissionStatus status, LocalDateTime submittedAt,
+                                   Boolean late) {
+        return new Object[] {assignmentId, "Sara", "Khalil", "sara@alquds.edu", "Computer Science", "CS10" + assignmentId,
+                courseName, documentType, deadline, status, submittedAt, late};
+    }
+}
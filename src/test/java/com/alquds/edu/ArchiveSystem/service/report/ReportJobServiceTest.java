@@ -0,0 +1,214 @@
+package com.alquds.edu.ArchiveSystem.service.report;
+
+import com.alquds.edu.ArchiveSystem.dto.report.ProfessorSubmissionReport;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportFormat;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobDTO;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobRequest;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportJobStatus;
+import com.alquds.edu.ArchiveSystem.dto.report.ReportType;
+import com.alquds.edu.ArchiveSystem.dto.report.SubmissionStatistics;
+import com.alquds.edu.ArchiveSystem.entity.academic.Department;
+import com.alquds.edu.ArchiveSystem.entity.auth.Role;
+import com.alquds.edu.ArchiveSystem.entity.user.User;
+import com.alquds.edu.ArchiveSystem.exception.core.EntityNotFoundException;
+import com.alquds.edu.ArchiveSystem.exception.core.ValidationException;
+import com.alquds.edu.ArchiveSystem.repository.academic.CourseAssignmentRepository;
+import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.academic.SemesterReportService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportJobServiceImpl with a temp report store.
+ */
+@DisplayName("ReportJobService Unit Tests")
+class ReportJobServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SemesterReportService semesterReportService;
+    private ReportDataVersionResolver dataVersionResolver;
+    private UserRepository userRepository;
+    private PdfReportService pdfReportService;
+    private ReportJobServiceImpl reportJobService;
+    private User hod;
+
+    @BeforeEach
+    void setUp() {
+        semesterReportService = mock(SemesterReportService.class);
+        dataVersionResolver = mock(ReportDataVersionResolver.class);
+        userRepository = mock(UserRepository.class);
+        pdfReportService = mock(PdfReportService.class);
+        ReportExportService reportExportService = new ReportExportServiceImpl(500, pdfReportService,
+                new ReportCsvExporter(), new ReportXlsxExporter(), mock(CourseAssignmentRepository.class),
+                new ObjectMapper().findAndRegisterModules());
+        reportJobService = new ReportJobServiceImpl(tempDir.resolve("reports").toString(), 1, 60, 1_000_000, 60,
+                semesterReportService, reportExportService, dataVersionResolver, userRepository,
+                mock(PlatformTransactionManager.class));
+
+        hod = user(10L, Role.ROLE_HOD, 3L);
+        when(userRepository.findById(10L)).thenReturn(Optional.of(hod));
+        when(dataVersionResolver.resolve(5L)).thenReturn("aaaaaaaaaaaaaaaa");
+        when(semesterReportService.generateProfessorSubmissionReportWithRoleFilter(eq(5L), eq(3L), any()))
+                .thenReturn(report());
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(pdfReportService).writeProfessorSubmissionReportPdf(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("submit - builds the report off-thread and stores the result")
+    void submit_BuildsReport() throws Exception {
+        // Act
+        ReportJobDTO submitted = reportJobService.submit(request(ReportFormat.PDF, 99L), hod);
+        ReportJobDTO finished = awaitFinished(submitted.getJobId(), hod);
+
+        // Assert
+        assertThat(submitted.isCached()).isFalse();
+        assertThat(submitted.getDepartmentId()).isEqualTo(3L);
+        assertThat(finished.getStatus()).isEqualTo(ReportJobStatus.DONE);
+        assertThat(finished.getDownloadUrl()).endsWith("/" + submitted.getJobId() + "/download");
+        ReportJobService.ReportFile result = reportJobService.getResult(submitted.getJobId(), hod);
+        assertThat(result.contentType()).isEqualTo("application/pdf");
+        assertThat(result.filename()).isEqualTo("professor-submissions-report-5-3.pdf");
+        assertThat(Files.readString(result.file())).isEqualTo("%PDF-1.7");
+    }
+
+    @Test
+    @DisplayName("submit - serves an unchanged report from the store and rebuilds after a data change")
+    void submit_ServesFromStoreUntilDataChanges() throws Exception {
+        // Arrange
+        awaitFinished(reportJobService.submit(request(ReportFormat.CSV, null), hod).getJobId(), hod);
+
+        // Act
+        ReportJobDTO repeated = reportJobService.submit(request(ReportFormat.CSV, null), hod);
+
+        // Assert
+        assertThat(repeated.getStatus()).isEqualTo(ReportJobStatus.DONE);
+        assertThat(repeated.isCached()).isTrue();
+        verify(semesterReportService, times(1)).generateProfessorSubmissionReportWithRoleFilter(eq(5L), eq(3L), any());
+
+        // Arrange - a submission changed
+        when(dataVersionResolver.resolve(5L)).thenReturn("bbbbbbbbbbbbbbbb");
+
+        // Act
+        ReportJobDTO rebuilt = reportJobService.submit(request(ReportFormat.CSV, null), hod);
+
+        // Assert
+        assertThat(rebuilt.isCached()).isFalse();
+        assertThat(awaitFinished(rebuilt.getJobId(), hod).getStatus()).isEqualTo(ReportJobStatus.DONE);
+        verify(semesterReportService, times(2)).generateProfessorSubmissionReportWithRoleFilter(eq(5L), eq(3L), any());
+    }
+
+    @Test
+    @DisplayName("submit - rejects a PDF of the system-wide report")
+    void submit_RejectsUnsupportedFormat() {
+        // Arrange
+        ReportJobRequest request = ReportJobRequest.builder()
+                .type(ReportType.SYSTEM_WIDE).format(ReportFormat.PDF).semesterId(5L).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> reportJobService.submit(request, hod)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("getJob - hides jobs from other users")
+    void getJob_HidesOtherUsersJobs() {
+        // Arrange
+        ReportJobDTO submitted = reportJobService.submit(request(ReportFormat.JSON, null), hod);
+        User otherHod = user(11L, Role.ROLE_HOD, 3L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> reportJobService.getJob(submitted.getJobId(), otherHod))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("evict - removes the oldest stored reports over the size limit")
+    void evict_TrimsStore() throws Exception {
+        // Arrange
+        Path store = Files.createDirectories(tempDir.resolve("reports"));
+        Path oldest = Files.write(store.resolve("old.pdf"), new byte[600_000]);
+        Path newest = Files.write(store.resolve("new.pdf"), new byte[600_000]);
+        Files.setLastModifiedTime(oldest, FileTime.from(Instant.now().minus(10, ChronoUnit.MINUTES)));
+
+        // Act
+        reportJobService.evict();
+
+        // Assert
+        assertThat(oldest).doesNotExist();
+        assertThat(newest).exists();
+    }
+
+    private ReportJobDTO awaitFinished(String jobId, User user) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ReportJobDTO job = reportJobService.getJob(jobId, user);
+            if (job.getStatus() == ReportJobStatus.DONE || job.getStatus() == ReportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report job " + jobId + " did not finish");
+    }
+
+    private static ReportJobRequest request(ReportFormat format, Long departmentId) {
+        return ReportJobRequest.builder()
+                .type(ReportType.PROFESSOR_SUBMISSIONS)
+                .format(format)
+                .semesterId(5L)
+                .departmentId(departmentId)
+                .build();
+    }
+
+    private static ProfessorSubmissionReport report() {
+        return ProfessorSubmissionReport.builder()
+                .semesterId(5L)
+                .departmentId(3L)
+                .rows(List.of())
+                .statistics(new SubmissionStatistics())
+                .build();
+    }
+
+    private static User user(Long id, Role role, Long departmentId) {
+        Department department = new Department();
+        department.setId(departmentId);
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        user.setDepartment(department);
+        return user;
+    }
+}
@@ -12,6 +12,7 @@ import com.alquds.edu.ArchiveSystem.repository.academic.SemesterRepository;
 import com.alquds.edu.ArchiveSystem.repository.submission.DocumentSubmissionRepository;
 import com.alquds.edu.ArchiveSystem.repository.submission.RequiredDocumentTypeRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
+import com.alquds.edu.ArchiveSystem.service.core.DataVersionService;
 import com.alquds.edu.ArchiveSystem.service.core.DepartmentScopedFilterService;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -61,6 +62,9 @@ class SubmissionServiceTest {
     
     @Mock
     private DepartmentScopedFilterService departmentScopedFilterService;
+
+    @Mock
+    private DataVersionService dataVersionService;
     
     @InjectMocks
     private SubmissionServiceImpl submissionService;
@@ -17,6 +17,7 @@ import com.alquds.edu.ArchiveSystem.repository.submission.DocumentSubmissionRepo
 import com.alquds.edu.ArchiveSystem.repository.user.NotificationRepository;
 import com.alquds.edu.ArchiveSystem.repository.user.UserRepository;
 import com.alquds.edu.ArchiveSystem.service.auth.EmailValidationService;
+import com.alquds.edu.ArchiveSystem.service.file.BlobStore;
 import com.alquds.edu.ArchiveSystem.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -88,6 +89,9 @@ class UserServiceTest {
     @Mock
     private EmailValidationService emailValidationService;
     
+    @Mock
+    private BlobStore blobStore;
+    
     @Mock
     private SecurityContext securityContext;
     
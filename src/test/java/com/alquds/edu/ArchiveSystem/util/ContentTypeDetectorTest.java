@@ -0,0 +1,48 @@
+package com.alquds.edu.ArchiveSystem.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContentTypeDetector Unit Tests")
+class ContentTypeDetectorTest {
+
+    @Test
+    @DisplayName("Should detect PDF regardless of file name")
+    void shouldDetectPdf() {
+        byte[] header = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(ContentTypeDetector.detect(header, "renamed.docx")).isEqualTo("application/pdf");
+    }
+
+    @Test
+    @DisplayName("Should narrow ZIP container by extension")
+    void shouldDetectOfficeOpenXml() {
+        byte[] header = { 'P', 'K', 0x03, 0x04, 0x14, 0x00 };
+
+        assertThat(ContentTypeDetector.detect(header, "lecture.PPTX"))
+                .isEqualTo("application/vnd.openxmlformats-officedocument.presentationml.presentation");
+        assertThat(ContentTypeDetector.detect(header, "archive.zip")).isEqualTo("application/zip");
+    }
+
+    @Test
+    @DisplayName("Should detect UTF-8 text and CSV")
+    void shouldDetectText() {
+        byte[] header = "الاسم,الرقم\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(ContentTypeDetector.detect(header, "grades.csv")).isEqualTo("text/csv");
+        assertThat(ContentTypeDetector.detect(header, "notes.txt")).isEqualTo("text/plain");
+    }
+
+    @Test
+    @DisplayName("Should fall back to octet-stream for unknown binary content")
+    void shouldFallBackToOctetStream() {
+        byte[] header = { 0x00, 0x01, 0x02, 0x03 };
+
+        assertThat(ContentTypeDetector.detect(header, "data.bin")).isEqualTo(ContentTypeDetector.OCTET_STREAM);
+        assertThat(ContentTypeDetector.detect(new byte[0], null)).isEqualTo(ContentTypeDetector.OCTET_STREAM);
+    }
+}